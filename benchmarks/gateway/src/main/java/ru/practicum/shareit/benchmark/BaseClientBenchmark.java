@@ -0,0 +1,102 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.BookingClient;
+import ru.practicum.shareit.booking.state.BookingState;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class BaseClientBenchmark {
+    private static final String SERVER_URL = "http://localhost:9090";
+    private static final String OWNER_LISTING_PATH = "/bookings/owner?state=ALL&from=0&size=20";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Param({"20"})
+    private int listingSize;
+
+    private BookingClient emptyResponseClient;
+    private BookingClient ownerListingClient;
+    private WebClient ownerListingWebClient;
+
+    @Setup
+    public void setUp() throws Exception {
+        String ownerListing = objectMapper.writeValueAsString(ownerListing(listingSize));
+
+        emptyResponseClient = new BookingClient(SERVER_URL, WebClient.builder().exchangeFunction(respondWith(null)), null, null, objectMapper);
+        ownerListingClient = new BookingClient(SERVER_URL, WebClient.builder().exchangeFunction(respondWith(ownerListing)), null, null, objectMapper);
+        ownerListingWebClient = WebClient.builder()
+                .baseUrl(SERVER_URL)
+                .exchangeFunction(respondWith(ownerListing))
+                .build();
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> requestBuilding() {
+        return emptyResponseClient.findByItemOwner(1L, BookingState.ALL, 0, 20, null).block();
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> ownerListingPassthrough() {
+        return ownerListingClient.findByItemOwner(1L, BookingState.ALL, 0, 20, null).block();
+    }
+
+    @Benchmark
+    public byte[] ownerListingObjectMapping() throws Exception {
+        ResponseEntity<Object> response = ownerListingWebClient.get()
+                .uri(OWNER_LISTING_PATH)
+                .header("X-Sharer-User-Id", "1")
+                .exchangeToMono(clientResponse -> clientResponse.toEntity(Object.class))
+                .block();
+        return objectMapper.writeValueAsBytes(response.getBody());
+    }
+
+    private static ExchangeFunction respondWith(String body) {
+        return request -> {
+            ClientResponse.Builder response = ClientResponse.create(HttpStatus.OK)
+                    .header("Content-Type", MediaType.APPLICATION_JSON_VALUE);
+            if (body != null) {
+                response.body(body);
+            }
+            return Mono.just(response.build());
+        };
+    }
+
+    private static List<Map<String, Object>> ownerListing(int size) {
+        LocalDateTime start = LocalDateTime.of(2023, 6, 1, 12, 0);
+        List<Map<String, Object>> bookings = new ArrayList<>(size);
+        for (long i = 1; i <= size; i++) {
+            bookings.add(Map.of(
+                    "id", i,
+                    "start", start.plusDays(i).toString(),
+                    "end", start.plusDays(i + 1).toString(),
+                    "status", "APPROVED",
+                    "booker", Map.of("id", i + 1),
+                    "item", Map.of("id", i, "name", "Item " + i)
+            ));
+        }
+        return bookings;
+    }
+}
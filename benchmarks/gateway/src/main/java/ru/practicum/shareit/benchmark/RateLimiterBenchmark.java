@@ -0,0 +1,82 @@
+package ru.practicum.shareit.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.ratelimit.RateLimitProperties;
+import ru.practicum.shareit.ratelimit.RateLimitedRoute;
+import ru.practicum.shareit.ratelimit.RateLimiter;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(16)
+@State(Scope.Benchmark)
+public class RateLimiterBenchmark {
+    private static final int USERS = 10_000;
+    private static final String HOT_USER = "1";
+
+    private final String[] users = new String[USERS];
+
+    private RateLimiter enabledLimiter;
+    private RateLimiter disabledLimiter;
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < USERS; i++) {
+            users[i] = String.valueOf(i);
+        }
+        enabledLimiter = new RateLimiter(properties(true), new SimpleMeterRegistry());
+        disabledLimiter = new RateLimiter(properties(false), new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public long disabled(ThreadUsers threadUsers) {
+        return disabledLimiter.tryAcquire(threadUsers.next(users), RateLimitedRoute.READ);
+    }
+
+    @Benchmark
+    public long manyUsers(ThreadUsers threadUsers) {
+        return enabledLimiter.tryAcquire(threadUsers.next(users), RateLimitedRoute.READ);
+    }
+
+    // Every thread races on the same bucket, the worst case for its compare-and-set
+    @Benchmark
+    public long hotUser() {
+        return enabledLimiter.tryAcquire(HOT_USER, RateLimitedRoute.READ);
+    }
+
+    private static RateLimitProperties properties(boolean enabled) {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setEnabled(enabled);
+        // Generous enough that requests are never rejected, so only the bookkeeping is measured
+        properties.getLimits().put(RateLimitedRoute.READ, new RateLimitProperties.Limit(1_000_000_000, 1e9));
+        return properties;
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadUsers {
+        private int next;
+
+        @Setup
+        public void setUp() {
+            next = (int) (Thread.currentThread().getId() * 7919 % USERS);
+        }
+
+        String next(String[] users) {
+            next = next + 1 == users.length ? 0 : next + 1;
+            return users[next];
+        }
+    }
+}
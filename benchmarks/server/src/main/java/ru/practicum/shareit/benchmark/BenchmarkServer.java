@@ -0,0 +1,128 @@
+package ru.practicum.shareit.benchmark;
+
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import ru.practicum.shareit.ShareItServer;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+final class BenchmarkServer {
+    private static final String[] BASE_ARGS = {
+            "--spring.datasource.driverClassName=org.h2.Driver",
+            "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+            "--spring.datasource.username=sa",
+            "--spring.datasource.password=",
+            "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+            "--spring.jpa.hibernate.ddl-auto=create",
+            "--spring.flyway.enabled=false",
+            "--logging.level.root=WARN"
+    };
+    private static final String[] ITEM_NAMES = {"Drill", "Saw", "Ladder", "Tent", "Bike", "Kayak", "Projector", "Camera"};
+    private static final String[] STATUSES = {"WAITING", "APPROVED", "REJECTED", "CANCELED"};
+    private static final int BATCH_SIZE = 10_000;
+    private static final String[] TABLES = {"users", "requests", "items", "bookings", "comments"};
+    private static final int ID_ALLOCATION_SIZE = 50;
+
+    private BenchmarkServer() {
+    }
+
+    static ConfigurableApplicationContext start(String... args) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .run(Stream.concat(Stream.of(BASE_ARGS), Stream.of(args)).toArray(String[]::new));
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V3__add_indexes.sql"))
+                .execute(context.getBean(DataSource.class));
+        return context;
+    }
+
+    static void seed(
+            ConfigurableApplicationContext context,
+            int users,
+            int itemsPerOwner,
+            int bookingsPerItem,
+            int commentsPerItem
+    ) {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Object[]> userRows = new ArrayList<>();
+        for (long i = 1; i <= users; i++) {
+            userRows.add(new Object[]{i, "user" + i, "user" + i + "@mail.com"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (id, name, email, version) VALUES (?, ?, ?, 0)", userRows);
+
+        List<Object[]> items = new ArrayList<>();
+        List<Object[]> bookings = new ArrayList<>();
+        List<Object[]> comments = new ArrayList<>();
+        long itemCount = (long) users * itemsPerOwner;
+        for (long item = 1; item <= itemCount; item++) {
+            long owner = (item - 1) / itemsPerOwner + 1;
+            items.add(new Object[]{
+                    item,
+                    ITEM_NAMES[(int) (item % ITEM_NAMES.length)] + " " + item,
+                    "Good " + ITEM_NAMES[(int) (item * 7 % ITEM_NAMES.length)].toLowerCase() + " for rent",
+                    true,
+                    owner
+            });
+            for (int b = 0; b < bookingsPerItem; b++) {
+                LocalDateTime start = now.plusDays(b - bookingsPerItem / 2).plusMinutes(item);
+                bookings.add(new Object[]{
+                        item * bookingsPerItem + b,
+                        Timestamp.valueOf(start),
+                        Timestamp.valueOf(start.plusHours(12)),
+                        item,
+                        (owner + b) % users + 1,
+                        STATUSES[b % STATUSES.length]
+                });
+            }
+            for (int c = 0; c < commentsPerItem; c++) {
+                comments.add(new Object[]{
+                        item * commentsPerItem + c,
+                        "comment" + c,
+                        item,
+                        (owner + c) % users + 1,
+                        Timestamp.valueOf(now.minusDays(c))
+                });
+            }
+        }
+        insert(
+                jdbcTemplate,
+                "INSERT INTO items (id, name, description, is_available, owner_id, version) VALUES (?, ?, ?, ?, ?, 0)",
+                items
+        );
+        insert(
+                jdbcTemplate,
+                "INSERT INTO bookings (id, start_date, end_date, item_id, booker_id, status, version) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, 0)",
+                bookings
+        );
+        insert(
+                jdbcTemplate,
+                "INSERT INTO comments (id, text, item_id, author_id, created) VALUES (?, ?, ?, ?, ?)",
+                comments
+        );
+        // Seeded rows carry explicit ids, so the pooled sequences have to start after them
+        for (String table : TABLES) {
+            Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(max(id), 0) FROM " + table, Long.class);
+            jdbcTemplate.execute("ALTER SEQUENCE " + table + "_seq RESTART WITH " + (maxId + ID_ALLOCATION_SIZE));
+        }
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    private static void insert(JdbcTemplate jdbcTemplate, String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(from + BATCH_SIZE, rows.size())));
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package ru.practicum.shareit.benchmark;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.dto.ResponseBookingDto;
+import ru.practicum.shareit.booking.service.BookingService;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Benchmark)
+public class BookingApproveBenchmark {
+    private static final int USERS = 500;
+    private static final int ITEMS_PER_OWNER = 2;
+    // Every fourth seeded booking is waiting, which leaves 100k undecided bookings per iteration
+    private static final int BOOKINGS_PER_ITEM = 400;
+
+    @Param({"true", "false"})
+    private boolean approved;
+
+    private ConfigurableApplicationContext context;
+    private BookingService bookingService;
+    private JdbcTemplate jdbcTemplate;
+    private Statistics statistics;
+    private List<long[]> waitingBookings;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkServer.start();
+        BenchmarkServer.seed(context, USERS, ITEMS_PER_OWNER, BOOKINGS_PER_ITEM, 0);
+        bookingService = context.getBean(BookingService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        waitingBookings = jdbcTemplate.query(
+                "SELECT b.id, i.owner_id FROM bookings b JOIN items i ON i.id = b.item_id " +
+                        "WHERE b.status = 'WAITING' ORDER BY b.id",
+                (row, rowNum) -> new long[]{row.getLong(1), row.getLong(2)}
+        );
+    }
+
+    @Setup(Level.Iteration)
+    public void resetDecisions() {
+        jdbcTemplate.update("UPDATE bookings SET status = 'WAITING', version = 0 WHERE MOD(id, 4) = 0");
+        statistics.clear();
+        next = 0;
+    }
+
+    @TearDown(Level.Iteration)
+    public void reportStatements() {
+        System.out.printf(
+                "approved=%s: %.2f statements per decision over %d decisions%n",
+                approved,
+                (double) statistics.getPrepareStatementCount() / Math.max(next, 1),
+                next
+        );
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ResponseBookingDto approve() {
+        long[] booking = waitingBookings.get(next++);
+        return bookingService.approve(booking[1], booking[0], approved);
+    }
+}
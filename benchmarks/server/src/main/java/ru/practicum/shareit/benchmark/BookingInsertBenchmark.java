@@ -0,0 +1,106 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.status.BookingStatus;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@State(Scope.Benchmark)
+public class BookingInsertBenchmark {
+    private static final int USERS = 100;
+    private static final int BOOKINGS = 10_000;
+
+    @Param({"1", "50"})
+    private int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate transactionTemplate;
+    private BookingRepository bookingRepository;
+    private EntityManager entityManager;
+    private JdbcTemplate jdbcTemplate;
+    private LocalDateTime firstSlot;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkServer.start(
+                "--spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize,
+                "--spring.jpa.properties.hibernate.session.events.auto=" + RoundTripCounter.class.getName()
+        );
+        BenchmarkServer.seed(context, USERS, 1, 0, 0);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        bookingRepository = context.getBean(BookingRepository.class);
+        entityManager = context.getBean(EntityManager.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        firstSlot = LocalDateTime.now().plusDays(1);
+    }
+
+    @Setup(Level.Iteration)
+    public void clearBookings() {
+        jdbcTemplate.update("DELETE FROM bookings");
+        RoundTripCounter.reset();
+    }
+
+    @TearDown(Level.Iteration)
+    public void reportRoundTrips() {
+        System.out.printf(
+                "batchSize=%d: %d statements + %d batches = %d round trips for %d inserts%n",
+                batchSize,
+                RoundTripCounter.statements(),
+                RoundTripCounter.batches(),
+                RoundTripCounter.statements() + RoundTripCounter.batches(),
+                BOOKINGS
+        );
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Long insertBookings() {
+        return transactionTemplate.execute(status -> {
+            Booking last = null;
+            for (int i = 0; i < BOOKINGS; i++) {
+                long itemId = i % USERS + 1;
+                long bookerId = itemId % USERS + 1;
+                LocalDateTime start = firstSlot.plusHours(i);
+                last = bookingRepository.save(new Booking(
+                        null,
+                        start,
+                        start.plusMinutes(30),
+                        entityManager.getReference(Item.class, itemId),
+                        entityManager.getReference(User.class, bookerId),
+                        BookingStatus.WAITING
+                ));
+            }
+            entityManager.flush();
+            entityManager.clear();
+            return last.getId();
+        });
+    }
+}
@@ -0,0 +1,90 @@
+package ru.practicum.shareit.benchmark;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.booking.dto.RequestAddBookingDto;
+import ru.practicum.shareit.booking.dto.ResponseBookingDto;
+import ru.practicum.shareit.booking.service.BookingService;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class BookingPathBenchmark {
+    private static final int USERS = 500;
+    private static final int ITEMS_PER_OWNER = 2;
+    private static final int ITEMS = USERS * ITEMS_PER_OWNER;
+
+    @Param({"true", "false"})
+    private boolean secondLevelCache;
+
+    private ConfigurableApplicationContext context;
+    private BookingService bookingService;
+    private Statistics statistics;
+    private LocalDateTime firstSlot;
+    private long sequence;
+    private long invocations;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkServer.start(
+                "--spring.jpa.properties.hibernate.cache.use_second_level_cache=" + secondLevelCache
+        );
+        BenchmarkServer.seed(context, USERS, ITEMS_PER_OWNER, 0, 0);
+        bookingService = context.getBean(BookingService.class);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        firstSlot = LocalDateTime.now().plusDays(1);
+    }
+
+    @Setup(Level.Iteration)
+    public void resetStatistics() {
+        statistics.clear();
+        invocations = 0;
+    }
+
+    @TearDown(Level.Iteration)
+    public void reportStatements() {
+        System.out.printf(
+                "secondLevelCache=%s: %.2f statements, %.2f cache hits per create+approve%n",
+                secondLevelCache,
+                (double) statistics.getPrepareStatementCount() / Math.max(invocations, 1),
+                (double) statistics.getSecondLevelCacheHitCount() / Math.max(invocations, 1)
+        );
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ResponseBookingDto createAndApprove() {
+        long itemId = sequence % ITEMS + 1;
+        long ownerId = (itemId - 1) / ITEMS_PER_OWNER + 1;
+        long bookerId = ownerId % USERS + 1;
+        LocalDateTime start = firstSlot.plusHours(sequence / ITEMS * 2);
+        sequence++;
+        invocations++;
+
+        ResponseBookingDto booking = bookingService.save(
+                bookerId,
+                new RequestAddBookingDto(itemId, start, start.plusHours(1))
+        );
+        return bookingService.approve(ownerId, booking.getId(), true);
+    }
+}
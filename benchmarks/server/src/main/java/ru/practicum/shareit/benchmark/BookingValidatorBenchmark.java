@@ -0,0 +1,69 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.practicum.shareit.booking.dto.RequestAddBookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.state.BookingState;
+import ru.practicum.shareit.booking.status.BookingStatus;
+import ru.practicum.shareit.booking.valitador.BookingValidator;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class BookingValidatorBenchmark {
+    private User owner;
+    private Item item;
+    private Booking booking;
+    private RequestAddBookingDto addBookingDto;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        owner = new User(1L, "owner", "owner@mail.com");
+        User booker = new User(2L, "booker", "booker@mail.com");
+        item = new Item(1L, "Drill", "Cordless drill", true, owner.getId(), null);
+        booking = new Booking(1L, now.plusDays(1), now.plusDays(2), item, booker, BookingStatus.WAITING);
+        addBookingDto = new RequestAddBookingDto(item.getId(), now.plusDays(1), now.plusDays(2));
+    }
+
+    @Benchmark
+    public Optional<BookingState> bookingStateFrom(StateParam stateParam) {
+        return BookingState.from(stateParam.state);
+    }
+
+    @Benchmark
+    public void validateNewBooking(Blackhole blackhole) {
+        BookingValidator.checkStartBeforeEndOrThrowException(addBookingDto);
+        BookingValidator.checkItemIsAvailableOrThrowException(item);
+        BookingValidator.checkBookingOwnItemAndThrowException(booking.getBooker().getId(), item);
+        blackhole.consume(addBookingDto);
+    }
+
+    @Benchmark
+    public void validateApprove(Blackhole blackhole) {
+        BookingValidator.checkRequestUserIsItemOwnerOrThrowException(owner, booking);
+        BookingValidator.checkRequestUserIsBookingOwnerAndThrowException(owner, booking);
+        BookingValidator.checkStatusTransitionOrThrowException(booking, BookingStatus.APPROVED);
+        blackhole.consume(booking);
+    }
+
+    @State(Scope.Benchmark)
+    public static class StateParam {
+        @Param({"current", "REJECTED", "unknown"})
+        private String state;
+    }
+}
@@ -0,0 +1,113 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.item.dto.ResponseItemImportDto;
+import ru.practicum.shareit.item.importing.ItemImportFormat;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.item.service.ItemImportService;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@State(Scope.Benchmark)
+public class ItemImportBenchmark {
+    private static final int USERS = 10;
+    private static final long OWNER_ID = 1L;
+    // Every hundredth row has a blank name, so the error report is exercised as well
+    private static final int INVALID_ROW_INTERVAL = 100;
+
+    @Param({"NDJSON", "CSV"})
+    private ItemImportFormat format;
+    @Param({"1000000"})
+    private int rows;
+    @Param({"1000"})
+    private int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private ItemImportService itemImportService;
+    private ItemSearchIndex itemSearchIndex;
+    private JdbcTemplate jdbcTemplate;
+    private String body;
+    private long startNanos;
+    private ResponseItemImportDto lastReport;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkServer.start("--shareit.items.import.batch-size=" + batchSize);
+        BenchmarkServer.seed(context, USERS, 0, 0, 0);
+        itemImportService = context.getBean(ItemImportService.class);
+        itemSearchIndex = context.getBean(ItemSearchIndex.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        body = generateBody();
+    }
+
+    @Setup(Level.Iteration)
+    public void clearItems() {
+        jdbcTemplate.update("DELETE FROM items");
+        itemSearchIndex.rebuild();
+        startNanos = System.nanoTime();
+    }
+
+    @TearDown(Level.Iteration)
+    public void reportThroughput() {
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        System.out.printf(
+                "format=%s: %d rows (%d imported, %d failed) in %.1f s, %.0f rows/s%n",
+                format,
+                rows,
+                lastReport.getImported(),
+                lastReport.getFailed(),
+                seconds,
+                rows / seconds
+        );
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ResponseItemImportDto importItems() throws IOException {
+        lastReport = itemImportService.importItems(OWNER_ID, format, new StringReader(body));
+        return lastReport;
+    }
+
+    private String generateBody() {
+        StringBuilder builder = new StringBuilder(rows * 80);
+        if (format == ItemImportFormat.CSV) {
+            builder.append("name,description,available,requestId\n");
+        }
+        for (int i = 0; i < rows; i++) {
+            String name = i % INVALID_ROW_INTERVAL == 0 ? "" : "Drill " + i;
+            boolean available = i % 2 == 0;
+            if (format == ItemImportFormat.CSV) {
+                builder.append(name).append(",Cordless drill with two batteries,").append(available).append(",\n");
+            } else {
+                builder.append("{\"name\":\"").append(name)
+                        .append("\",\"description\":\"Cordless drill with two batteries\",\"available\":")
+                        .append(available)
+                        .append("}\n");
+            }
+        }
+        return builder.toString();
+    }
+}
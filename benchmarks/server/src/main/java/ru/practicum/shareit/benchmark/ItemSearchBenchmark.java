@@ -0,0 +1,70 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.item.service.ItemSearchService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ItemSearchBenchmark {
+    private static final int ITEMS_PER_OWNER = 100;
+    private static final int PAGE_SIZE = 20;
+    // The unordered LIKE query the repository ran before ranked search, kept as the baseline
+    private static final String LIKE_QUERY = "SELECT * FROM items " +
+            "WHERE is_available = true " +
+            "AND (upper(name) LIKE upper(concat('%', ?, '%')) OR upper(description) LIKE upper(concat('%', ?, '%'))) " +
+            "LIMIT ? OFFSET 0";
+
+    @Param({"10000", "100000", "1000000"})
+    private int items;
+
+    @Param({"like", "ranked", "in-memory-index"})
+    private String search;
+
+    @Param({"drill", "ladder 12"})
+    private String text;
+
+    private ConfigurableApplicationContext context;
+    private ItemSearchService itemSearchService;
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        boolean inMemoryIndex = "in-memory-index".equals(search);
+        context = BenchmarkServer.start("--shareit.search.in-memory-index.enabled=" + inMemoryIndex);
+        BenchmarkServer.seed(context, items / ITEMS_PER_OWNER, ITEMS_PER_OWNER, 0, 0);
+        if (inMemoryIndex) {
+            context.getBean(ItemSearchIndex.class).rebuild();
+        }
+        itemSearchService = context.getBean(ItemSearchService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<?> search() {
+        if ("like".equals(search)) {
+            return jdbcTemplate.queryForList(LIKE_QUERY, text, text, PAGE_SIZE);
+        }
+        return itemSearchService.search(text, 0, PAGE_SIZE);
+    }
+}
@@ -0,0 +1,54 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.item.dto.ResponseItemWithCommentsDto;
+import ru.practicum.shareit.item.service.ItemService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ItemServiceBenchmark {
+    private static final int USERS = 500;
+    private static final int ITEMS_PER_OWNER = 25;
+
+    private ConfigurableApplicationContext context;
+    private ItemService itemService;
+    private long ownerId;
+    private long itemId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkServer.start();
+        BenchmarkServer.seed(context, USERS, ITEMS_PER_OWNER, 10, 3);
+        itemService = context.getBean(ItemService.class);
+        ownerId = USERS / 2;
+        itemId = (ownerId - 1) * ITEMS_PER_OWNER + 1;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ResponseItemWithCommentsDto> findByUserId() {
+        return itemService.findByUserId(ownerId, 0, 20);
+    }
+
+    @Benchmark
+    public ResponseItemWithCommentsDto findById() {
+        return itemService.findById(ownerId, itemId);
+    }
+}
@@ -0,0 +1,82 @@
+package ru.practicum.shareit.benchmark;
+
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import ru.practicum.shareit.booking.dto.RequestAddBookingDto;
+import ru.practicum.shareit.booking.dto.ResponseBookingDto;
+import ru.practicum.shareit.booking.dto.ResponseBookingInItemDto;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.status.BookingStatus;
+import ru.practicum.shareit.item.dto.ResponseCommentDto;
+import ru.practicum.shareit.item.dto.ResponseItemDto;
+import ru.practicum.shareit.item.dto.ResponseItemWithCommentsDto;
+import ru.practicum.shareit.item.mapper.CommentMapper;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+    private final BookingMapper bookingMapper = Mappers.getMapper(BookingMapper.class);
+    private final ItemMapper itemMapper = Mappers.getMapper(ItemMapper.class);
+    private final CommentMapper commentMapper = Mappers.getMapper(CommentMapper.class);
+
+    private Booking booking;
+    private Item item;
+    private Comment comment;
+    private RequestAddBookingDto addBookingDto;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        User owner = new User(1L, "owner", "owner@mail.com");
+        User booker = new User(2L, "booker", "booker@mail.com");
+        item = new Item(1L, "Drill", "Cordless drill", true, owner.getId(), null);
+        booking = new Booking(1L, now.plusDays(1), now.plusDays(2), item, booker, BookingStatus.APPROVED);
+        comment = new Comment(1L, "Works great", item, booker, now);
+        addBookingDto = new RequestAddBookingDto(item.getId(), now.plusDays(1), now.plusDays(2));
+    }
+
+    @Benchmark
+    public ResponseBookingDto bookingToResponseDto() {
+        return bookingMapper.bookingToResponseDto(booking);
+    }
+
+    @Benchmark
+    public ResponseBookingInItemDto bookingToItemResponse() {
+        return bookingMapper.bookingToItemResponse(booking);
+    }
+
+    @Benchmark
+    public Booking addDtoToBooking() {
+        return bookingMapper.addDtoToBooking(addBookingDto);
+    }
+
+    @Benchmark
+    public ResponseItemDto itemToResponseDto() {
+        return itemMapper.itemToResponseDto(item);
+    }
+
+    @Benchmark
+    public ResponseItemWithCommentsDto itemToResponseWithCommentDto() {
+        return itemMapper.itemToResponseWithCommentDto(item);
+    }
+
+    @Benchmark
+    public ResponseCommentDto commentToResponseDto() {
+        return commentMapper.commentToResponseDto(comment);
+    }
+}
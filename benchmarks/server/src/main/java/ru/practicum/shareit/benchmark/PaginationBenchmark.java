@@ -0,0 +1,68 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.booking.dto.ResponseBookingDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.pagination.PageCursor;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class PaginationBenchmark {
+    private static final long OWNER_ID = 1;
+    private static final int PAGE_SIZE = 20;
+    // Page 10,000 of the owner's bookings
+    private static final int DEEP_OFFSET = 200_000;
+
+    private ConfigurableApplicationContext context;
+    private BookingService bookingService;
+    private String deepCursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkServer.start();
+        // The first owner gets 210,000 bookings, enough to serve a full page at the deep offset
+        BenchmarkServer.seed(context, 2, 10_000, 21, 0);
+        bookingService = context.getBean(BookingService.class);
+        List<ResponseBookingDto> previousPage = bookingService.findByItemOwner(
+                OWNER_ID,
+                "ALL",
+                DEEP_OFFSET - PAGE_SIZE,
+                PAGE_SIZE
+        );
+        ResponseBookingDto last = previousPage.get(previousPage.size() - 1);
+        deepCursor = PageCursor.of(last.getStart(), last.getId()).encode();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ResponseBookingDto> firstPage() {
+        return bookingService.findByItemOwner(OWNER_ID, "ALL", 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<ResponseBookingDto> deepOffset() {
+        return bookingService.findByItemOwner(OWNER_ID, "ALL", DEEP_OFFSET, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<ResponseBookingDto> deepCursor() {
+        return bookingService.findByItemOwnerAfter(OWNER_ID, "ALL", deepCursor, PAGE_SIZE);
+    }
+}
@@ -0,0 +1,36 @@
+package ru.practicum.shareit.benchmark;
+
+import org.hibernate.BaseSessionEventListener;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts JDBC executions of every Hibernate session, registered through {@code hibernate.session.events.auto}.
+ */
+public class RoundTripCounter extends BaseSessionEventListener {
+    private static final LongAdder statements = new LongAdder();
+    private static final LongAdder batches = new LongAdder();
+
+    static void reset() {
+        statements.reset();
+        batches.reset();
+    }
+
+    static long statements() {
+        return statements.sum();
+    }
+
+    static long batches() {
+        return batches.sum();
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statements.increment();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batches.increment();
+    }
+}
@@ -0,0 +1,82 @@
+package ru.practicum.shareit.benchmark;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.aop.framework.ProxyFactory;
+import ru.practicum.shareit.metrics.ServiceMetricsInterceptor;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class ServiceMetricsBenchmark {
+    // Client-side percentiles are computed in-process on every record, histogram buckets are summed by Prometheus
+    @Param({"histogram", "percentiles"})
+    private String distribution;
+
+    private CounterService direct;
+    private CounterService proxied;
+    private CounterService timed;
+    private long value;
+
+    @Setup
+    public void setUp() {
+        PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        registry.config().meterFilter(new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                DistributionStatisticConfig.Builder builder = DistributionStatisticConfig.builder()
+                        .percentilesHistogram(true);
+                if ("percentiles".equals(distribution)) {
+                    builder.percentiles(0.5, 0.95, 0.99);
+                }
+                return builder.build().merge(config);
+            }
+        });
+        direct = new CounterServiceImpl();
+
+        proxied = (CounterService) new ProxyFactory(new CounterServiceImpl()).getProxy();
+
+        ProxyFactory timedFactory = new ProxyFactory(new CounterServiceImpl());
+        timedFactory.addAdvice(new ServiceMetricsInterceptor(() -> registry));
+        timed = (CounterService) timedFactory.getProxy();
+    }
+
+    @Benchmark
+    public long direct() {
+        return direct.next(value++);
+    }
+
+    @Benchmark
+    public long proxied() {
+        return proxied.next(value++);
+    }
+
+    @Benchmark
+    public long timed() {
+        return timed.next(value++);
+    }
+
+    public interface CounterService {
+        long next(long value);
+    }
+
+    public static class CounterServiceImpl implements CounterService {
+        @Override
+        public long next(long value) {
+            return value + 1;
+        }
+    }
+}
@@ -1,76 +1,134 @@
 package ru.practicum.shareit.booking;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.UriComponents;
 import org.springframework.web.util.UriComponentsBuilder;
 import ru.practicum.shareit.booking.dto.RequestAddBookingDto;
+import ru.practicum.shareit.booking.exporting.BookingExportFormat;
 import ru.practicum.shareit.booking.state.BookingState;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.cache.CachedRoute;
+import ru.practicum.shareit.cache.ResponseCache;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.RequestCoalescer;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Optional;
 
 @Service
+@Slf4j
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
+    private final ObjectMapper objectMapper;
+
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(
+            @Value("${shareit-server.url}") String serverUrl,
+            WebClient.Builder builder,
+            ResponseCache responseCache,
+            RequestCoalescer requestCoalescer,
+            ObjectMapper objectMapper
+    ) {
         super(
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .baseUrl(serverUrl + API_PREFIX)
+                        .build(),
+                responseCache,
+                requestCoalescer
         );
+        this.objectMapper = objectMapper;
     }
 
-    public ResponseEntity<Object> save(long userId, RequestAddBookingDto requestAddBookingDto) {
-        return post("", userId, requestAddBookingDto);
+    public Mono<ResponseEntity<Object>> save(long userId, RequestAddBookingDto requestAddBookingDto) {
+        return post("", userId, requestAddBookingDto)
+                .doOnNext(this::invalidateBookedItem);
     }
 
-    public ResponseEntity<Object> approve(long userId, Long bookingId, Boolean approved) {
+    public Mono<ResponseEntity<Object>> approve(long userId, Long bookingId, Boolean approved) {
         UriComponents uriComponents = UriComponentsBuilder.newInstance()
                 .path("/{bookingId}")
                 .queryParam("approved", approved)
                 .buildAndExpand(bookingId);
-        return patch(uriComponents.toUriString(), userId);
+        return patch(uriComponents.toUriString(), userId)
+                .doOnNext(this::invalidateBookedItem);
     }
 
-    public ResponseEntity<Object> findById(long userId, long bookingId) {
+    public Mono<ResponseEntity<Object>> findById(long userId, long bookingId) {
         UriComponents uriComponents = UriComponentsBuilder.newInstance()
                 .path("/{bookingId}")
                 .buildAndExpand(bookingId);
         return get(uriComponents.toUriString(), userId);
     }
 
-    public ResponseEntity<Object> findByUserIdAndState(
+    public Mono<ResponseEntity<Object>> findByUserIdAndState(
             long userId,
             BookingState state,
             Integer from,
-            Integer size) {
+            Integer size,
+            String after) {
         UriComponents uriComponents = UriComponentsBuilder.newInstance()
                 .path("")
                 .queryParam("state", state)
                 .queryParam("from", from)
                 .queryParam("size", size)
+                .queryParamIfPresent("after", Optional.ofNullable(after))
                 .build();
         return get(uriComponents.toUriString(), userId);
     }
 
-    public ResponseEntity<Object> findByItemOwner(
+    public Mono<ResponseEntity<Object>> findByItemOwner(
             long userId,
             BookingState state,
             Integer from,
-            Integer size) {
+            Integer size,
+            String after) {
         UriComponents uriComponents = UriComponentsBuilder.newInstance()
                 .path("/owner")
                 .queryParam("state", state)
                 .queryParam("from", from)
                 .queryParam("size", size)
+                .queryParamIfPresent("after", Optional.ofNullable(after))
                 .build();
         return get(uriComponents.toUriString(), userId);
     }
+
+    public void exportByItemOwner(long userId, BookingExportFormat format, HttpServletResponse response)
+            throws IOException {
+        UriComponents uriComponents = UriComponentsBuilder.newInstance()
+                .path("/owner/export")
+                .queryParam("format", format)
+                .build();
+        getStream(uriComponents.toUriString(), userId, response);
+    }
+
+    /**
+     * Drops the cached item views of the booked item, since the owner's one shows its last and next bookings.
+     * The item id is taken from the booking in the response, as an approval request does not carry it.
+     */
+    private void invalidateBookedItem(ResponseEntity<Object> response) {
+        if (!response.getStatusCode().is2xxSuccessful() || !(response.getBody() instanceof byte[])) {
+            return;
+        }
+        try {
+            JsonNode itemId = objectMapper.readTree((byte[]) response.getBody()).path("item").path("id");
+            if (itemId.canConvertToLong()) {
+                String itemPath = UriComponentsBuilder.newInstance()
+                        .path("/{id}")
+                        .buildAndExpand(itemId.asLong())
+                        .toUriString();
+                invalidate(CachedRoute.ITEM, itemPath);
+            }
+        } catch (IOException e) {
+            log.warn("Booking response without a readable item id, cached item views are left to expire", e);
+        }
+    }
 }
@@ -6,13 +6,18 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.booking.dto.RequestAddBookingDto;
+import ru.practicum.shareit.booking.exporting.BookingExportFormat;
 import ru.practicum.shareit.booking.state.BookingState;
+import ru.practicum.shareit.exception.booking.BookingUnsupportedExportFormatException;
 import ru.practicum.shareit.exception.booking.BookingUnsupportedStateException;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.io.IOException;
 
 @Controller
 @RequestMapping(path = "/bookings")
@@ -25,7 +30,7 @@ public class BookingController {
     private final BookingClient bookingClient;
 
     @PostMapping
-    public ResponseEntity<Object> save(
+    public Mono<ResponseEntity<Object>> save(
             @RequestHeader(USER_ID_HEADER_NAME) Long userId,
             @Valid @RequestBody RequestAddBookingDto requestAddBookingDto
     ) {
@@ -34,7 +39,7 @@ public class BookingController {
     }
 
     @PatchMapping("/{bookingId}")
-    public ResponseEntity<Object> approve(
+    public Mono<ResponseEntity<Object>> approve(
             @RequestHeader(USER_ID_HEADER_NAME) Long userId,
             @PathVariable Long bookingId,
             @RequestParam Boolean approved
@@ -49,7 +54,7 @@ public class BookingController {
     }
 
     @GetMapping("/{bookingId}")
-    public ResponseEntity<Object> findById(
+    public Mono<ResponseEntity<Object>> findById(
             @RequestHeader(USER_ID_HEADER_NAME) Long userId,
             @PathVariable Long bookingId
     ) {
@@ -58,7 +63,7 @@ public class BookingController {
     }
 
     @GetMapping
-    public ResponseEntity<Object> findByUserId(
+    public Mono<ResponseEntity<Object>> findByUserId(
             @RequestHeader(USER_ID_HEADER_NAME) Long userId,
             @RequestParam(name = "state", defaultValue = "ALL") String stateParam,
             @RequestParam(defaultValue = "0")
@@ -66,16 +71,17 @@ public class BookingController {
             Integer from,
             @RequestParam(defaultValue = "20")
             @Positive(message = "Size parameter must be positive")
-            Integer size
+            Integer size,
+            @RequestParam(required = false) String after
     ) {
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new BookingUnsupportedStateException("Unknown state: " + stateParam));
         log.info("Get bookings request by userId={} and state={}", userId, state);
-        return bookingClient.findByUserIdAndState(userId, state, from, size);
+        return bookingClient.findByUserIdAndState(userId, state, from, size, after);
     }
 
     @GetMapping("/owner")
-    public ResponseEntity<Object> findByItemOwner(
+    public Mono<ResponseEntity<Object>> findByItemOwner(
             @RequestHeader(USER_ID_HEADER_NAME) Long userId,
             @RequestParam(name = "state", defaultValue = "ALL") String stateParam,
             @RequestParam(defaultValue = "0")
@@ -83,11 +89,24 @@ public class BookingController {
             Integer from,
             @RequestParam(defaultValue = "20")
             @Positive(message = "Size parameter must be positive")
-            Integer size
+            Integer size,
+            @RequestParam(required = false) String after
     ) {
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new BookingUnsupportedStateException("Unknown state: " + stateParam));
         log.info("Get bookings request by ownerId={} and state={}", userId, state);
-        return bookingClient.findByItemOwner(userId, state, from, size);
+        return bookingClient.findByItemOwner(userId, state, from, size, after);
+    }
+
+    @GetMapping("/owner/export")
+    public void exportByItemOwner(
+            @RequestHeader(USER_ID_HEADER_NAME) Long userId,
+            @RequestParam(name = "format", defaultValue = "ndjson") String formatParam,
+            HttpServletResponse response
+    ) throws IOException {
+        BookingExportFormat format = BookingExportFormat.from(formatParam)
+                .orElseThrow(() -> new BookingUnsupportedExportFormatException("Unknown format: " + formatParam));
+        log.info("Export bookings request by ownerId={}, format={}", userId, format);
+        bookingClient.exportByItemOwner(userId, format, response);
     }
 }
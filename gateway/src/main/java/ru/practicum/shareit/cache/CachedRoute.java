@@ -0,0 +1,7 @@
+package ru.practicum.shareit.cache;
+
+public enum CachedRoute {
+    ITEM,
+    ITEM_SEARCH,
+    USER
+}
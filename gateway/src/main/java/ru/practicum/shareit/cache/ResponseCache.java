@@ -0,0 +1,129 @@
+package ru.practicum.shareit.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+@Slf4j
+public class ResponseCache {
+    // Rough per-entry cost of the key, the entity and the cache node on top of body and header bytes
+    private static final int ENTRY_OVERHEAD_BYTES = 256;
+
+    private final ResponseCacheProperties properties;
+    private final AsyncCache<ResponseCacheKey, ResponseEntity<Object>> cache;
+
+    public ResponseCache(ResponseCacheProperties properties) {
+        this.properties = properties;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaximumSize().toBytes())
+                .weigher(ResponseCache::weigh)
+                .expireAfter(new RouteExpiry(properties))
+                .recordStats()
+                .buildAsync();
+    }
+
+    public AsyncCache<ResponseCacheKey, ResponseEntity<Object>> getCache() {
+        return cache;
+    }
+
+    public long getWeightedSize() {
+        return cache.synchronous().policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L);
+    }
+
+    public double getHitRatio() {
+        return cache.synchronous().stats().hitRate();
+    }
+
+    /**
+     * Returns the cached response for the key or subscribes to {@code upstream} once, however many callers ask for
+     * the same key while the fetch is in flight. Only {@code 200 OK} responses stay in the cache.
+     */
+    public Mono<ResponseEntity<Object>> get(ResponseCacheKey key, Supplier<Mono<ResponseEntity<Object>>> upstream) {
+        if (!properties.isEnabled() || properties.getTimeToLive(key.getRoute()).isZero()) {
+            return upstream.get();
+        }
+        return Mono.defer(() -> {
+            CompletableFuture<ResponseEntity<Object>> response = cache.get(key, (k, executor) -> upstream.get().toFuture());
+            // A cancelled caller must not cancel the fetch the other callers are waiting for
+            return Mono.fromFuture(response.copy())
+                    .doOnNext(entity -> {
+                        if (entity.getStatusCode() != HttpStatus.OK) {
+                            cache.asMap().remove(key, response);
+                        }
+                    });
+        });
+    }
+
+    public void invalidate(CachedRoute route, String resource) {
+        log.debug("Invalidate cached {} responses for {}", route, resource);
+        cache.asMap().keySet().removeIf(key -> key.getRoute() == route && key.getResource().equals(resource));
+    }
+
+    public void invalidateAll(CachedRoute route) {
+        log.debug("Invalidate all cached {} responses", route);
+        cache.asMap().keySet().removeIf(key -> key.getRoute() == route);
+    }
+
+    private static int weigh(ResponseCacheKey key, ResponseEntity<Object> response) {
+        int weight = ENTRY_OVERHEAD_BYTES + key.getUri().length() * 2;
+        if (response.getBody() instanceof byte[]) {
+            weight += ((byte[]) response.getBody()).length;
+        }
+        for (Map.Entry<String, List<String>> header : response.getHeaders().entrySet()) {
+            weight += header.getKey().length() * 2;
+            for (String value : header.getValue()) {
+                weight += value.length() * 2;
+            }
+        }
+        return weight;
+    }
+
+    private static class RouteExpiry implements Expiry<ResponseCacheKey, ResponseEntity<Object>> {
+        private final ResponseCacheProperties properties;
+
+        RouteExpiry(ResponseCacheProperties properties) {
+            this.properties = properties;
+        }
+
+        @Override
+        public long expireAfterCreate(ResponseCacheKey key, ResponseEntity<Object> value, long currentTime) {
+            return timeToLive(key).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(
+                ResponseCacheKey key,
+                ResponseEntity<Object> value,
+                long currentTime,
+                long currentDuration
+        ) {
+            return timeToLive(key).toNanos();
+        }
+
+        @Override
+        public long expireAfterRead(
+                ResponseCacheKey key,
+                ResponseEntity<Object> value,
+                long currentTime,
+                long currentDuration
+        ) {
+            return currentDuration;
+        }
+
+        private Duration timeToLive(ResponseCacheKey key) {
+            return properties.getTimeToLive(key.getRoute());
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package ru.practicum.shareit.cache;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(ResponseCacheProperties.class)
+public class ResponseCacheConfig {
+    public static final String CACHE_NAME = "gateway-responses";
+
+    @Bean
+    public ResponseCache responseCache(ResponseCacheProperties properties) {
+        return new ResponseCache(properties);
+    }
+
+    @Bean
+    public MeterBinder responseCacheMetrics(ResponseCache responseCache) {
+        return registry -> {
+            CaffeineCacheMetrics.monitor(registry, responseCache.getCache(), CACHE_NAME);
+            Gauge.builder("shareit.gateway.cache.weight", responseCache, ResponseCache::getWeightedSize)
+                    .description("Estimated memory held by cached responses")
+                    .baseUnit("bytes")
+                    .tag("cache", CACHE_NAME)
+                    .register(registry);
+            Gauge.builder("shareit.gateway.cache.hit.ratio", responseCache, ResponseCache::getHitRatio)
+                    .description("Share of cache lookups answered without an upstream fetch")
+                    .tag("cache", CACHE_NAME)
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.cache;
+
+import lombok.Value;
+
+@Value
+public class ResponseCacheKey {
+    CachedRoute route;
+    // Path without the query, shared by every variant of one resource so a mutation can drop them together
+    String resource;
+    String uri;
+    // Null for responses that are the same for every user
+    Long userId;
+
+    public static ResponseCacheKey of(CachedRoute route, String uri, Long userId) {
+        int queryStart = uri.indexOf('?');
+        String resource = queryStart < 0 ? uri : uri.substring(0, queryStart);
+        return new ResponseCacheKey(route, resource, uri, userId);
+    }
+}
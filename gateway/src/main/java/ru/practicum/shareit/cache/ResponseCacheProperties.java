@@ -0,0 +1,28 @@
+package ru.practicum.shareit.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-gateway.cache")
+public class ResponseCacheProperties {
+    private boolean enabled = true;
+    private DataSize maximumSize = DataSize.ofMegabytes(32);
+    // A zero time to live turns caching off for that route
+    private Map<CachedRoute, Duration> timeToLive = new EnumMap<>(Map.of(
+            CachedRoute.ITEM, Duration.ofSeconds(10),
+            CachedRoute.ITEM_SEARCH, Duration.ofSeconds(30),
+            CachedRoute.USER, Duration.ofMinutes(1)
+    ));
+
+    public Duration getTimeToLive(CachedRoute route) {
+        return timeToLive.getOrDefault(route, Duration.ZERO);
+    }
+}
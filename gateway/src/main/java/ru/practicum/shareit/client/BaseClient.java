@@ -1,27 +1,82 @@
 package ru.practicum.shareit.client;
 
+import lombok.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.http.*;
 import org.springframework.lang.Nullable;
-import org.springframework.web.client.HttpStatusCodeException;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.http.client.HttpClientRequest;
+import ru.practicum.shareit.cache.CachedRoute;
+import ru.practicum.shareit.cache.ResponseCache;
+import ru.practicum.shareit.cache.ResponseCacheKey;
+import ru.practicum.shareit.tracing.TraceContext;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 public class BaseClient {
-    protected final RestTemplate rest;
+    private static final List<String> RELAYED_HEADERS = List.of(
+            HttpHeaders.CONTENT_TYPE,
+            HttpHeaders.ETAG,
+            HttpHeaders.VARY,
+            "X-Next-Cursor"
+    );
+    // Conditional request headers are passed through so the server can answer 304 itself
+    private static final List<String> FORWARDED_HEADERS = List.of(HttpHeaders.IF_NONE_MATCH);
+    private static final int STREAM_CHUNK_SIZE = 64 * 1024;
+    private static final int STREAM_PREFETCH = 32;
 
-    public BaseClient(RestTemplate rest) {
-        this.rest = rest;
+    protected final WebClient webClient;
+    @Nullable
+    protected final ResponseCache responseCache;
+    @Nullable
+    protected final RequestCoalescer requestCoalescer;
+
+    public BaseClient(WebClient webClient) {
+        this(webClient, null, null);
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
-        }
+    public BaseClient(WebClient webClient, @Nullable RequestCoalescer requestCoalescer) {
+        this(webClient, null, requestCoalescer);
+    }
+
+    public BaseClient(
+            WebClient webClient,
+            @Nullable ResponseCache responseCache,
+            @Nullable RequestCoalescer requestCoalescer
+    ) {
+        this.webClient = webClient;
+        this.responseCache = responseCache;
+        this.requestCoalescer = requestCoalescer;
+    }
 
+    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<byte[]> response) {
         ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
 
+        for (String headerName : RELAYED_HEADERS) {
+            List<String> values = response.getHeaders().get(headerName);
+            if (values != null) {
+                responseBuilder.header(headerName, values.toArray(String[]::new));
+            }
+        }
+
         if (response.hasBody()) {
             return responseBuilder.body(response.getBody());
         }
@@ -29,89 +84,235 @@ public class BaseClient {
         return responseBuilder.build();
     }
 
-    protected ResponseEntity<Object> get(String path) {
+    protected Mono<ResponseEntity<Object>> get(String path) {
         return get(path, null, null);
     }
 
-    protected ResponseEntity<Object> get(String path, long userId) {
+    protected Mono<ResponseEntity<Object>> get(String path, long userId) {
         return get(path, userId, null);
     }
 
-    protected ResponseEntity<Object> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
+    protected Mono<ResponseEntity<Object>> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
         return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, T body) {
+    /**
+     * GET through the gateway response cache. A response fetched on behalf of a user is cached for that user only.
+     */
+    protected Mono<ResponseEntity<Object>> cachedGet(CachedRoute route, String path, @Nullable Long userId) {
+        if (responseCache == null) {
+            return get(path, userId, null);
+        }
+        // The cached entry is shared, so it is fetched unconditionally and If-None-Match is answered from its ETag
+        return responseCache.get(
+                ResponseCacheKey.of(route, path, userId),
+                () -> sendGet(path, defaultHeaders(userId, false), null)
+        );
+    }
+
+    protected void invalidate(CachedRoute route, String path) {
+        if (responseCache != null) {
+            responseCache.invalidate(route, path);
+        }
+    }
+
+    protected void invalidateAll(CachedRoute route) {
+        if (responseCache != null) {
+            responseCache.invalidateAll(route);
+        }
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> post(String path, T body) {
         return post(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, long userId, T body) {
+    protected <T> Mono<ResponseEntity<Object>> post(String path, long userId, T body) {
         return post(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> Mono<ResponseEntity<Object>> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, T body) {
+    /**
+     * POST a request body that is forwarded chunk by chunk as it is read, so it is never held in memory as a whole.
+     * The server response timeout is replaced for this request only, since the server answers once the body is consumed.
+     */
+    protected Mono<ResponseEntity<Object>> postStream(
+            String path,
+            long userId,
+            MediaType contentType,
+            InputStream body,
+            Duration responseTimeout
+    ) {
+        HttpHeaders headers = defaultHeaders(userId, false);
+        headers.setContentType(contentType);
+        Flux<DataBuffer> chunks = DataBufferUtils.readInputStream(
+                        () -> body,
+                        DefaultDataBufferFactory.sharedInstance,
+                        STREAM_CHUNK_SIZE
+                )
+                // Reading the servlet input stream blocks
+                .subscribeOn(Schedulers.boundedElastic());
+        WebClient.RequestHeadersSpec<?> request = webClient.post()
+                .uri(path)
+                .headers(requestHeaders -> requestHeaders.addAll(headers))
+                .httpRequest(httpRequest -> {
+                    Object nativeRequest = httpRequest.getNativeRequest();
+                    if (nativeRequest instanceof HttpClientRequest) {
+                        ((HttpClientRequest) nativeRequest).responseTimeout(responseTimeout);
+                    }
+                })
+                .body(BodyInserters.fromDataBuffers(chunks));
+
+        return exchange(request);
+    }
+
+    /**
+     * GET whose response body is copied to the servlet response as it arrives. The calling servlet thread is blocked
+     * until the body ends, while only a small window of buffers is held between the connection and the client.
+     * Used for responses without a size bound, which would not fit the codec limit buffered responses are read with.
+     */
+    protected void getStream(String path, @Nullable Long userId, HttpServletResponse servletResponse)
+            throws IOException {
+        HttpHeaders headers = defaultHeaders(userId, true);
+        headers.setAccept(List.of(MediaType.ALL));
+        Flux<DataBuffer> body = webClient.get()
+                .uri(path)
+                .headers(requestHeaders -> requestHeaders.addAll(headers))
+                .exchangeToFlux(response -> {
+                    servletResponse.setStatus(response.rawStatusCode());
+                    HttpHeaders responseHeaders = response.headers().asHttpHeaders();
+                    for (String headerName : RELAYED_HEADERS) {
+                        List<String> values = responseHeaders.get(headerName);
+                        if (values != null) {
+                            values.forEach(value -> servletResponse.addHeader(headerName, value));
+                        }
+                    }
+                    return response.bodyToFlux(DataBuffer.class);
+                })
+                .doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+
+        // Closing the stream cancels the upstream exchange if the client goes away
+        try (Stream<DataBuffer> buffers = body.toStream(STREAM_PREFETCH)) {
+            OutputStream output = servletResponse.getOutputStream();
+            Iterator<DataBuffer> iterator = buffers.iterator();
+            while (iterator.hasNext()) {
+                DataBuffer buffer = iterator.next();
+                try {
+                    buffer.asInputStream().transferTo(output);
+                } finally {
+                    DataBufferUtils.release(buffer);
+                }
+            }
+        }
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> put(String path, long userId, T body) {
         return put(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> Mono<ResponseEntity<Object>> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.PUT, path, userId, parameters, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, T body) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, T body) {
         return patch(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, long userId) {
         return patch(path, userId, null, null);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId, T body) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, long userId, T body) {
         return patch(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body);
     }
 
-    protected ResponseEntity<Object> delete(String path) {
+    protected Mono<ResponseEntity<Object>> delete(String path) {
         return delete(path, null, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, long userId) {
+    protected Mono<ResponseEntity<Object>> delete(String path, long userId) {
         return delete(path, userId, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
+    protected Mono<ResponseEntity<Object>> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
-    private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+    private <T> Mono<ResponseEntity<Object>> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
+        if (method == HttpMethod.GET) {
+            return sendGet(path, defaultHeaders(userId, true), parameters);
+        }
+        return sendRequest(method, path, defaultHeaders(userId, true), parameters, body);
+    }
 
-        ResponseEntity<Object> shareitServerResponse;
-        try {
-            if (parameters != null && !parameters.isEmpty()) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
-            } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
-            }
-        } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+    /**
+     * GET shared with identical GETs already in flight. Identical means the same path, parameters and headers, so
+     * callers of different users or with different conditional headers never share a response.
+     */
+    private Mono<ResponseEntity<Object>> sendGet(String path, HttpHeaders headers, @Nullable Map<String, Object> parameters) {
+        if (requestCoalescer == null) {
+            return sendRequest(HttpMethod.GET, path, headers, parameters, null);
         }
-        return prepareGatewayResponse(shareitServerResponse);
+        HttpHeaders keyHeaders = new HttpHeaders();
+        keyHeaders.putAll(headers);
+        // Every request has its own span, and whose span the shared request carries does not change the response
+        keyHeaders.remove(TraceContext.TRACEPARENT_HEADER_NAME);
+        return requestCoalescer.execute(
+                new CoalescedGetKey(webClient, path, parameters != null ? parameters : Map.of(), keyHeaders),
+                () -> sendRequest(HttpMethod.GET, path, headers, parameters, null)
+        );
     }
 
-    private HttpHeaders defaultHeaders(Long userId) {
+    private <T> Mono<ResponseEntity<Object>> sendRequest(HttpMethod method, String path, HttpHeaders defaultHeaders, @Nullable Map<String, Object> parameters, @Nullable T body) {
+        WebClient.RequestBodySpec request = webClient.method(method)
+                .uri(path, parameters != null ? parameters : Map.of())
+                .headers(headers -> headers.addAll(defaultHeaders));
+        WebClient.RequestHeadersSpec<?> requestWithBody = body != null ? request.bodyValue(body) : request;
+
+        return exchange(requestWithBody);
+    }
+
+    private Mono<ResponseEntity<Object>> exchange(WebClient.RequestHeadersSpec<?> request) {
+        return request.exchangeToMono(response -> response.toEntity(byte[].class))
+                .map(BaseClient::prepareGatewayResponse);
+    }
+
+    private HttpHeaders defaultHeaders(Long userId, boolean conditional) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
         headers.setAccept(List.of(MediaType.APPLICATION_JSON));
         if (userId != null) {
             headers.set("X-Sharer-User-Id", String.valueOf(userId));
         }
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (conditional && requestAttributes instanceof ServletRequestAttributes) {
+            HttpServletRequest inboundRequest = ((ServletRequestAttributes) requestAttributes).getRequest();
+            for (String headerName : FORWARDED_HEADERS) {
+                String value = inboundRequest.getHeader(headerName);
+                if (value != null) {
+                    headers.set(headerName, value);
+                }
+            }
+        }
+        TraceContext traceContext = TraceContext.current();
+        if (traceContext != null) {
+            headers.set(TraceContext.TRACEPARENT_HEADER_NAME, traceContext.toTraceparent());
+        }
         return headers;
     }
+
+    @Value
+    private static class CoalescedGetKey {
+        // Clients have different base URLs, so the same relative path is a different request for each of them
+        WebClient webClient;
+        String path;
+        Map<String, Object> parameters;
+        HttpHeaders headers;
+    }
 }
@@ -0,0 +1,94 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Collapses identical GETs that are in flight at the same time into one upstream request. Unlike the response cache
+ * nothing outlives the request: a caller arriving after the response is back sends a new one.
+ */
+public class RequestCoalescer {
+    public static final String REQUESTS_METER_NAME = "shareit.gateway.coalescing.requests";
+    public static final String IN_FLIGHT_METER_NAME = "shareit.gateway.coalescing.in-flight";
+
+    private final RequestCoalescerProperties properties;
+    private final ConcurrentMap<Object, Flight> flights = new ConcurrentHashMap<>();
+    private final Counter sent;
+    private final Counter joined;
+    private final Counter overflowed;
+
+    public RequestCoalescer(RequestCoalescerProperties properties, MeterRegistry registry) {
+        this.properties = properties;
+        this.sent = counter(registry, "sent");
+        this.joined = counter(registry, "joined");
+        this.overflowed = counter(registry, "overflowed");
+        Gauge.builder(IN_FLIGHT_METER_NAME, flights, ConcurrentMap::size)
+                .description("Distinct upstream GETs currently shared by gateway callers")
+                .register(registry);
+    }
+
+    /**
+     * Subscribes to {@code upstream} unless a request with an equal key is already in flight, in which case its
+     * response or error is shared. The key must tell apart everything the response depends on.
+     */
+    public Mono<ResponseEntity<Object>> execute(Object key, Supplier<Mono<ResponseEntity<Object>>> upstream) {
+        if (!properties.isEnabled()) {
+            return upstream.get();
+        }
+        return Mono.defer(() -> {
+            Flight flight = new Flight();
+            Flight current = flights.putIfAbsent(key, flight);
+            if (current == null) {
+                sent.increment();
+                // Detached from the caller, so a cancelled caller does not cancel the request the others wait for
+                Mono.defer(upstream).toFuture().whenComplete((response, error) -> {
+                    flights.remove(key, flight);
+                    if (error != null) {
+                        flight.response.completeExceptionally(error);
+                    } else {
+                        flight.response.complete(response);
+                    }
+                });
+                return Mono.fromFuture(flight.response.copy());
+            }
+            if (current.tryJoin(properties.getMaxWaiters())) {
+                joined.increment();
+                return Mono.fromFuture(current.response.copy());
+            }
+            overflowed.increment();
+            return upstream.get();
+        });
+    }
+
+    private static Counter counter(MeterRegistry registry, String outcome) {
+        return Counter.builder(REQUESTS_METER_NAME)
+                .description("Gateway GETs by whether they sent, joined or could not join an upstream request")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private static class Flight {
+        private final CompletableFuture<ResponseEntity<Object>> response = new CompletableFuture<>();
+        private final AtomicInteger waiters = new AtomicInteger(1);
+
+        boolean tryJoin(int maxWaiters) {
+            int current;
+            do {
+                current = waiters.get();
+                if (current >= maxWaiters) {
+                    return false;
+                }
+            } while (!waiters.compareAndSet(current, current + 1));
+            return true;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-gateway.coalescing")
+public class RequestCoalescerProperties {
+    private boolean enabled = true;
+    // Callers sharing one upstream GET, including the one that sent it; the next caller sends its own
+    private int maxWaiters = 1000;
+}
@@ -0,0 +1,44 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+@Configuration
+@EnableConfigurationProperties({ShareItServerClientProperties.class, RequestCoalescerProperties.class})
+public class ShareItServerClientConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider shareItServerConnectionProvider(ShareItServerClientProperties properties) {
+        return ConnectionProvider.builder("shareit-server")
+                .maxConnections(properties.getMaxConnections())
+                .pendingAcquireMaxCount(properties.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(properties.getPendingAcquireTimeout())
+                .maxIdleTime(properties.getMaxIdleTime())
+                .maxLifeTime(properties.getMaxLifeTime())
+                .build();
+    }
+
+    @Bean
+    public ClientHttpConnector shareItServerConnector(
+            ConnectionProvider shareItServerConnectionProvider,
+            ShareItServerClientProperties properties
+    ) {
+        HttpClient httpClient = HttpClient.create(shareItServerConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .responseTimeout(properties.getReadTimeout());
+        return new ReactorClientHttpConnector(httpClient);
+    }
+
+    @Bean
+    public RequestCoalescer requestCoalescer(RequestCoalescerProperties properties, MeterRegistry meterRegistry) {
+        return new RequestCoalescer(properties, meterRegistry);
+    }
+}
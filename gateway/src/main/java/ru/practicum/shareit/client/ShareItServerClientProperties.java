@@ -0,0 +1,20 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "shareit-server.client")
+@Getter
+@Setter
+public class ShareItServerClientProperties {
+    private int maxConnections = 500;
+    private int pendingAcquireMaxCount = 5000;
+    private Duration pendingAcquireTimeout = Duration.ofSeconds(10);
+    private Duration maxIdleTime = Duration.ofSeconds(30);
+    private Duration maxLifeTime = Duration.ofMinutes(5);
+    private Duration connectTimeout = Duration.ofSeconds(2);
+    private Duration readTimeout = Duration.ofSeconds(10);
+}
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.exception;
 
+import org.springframework.core.io.buffer.DataBufferLimitException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -8,6 +9,7 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
 import ru.practicum.shareit.exception.booking.*;
 import ru.practicum.shareit.exception.model.*;
 
@@ -107,6 +109,14 @@ public class ErrorHandler {
         );
     }
 
+    @ExceptionHandler(BookingUnsupportedExportFormatException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handleBookingUnsupportedExportFormatException(final Exception e) {
+        return new ErrorResponse(
+                e.getMessage()
+        );
+    }
+
     @ExceptionHandler(ConstraintViolationException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ErrorResponse handleConstraintViolationException(final Exception e) {
@@ -115,6 +125,23 @@ public class ErrorHandler {
         );
     }
 
+    @ExceptionHandler(WebClientRequestException.class)
+    @ResponseStatus(HttpStatus.BAD_GATEWAY)
+    public ErrorResponse handleWebClientRequestException(final Exception e) {
+        return new ErrorResponse(
+                e.getMessage()
+        );
+    }
+
+    // Buffered responses are read up to spring.codec.max-in-memory-size, unbounded lists are streamed instead
+    @ExceptionHandler(DataBufferLimitException.class)
+    @ResponseStatus(HttpStatus.BAD_GATEWAY)
+    public ErrorResponse handleDataBufferLimitException(final Exception e) {
+        return new ErrorResponse(
+                e.getMessage()
+        );
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, Map<String, String>>> handleValidationErrors(MethodArgumentNotValidException ex) {
         Map<String, String> errors = ex.getBindingResult().getFieldErrors()
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.exception.booking;
+
+public class BookingUnsupportedExportFormatException extends RuntimeException {
+    public BookingUnsupportedExportFormatException(String message) {
+        super(message);
+    }
+}
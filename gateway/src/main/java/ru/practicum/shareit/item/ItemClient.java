@@ -2,74 +2,111 @@ package ru.practicum.shareit.item;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.UriComponents;
 import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.cache.CachedRoute;
+import ru.practicum.shareit.cache.ResponseCache;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.RequestCoalescer;
 import ru.practicum.shareit.item.dto.RequestAddCommentDto;
 import ru.practicum.shareit.item.dto.RequestAddItemDto;
 import ru.practicum.shareit.item.dto.RequestUpdateItemDto;
 
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Optional;
+
 @Service
 public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(
+            @Value("${shareit-server.url}") String serverUrl,
+            WebClient.Builder builder,
+            ResponseCache responseCache,
+            RequestCoalescer requestCoalescer
+    ) {
         super(
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .baseUrl(serverUrl + API_PREFIX)
+                        .build(),
+                responseCache,
+                requestCoalescer
         );
     }
 
-    public ResponseEntity<Object> save(Long userId, RequestAddItemDto itemDto) {
-        return post("", userId, itemDto);
+    public Mono<ResponseEntity<Object>> save(Long userId, RequestAddItemDto itemDto) {
+        return post("", userId, itemDto)
+                .doFinally(signal -> invalidateAll(CachedRoute.ITEM_SEARCH));
     }
 
-    public ResponseEntity<Object> update(Long userId, Long id, RequestUpdateItemDto updateItemDto) {
-        UriComponents uriComponents = UriComponentsBuilder.newInstance().path("/{id}").buildAndExpand(id);
-        return patch(uriComponents.toUriString(), userId, updateItemDto);
+    public Mono<ResponseEntity<Object>> importItems(
+            Long userId,
+            MediaType contentType,
+            InputStream body,
+            Duration timeout
+    ) {
+        return postStream("/import", userId, contentType, body, timeout)
+                .doFinally(signal -> invalidateAll(CachedRoute.ITEM_SEARCH));
+    }
+
+    public Mono<ResponseEntity<Object>> update(Long userId, Long id, RequestUpdateItemDto updateItemDto) {
+        String path = UriComponentsBuilder.newInstance().path("/{id}").buildAndExpand(id).toUriString();
+        return patch(path, userId, updateItemDto)
+                .doFinally(signal -> invalidateItem(path));
     }
 
-    public ResponseEntity<Object> findById(Long userId, Long id) {
+    public Mono<ResponseEntity<Object>> findById(Long userId, Long id) {
         UriComponents uriComponents = UriComponentsBuilder.newInstance().path("/{id}").buildAndExpand(id);
-        return get(uriComponents.toUriString(), userId);
+        // Only the owner sees last and next bookings, so every user gets an own entry
+        return cachedGet(CachedRoute.ITEM, uriComponents.toUriString(), userId);
     }
 
-    public ResponseEntity<Object> findByUserId(Long userId, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> findByUserId(Long userId, Integer from, Integer size, String after) {
         UriComponents uriComponents = UriComponentsBuilder.newInstance()
                 .path("")
                 .queryParam("from", from)
                 .queryParam("size", size)
+                .queryParamIfPresent("after", Optional.ofNullable(after))
                 .build();
         return get(uriComponents.toUriString(), userId);
     }
 
-    public void deleteById(Long id) {
-        UriComponents uriComponents = UriComponentsBuilder.newInstance().path("/{id}").buildAndExpand(id);
-        delete(uriComponents.toUriString());
+    public Mono<ResponseEntity<Object>> deleteById(Long id) {
+        String path = UriComponentsBuilder.newInstance().path("/{id}").buildAndExpand(id).toUriString();
+        return delete(path)
+                .doFinally(signal -> invalidateItem(path));
     }
 
-    public ResponseEntity<Object> findByNameOrDescription(String text, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> findByNameOrDescription(String text, Integer from, Integer size, String after) {
         UriComponents uriComponents = UriComponentsBuilder.newInstance()
                 .path("/search")
                 .queryParam("text", text)
                 .queryParam("from", from)
                 .queryParam("size", size)
+                .queryParamIfPresent("after", Optional.ofNullable(after))
                 .build();
-        return get(uriComponents.toUriString());
+        return cachedGet(CachedRoute.ITEM_SEARCH, uriComponents.toUriString(), null);
     }
 
-    public ResponseEntity<Object> saveComment(Long userId, Long id, RequestAddCommentDto addCommentDto) {
+    public Mono<ResponseEntity<Object>> saveComment(Long userId, Long id, RequestAddCommentDto addCommentDto) {
         UriComponents uriComponents = UriComponentsBuilder.newInstance()
                 .path("/{id}/comment")
                 .buildAndExpand(id);
-        return post(uriComponents.toUriString(), userId, addCommentDto);
+        String itemPath = UriComponentsBuilder.newInstance().path("/{id}").buildAndExpand(id).toUriString();
+        return post(uriComponents.toUriString(), userId, addCommentDto)
+                .doFinally(signal -> invalidate(CachedRoute.ITEM, itemPath));
+    }
+
+    private void invalidateItem(String path) {
+        invalidate(CachedRoute.ITEM, path);
+        // Name, description and availability are all part of search results
+        invalidateAll(CachedRoute.ITEM_SEARCH);
     }
 }
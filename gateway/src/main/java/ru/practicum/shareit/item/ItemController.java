@@ -1,12 +1,16 @@
 package ru.practicum.shareit.item;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.item.dto.RequestAddCommentDto;
 import ru.practicum.shareit.item.dto.RequestAddItemDto;
 import ru.practicum.shareit.item.dto.RequestUpdateItemDto;
@@ -14,18 +18,29 @@ import ru.practicum.shareit.item.dto.RequestUpdateItemDto;
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.io.InputStream;
+import java.time.Duration;
 
 @Controller
 @RequestMapping("/items")
-@RequiredArgsConstructor
 @Slf4j
 @Validated
 public class ItemController {
     private static final String USER_ID_HEADER_NAME = "X-Sharer-User-Id";
+    private static final String TEXT_CSV_VALUE = "text/csv";
     private final ItemClient itemClient;
+    private final Duration importTimeout;
+
+    public ItemController(
+            ItemClient itemClient,
+            @Value("${shareit-gateway.items.import-timeout}") Duration importTimeout
+    ) {
+        this.itemClient = itemClient;
+        this.importTimeout = importTimeout;
+    }
 
     @PostMapping
-    public ResponseEntity<Object> save(
+    public Mono<ResponseEntity<Object>> save(
             @RequestHeader(USER_ID_HEADER_NAME) Long userId,
             @Valid @RequestBody RequestAddItemDto itemDto
     ) {
@@ -33,8 +48,22 @@ public class ItemController {
         return itemClient.save(userId, itemDto);
     }
 
+    @PostMapping(path = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, TEXT_CSV_VALUE})
+    public DeferredResult<ResponseEntity<Object>> importItems(
+            @RequestHeader(USER_ID_HEADER_NAME) Long userId,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream body
+    ) {
+        log.info("Import items request userId=" + userId + ", format " + contentType);
+        // An import outlives the default async request timeout, so it gets a deferred result with an own one
+        DeferredResult<ResponseEntity<Object>> result = new DeferredResult<>(importTimeout.toMillis());
+        itemClient.importItems(userId, contentType, body, importTimeout)
+                .subscribe(result::setResult, result::setErrorResult);
+        return result;
+    }
+
     @PatchMapping("/{id}")
-    public ResponseEntity<Object> update(
+    public Mono<ResponseEntity<Object>> update(
             @RequestHeader(USER_ID_HEADER_NAME) Long userId,
             @PathVariable Long id,
             @Valid @RequestBody RequestUpdateItemDto updateItemDto
@@ -44,7 +73,7 @@ public class ItemController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Object> findById(
+    public Mono<ResponseEntity<Object>> findById(
             @RequestHeader(USER_ID_HEADER_NAME) Long userId,
             @PathVariable Long id) {
         log.info("Get item request id " + id);
@@ -52,41 +81,43 @@ public class ItemController {
     }
 
     @GetMapping
-    public ResponseEntity<Object> findByUserId(
+    public Mono<ResponseEntity<Object>> findByUserId(
             @RequestHeader(USER_ID_HEADER_NAME) Long userId,
             @RequestParam(defaultValue = "0")
             @PositiveOrZero(message = "From parameter must be greater or equal 0")
             Integer from,
             @RequestParam(defaultValue = "20")
             @Positive(message = "Size parameter must be positive")
-            Integer size
+            Integer size,
+            @RequestParam(required = false) String after
     ) {
         log.info("Get items request by userId " + userId);
-        return itemClient.findByUserId(userId, from, size);
+        return itemClient.findByUserId(userId, from, size, after);
     }
 
     @DeleteMapping("/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
-    public void delete(@PathVariable Long id) {
+    public Mono<Void> delete(@PathVariable Long id) {
         log.info("Delete item request id " + id);
-        itemClient.deleteById(id);
+        return itemClient.deleteById(id).then();
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> findByNameOrDescription(
+    public Mono<ResponseEntity<Object>> findByNameOrDescription(
             @RequestParam String text,
             @RequestParam(defaultValue = "0")
             @PositiveOrZero(message = "From parameter must be greater or equal 0")
             Integer from,
             @RequestParam(defaultValue = "20")
             @Positive(message = "Size parameter must be positive")
-            Integer size) {
+            Integer size,
+            @RequestParam(required = false) String after) {
         log.info("Get items request by text '" + text + "'");
-        return itemClient.findByNameOrDescription(text, from, size);
+        return itemClient.findByNameOrDescription(text, from, size, after);
     }
 
     @PostMapping("/{id}/comment")
-    public ResponseEntity<Object> saveComment(
+    public Mono<ResponseEntity<Object>> saveComment(
             @RequestHeader(USER_ID_HEADER_NAME) Long userId,
             @PathVariable Long id,
             @Valid @RequestBody RequestAddCommentDto addCommentDto
@@ -0,0 +1,60 @@
+package ru.practicum.shareit.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import ru.practicum.shareit.exception.model.ErrorResponse;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+    private static final String USER_ID_HEADER_NAME = "X-Sharer-User-Id";
+    private static final String ACTUATOR_PATH = "/actuator/";
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final String RATE_LIMIT_EXCEEDED_MESSAGE = "Rate limit exceeded for %s requests, retry in %d s";
+
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !rateLimiter.isEnabled() || request.getRequestURI().startsWith(ACTUATOR_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        RateLimitedRoute route = RateLimitedRoute.of(request.getMethod(), request.getRequestURI());
+        String userId = request.getHeader(USER_ID_HEADER_NAME);
+        // Requests made before the caller has a user id, such as sign-up, share a bucket per client address
+        long wait = rateLimiter.tryAcquire(userId != null ? userId : request.getRemoteAddr(), route);
+        if (wait == 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        long retryAfterSeconds = (wait + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND;
+        String message = String.format(RATE_LIMIT_EXCEEDED_MESSAGE, route, retryAfterSeconds);
+        // Not logged above debug, a client hammering the gateway would otherwise flood the log as well
+        log.debug("{} from user {}", message, userId);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(message));
+    }
+}
@@ -0,0 +1,51 @@
+package ru.practicum.shareit.ratelimit;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Positive;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@Validated
+@ConfigurationProperties(prefix = "shareit-gateway.rate-limit")
+public class RateLimitProperties {
+    private boolean enabled = true;
+    // Buckets kept per route, the least recently used ones are dropped beyond it
+    private long maximumUsers = 100_000;
+    // An idle bucket has refilled long before this, so dropping it loses nothing
+    private Duration idleTimeout = Duration.ofMinutes(10);
+    // A route without a limit is not limited
+    @Valid
+    private Map<RateLimitedRoute, Limit> limits = new EnumMap<>(Map.of(
+            RateLimitedRoute.READ, new Limit(200, 100),
+            RateLimitedRoute.WRITE, new Limit(50, 20),
+            RateLimitedRoute.BOOKING_WRITE, new Limit(20, 5)
+    ));
+
+    public Limit getLimit(RateLimitedRoute route) {
+        return limits.get(route);
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limit {
+        // Requests a user may send in a burst
+        @Positive
+        private int capacity;
+        // Sustained requests per second once the burst is spent, zero would make the refill interval infinite
+        @Positive
+        private double refillPerSecond;
+    }
+}
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.ratelimit;
+
+import org.springframework.http.HttpMethod;
+
+public enum RateLimitedRoute {
+    READ,
+    WRITE,
+    BOOKING_WRITE;
+
+    private static final String BOOKINGS_PATH = "/bookings";
+
+    public static RateLimitedRoute of(String method, String path) {
+        if (HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method)) {
+            return READ;
+        }
+        if (path.equals(BOOKINGS_PATH) || path.startsWith(BOOKINGS_PATH + "/")) {
+            return BOOKING_WRITE;
+        }
+        return WRITE;
+    }
+}
@@ -0,0 +1,87 @@
+package ru.practicum.shareit.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Function;
+
+public class RateLimiter {
+    public static final String REQUESTS_METER_NAME = "shareit.gateway.rate-limit.requests";
+    public static final String BUCKETS_METER_NAME = "shareit.gateway.rate-limit.buckets";
+
+    private final boolean enabled;
+    private final Map<RateLimitedRoute, RouteBuckets> routes = new EnumMap<>(RateLimitedRoute.class);
+
+    public RateLimiter(RateLimitProperties properties, MeterRegistry registry) {
+        this.enabled = properties.isEnabled();
+        for (RateLimitedRoute route : RateLimitedRoute.values()) {
+            RateLimitProperties.Limit limit = properties.getLimit(route);
+            if (limit != null) {
+                routes.put(route, new RouteBuckets(route, limit, properties, registry));
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Takes a token from the user's bucket for the route.
+     *
+     * @return {@code 0} when the request may pass, otherwise the nanoseconds until the user gets the next token
+     */
+    public long tryAcquire(String user, RateLimitedRoute route) {
+        RouteBuckets buckets = routes.get(route);
+        if (!enabled || buckets == null) {
+            return 0;
+        }
+        long wait = buckets.cache.get(user, buckets.newBucket).tryAcquire(System.nanoTime());
+        if (wait == 0) {
+            buckets.allowed.increment();
+        } else {
+            buckets.rejected.increment();
+        }
+        return wait;
+    }
+
+    private static class RouteBuckets {
+        private final Cache<String, TokenBucket> cache;
+        private final Function<String, TokenBucket> newBucket;
+        private final Counter allowed;
+        private final Counter rejected;
+
+        RouteBuckets(
+                RateLimitedRoute route,
+                RateLimitProperties.Limit limit,
+                RateLimitProperties properties,
+                MeterRegistry registry
+        ) {
+            this.cache = Caffeine.newBuilder()
+                    .maximumSize(properties.getMaximumUsers())
+                    .expireAfterAccess(properties.getIdleTimeout())
+                    .build();
+            this.newBucket = user -> new TokenBucket(limit);
+            String routeTag = route.name().toLowerCase();
+            this.allowed = Counter.builder(REQUESTS_METER_NAME)
+                    .description("Requests checked against the per-user rate limit")
+                    .tag("route", routeTag)
+                    .tag("outcome", "allowed")
+                    .register(registry);
+            this.rejected = Counter.builder(REQUESTS_METER_NAME)
+                    .description("Requests checked against the per-user rate limit")
+                    .tag("route", routeTag)
+                    .tag("outcome", "rejected")
+                    .register(registry);
+            Gauge.builder(BUCKETS_METER_NAME, cache, Cache::estimatedSize)
+                    .description("Users with a token bucket kept for the route")
+                    .tag("route", routeTag)
+                    .register(registry);
+        }
+    }
+}
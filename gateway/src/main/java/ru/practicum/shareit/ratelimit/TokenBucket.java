@@ -0,0 +1,35 @@
+package ru.practicum.shareit.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket kept as a single timestamp: the moment the bucket would be full again. Taking a token moves it one
+ * refill interval forward, so concurrent requests only race on one compare-and-set and never block.
+ */
+class TokenBucket {
+    private final long refillIntervalNanos;
+    private final long capacityNanos;
+    private final AtomicLong fullAt = new AtomicLong(Long.MIN_VALUE);
+
+    TokenBucket(RateLimitProperties.Limit limit) {
+        this.refillIntervalNanos = Math.max(1, Math.round(1_000_000_000 / limit.getRefillPerSecond()));
+        this.capacityNanos = refillIntervalNanos * limit.getCapacity();
+    }
+
+    /**
+     * @return {@code 0} when a token was taken, otherwise the nanoseconds until the next one is available
+     */
+    long tryAcquire(long nowNanos) {
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, nowNanos) + refillIntervalNanos;
+            long wait = next - nowNanos - capacityNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
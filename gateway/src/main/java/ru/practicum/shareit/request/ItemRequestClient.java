@@ -2,48 +2,63 @@ package ru.practicum.shareit.request;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.UriComponents;
 import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.RequestCoalescer;
 import ru.practicum.shareit.request.dto.RequestAddItemRequestDto;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Optional;
+
 @Service
 public class ItemRequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemRequestClient(
+            @Value("${shareit-server.url}") String serverUrl,
+            WebClient.Builder builder,
+            RequestCoalescer requestCoalescer
+    ) {
         super(
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .baseUrl(serverUrl + API_PREFIX)
+                        .build(),
+                requestCoalescer
         );
     }
 
-    public ResponseEntity<Object> save(long userId, RequestAddItemRequestDto requestAddItemRequestDto) {
+    public Mono<ResponseEntity<Object>> save(long userId, RequestAddItemRequestDto requestAddItemRequestDto) {
         return post("", userId, requestAddItemRequestDto);
     }
 
-    public ResponseEntity<Object> findByUserId(long userId) {
-        return get("", userId);
+    public void findByUserId(long userId, Integer from, Integer size, HttpServletResponse response)
+            throws IOException {
+        UriComponents uriComponents = UriComponentsBuilder.newInstance()
+                .queryParamIfPresent("from", Optional.ofNullable(from))
+                .queryParamIfPresent("size", Optional.ofNullable(size))
+                .build();
+        // Without a size the server returns every request of the user
+        getStream(uriComponents.toUriString(), userId, response);
     }
 
-    public ResponseEntity<Object> findAllNotOwned(long userId, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> findAllNotOwned(long userId, Integer from, Integer size, String after) {
         UriComponents uriComponents = UriComponentsBuilder.newInstance()
                 .path("/all")
                 .queryParam("from", from)
                 .queryParam("size", size)
+                .queryParamIfPresent("after", Optional.ofNullable(after))
                 .build();
         return get(uriComponents.toUriString(), userId);
     }
 
-    public ResponseEntity<Object> findById(long userId, Long id) {
+    public Mono<ResponseEntity<Object>> findById(long userId, Long id) {
         UriComponents uriComponents = UriComponentsBuilder.newInstance()
                 .path("/{id}")
                 .buildAndExpand(id);
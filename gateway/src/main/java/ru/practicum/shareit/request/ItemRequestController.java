@@ -6,11 +6,14 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.request.dto.RequestAddItemRequestDto;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.io.IOException;
 
 @Controller
 @RequestMapping(path = "/requests")
@@ -23,7 +26,7 @@ public class ItemRequestController {
     private final ItemRequestClient itemRequestClient;
 
     @PostMapping
-    public ResponseEntity<Object> save(
+    public Mono<ResponseEntity<Object>> save(
             @RequestHeader(USER_ID_HEADER_NAME) Long userId,
             @Valid @RequestBody RequestAddItemRequestDto requestAddItemRequestDto
     ) {
@@ -32,27 +35,37 @@ public class ItemRequestController {
     }
 
     @GetMapping
-    public ResponseEntity<Object> findByUserId(@RequestHeader(USER_ID_HEADER_NAME) Long userId) {
-        log.info(String.format("Get item requests request by userId#%d ", userId));
-        return itemRequestClient.findByUserId(userId);
+    public void findByUserId(
+            @RequestHeader(USER_ID_HEADER_NAME) Long userId,
+            @RequestParam(required = false)
+            @PositiveOrZero(message = "From parameter must be greater or equal 0")
+            Integer from,
+            @RequestParam(required = false)
+            @Positive(message = "Size parameter must be positive")
+            Integer size,
+            HttpServletResponse response
+    ) throws IOException {
+        log.info(String.format("Get item requests request by userId#%d from: %s; size: %s", userId, from, size));
+        itemRequestClient.findByUserId(userId, from, size, response);
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> findAllNotOwned(
+    public Mono<ResponseEntity<Object>> findAllNotOwned(
             @RequestHeader(USER_ID_HEADER_NAME) Long userId,
             @RequestParam(defaultValue = "0")
             @PositiveOrZero(message = "From parameter must be greater or equal 0")
             Integer from,
             @RequestParam(defaultValue = "20")
             @Positive(message = "Size parameter must be positive")
-            Integer size
+            Integer size,
+            @RequestParam(required = false) String after
     ) {
-        log.info(String.format("Get all item requests request from: %d; size: %d", from, size));
-        return itemRequestClient.findAllNotOwned(userId, from, size);
+        log.info(String.format("Get all item requests request from: %d; size: %d; after: %s", from, size, after));
+        return itemRequestClient.findAllNotOwned(userId, from, size, after);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Object> findById(
+    public Mono<ResponseEntity<Object>> findById(
             @RequestHeader(USER_ID_HEADER_NAME) Long userId,
             @PathVariable Long id
     ) {
@@ -0,0 +1,57 @@
+package ru.practicum.shareit.tracing;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// W3C trace context of the request being handled on the current thread
+@Getter
+@AllArgsConstructor
+public class TraceContext {
+    public static final String TRACEPARENT_HEADER_NAME = "traceparent";
+    private static final Pattern TRACEPARENT_FORMAT = Pattern.compile("00-([0-9a-f]{32})-[0-9a-f]{16}-[0-9a-f]{2}");
+    private static final String INVALID_TRACE_ID = "0".repeat(32);
+    private static final ThreadLocal<TraceContext> CURRENT = new ThreadLocal<>();
+
+    private final String traceId;
+    private final String spanId;
+
+    public static TraceContext current() {
+        return CURRENT.get();
+    }
+
+    public static void set(TraceContext context) {
+        CURRENT.set(context);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    // Joins the caller's trace when it sent a valid traceparent, otherwise starts a new one
+    public static TraceContext continueOrStart(String traceparent) {
+        String traceId = null;
+        if (traceparent != null) {
+            Matcher matcher = TRACEPARENT_FORMAT.matcher(traceparent.trim());
+            if (matcher.matches() && !INVALID_TRACE_ID.equals(matcher.group(1))) {
+                traceId = matcher.group(1);
+            }
+        }
+        return new TraceContext(traceId != null ? traceId : randomHex() + randomHex(), randomHex());
+    }
+
+    public String toTraceparent() {
+        return "00-" + traceId + "-" + spanId + "-01";
+    }
+
+    private static String randomHex() {
+        long value;
+        do {
+            value = ThreadLocalRandom.current().nextLong();
+        } while (value == 0);
+        return String.format("%016x", value);
+    }
+}
@@ -0,0 +1,32 @@
+package ru.practicum.shareit.tracing;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+@Component
+public class TraceContextFilter extends OncePerRequestFilter {
+    public static final String TRACE_ID_HEADER_NAME = "X-Trace-Id";
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        TraceContext context = TraceContext.continueOrStart(request.getHeader(TraceContext.TRACEPARENT_HEADER_NAME));
+        response.setHeader(TRACE_ID_HEADER_NAME, context.getTraceId());
+        // Clients build their server requests while the controller runs on this thread
+        TraceContext.set(context);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            TraceContext.clear();
+        }
+    }
+}
@@ -2,51 +2,69 @@ package ru.practicum.shareit.user;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.UriComponents;
 import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.cache.CachedRoute;
+import ru.practicum.shareit.cache.ResponseCache;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.RequestCoalescer;
 import ru.practicum.shareit.user.dto.RequestAddUserDto;
 import ru.practicum.shareit.user.dto.RequestUpdateUserDto;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
 @Service
 public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public UserClient(
+            @Value("${shareit-server.url}") String serverUrl,
+            WebClient.Builder builder,
+            ResponseCache responseCache,
+            RequestCoalescer requestCoalescer
+    ) {
         super(
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .baseUrl(serverUrl + API_PREFIX)
+                        .build(),
+                responseCache,
+                requestCoalescer
         );
     }
 
-    public ResponseEntity<Object> save(RequestAddUserDto userDto) {
+    public Mono<ResponseEntity<Object>> save(RequestAddUserDto userDto) {
         return post("", userDto);
     }
 
-    public ResponseEntity<Object> update(Long id, RequestUpdateUserDto userDto) {
-        UriComponents uriComponents = UriComponentsBuilder.newInstance().path("/{id}").buildAndExpand(id);
-        return patch(uriComponents.toUriString(), userDto);
+    public Mono<ResponseEntity<Object>> update(Long id, RequestUpdateUserDto userDto) {
+        String path = UriComponentsBuilder.newInstance().path("/{id}").buildAndExpand(id).toUriString();
+        return patch(path, userDto)
+                .doFinally(signal -> invalidate(CachedRoute.USER, path));
     }
 
-    public ResponseEntity<Object> findById(Long id) {
+    public Mono<ResponseEntity<Object>> findById(Long id) {
         UriComponents uriComponents = UriComponentsBuilder.newInstance().path("/{id}").buildAndExpand(id);
-        return get(uriComponents.toUriString());
+        return cachedGet(CachedRoute.USER, uriComponents.toUriString(), null);
     }
 
-    public ResponseEntity<Object> findAll() {
-        return get("");
+    public void findAll(HttpServletResponse response) throws IOException {
+        getStream("", null, response);
     }
 
-    public void deleteById(Long id) {
-        UriComponents uriComponents = UriComponentsBuilder.newInstance().path("/{id}").buildAndExpand(id);
-        delete(uriComponents.toUriString());
+    public Mono<ResponseEntity<Object>> deleteById(Long id) {
+        String path = UriComponentsBuilder.newInstance().path("/{id}").buildAndExpand(id).toUriString();
+        return delete(path)
+                .doFinally(signal -> {
+                    invalidate(CachedRoute.USER, path);
+                    // The server deletes the user's items along with the user
+                    invalidateAll(CachedRoute.ITEM);
+                    invalidateAll(CachedRoute.ITEM_SEARCH);
+                });
     }
 }
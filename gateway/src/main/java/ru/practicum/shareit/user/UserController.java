@@ -7,10 +7,13 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.user.dto.RequestAddUserDto;
 import ru.practicum.shareit.user.dto.RequestUpdateUserDto;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import java.io.IOException;
 
 @Controller
 @RequestMapping(path = "/users")
@@ -21,30 +24,33 @@ public class UserController {
     private final UserClient userClient;
 
     @PostMapping
-    public ResponseEntity<Object> save(@Valid @RequestBody RequestAddUserDto userDto) {
+    public Mono<ResponseEntity<Object>> save(@Valid @RequestBody RequestAddUserDto userDto) {
         log.info("Add userDto request: {}", userDto);
         return userClient.save(userDto);
     }
 
     @PatchMapping("/{id}")
-    public ResponseEntity<Object> update(@PathVariable long id, @Valid @RequestBody RequestUpdateUserDto userDto) {
+    public Mono<ResponseEntity<Object>> update(
+            @PathVariable long id,
+            @Valid @RequestBody RequestUpdateUserDto userDto
+    ) {
         log.info("Update user id {}}. Data: {}", id, userDto);
         return userClient.update(id, userDto);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Object> findById(@PathVariable Long id) {
+    public Mono<ResponseEntity<Object>> findById(@PathVariable Long id) {
         return userClient.findById(id);
     }
 
     @GetMapping
-    public ResponseEntity<Object> findAll() {
-        return userClient.findAll();
+    public void findAll(HttpServletResponse response) throws IOException {
+        userClient.findAll(response);
     }
 
     @DeleteMapping("/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
-    public void delete(@PathVariable Long id) {
-        userClient.deleteById(id);
+    public Mono<Void> delete(@PathVariable Long id) {
+        return userClient.deleteById(id).then();
     }
 }
@@ -0,0 +1,107 @@
+package ru.practicum.shareit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+@Slf4j
+// Measures proxying itself, so identical searches must not be cached, coalesced or rate limited
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "shareit-gateway.cache.enabled=false",
+                "shareit-gateway.coalescing.enabled=false",
+                "shareit-gateway.rate-limit.enabled=false"
+        }
+)
+class GatewayLoadIT {
+    private static final int CONCURRENT_REQUESTS = 1_000;
+    private static final long SERVER_LATENCY_MS = 100;
+    private static final byte[] SERVER_RESPONSE = "[]".getBytes(StandardCharsets.UTF_8);
+
+    private static final DisposableServer server = startServer();
+
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void serverUrl(DynamicPropertyRegistry registry) {
+        registry.add("shareit-server.url", () -> "http://localhost:" + server.port());
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.disposeNow();
+    }
+
+    @Test
+    void search_whenThousandConcurrentRequests_thenAllSucceed() {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newFixedThreadPool(16))
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/items/search?text=drill"))
+                .timeout(Duration.ofMinutes(2))
+                .build();
+
+        sendConcurrently(client, request, CONCURRENT_REQUESTS);
+
+        long start = System.nanoTime();
+        List<HttpResponse<Void>> responses = sendConcurrently(client, request, CONCURRENT_REQUESTS);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        long succeeded = responses.stream().filter(response -> response.statusCode() == 200).count();
+        log.info(
+                "{} concurrent requests with {} ms server latency took {} ms, throughput {} req/s",
+                CONCURRENT_REQUESTS,
+                SERVER_LATENCY_MS,
+                elapsedMs,
+                CONCURRENT_REQUESTS * 1000L / Math.max(elapsedMs, 1)
+        );
+        assertThat((long) CONCURRENT_REQUESTS, equalTo(succeeded));
+    }
+
+    private List<HttpResponse<Void>> sendConcurrently(HttpClient client, HttpRequest request, int count) {
+        List<CompletableFuture<HttpResponse<Void>>> futures = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            futures.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding()));
+        }
+        List<HttpResponse<Void>> responses = new ArrayList<>(count);
+        for (CompletableFuture<HttpResponse<Void>> future : futures) {
+            responses.add(future.join());
+        }
+        return responses;
+    }
+
+    private static DisposableServer startServer() {
+        return HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .handle((request, response) -> response
+                        .header("Content-Type", "application/json")
+                        .sendByteArray(Mono.delay(Duration.ofMillis(SERVER_LATENCY_MS)).thenReturn(SERVER_RESPONSE)))
+                .bindNow();
+    }
+}
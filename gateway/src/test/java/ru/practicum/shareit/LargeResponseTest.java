@@ -0,0 +1,99 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class LargeResponseTest {
+    private static final String USER_ID_HEADER_NAME = "X-Sharer-User-Id";
+    private static final String ROW = "{\"id\":1,\"name\":\"user\",\"email\":\"user@mail.com\"},";
+    // About 5 MB, over twice the codec limit buffered responses are read with
+    private static final int ROWS = 100_000;
+    private static final int ROWS_PER_CHUNK = 1_000;
+    private static final DisposableServer server = startServer();
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @DynamicPropertySource
+    static void serverUrl(DynamicPropertyRegistry registry) {
+        registry.add("shareit-server.url", () -> "http://localhost:" + server.port());
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.disposeNow();
+    }
+
+    @BeforeEach
+    void removeClientLimit() {
+        // The test client reads bodies with the same codec limit, which is what the gateway must not apply here
+        webTestClient = webTestClient.mutate()
+                .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(-1))
+                .build();
+    }
+
+    @Test
+    void findAllUsers_whenResponseOverCodecLimit_thenRelayedWhole() {
+        byte[] body = webTestClient.get().uri("/users")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody().returnResult().getResponseBody();
+
+        assertThat(body.length, equalTo(expectedLength()));
+    }
+
+    @Test
+    void findRequestsByUserId_whenResponseOverCodecLimit_thenRelayedWhole() {
+        byte[] body = webTestClient.get().uri("/requests")
+                .header(USER_ID_HEADER_NAME, "1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().returnResult().getResponseBody();
+
+        assertThat(body.length, equalTo(expectedLength()));
+    }
+
+    @Test
+    void findBookingById_whenBufferedResponseOverCodecLimit_thenBadGateway() {
+        webTestClient.get().uri("/bookings/1")
+                .header(USER_ID_HEADER_NAME, "1")
+                .exchange()
+                .expectStatus().isEqualTo(502);
+    }
+
+    private static int expectedLength() {
+        return 2 + ROWS * ROW.length() - 1;
+    }
+
+    private static DisposableServer startServer() {
+        byte[] chunk = ROW.repeat(ROWS_PER_CHUNK).getBytes(StandardCharsets.UTF_8);
+        return HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .handle((request, response) -> response.header("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                        .sendByteArray(Flux.concat(
+                                Flux.just("[".getBytes(StandardCharsets.UTF_8)),
+                                Flux.range(0, ROWS / ROWS_PER_CHUNK - 1).map(i -> chunk),
+                                Flux.just((ROW.repeat(ROWS_PER_CHUNK - 1)
+                                        + ROW.substring(0, ROW.length() - 1) + "]").getBytes(StandardCharsets.UTF_8))
+                        )))
+                .bindNow();
+    }
+}
@@ -0,0 +1,135 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.nullValue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class BookingExportTest {
+    private static final String USER_ID_HEADER_NAME = "X-Sharer-User-Id";
+    private static final int ROWS = 1_000_000;
+    private static final int ROWS_PER_CHUNK = 1_000;
+    private static final String ROW = "{\"id\":1,\"start\":\"2024-01-01T10:00:00\",\"status\":\"APPROVED\"}\n";
+    private static final long SAMPLE_INTERVAL = 8L * 1024 * 1024;
+    // The relayed body is about 60 MB, holding it in the gateway would show up well above this
+    private static final long MAX_HEAP_GROWTH = 32L * 1024 * 1024;
+    private static final AtomicReference<String> upstreamUri = new AtomicReference<>();
+    private static final DisposableServer server = startServer();
+
+    @Autowired
+    private WebTestClient webTestClient;
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void serverUrl(DynamicPropertyRegistry registry) {
+        registry.add("shareit-server.url", () -> "http://localhost:" + server.port());
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.disposeNow();
+    }
+
+    @Test
+    void exportByItemOwner_whenMillionRows_thenRelayedAsStreamWithFlatHeap() {
+        long baselineHeap = usedHeap();
+        AtomicLong maxUsedHeap = new AtomicLong(baselineHeap);
+        AtomicLong bytes = new AtomicLong();
+        AtomicReference<HttpHeaders> headers = new AtomicReference<>();
+
+        // WebTestClient records whole bodies for diagnostics, so the body is read with a plain client here
+        WebClient.create("http://localhost:" + port)
+                .get().uri("/bookings/owner/export?format=ndjson")
+                .header(USER_ID_HEADER_NAME, "1")
+                .exchangeToFlux(response -> {
+                    headers.set(response.headers().asHttpHeaders());
+                    return response.bodyToFlux(DataBuffer.class);
+                })
+                .doOnNext(buffer -> {
+                    long before = bytes.get();
+                    long after = bytes.addAndGet(buffer.readableByteCount());
+                    DataBufferUtils.release(buffer);
+                    if (before / SAMPLE_INTERVAL != after / SAMPLE_INTERVAL) {
+                        maxUsedHeap.accumulateAndGet(usedHeap(), Math::max);
+                    }
+                })
+                .blockLast(Duration.ofMinutes(1));
+
+        assertThat(upstreamUri.get(), equalTo("/bookings/owner/export?format=NDJSON"));
+        assertThat(headers.get().getContentType(), equalTo(MediaType.APPLICATION_NDJSON));
+        assertThat(headers.get().getFirst(HttpHeaders.CONTENT_LENGTH), nullValue());
+        assertThat(bytes.get(), equalTo((long) ROWS * ROW.length()));
+        assertThat(maxUsedHeap.get() - baselineHeap, lessThan(MAX_HEAP_GROWTH));
+    }
+
+    @Test
+    void exportByItemOwner_whenServerRespondsNotFound_thenStatusAndBodyRelayed() {
+        webTestClient.get().uri("/bookings/owner/export?format=csv")
+                .header(USER_ID_HEADER_NAME, "404")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody().jsonPath("$.error").isEqualTo("not found");
+    }
+
+    @Test
+    void exportByItemOwner_whenUnknownFormat_thenBadRequest() {
+        upstreamUri.set(null);
+
+        webTestClient.get().uri("/bookings/owner/export?format=xml")
+                .header(USER_ID_HEADER_NAME, "1")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        assertThat(upstreamUri.get(), nullValue());
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static DisposableServer startServer() {
+        byte[] chunk = ROW.repeat(ROWS_PER_CHUNK).getBytes(StandardCharsets.UTF_8);
+        return HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .handle((request, response) -> {
+                    upstreamUri.set(request.uri());
+                    if ("404".equals(request.requestHeaders().get(USER_ID_HEADER_NAME))) {
+                        return response.status(404)
+                                .header("Content-Type", "application/json")
+                                .sendString(Mono.just("{\"error\":\"not found\"}"));
+                    }
+                    return response.header("Content-Type", MediaType.APPLICATION_NDJSON_VALUE)
+                            .sendByteArray(Flux.range(0, ROWS / ROWS_PER_CHUNK).map(i -> chunk));
+                })
+                .bindNow();
+    }
+}
@@ -0,0 +1,243 @@
+package ru.practicum.shareit.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ResponseCacheTest {
+    private static final String USER_ID_HEADER_NAME = "X-Sharer-User-Id";
+    private static final int CONCURRENT_REQUESTS = 50;
+    private static final long SERVER_LATENCY_MS = 200;
+    private static final Map<String, AtomicInteger> upstreamCalls = new ConcurrentHashMap<>();
+    private static final DisposableServer server = startServer();
+
+    @Autowired
+    private WebTestClient webTestClient;
+    @Autowired
+    private ResponseCache responseCache;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @DynamicPropertySource
+    static void serverUrl(DynamicPropertyRegistry registry) {
+        registry.add("shareit-server.url", () -> "http://localhost:" + server.port());
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.disposeNow();
+    }
+
+    @BeforeEach
+    void setUp() {
+        responseCache.getCache().synchronous().invalidateAll();
+        upstreamCalls.clear();
+    }
+
+    @Test
+    void findById_whenConcurrentRequests_thenSingleUpstreamFetch() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_REQUESTS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> statuses = new ArrayList<>();
+        try {
+            for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+                statuses.add(executor.submit(() -> {
+                    start.await();
+                    return webTestClient.get().uri("/users/1").exchange()
+                            .returnResult(byte[].class)
+                            .getStatus()
+                            .value();
+                }));
+            }
+            start.countDown();
+            for (Future<Integer> status : statuses) {
+                assertThat(status.get(), equalTo(200));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(upstreamCalls("GET /users/1"), equalTo(1));
+    }
+
+    @Test
+    void findById_whenUserDependent_thenCachedPerUser() {
+        getItem(1L).expectStatus().isOk();
+        getItem(1L).expectStatus().isOk();
+        getItem(2L).expectStatus().isOk();
+
+        assertThat(upstreamCalls("GET /items/1"), equalTo(2));
+    }
+
+    @Test
+    void update_whenItemCached_thenItemAndSearchInvalidated() {
+        getItem(1L).expectStatus().isOk();
+        webTestClient.get().uri("/items/search?text=drill").exchange().expectStatus().isOk();
+
+        webTestClient.patch().uri("/items/1")
+                .header(USER_ID_HEADER_NAME, "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"name\":\"updated\"}")
+                .exchange()
+                .expectStatus().isOk();
+        getItem(1L).expectStatus().isOk();
+        webTestClient.get().uri("/items/search?text=drill").exchange().expectStatus().isOk();
+
+        assertThat(upstreamCalls("GET /items/1"), equalTo(2));
+        assertThat(upstreamCalls("GET /items/search"), equalTo(2));
+    }
+
+    @Test
+    void approve_whenOwnerItemViewCached_thenBookedItemInvalidated() {
+        getItem(1L).expectStatus().isOk();
+        getItem(2L).expectStatus().isOk();
+
+        webTestClient.patch().uri("/bookings/5?approved=true")
+                .header(USER_ID_HEADER_NAME, "1")
+                .exchange()
+                .expectStatus().isOk();
+        getItem(1L).expectStatus().isOk();
+        getItem(2L).expectStatus().isOk();
+
+        assertThat(upstreamCalls("GET /items/1"), equalTo(4));
+    }
+
+    @Test
+    void save_whenBookingCreated_thenBookedItemInvalidated() {
+        getItem(1L).expectStatus().isOk();
+
+        webTestClient.post().uri("/bookings")
+                .header(USER_ID_HEADER_NAME, "2")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(String.format(
+                        "{\"itemId\":1,\"start\":\"%s\",\"end\":\"%s\"}",
+                        LocalDateTime.now().plusDays(1).withNano(0),
+                        LocalDateTime.now().plusDays(2).withNano(0)
+                ))
+                .exchange()
+                .expectStatus().isOk();
+        getItem(1L).expectStatus().isOk();
+
+        assertThat(upstreamCalls("GET /items/1"), equalTo(2));
+    }
+
+    @Test
+    void approve_whenServerRejects_thenCachedItemKept() {
+        getItem(1L).expectStatus().isOk();
+
+        webTestClient.patch().uri("/bookings/404?approved=true")
+                .header(USER_ID_HEADER_NAME, "1")
+                .exchange()
+                .expectStatus().isNotFound();
+        getItem(1L).expectStatus().isOk();
+
+        assertThat(upstreamCalls("GET /items/1"), equalTo(1));
+    }
+
+    @Test
+    void findById_whenNotFound_thenNotCached() {
+        webTestClient.get().uri("/users/404").exchange().expectStatus().isNotFound();
+        webTestClient.get().uri("/users/404").exchange().expectStatus().isNotFound();
+
+        assertThat(upstreamCalls("GET /users/404"), equalTo(2));
+    }
+
+    @Test
+    void findById_whenIfNoneMatchesCachedETag_thenNotModifiedWithoutUpstreamFetch() {
+        String eTag = webTestClient.get().uri("/users/1").exchange()
+                .expectStatus().isOk()
+                .returnResult(byte[].class)
+                .getResponseHeaders()
+                .getETag();
+
+        webTestClient.get().uri("/users/1")
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .exchange()
+                .expectStatus().isNotModified();
+
+        assertThat(upstreamCalls("GET /users/1"), equalTo(1));
+    }
+
+    @Test
+    void findById_whenCacheUsed_thenHitRatioAndWeightPublished() {
+        webTestClient.get().uri("/users/1").exchange().expectStatus().isOk();
+        webTestClient.get().uri("/users/1").exchange().expectStatus().isOk();
+
+        assertThat(gauge("shareit.gateway.cache.weight"), greaterThan(0.0));
+        assertThat(gauge("shareit.gateway.cache.hit.ratio"), greaterThan(0.0));
+        assertThat(
+                meterRegistry.get("cache.gets")
+                        .tag("cache", ResponseCacheConfig.CACHE_NAME)
+                        .tag("result", "hit")
+                        .functionCounter()
+                        .count(),
+                greaterThan(0.0)
+        );
+    }
+
+    private WebTestClient.ResponseSpec getItem(long userId) {
+        return webTestClient.get().uri("/items/1").header(USER_ID_HEADER_NAME, String.valueOf(userId)).exchange();
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).tag("cache", ResponseCacheConfig.CACHE_NAME).gauge().value();
+    }
+
+    private static int upstreamCalls(String key) {
+        return upstreamCalls.getOrDefault(key, new AtomicInteger()).get();
+    }
+
+    private static DisposableServer startServer() {
+        return HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .handle((request, response) -> {
+                    String path = request.uri().split("\\?")[0];
+                    upstreamCalls.computeIfAbsent(request.method().name() + " " + path, key -> new AtomicInteger())
+                            .incrementAndGet();
+                    if (path.endsWith("/404")) {
+                        return response.status(404)
+                                .header("Content-Type", "application/json")
+                                .sendString(Mono.just("{\"error\":\"not found\"}"));
+                    }
+                    String json = path.startsWith("/bookings")
+                            ? "{\"id\":5,\"status\":\"APPROVED\",\"item\":{\"id\":1,\"name\":\"drill\"}}"
+                            : "{\"path\":\"" + path + "\"}";
+                    byte[] body = json.getBytes(StandardCharsets.UTF_8);
+                    return response
+                            .header("Content-Type", "application/json")
+                            .header("ETag", "\"" + path.hashCode() + "\"")
+                            .sendByteArray(Mono.delay(Duration.ofMillis(SERVER_LATENCY_MS)).thenReturn(body));
+                })
+                .bindNow();
+    }
+}
@@ -0,0 +1,125 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.tracing.TraceContext;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+class BaseClientTest {
+    private final AtomicReference<ClientRequest> lastRequest = new AtomicReference<>();
+
+    @Test
+    void get_whenServerResponds2xx_thenRelayRawBodyAndSelectedHeaders() {
+        TestClient client = clientRespondingWith(HttpStatus.OK, "{\"id\":1}", "X-Next-Cursor", "MQ");
+
+        ResponseEntity<Object> response = client.get("/1", 5L).block();
+
+        assertThat(HttpStatus.OK, equalTo(response.getStatusCode()));
+        assertThat("{\"id\":1}", equalTo(new String((byte[]) response.getBody(), StandardCharsets.UTF_8)));
+        assertThat("MQ", equalTo(response.getHeaders().getFirst("X-Next-Cursor")));
+        assertThat(MediaType.APPLICATION_JSON, equalTo(response.getHeaders().getContentType()));
+        assertThat(false, equalTo(response.getHeaders().containsKey("X-Internal")));
+        assertThat("http://server/items/1", equalTo(lastRequest.get().url().toString()));
+        assertThat("5", equalTo(lastRequest.get().headers().getFirst("X-Sharer-User-Id")));
+    }
+
+    @Test
+    void get_whenServerResponds4xx_thenRelayStatusAndRawBody() {
+        TestClient client = clientRespondingWith(HttpStatus.NOT_FOUND, "{\"error\":\"not found\"}", "X-Internal", "1");
+
+        ResponseEntity<Object> response = client.get("/1").block();
+
+        assertThat(HttpStatus.NOT_FOUND, equalTo(response.getStatusCode()));
+        assertThat(
+                "{\"error\":\"not found\"}",
+                equalTo(new String((byte[]) response.getBody(), StandardCharsets.UTF_8))
+        );
+        assertThat(MediaType.APPLICATION_JSON, equalTo(response.getHeaders().getContentType()));
+        assertThat(false, equalTo(response.getHeaders().containsKey("X-Internal")));
+    }
+
+    @Test
+    void delete_whenServerRespondsWithoutBody_thenReturnEmptyResponse() {
+        TestClient client = clientRespondingWith(HttpStatus.OK, null, "X-Test", "1");
+
+        ResponseEntity<Object> response = client.delete("/1").block();
+
+        assertThat(HttpStatus.OK, equalTo(response.getStatusCode()));
+        assertThat(false, equalTo(response.hasBody()));
+        assertThat(false, equalTo(lastRequest.get().headers().containsKey("X-Sharer-User-Id")));
+    }
+
+    @Test
+    void get_whenTraceContextSet_thenPropagateTraceparent() {
+        TestClient client = clientRespondingWith(HttpStatus.OK, "[]", "X-Test", "1");
+        TraceContext.set(new TraceContext("4bf92f3577b34da6a3ce929d0e0e4736", "00f067aa0ba902b7"));
+        try {
+            client.get("").block();
+        } finally {
+            TraceContext.clear();
+        }
+
+        assertThat(
+                "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01",
+                equalTo(lastRequest.get().headers().getFirst(TraceContext.TRACEPARENT_HEADER_NAME))
+        );
+    }
+
+    @Test
+    void get_whenInboundRequestConditional_thenForwardIfNoneMatchAndRelayNotModified() {
+        TestClient client = clientRespondingWith(HttpStatus.NOT_MODIFIED, null, HttpHeaders.ETAG, "\"abc\"");
+        MockHttpServletRequest inboundRequest = new MockHttpServletRequest("GET", "/items/1");
+        inboundRequest.addHeader(HttpHeaders.IF_NONE_MATCH, "\"abc\"");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(inboundRequest));
+        ResponseEntity<Object> response;
+        try {
+            response = client.get("/1", 5L).block();
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+
+        assertThat("\"abc\"", equalTo(lastRequest.get().headers().getFirst(HttpHeaders.IF_NONE_MATCH)));
+        assertThat(HttpStatus.NOT_MODIFIED, equalTo(response.getStatusCode()));
+        assertThat("\"abc\"", equalTo(response.getHeaders().getETag()));
+        assertThat(false, equalTo(response.hasBody()));
+    }
+
+    private TestClient clientRespondingWith(HttpStatus status, String body, String headerName, String headerValue) {
+        WebClient webClient = WebClient.builder()
+                .baseUrl("http://server/items")
+                .exchangeFunction(request -> {
+                    lastRequest.set(request);
+                    ClientResponse.Builder response = ClientResponse.create(status)
+                            .header("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                            .header("X-Internal", "1")
+                            .header(headerName, headerValue);
+                    if (body != null) {
+                        response.body(body);
+                    }
+                    return Mono.just(response.build());
+                })
+                .build();
+        return new TestClient(webClient);
+    }
+
+    private static class TestClient extends BaseClient {
+        TestClient(WebClient webClient) {
+            super(webClient);
+        }
+    }
+}
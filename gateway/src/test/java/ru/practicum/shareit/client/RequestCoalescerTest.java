@@ -0,0 +1,102 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RequestCoalescerTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private final Sinks.One<ResponseEntity<Object>> upstream = Sinks.one();
+
+    @Test
+    void execute_whenIdenticalRequestsInFlight_thenOneUpstreamCallSharedByAll() {
+        RequestCoalescer coalescer = coalescer(10);
+
+        List<CompletableFuture<ResponseEntity<Object>>> responses = executeConcurrently(coalescer, "key", 5);
+        upstream.tryEmitValue(ResponseEntity.ok("[]"));
+
+        assertThat(upstreamCalls.get(), equalTo(1));
+        for (CompletableFuture<ResponseEntity<Object>> response : responses) {
+            assertThat(response.join().getBody(), equalTo("[]"));
+        }
+        assertThat(requests("sent"), equalTo(1.0));
+        assertThat(requests("joined"), equalTo(4.0));
+        assertThat(meterRegistry.get(RequestCoalescer.IN_FLIGHT_METER_NAME).gauge().value(), equalTo(0.0));
+    }
+
+    @Test
+    void execute_whenUpstreamFails_thenEveryWaiterGetsErrorAndNextCallRetries() {
+        RequestCoalescer coalescer = coalescer(10);
+
+        List<CompletableFuture<ResponseEntity<Object>>> responses = executeConcurrently(coalescer, "key", 3);
+        upstream.tryEmitError(new IllegalStateException("connection reset"));
+
+        for (CompletableFuture<ResponseEntity<Object>> response : responses) {
+            Exception exception = assertThrows(Exception.class, response::join);
+            assertThat(exception.getCause(), instanceOf(IllegalStateException.class));
+        }
+        coalescer.execute("key", this::callUpstream).toFuture();
+        assertThat(upstreamCalls.get(), equalTo(2));
+    }
+
+    @Test
+    void execute_whenWaitersAtLimitOrKeysDiffer_thenSeparateUpstreamCalls() {
+        RequestCoalescer coalescer = coalescer(2);
+
+        executeConcurrently(coalescer, "key", 3);
+        executeConcurrently(coalescer, "other", 1);
+
+        assertThat(upstreamCalls.get(), equalTo(3));
+        assertThat(requests("overflowed"), equalTo(1.0));
+    }
+
+    @Test
+    void execute_whenOneWaiterCancels_thenOthersStillGetResponse() {
+        RequestCoalescer coalescer = coalescer(10);
+
+        List<CompletableFuture<ResponseEntity<Object>>> responses = executeConcurrently(coalescer, "key", 2);
+        responses.get(0).cancel(true);
+        upstream.tryEmitValue(ResponseEntity.ok("[]"));
+
+        assertThat(responses.get(1).join().getBody(), equalTo("[]"));
+    }
+
+    private RequestCoalescer coalescer(int maxWaiters) {
+        RequestCoalescerProperties properties = new RequestCoalescerProperties();
+        properties.setMaxWaiters(maxWaiters);
+        return new RequestCoalescer(properties, meterRegistry);
+    }
+
+    private List<CompletableFuture<ResponseEntity<Object>>> executeConcurrently(
+            RequestCoalescer coalescer,
+            Object key,
+            int count
+    ) {
+        List<CompletableFuture<ResponseEntity<Object>>> responses = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            responses.add(coalescer.execute(key, this::callUpstream).toFuture());
+        }
+        return responses;
+    }
+
+    private Mono<ResponseEntity<Object>> callUpstream() {
+        upstreamCalls.incrementAndGet();
+        return upstream.asMono();
+    }
+
+    private double requests(String outcome) {
+        return meterRegistry.get(RequestCoalescer.REQUESTS_METER_NAME).tag("outcome", outcome).counter().count();
+    }
+}
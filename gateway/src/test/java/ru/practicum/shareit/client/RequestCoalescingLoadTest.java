@@ -0,0 +1,129 @@
+package ru.practicum.shareit.client;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+@Slf4j
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class RequestCoalescingLoadTest {
+    private static final String USER_ID_HEADER_NAME = "X-Sharer-User-Id";
+    // Stays under the per-user read burst of the rate limiter
+    private static final int CONCURRENT_REQUESTS = 150;
+    private static final long SERVER_LATENCY_MS = 300;
+    private static final Map<String, AtomicInteger> upstreamCalls = new ConcurrentHashMap<>();
+    private static final DisposableServer server = startServer();
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .executor(Executors.newFixedThreadPool(16))
+            .build();
+
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void serverUrl(DynamicPropertyRegistry registry) {
+        registry.add("shareit-server.url", () -> "http://localhost:" + server.port());
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.disposeNow();
+    }
+
+    @BeforeEach
+    void setUp() {
+        upstreamCalls.clear();
+    }
+
+    @Test
+    void findAll_whenConcurrentIdenticalRequests_thenUpstreamCallsCollapsed() {
+        List<HttpResponse<String>> responses = sendConcurrently(
+                List.of("/requests/all?from=0&size=10"),
+                List.of("1"),
+                CONCURRENT_REQUESTS
+        );
+
+        int calls = upstreamCalls.get("/requests/all?from=0&size=10|1").get();
+        log.info("{} concurrent identical requests reached the server as {} requests", CONCURRENT_REQUESTS, calls);
+        assertThat(responses.stream().filter(response -> response.statusCode() == 200).count(),
+                equalTo((long) CONCURRENT_REQUESTS));
+        responses.forEach(response -> assertThat(response.body(), equalTo("[{\"user\":\"1\"}]")));
+        // Requests that arrive after the first response is back send their own, a handful at most
+        assertThat(calls, lessThanOrEqualTo(CONCURRENT_REQUESTS / 10));
+    }
+
+    @Test
+    void findAll_whenUsersOrParametersDiffer_thenNotCollapsedTogether() {
+        List<HttpResponse<String>> responses = sendConcurrently(
+                List.of("/requests/all?from=0&size=10", "/requests/all?from=10&size=10"),
+                List.of("1", "2"),
+                40
+        );
+
+        responses.forEach(response -> assertThat(response.statusCode(), equalTo(200)));
+        assertThat(upstreamCalls.keySet().size(), equalTo(4));
+        for (HttpResponse<String> response : responses) {
+            String userId = response.request().headers().firstValue(USER_ID_HEADER_NAME).orElseThrow();
+            assertThat(response.body(), equalTo("[{\"user\":\"" + userId + "\"}]"));
+        }
+    }
+
+    private List<HttpResponse<String>> sendConcurrently(List<String> paths, List<String> userIds, int count) {
+        List<CompletableFuture<HttpResponse<String>>> futures = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + paths.get(i % paths.size())))
+                    .header(USER_ID_HEADER_NAME, userIds.get(i / paths.size() % userIds.size()))
+                    .timeout(Duration.ofSeconds(30))
+                    .build();
+            futures.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofString()));
+        }
+        List<HttpResponse<String>> responses = new ArrayList<>(count);
+        for (CompletableFuture<HttpResponse<String>> future : futures) {
+            responses.add(future.join());
+        }
+        return responses;
+    }
+
+    private static DisposableServer startServer() {
+        return HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .handle((request, response) -> {
+                    String userId = request.requestHeaders().get(USER_ID_HEADER_NAME);
+                    upstreamCalls.computeIfAbsent(request.uri() + "|" + userId, key -> new AtomicInteger())
+                            .incrementAndGet();
+                    return response
+                            .header("Content-Type", "application/json")
+                            .sendString(Mono.delay(Duration.ofMillis(SERVER_LATENCY_MS))
+                                    .thenReturn("[{\"user\":\"" + userId + "\"}]"));
+                })
+                .bindNow();
+    }
+}
@@ -0,0 +1,144 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "shareit-gateway.items.import-timeout=1m"
+)
+class ItemImportTest {
+    private static final String USER_ID_HEADER_NAME = "X-Sharer-User-Id";
+    // Well above spring.codec.max-in-memory-size, which a buffered body would exceed
+    private static final int ROWS = 100_000;
+    private static final AtomicReference<HttpHeaders> upstreamHeaders = new AtomicReference<>();
+    private static final DisposableServer server = startServer();
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @DynamicPropertySource
+    static void serverUrl(DynamicPropertyRegistry registry) {
+        registry.add("shareit-server.url", () -> "http://localhost:" + server.port());
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.disposeNow();
+    }
+
+    @Test
+    void importItems_whenLargeNdjsonBody_thenStreamedToServerIntact() {
+        StringBuilder rows = new StringBuilder();
+        for (int i = 0; i < ROWS; i++) {
+            rows.append("{\"name\":\"Drill ").append(i).append("\",\"description\":\"Cordless drill\",\"available\":true}\n");
+        }
+        byte[] body = rows.toString().getBytes(StandardCharsets.UTF_8);
+
+        webTestClient.mutate().responseTimeout(Duration.ofSeconds(30)).build()
+                .post().uri("/items/import")
+                .header(USER_ID_HEADER_NAME, "1")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .bodyValue(body)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.bytes").isEqualTo(body.length)
+                .jsonPath("$.sha256").isEqualTo(sha256(body));
+
+        HttpHeaders headers = upstreamHeaders.get();
+        assertThat(headers.getContentType(), equalTo(MediaType.APPLICATION_NDJSON));
+        assertThat(headers.getFirst(USER_ID_HEADER_NAME), equalTo("1"));
+        // Chunks are relayed as they arrive instead of being collected into a sized body first
+        assertThat(headers.getFirst(HttpHeaders.TRANSFER_ENCODING), equalTo("chunked"));
+        assertThat(headers.getFirst(HttpHeaders.CONTENT_LENGTH), nullValue());
+    }
+
+    @Test
+    void importItems_whenCsvBody_thenContentTypeForwarded() {
+        webTestClient.post().uri("/items/import")
+                .header(USER_ID_HEADER_NAME, "1")
+                .contentType(MediaType.valueOf("text/csv"))
+                .bodyValue("name,description,available\nDrill,Cordless drill,true\n")
+                .exchange()
+                .expectStatus().isOk();
+
+        assertThat(upstreamHeaders.get().getContentType(), equalTo(MediaType.valueOf("text/csv")));
+    }
+
+    @Test
+    void importItems_whenUnsupportedContentType_thenUnsupportedMediaType() {
+        upstreamHeaders.set(null);
+
+        webTestClient.post().uri("/items/import")
+                .header(USER_ID_HEADER_NAME, "1")
+                .contentType(MediaType.TEXT_PLAIN)
+                .bodyValue("Drill")
+                .exchange()
+                .expectStatus().isEqualTo(415);
+
+        assertThat(upstreamHeaders.get(), nullValue());
+    }
+
+    private static DisposableServer startServer() {
+        return HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .handle((request, response) -> {
+                    HttpHeaders headers = new HttpHeaders();
+                    request.requestHeaders().forEach(header -> headers.add(header.getKey(), header.getValue()));
+                    upstreamHeaders.set(headers);
+                    MessageDigest digest = newDigest();
+                    Mono<String> report = request.receive()
+                            .asByteArray()
+                            .reduce(0L, (bytes, chunk) -> {
+                                digest.update(chunk);
+                                return bytes + chunk.length;
+                            })
+                            .map(bytes -> String.format(
+                                    "{\"bytes\":%d,\"sha256\":\"%s\"}",
+                                    bytes,
+                                    toHex(digest.digest())
+                            ));
+                    return response.header("Content-Type", "application/json").sendString(report);
+                })
+                .bindNow();
+    }
+
+    private static String sha256(byte[] body) {
+        return toHex(newDigest().digest(body));
+    }
+
+    private static String toHex(byte[] hash) {
+        return String.format("%064x", new BigInteger(1, hash));
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package ru.practicum.shareit.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class RateLimitFilterTest {
+    private static final String USER_ID_HEADER_NAME = "X-Sharer-User-Id";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RateLimitFilter filter = new RateLimitFilter(
+            new RateLimiter(properties(true), meterRegistry),
+            new ObjectMapper()
+    );
+
+    @Test
+    void doFilter_whenBookingWriteBurstSpent_thenTooManyRequestsWithRetryAfter() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            assertThat(filter("POST", "/bookings", "1").getStatus(), equalTo(HttpStatus.OK.value()));
+        }
+
+        MockHttpServletResponse response = filter("PATCH", "/bookings/5", "1");
+
+        assertThat(response.getStatus(), equalTo(HttpStatus.TOO_MANY_REQUESTS.value()));
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER), equalTo("1"));
+        assertThat(response.getContentAsString(), containsString("Rate limit exceeded for BOOKING_WRITE requests"));
+        assertThat(requests("booking_write", "allowed"), equalTo(2.0));
+        assertThat(requests("booking_write", "rejected"), equalTo(1.0));
+    }
+
+    @Test
+    void doFilter_whenOneUserLimited_thenOtherUsersAndRoutesUnaffected() {
+        for (int i = 0; i < 3; i++) {
+            filter("POST", "/bookings", "1");
+        }
+
+        assertThat(filter("POST", "/bookings", "2").getStatus(), equalTo(HttpStatus.OK.value()));
+        assertThat(filter("GET", "/bookings", "1").getStatus(), equalTo(HttpStatus.OK.value()));
+        assertThat(filter("POST", "/items", "1").getStatus(), equalTo(HttpStatus.OK.value()));
+        assertThat(meterRegistry.get(RateLimiter.BUCKETS_METER_NAME).tag("route", "booking_write").gauge().value(),
+                equalTo(2.0));
+    }
+
+    @Test
+    void doFilter_whenActuatorOrDisabled_thenNotLimited() {
+        RateLimitFilter disabled = new RateLimitFilter(
+                new RateLimiter(properties(false), new SimpleMeterRegistry()),
+                new ObjectMapper()
+        );
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(filter("POST", "/actuator/prometheus", "1").getStatus(), equalTo(HttpStatus.OK.value()));
+            assertThat(filter(disabled, "POST", "/bookings", "1").getStatus(), equalTo(HttpStatus.OK.value()));
+        }
+    }
+
+    private MockHttpServletResponse filter(String method, String path, String userId) {
+        return filter(filter, method, path, userId);
+    }
+
+    @SneakyThrows
+    private static MockHttpServletResponse filter(RateLimitFilter filter, String method, String path, String userId) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.addHeader(USER_ID_HEADER_NAME, userId);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private double requests(String route, String outcome) {
+        return meterRegistry.get(RateLimiter.REQUESTS_METER_NAME).tag("route", route).tag("outcome", outcome)
+                .counter().count();
+    }
+
+    private static RateLimitProperties properties(boolean enabled) {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setEnabled(enabled);
+        properties.getLimits().putAll(Map.of(
+                RateLimitedRoute.BOOKING_WRITE, new RateLimitProperties.Limit(2, 1),
+                RateLimitedRoute.WRITE, new RateLimitProperties.Limit(10, 1)
+        ));
+        return properties;
+    }
+}
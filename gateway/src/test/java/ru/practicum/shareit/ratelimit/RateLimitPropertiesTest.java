@@ -0,0 +1,65 @@
+package ru.practicum.shareit.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Configuration;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+
+class RateLimitPropertiesTest {
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(ValidationAutoConfiguration.class))
+            .withUserConfiguration(PropertiesConfig.class);
+
+    @Test
+    void bind_whenRefillPerSecondZero_thenStartupFails() {
+        contextRunner.withPropertyValues(
+                        "shareit-gateway.rate-limit.limits.read.capacity=200",
+                        "shareit-gateway.rate-limit.limits.read.refill-per-second=0"
+                )
+                .run(context -> {
+                    assertThat(context.getStartupFailure(), notNullValue());
+                    assertThat(rootCauseMessage(context.getStartupFailure()), containsString("refillPerSecond"));
+                });
+    }
+
+    @Test
+    void bind_whenCapacityNegative_thenStartupFails() {
+        contextRunner.withPropertyValues(
+                        "shareit-gateway.rate-limit.limits.write.capacity=-1",
+                        "shareit-gateway.rate-limit.limits.write.refill-per-second=20"
+                )
+                .run(context -> assertThat(context.getStartupFailure(), notNullValue()));
+    }
+
+    @Test
+    void bind_whenPositiveLimits_thenBound() {
+        contextRunner.withPropertyValues(
+                        "shareit-gateway.rate-limit.limits.read.capacity=200",
+                        "shareit-gateway.rate-limit.limits.read.refill-per-second=0.5"
+                )
+                .run(context -> assertThat(
+                        context.getBean(RateLimitProperties.class).getLimit(RateLimitedRoute.READ).getRefillPerSecond(),
+                        equalTo(0.5)
+                ));
+    }
+
+    private static String rootCauseMessage(Throwable throwable) {
+        StringBuilder messages = new StringBuilder();
+        for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+            messages.append(cause.getMessage()).append('\n');
+        }
+        return messages.toString();
+    }
+
+    @Configuration
+    @EnableConfigurationProperties(RateLimitProperties.class)
+    static class PropertiesConfig {
+    }
+}
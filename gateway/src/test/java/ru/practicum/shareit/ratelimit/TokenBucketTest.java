@@ -0,0 +1,69 @@
+package ru.practicum.shareit.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+class TokenBucketTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final long NOW = 42 * SECOND;
+
+    @Test
+    void tryAcquire_whenBurstSpent_thenWaitForNextToken() {
+        TokenBucket bucket = new TokenBucket(new RateLimitProperties.Limit(3, 2));
+
+        assertThat(bucket.tryAcquire(NOW), equalTo(0L));
+        assertThat(bucket.tryAcquire(NOW), equalTo(0L));
+        assertThat(bucket.tryAcquire(NOW), equalTo(0L));
+        assertThat(bucket.tryAcquire(NOW), equalTo(SECOND / 2));
+    }
+
+    @Test
+    void tryAcquire_whenRefilled_thenTokensAvailableUpToCapacity() {
+        TokenBucket bucket = new TokenBucket(new RateLimitProperties.Limit(3, 2));
+        for (int i = 0; i < 3; i++) {
+            bucket.tryAcquire(NOW);
+        }
+
+        assertThat(bucket.tryAcquire(NOW + SECOND / 2), equalTo(0L));
+        assertThat(bucket.tryAcquire(NOW + SECOND / 2), equalTo(SECOND / 2));
+        long later = NOW + 10 * SECOND;
+        for (int i = 0; i < 3; i++) {
+            assertThat(bucket.tryAcquire(later), equalTo(0L));
+        }
+        assertThat(bucket.tryAcquire(later), equalTo(SECOND / 2));
+    }
+
+    @Test
+    void tryAcquire_whenConcurrent_thenExactlyCapacityGranted() throws Exception {
+        int threads = 16;
+        TokenBucket bucket = new TokenBucket(new RateLimitProperties.Limit(1_000, 1));
+        AtomicInteger granted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        for (int i = 0; i < threads; i++) {
+            executor.submit(() -> {
+                start.await();
+                for (int j = 0; j < 500; j++) {
+                    if (bucket.tryAcquire(NOW) == 0) {
+                        granted.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        assertThat(granted.get(), equalTo(1_000));
+    }
+}
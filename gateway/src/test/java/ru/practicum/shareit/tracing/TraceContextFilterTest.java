@@ -0,0 +1,54 @@
+package ru.practicum.shareit.tracing;
+
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class TraceContextFilterTest {
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+
+    private final TraceContextFilter filter = new TraceContextFilter();
+
+    @Test
+    void doFilter_whenTraceparentSent_thenJoinTraceWithNewSpan() {
+        TraceContext context = filterWithTraceparent("00-" + TRACE_ID + "-00f067aa0ba902b7-01");
+
+        assertThat(context.getTraceId(), equalTo(TRACE_ID));
+        assertThat(context.getSpanId(), allOf(matchesPattern("[0-9a-f]{16}"), not(equalTo("00f067aa0ba902b7"))));
+        assertThat(TraceContext.current(), nullValue());
+    }
+
+    @Test
+    void doFilter_whenTraceparentInvalid_thenStartNewTrace() {
+        TraceContext context = filterWithTraceparent("01-" + TRACE_ID + "-00f067aa0ba902b7");
+
+        assertThat(context.getTraceId(), allOf(matchesPattern("[0-9a-f]{32}"), not(equalTo(TRACE_ID))));
+    }
+
+    @SneakyThrows
+    private TraceContext filterWithTraceparent(String traceparent) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/items");
+        request.addHeader(TraceContext.TRACEPARENT_HEADER_NAME, traceparent);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<TraceContext> seen = new AtomicReference<>();
+
+        filter.doFilter(request, response, new MockFilterChain() {
+            @Override
+            public void doFilter(ServletRequest request, ServletResponse response) {
+                seen.set(TraceContext.current());
+            }
+        });
+
+        assertThat(response.getHeader(TraceContextFilter.TRACE_ID_HEADER_NAME), equalTo(seen.get().getTraceId()));
+        return seen.get();
+    }
+}
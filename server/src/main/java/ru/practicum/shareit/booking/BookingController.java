@@ -3,11 +3,17 @@ package ru.practicum.shareit.booking;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.server.ServletServerHttpResponse;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.RequestAddBookingDto;
 import ru.practicum.shareit.booking.dto.ResponseBookingDto;
+import ru.practicum.shareit.booking.exporting.BookingExportFormat;
+import ru.practicum.shareit.booking.service.BookingExportService;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.pagination.PageCursor;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -18,6 +24,7 @@ public class BookingController {
 
     private static final String USER_ID_HEADER_NAME = "X-Sharer-User-Id";
     private final BookingService bookingService;
+    private final BookingExportService bookingExportService;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
@@ -61,10 +68,17 @@ public class BookingController {
             @RequestHeader(USER_ID_HEADER_NAME) Long userId,
             @RequestParam String state,
             Integer from,
-            Integer size
+            Integer size,
+            String after,
+            HttpServletResponse response
     ) {
         log.info(String.format("Get bookings request by userId=%d and state=%s", userId, state));
-        return bookingService.findByUserIdAndState(userId, state, from, size);
+        List<ResponseBookingDto> bookings = after == null
+                ? bookingService.findByUserIdAndState(userId, state, from, size)
+                : bookingService.findByUserIdAndStateAfter(userId, state, after, size);
+        PageCursor.next(bookings, size, booking -> PageCursor.of(booking.getEnd(), booking.getId()))
+                .ifPresent(cursor -> response.setHeader(PageCursor.NEXT_CURSOR_HEADER_NAME, cursor));
+        return bookings;
     }
 
     @GetMapping("/owner")
@@ -73,9 +87,30 @@ public class BookingController {
             @RequestHeader(USER_ID_HEADER_NAME) Long userId,
             @RequestParam String state,
             Integer from,
-            Integer size
+            Integer size,
+            String after,
+            HttpServletResponse response
     ) {
         log.info(String.format("Get bookings request by ownerId=%d and state=%s", userId, state));
-        return bookingService.findByItemOwner(userId, state, from, size);
+        List<ResponseBookingDto> bookings = after == null
+                ? bookingService.findByItemOwner(userId, state, from, size)
+                : bookingService.findByItemOwnerAfter(userId, state, after, size);
+        PageCursor.next(bookings, size, booking -> PageCursor.of(booking.getStart(), booking.getId()))
+                .ifPresent(cursor -> response.setHeader(PageCursor.NEXT_CURSOR_HEADER_NAME, cursor));
+        return bookings;
+    }
+
+    @GetMapping("/owner/export")
+    public void exportByItemOwner(
+            @RequestHeader(USER_ID_HEADER_NAME) Long userId,
+            @RequestParam(defaultValue = "ndjson") String format,
+            HttpServletResponse response
+    ) throws IOException {
+        log.info(String.format("Export bookings request by ownerId=%d, format=%s", userId, format));
+        bookingExportService.exportByItemOwner(
+                userId,
+                BookingExportFormat.from(format).get(),
+                new ServletServerHttpResponse(response)
+        );
     }
 }
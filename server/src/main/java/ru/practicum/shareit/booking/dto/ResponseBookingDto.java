@@ -12,6 +12,7 @@ import java.time.LocalDateTime;
 @Setter
 @ToString
 @AllArgsConstructor
+@NoArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE)
 public class ResponseBookingDto {
     Long id;
@@ -20,4 +21,16 @@ public class ResponseBookingDto {
     BookingStatus status;
     ResponseBookerDto booker;
     ResponseBookingItemDto item;
+
+    public ResponseBookingDto(
+            Long id,
+            LocalDateTime start,
+            LocalDateTime end,
+            BookingStatus status,
+            Long bookerId,
+            Long itemId,
+            String itemName
+    ) {
+        this(id, start, end, status, new ResponseBookerDto(bookerId), new ResponseBookingItemDto(itemId, itemName));
+    }
 }
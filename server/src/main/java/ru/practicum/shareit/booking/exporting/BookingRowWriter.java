@@ -0,0 +1,60 @@
+package ru.practicum.shareit.booking.exporting;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import ru.practicum.shareit.booking.dto.ResponseBookingExportDto;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes export rows one by one to the output. Rows are not flushed individually, the output is flushed as its
+ * buffer fills and once more on close.
+ */
+public interface BookingRowWriter extends Closeable {
+
+    void write(ResponseBookingExportDto booking) throws IOException;
+
+    static BookingRowWriter ndjson(ObjectMapper objectMapper, OutputStream output) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(ResponseBookingExportDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        JsonGenerator generator = writer.createGenerator(output);
+        return new BookingRowWriter() {
+            @Override
+            public void write(ResponseBookingExportDto booking) throws IOException {
+                writer.writeValue(generator, booking);
+                generator.writeRaw('\n');
+            }
+
+            @Override
+            public void close() throws IOException {
+                generator.close();
+            }
+        };
+    }
+
+    static BookingRowWriter csv(OutputStream output) throws IOException {
+        CsvMapper csvMapper = new CsvMapper();
+        csvMapper.findAndRegisterModules();
+        csvMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        SequenceWriter writer = csvMapper.writer(csvMapper.schemaFor(ResponseBookingExportDto.class).withHeader())
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .writeValues(output);
+        return new BookingRowWriter() {
+            @Override
+            public void write(ResponseBookingExportDto booking) throws IOException {
+                writer.write(booking);
+            }
+
+            @Override
+            public void close() throws IOException {
+                writer.close();
+            }
+        };
+    }
+}
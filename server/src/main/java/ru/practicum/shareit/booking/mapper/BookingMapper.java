@@ -6,6 +6,7 @@ import ru.practicum.shareit.booking.dto.RequestAddBookingDto;
 import ru.practicum.shareit.booking.dto.ResponseBookingDto;
 import ru.practicum.shareit.booking.dto.ResponseBookingInItemDto;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.ItemBookingView;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
@@ -22,6 +23,8 @@ public interface BookingMapper {
     @Mapping(source = "booker", target = "bookerId")
     ResponseBookingInItemDto bookingToItemResponse(Booking booking);
 
+    ResponseBookingInItemDto itemBookingViewToItemResponse(ItemBookingView itemBookingView);
+
     default Long mapUserToUserId(User user) {
         return user.getId();
     }
@@ -21,7 +21,8 @@ import java.util.Objects;
 @Table(name = "bookings")
 public class Booking {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+    @SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_seq", allocationSize = 50)
     Long id;
     @NotNull
     @Column(name = "start_date")
@@ -29,14 +30,29 @@ public class Booking {
     @NotNull
     @Column(name = "end_date")
     LocalDateTime end;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "item_id")
+    @ToString.Exclude
     Item item;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "booker_id")
+    @ToString.Exclude
     User booker;
     @Enumerated(EnumType.STRING)
     BookingStatus status;
+    @Version
+    long version;
+
+    public Booking(
+            Long id,
+            LocalDateTime start,
+            LocalDateTime end,
+            Item item,
+            User booker,
+            BookingStatus status
+    ) {
+        this(id, start, end, item, booker, status, 0);
+    }
 
     @Override
     public boolean equals(Object o) {
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.booking.repository;
+
+import ru.practicum.shareit.booking.dto.ResponseBookingDto;
+import ru.practicum.shareit.booking.status.BookingStatus;
+
+import java.util.Optional;
+
+public interface BookingDecisionRepository {
+
+    /**
+     * Moves the booking from {@code from} to {@code to} in one conditional UPDATE that returns the changed row.
+     * The row only matches when the item belongs to {@code ownerId} and the owner is not the booker; an approval
+     * also requires that no approved booking of the item overlaps it, so the item row should be locked first.
+     *
+     * @return the updated booking, or empty when any of the conditions did not hold
+     */
+    Optional<ResponseBookingDto> updateStatus(Long bookingId, Long ownerId, BookingStatus from, BookingStatus to);
+}
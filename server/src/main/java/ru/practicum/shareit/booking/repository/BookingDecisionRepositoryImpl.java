@@ -0,0 +1,80 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.ResponseBookingDto;
+import ru.practicum.shareit.booking.status.BookingStatus;
+import ru.practicum.shareit.item.model.Item;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+class BookingDecisionRepositoryImpl implements BookingDecisionRepository {
+    private static final String UPDATE_STATUS = "UPDATE bookings b SET status = ?, version = version + 1 " +
+            "WHERE b.id = ? " +
+            "AND b.status = ? " +
+            "AND b.booker_id <> ? " +
+            "AND EXISTS (SELECT 1 FROM items i WHERE i.id = b.item_id AND i.owner_id = ?)";
+    private static final String NO_APPROVED_OVERLAP = " AND NOT EXISTS (" +
+            "SELECT 1 FROM bookings o " +
+            "WHERE o.item_id = b.item_id " +
+            "AND o.status = 'APPROVED' " +
+            "AND o.start_date < b.end_date " +
+            "AND o.end_date > b.start_date)";
+    // Postgres appends these as RETURNING, H2 reads them from the updated row
+    private static final String[] RETURNED_COLUMNS = {"id", "start_date", "end_date", "status", "booker_id", "item_id"};
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public Optional<ResponseBookingDto> updateStatus(
+            Long bookingId,
+            Long ownerId,
+            BookingStatus from,
+            BookingStatus to
+    ) {
+        String sql = to == BookingStatus.APPROVED ? UPDATE_STATUS + NO_APPROVED_OVERLAP : UPDATE_STATUS;
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        // Executed through the session so the statement shares its connection and shows up in its statistics
+        JdbcCoordinator jdbcCoordinator = session.getJdbcCoordinator();
+        PreparedStatement statement = jdbcCoordinator.getStatementPreparer().prepareStatement(sql, RETURNED_COLUMNS);
+        try {
+            statement.setString(1, to.name());
+            statement.setLong(2, bookingId);
+            statement.setString(3, from.name());
+            statement.setLong(4, ownerId);
+            statement.setLong(5, ownerId);
+            if (jdbcCoordinator.getResultSetReturn().executeUpdate(statement) == 0) {
+                return Optional.empty();
+            }
+            try (ResultSet row = statement.getGeneratedKeys()) {
+                row.next();
+                long itemId = row.getLong("item_id");
+                // Usually served by the second-level cache, or by the session when the item was locked first
+                Item item = entityManager.find(Item.class, itemId);
+                return Optional.of(new ResponseBookingDto(
+                        row.getLong("id"),
+                        row.getObject("start_date", LocalDateTime.class),
+                        row.getObject("end_date", LocalDateTime.class),
+                        BookingStatus.valueOf(row.getString("status")),
+                        row.getLong("booker_id"),
+                        itemId,
+                        item.getName()
+                ));
+            }
+        } catch (SQLException e) {
+            throw session.getJdbcServices().getSqlExceptionHelper().convert(e, "Could not update booking status", sql);
+        } finally {
+            jdbcCoordinator.getLogicalConnection().getResourceRegistry().release(statement);
+            jdbcCoordinator.afterStatementExecution();
+        }
+    }
+}
@@ -1,87 +1,280 @@
 package ru.practicum.shareit.booking.repository;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import ru.practicum.shareit.booking.dto.ResponseBookingDto;
+import ru.practicum.shareit.booking.dto.ResponseBookingExportDto;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.ItemBookingView;
 import ru.practicum.shareit.booking.status.BookingStatus;
 
+import javax.persistence.QueryHint;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingDecisionRepository {
+    String SELECT_BOOKING_DTO = "SELECT new ru.practicum.shareit.booking.dto.ResponseBookingDto(" +
+            "b.id, b.start, b.end, b.status, b.booker.id, i.id, i.name) " +
+            "FROM Booking b " +
+            "JOIN b.item i ";
+    String BOOKER_SEEK = "AND (b.end < :afterEnd OR (b.end = :afterEnd AND b.id < :afterId)) " +
+            "ORDER BY b.end DESC, b.id DESC";
+    String EXPORT_FETCH_SIZE = "1000";
+    String OWNER_SEEK = "AND (b.start < :afterStart OR (b.start = :afterStart AND b.id < :afterId)) " +
+            "ORDER BY b.start DESC, b.id DESC";
 
-    List<Booking> findByBooker_IdOrderByEndDesc(Long userId, Pageable pageable);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Optional<Booking> findById(Long id);
 
-    List<Booking> findByBooker_IdAndStatusOrderByEndDesc(Long userId, BookingStatus status, Pageable pageable);
+    @Query(SELECT_BOOKING_DTO +
+            "WHERE b.booker.id = :userId " +
+            "ORDER BY b.end DESC, b.id DESC"
+    )
+    List<ResponseBookingDto> findByBooker_IdOrderByEndDesc(Long userId, Pageable pageable);
+
+    @Query(SELECT_BOOKING_DTO +
+            "WHERE b.booker.id = :userId " +
+            "AND b.status = :status " +
+            "ORDER BY b.end DESC, b.id DESC"
+    )
+    List<ResponseBookingDto> findByBooker_IdAndStatusOrderByEndDesc(
+            Long userId,
+            BookingStatus status,
+            Pageable pageable
+    );
 
-    List<Booking> findByBooker_IdAndEndIsBeforeOrderByEndDesc(Long userId, LocalDateTime current, Pageable pageable);
+    @Query(SELECT_BOOKING_DTO +
+            "WHERE b.booker.id = :userId " +
+            "AND b.end < :current " +
+            "ORDER BY b.end DESC, b.id DESC"
+    )
+    List<ResponseBookingDto> findByBooker_IdAndEndIsBeforeOrderByEndDesc(
+            Long userId,
+            LocalDateTime current,
+            Pageable pageable
+    );
 
-    List<Booking> findByBooker_IdAndStartIsAfterOrderByEndDesc(Long userId, LocalDateTime current, Pageable pageable);
+    @Query(SELECT_BOOKING_DTO +
+            "WHERE b.booker.id = :userId " +
+            "AND b.start > :current " +
+            "ORDER BY b.end DESC, b.id DESC"
+    )
+    List<ResponseBookingDto> findByBooker_IdAndStartIsAfterOrderByEndDesc(
+            Long userId,
+            LocalDateTime current,
+            Pageable pageable
+    );
 
-    List<Booking> findByBooker_IdAndStartIsBeforeAndEndIsAfterOrderByEndDesc(
+    @Query(SELECT_BOOKING_DTO +
+            "WHERE b.booker.id = :userId " +
+            "AND b.start < :current " +
+            "AND b.end > :current1 " +
+            "ORDER BY b.end DESC, b.id DESC"
+    )
+    List<ResponseBookingDto> findByBooker_IdAndStartIsBeforeAndEndIsAfterOrderByEndDesc(
             Long userId,
             LocalDateTime current,
             LocalDateTime current1,
             Pageable pageable
     );
 
-    @Query("SELECT b FROM Booking b " +
-            "JOIN b.item i " +
+    @Query(SELECT_BOOKING_DTO +
             "WHERE i.ownerId = :userId " +
-            "ORDER BY b.start DESC"
+            "ORDER BY b.start DESC, b.id DESC"
     )
-    List<Booking> findAllByOwner(Long userId, Pageable pageable);
+    List<ResponseBookingDto> findAllByOwner(Long userId, Pageable pageable);
 
-    @Query("SELECT b FROM Booking b " +
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query("SELECT new ru.practicum.shareit.booking.dto.ResponseBookingExportDto(" +
+            "b.id, b.start, b.end, b.status, b.booker.id, i.id, i.name) " +
+            "FROM Booking b " +
             "JOIN b.item i " +
+            "WHERE i.ownerId = :userId " +
+            "ORDER BY b.start DESC, b.id DESC"
+    )
+    Stream<ResponseBookingExportDto> streamAllByOwner(Long userId);
+
+    @Query(SELECT_BOOKING_DTO +
             "WHERE i.ownerId = :userId " +
             "AND b.start < :currentTime " +
             "AND b.end > :currentTime " +
-            "ORDER BY b.start DESC"
+            "ORDER BY b.start DESC, b.id DESC"
     )
-    List<Booking> findAllByOwnerCurrent(Long userId, LocalDateTime currentTime, Pageable pageable);
+    List<ResponseBookingDto> findAllByOwnerCurrent(Long userId, LocalDateTime currentTime, Pageable pageable);
 
-    @Query("SELECT b FROM Booking b " +
-            "JOIN b.item i " +
+    @Query(SELECT_BOOKING_DTO +
             "WHERE i.ownerId = :userId " +
             "AND b.end < :currentTime " +
-            "ORDER BY b.start DESC"
+            "ORDER BY b.start DESC, b.id DESC"
     )
-    List<Booking> findAllByOwnerPast(Long userId, LocalDateTime currentTime, Pageable pageable);
+    List<ResponseBookingDto> findAllByOwnerPast(Long userId, LocalDateTime currentTime, Pageable pageable);
 
-    @Query("SELECT b FROM Booking b " +
-            "JOIN b.item i " +
+    @Query(SELECT_BOOKING_DTO +
             "WHERE i.ownerId = :userId " +
             "AND b.start > :currentTime " +
-            "ORDER BY b.start DESC"
+            "ORDER BY b.start DESC, b.id DESC"
     )
-    List<Booking> findAllByOwnerFuture(Long userId, LocalDateTime currentTime, Pageable pageable);
+    List<ResponseBookingDto> findAllByOwnerFuture(Long userId, LocalDateTime currentTime, Pageable pageable);
 
-    @Query("SELECT b FROM Booking b " +
-            "JOIN b.item i " +
+    @Query(SELECT_BOOKING_DTO +
             "WHERE i.ownerId = :userId " +
             "AND b.status = :status " +
-            "ORDER BY b.start DESC"
+            "ORDER BY b.start DESC, b.id DESC"
     )
-    List<Booking> findAllByOwnerAndStatus(Long userId, BookingStatus status, Pageable pageable);
+    List<ResponseBookingDto> findAllByOwnerAndStatus(Long userId, BookingStatus status, Pageable pageable);
 
-    List<Booking> findFirst1ByItem_IdAndStartLessThanAndStatusOrderByEndDesc(
-            Long itemId,
+    @Query(SELECT_BOOKING_DTO +
+            "WHERE b.booker.id = :userId " +
+            BOOKER_SEEK
+    )
+    List<ResponseBookingDto> findByBookerAfter(Long userId, LocalDateTime afterEnd, Long afterId, Pageable pageable);
+
+    @Query(SELECT_BOOKING_DTO +
+            "WHERE b.booker.id = :userId " +
+            "AND b.start < :currentTime " +
+            "AND b.end > :currentTime " +
+            BOOKER_SEEK
+    )
+    List<ResponseBookingDto> findByBookerCurrentAfter(
+            Long userId,
             LocalDateTime currentTime,
-            BookingStatus status
+            LocalDateTime afterEnd,
+            Long afterId,
+            Pageable pageable
     );
 
-    List<Booking> findFirst1ByItem_IdAndStartGreaterThanAndStatusOrderByStartAsc(
-            Long itemId,
+    @Query(SELECT_BOOKING_DTO +
+            "WHERE b.booker.id = :userId " +
+            "AND b.end < :currentTime " +
+            BOOKER_SEEK
+    )
+    List<ResponseBookingDto> findByBookerPastAfter(
+            Long userId,
             LocalDateTime currentTime,
-            BookingStatus status
+            LocalDateTime afterEnd,
+            Long afterId,
+            Pageable pageable
     );
 
-    List<Booking> findFirst1ByItem_IdAndBooker_IdAndStatusAndEndBefore(
-            Long itemId,
+    @Query(SELECT_BOOKING_DTO +
+            "WHERE b.booker.id = :userId " +
+            "AND b.start > :currentTime " +
+            BOOKER_SEEK
+    )
+    List<ResponseBookingDto> findByBookerFutureAfter(
+            Long userId,
+            LocalDateTime currentTime,
+            LocalDateTime afterEnd,
+            Long afterId,
+            Pageable pageable
+    );
+
+    @Query(SELECT_BOOKING_DTO +
+            "WHERE b.booker.id = :userId " +
+            "AND b.status = :status " +
+            BOOKER_SEEK
+    )
+    List<ResponseBookingDto> findByBookerAndStatusAfter(
             Long userId,
             BookingStatus status,
-            LocalDateTime currentTime
+            LocalDateTime afterEnd,
+            Long afterId,
+            Pageable pageable
+    );
+
+    @Query(SELECT_BOOKING_DTO +
+            "WHERE i.ownerId = :userId " +
+            OWNER_SEEK
+    )
+    List<ResponseBookingDto> findAllByOwnerAfter(Long userId, LocalDateTime afterStart, Long afterId, Pageable pageable);
+
+    @Query(SELECT_BOOKING_DTO +
+            "WHERE i.ownerId = :userId " +
+            "AND b.start < :currentTime " +
+            "AND b.end > :currentTime " +
+            OWNER_SEEK
+    )
+    List<ResponseBookingDto> findAllByOwnerCurrentAfter(
+            Long userId,
+            LocalDateTime currentTime,
+            LocalDateTime afterStart,
+            Long afterId,
+            Pageable pageable
+    );
+
+    @Query(SELECT_BOOKING_DTO +
+            "WHERE i.ownerId = :userId " +
+            "AND b.end < :currentTime " +
+            OWNER_SEEK
+    )
+    List<ResponseBookingDto> findAllByOwnerPastAfter(
+            Long userId,
+            LocalDateTime currentTime,
+            LocalDateTime afterStart,
+            Long afterId,
+            Pageable pageable
     );
+
+    @Query(SELECT_BOOKING_DTO +
+            "WHERE i.ownerId = :userId " +
+            "AND b.start > :currentTime " +
+            OWNER_SEEK
+    )
+    List<ResponseBookingDto> findAllByOwnerFutureAfter(
+            Long userId,
+            LocalDateTime currentTime,
+            LocalDateTime afterStart,
+            Long afterId,
+            Pageable pageable
+    );
+
+    @Query(SELECT_BOOKING_DTO +
+            "WHERE i.ownerId = :userId " +
+            "AND b.status = :status " +
+            OWNER_SEEK
+    )
+    List<ResponseBookingDto> findAllByOwnerAndStatusAfter(
+            Long userId,
+            BookingStatus status,
+            LocalDateTime afterStart,
+            Long afterId,
+            Pageable pageable
+    );
+
+    @Query("SELECT CASE WHEN count(b) > 0 THEN true ELSE false END FROM Booking b " +
+            "WHERE b.item.id = :itemId " +
+            "AND b.status = :status " +
+            "AND b.start < :end " +
+            "AND b.end > :start"
+    )
+    boolean existsByItem_IdAndStatusAndStartLessThanAndEndGreaterThan(
+            Long itemId,
+            BookingStatus status,
+            LocalDateTime end,
+            LocalDateTime start
+    );
+
+    @Query(value = "SELECT t.item_id AS \"itemId\", t.id AS \"id\", t.booker_id AS \"bookerId\", " +
+            "t.is_last AS \"isLast\" " +
+            "FROM (" +
+            "SELECT b.item_id, b.id, b.booker_id, b.start_date < :currentTime AS is_last, " +
+            "ROW_NUMBER() OVER (" +
+            "PARTITION BY b.item_id, b.start_date < :currentTime " +
+            "ORDER BY CASE WHEN b.start_date < :currentTime THEN b.end_date END DESC, b.start_date ASC" +
+            ") AS rn " +
+            "FROM bookings b " +
+            "WHERE b.item_id IN (:itemIds) " +
+            "AND b.status = 'APPROVED' " +
+            "AND b.start_date <> :currentTime" +
+            ") t " +
+            "WHERE t.rn = 1",
+            nativeQuery = true
+    )
+    List<ItemBookingView> findLastAndNextApprovedByItemIds(Collection<Long> itemIds, LocalDateTime currentTime);
 }
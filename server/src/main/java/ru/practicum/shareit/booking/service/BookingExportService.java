@@ -0,0 +1,10 @@
+package ru.practicum.shareit.booking.service;
+
+import org.springframework.http.HttpOutputMessage;
+import ru.practicum.shareit.booking.exporting.BookingExportFormat;
+
+import java.io.IOException;
+
+public interface BookingExportService {
+    void exportByItemOwner(Long userId, BookingExportFormat format, HttpOutputMessage output) throws IOException;
+}
@@ -0,0 +1,69 @@
+package ru.practicum.shareit.booking.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.ResponseBookingExportDto;
+import ru.practicum.shareit.booking.exporting.BookingExportFormat;
+import ru.practicum.shareit.booking.exporting.BookingRowWriter;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.model.UserNotFoundException;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BookingExportServiceImpl implements BookingExportService {
+    private static final String USER_NOT_FOUND_MESSAGE = "User id=%d not found";
+
+    private final BookingRepository bookingRepository;
+    private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Writes every booking of the owner's items, newest first, while the rows are read. The query is a forward-only
+     * projection, so neither the result set nor the persistence context grows with the number of bookings.
+     * The content type is set only after the owner is found, an error response is still written as JSON.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void exportByItemOwner(
+            Long userId,
+            BookingExportFormat format,
+            HttpOutputMessage output
+    ) throws IOException {
+        if (!userRepository.existsById(userId)) {
+            log.error(String.format(USER_NOT_FOUND_MESSAGE, userId));
+            throw new UserNotFoundException(String.format(USER_NOT_FOUND_MESSAGE, userId));
+        }
+        output.getHeaders().setContentType(format.getMediaType());
+        long exported = 0;
+        try (Stream<ResponseBookingExportDto> bookings = bookingRepository.streamAllByOwner(userId);
+             BookingRowWriter writer = openWriter(format, output.getBody())) {
+            Iterator<ResponseBookingExportDto> iterator = bookings.iterator();
+            while (iterator.hasNext()) {
+                writer.write(iterator.next());
+                exported++;
+            }
+        }
+        log.info(String.format("Exported %d bookings for ownerId=%d", exported, userId));
+    }
+
+    private BookingRowWriter openWriter(BookingExportFormat format, OutputStream body) throws IOException {
+        switch (format) {
+            case CSV:
+                return BookingRowWriter.csv(body);
+            case NDJSON:
+            default:
+                return BookingRowWriter.ndjson(objectMapper, body);
+        }
+    }
+}
@@ -15,5 +15,9 @@ public interface BookingService {
 
     List<ResponseBookingDto> findByUserIdAndState(Long userId, String state, Integer from, Integer size);
 
+    List<ResponseBookingDto> findByUserIdAndStateAfter(Long userId, String state, String after, Integer size);
+
     List<ResponseBookingDto> findByItemOwner(Long userId, String state, Integer from, Integer size);
+
+    List<ResponseBookingDto> findByItemOwnerAfter(Long userId, String state, String after, Integer size);
 }
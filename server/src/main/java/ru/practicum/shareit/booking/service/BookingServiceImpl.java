@@ -6,6 +6,7 @@ import org.mapstruct.factory.Mappers;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dto.RequestAddBookingDto;
 import ru.practicum.shareit.booking.dto.ResponseBookingDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
@@ -14,18 +15,21 @@ import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.booking.state.BookingState;
 import ru.practicum.shareit.booking.status.BookingStatus;
 import ru.practicum.shareit.booking.valitador.BookingValidator;
+import ru.practicum.shareit.exception.booking.BookingConcurrentUpdateException;
+import ru.practicum.shareit.exception.booking.BookingTimeConflictException;
 import ru.practicum.shareit.exception.model.BookingNotFoundException;
 import ru.practicum.shareit.exception.model.ItemNotFoundException;
 import ru.practicum.shareit.exception.model.UserNotFoundException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -35,6 +39,8 @@ public class BookingServiceImpl implements BookingService {
     private static final String ITEM_NOT_FOUND_MESSAGE = "Item id=%d not found";
     private static final String USER_NOT_FOUND_MESSAGE = "User id=%d not found";
     private static final String BOOKING_NOT_FOUND_MESSAGE = "Booking id=%d not found";
+    private static final String BOOKING_TIME_CONFLICT_MESSAGE = "Item id=%d is already booked from %s to %s";
+    private static final String BOOKING_CONCURRENT_UPDATE_MESSAGE = "Booking id=%d was changed by another request";
 
     private final BookingRepository bookingRepository;
     private final ItemRepository itemRepository;
@@ -47,6 +53,7 @@ public class BookingServiceImpl implements BookingService {
         Item item = getItemOrThrowException(requestAddBookingDto.getItemId());
         BookingValidator.checkBookingOwnItemAndThrowException(userId, item);
         BookingValidator.checkItemIsAvailableOrThrowException(item);
+        checkItemIsFreeOrThrowException(item.getId(), requestAddBookingDto.getStart(), requestAddBookingDto.getEnd());
         User user = getUserOrThrowException(userId);
         Booking requestBooking = bookingMapper.addDtoToBooking(requestAddBookingDto);
         requestBooking.setItem(item);
@@ -57,19 +64,19 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
+    @Transactional
     public ResponseBookingDto approve(Long userId, Long bookingId, Boolean approved) {
-        Booking booking = getBookingOrThrowException(bookingId);
-        User requestUser = getUserOrThrowException(userId);
-        BookingValidator.checkRequestUserIsItemOwnerOrThrowException(requestUser, booking);
-        BookingValidator.checkRequestUserIsBookingOwnerAndThrowException(requestUser, booking);
-        BookingValidator.checkNotAlreadyApprovedAndOrThrowException(booking);
-        makeApprove(booking, approved);
-        return bookingMapper.bookingToResponseDto(
-                bookingRepository.save(booking)
-        );
+        BookingStatus target = Boolean.TRUE.equals(approved) ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+        if (target == BookingStatus.APPROVED) {
+            // Serializes approvals of one item, so the overlap check in the update sees every approved interval
+            itemRepository.findByBookingIdForUpdate(bookingId);
+        }
+        return bookingRepository.updateStatus(bookingId, userId, BookingStatus.WAITING, target)
+                .orElseThrow(() -> explainFailedDecision(userId, bookingId, target));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ResponseBookingDto findById(Long userId, Long bookingId) {
         Booking booking = getBookingOrThrowException(bookingId);
         BookingValidator.checkRequestorIsBookingOwnerOrItemOwnerOrThrowException(userId, booking);
@@ -77,28 +84,159 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ResponseBookingDto> findByUserIdAndState(Long userId, String state, Integer from, Integer size) {
         BookingState bookingState = BookingState.from(state).get();
         getUserOrThrowException(userId);
-        Pageable pageable = PageRequest.of(from / size, size);
-        List<Booking> bookings = getBookingsByUserIdAndState(userId, bookingState, pageable);
-        return bookings.stream()
-                .map(bookingMapper::bookingToResponseDto)
-                .collect(Collectors.toList());
+        Pageable pageable = OffsetPageRequest.of(from, size);
+        return getBookingsByUserIdAndState(userId, bookingState, pageable);
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public List<ResponseBookingDto> findByUserIdAndStateAfter(
+            Long userId,
+            String state,
+            String after,
+            Integer size
+    ) {
+        BookingState bookingState = BookingState.from(state).get();
+        PageCursor cursor = PageCursor.decode(after);
+        getUserOrThrowException(userId);
+        Pageable pageable = PageRequest.of(0, size);
+        return getBookingsByUserIdAndStateAfter(userId, bookingState, cursor, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<ResponseBookingDto> findByItemOwner(Long userId, String state, Integer from, Integer size) {
         BookingState bookingState = BookingState.from(state).get();
         getUserOrThrowException(userId);
-        Pageable pageable = PageRequest.of(from / size, size);
-        List<Booking> bookings = getBookingsByOwnerIdAndState(userId, bookingState, pageable);
-        return bookings.stream()
-                .map(bookingMapper::bookingToResponseDto)
-                .collect(Collectors.toList());
+        Pageable pageable = OffsetPageRequest.of(from, size);
+        return getBookingsByOwnerIdAndState(userId, bookingState, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ResponseBookingDto> findByItemOwnerAfter(Long userId, String state, String after, Integer size) {
+        BookingState bookingState = BookingState.from(state).get();
+        PageCursor cursor = PageCursor.decode(after);
+        getUserOrThrowException(userId);
+        Pageable pageable = PageRequest.of(0, size);
+        return getBookingsByOwnerIdAndStateAfter(userId, bookingState, cursor, pageable);
+    }
+
+    private List<ResponseBookingDto> getBookingsByOwnerIdAndStateAfter(
+            Long userId,
+            BookingState state,
+            PageCursor cursor,
+            Pageable pageable
+    ) {
+        LocalDateTime afterStart = cursor.getSortKeyOrThrowException();
+        switch (state) {
+            case ALL:
+                return bookingRepository.findAllByOwnerAfter(userId, afterStart, cursor.getId(), pageable);
+            case CURRENT:
+                return bookingRepository.findAllByOwnerCurrentAfter(
+                        userId,
+                        LocalDateTime.now(),
+                        afterStart,
+                        cursor.getId(),
+                        pageable
+                );
+            case PAST:
+                return bookingRepository.findAllByOwnerPastAfter(
+                        userId,
+                        LocalDateTime.now(),
+                        afterStart,
+                        cursor.getId(),
+                        pageable
+                );
+            case FUTURE:
+                return bookingRepository.findAllByOwnerFutureAfter(
+                        userId,
+                        LocalDateTime.now(),
+                        afterStart,
+                        cursor.getId(),
+                        pageable
+                );
+            case WAITING:
+                return bookingRepository.findAllByOwnerAndStatusAfter(
+                        userId,
+                        BookingStatus.WAITING,
+                        afterStart,
+                        cursor.getId(),
+                        pageable
+                );
+            case REJECTED:
+                return bookingRepository.findAllByOwnerAndStatusAfter(
+                        userId,
+                        BookingStatus.REJECTED,
+                        afterStart,
+                        cursor.getId(),
+                        pageable
+                );
+            default:
+                return List.of();
+        }
     }
 
-    private List<Booking> getBookingsByOwnerIdAndState(Long userId, BookingState state, Pageable pageable) {
+    private List<ResponseBookingDto> getBookingsByUserIdAndStateAfter(
+            Long userId,
+            BookingState state,
+            PageCursor cursor,
+            Pageable pageable
+    ) {
+        LocalDateTime afterEnd = cursor.getSortKeyOrThrowException();
+        switch (state) {
+            case ALL:
+                return bookingRepository.findByBookerAfter(userId, afterEnd, cursor.getId(), pageable);
+            case CURRENT:
+                return bookingRepository.findByBookerCurrentAfter(
+                        userId,
+                        LocalDateTime.now(),
+                        afterEnd,
+                        cursor.getId(),
+                        pageable
+                );
+            case PAST:
+                return bookingRepository.findByBookerPastAfter(
+                        userId,
+                        LocalDateTime.now(),
+                        afterEnd,
+                        cursor.getId(),
+                        pageable
+                );
+            case FUTURE:
+                return bookingRepository.findByBookerFutureAfter(
+                        userId,
+                        LocalDateTime.now(),
+                        afterEnd,
+                        cursor.getId(),
+                        pageable
+                );
+            case WAITING:
+                return bookingRepository.findByBookerAndStatusAfter(
+                        userId,
+                        BookingStatus.WAITING,
+                        afterEnd,
+                        cursor.getId(),
+                        pageable
+                );
+            case REJECTED:
+                return bookingRepository.findByBookerAndStatusAfter(
+                        userId,
+                        BookingStatus.REJECTED,
+                        afterEnd,
+                        cursor.getId(),
+                        pageable
+                );
+            default:
+                return List.of();
+        }
+    }
+
+    private List<ResponseBookingDto> getBookingsByOwnerIdAndState(Long userId, BookingState state, Pageable pageable) {
         switch (state) {
             case ALL:
                 return bookingRepository.findAllByOwner(userId, pageable);
@@ -117,7 +255,7 @@ public class BookingServiceImpl implements BookingService {
         }
     }
 
-    private List<Booking> getBookingsByUserIdAndState(Long userId, BookingState state, Pageable pageable) {
+    private List<ResponseBookingDto> getBookingsByUserIdAndState(Long userId, BookingState state, Pageable pageable) {
         switch (state) {
             case ALL:
                 return bookingRepository.findByBooker_IdOrderByEndDesc(userId, pageable);
@@ -157,12 +295,34 @@ public class BookingServiceImpl implements BookingService {
         }
     }
 
-    private void makeApprove(Booking booking, Boolean approved) {
-        if (Boolean.TRUE.equals(approved)) {
-            booking.setStatus(BookingStatus.APPROVED);
-        } else {
-            booking.setStatus(BookingStatus.REJECTED);
+    private void checkItemIsFreeOrThrowException(Long itemId, LocalDateTime start, LocalDateTime end) {
+        if (bookingRepository.existsByItem_IdAndStatusAndStartLessThanAndEndGreaterThan(
+                itemId,
+                BookingStatus.APPROVED,
+                end,
+                start
+        )) {
+            log.error(String.format(BOOKING_TIME_CONFLICT_MESSAGE, itemId, start, end));
+            throw new BookingTimeConflictException(String.format(BOOKING_TIME_CONFLICT_MESSAGE, itemId, start, end));
+        }
+    }
+
+    private BookingConcurrentUpdateException explainFailedDecision(
+            Long userId,
+            Long bookingId,
+            BookingStatus target
+    ) {
+        // The update matched no row, so the booking is read again to report why, as the checks did before updating
+        Booking booking = getBookingOrThrowException(bookingId);
+        User requestUser = getUserOrThrowException(userId);
+        BookingValidator.checkRequestUserIsItemOwnerOrThrowException(requestUser, booking);
+        BookingValidator.checkRequestUserIsBookingOwnerAndThrowException(requestUser, booking);
+        BookingValidator.checkStatusTransitionOrThrowException(booking, target);
+        if (target == BookingStatus.APPROVED) {
+            checkItemIsFreeOrThrowException(booking.getItem().getId(), booking.getStart(), booking.getEnd());
         }
+        log.error(String.format(BOOKING_CONCURRENT_UPDATE_MESSAGE, bookingId));
+        return new BookingConcurrentUpdateException(String.format(BOOKING_CONCURRENT_UPDATE_MESSAGE, bookingId));
     }
 
     private User getUserOrThrowException(Long userId) {
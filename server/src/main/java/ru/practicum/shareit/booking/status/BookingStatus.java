@@ -1,8 +1,26 @@
 package ru.practicum.shareit.booking.status;
 
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
 public enum BookingStatus {
     WAITING,
     APPROVED,
     REJECTED,
-    CANCELED
+    CANCELED;
+
+    private static final Map<BookingStatus, Set<BookingStatus>> TRANSITIONS = new EnumMap<>(BookingStatus.class);
+
+    static {
+        TRANSITIONS.put(WAITING, EnumSet.of(APPROVED, REJECTED, CANCELED));
+        TRANSITIONS.put(APPROVED, EnumSet.of(CANCELED));
+        TRANSITIONS.put(REJECTED, EnumSet.noneOf(BookingStatus.class));
+        TRANSITIONS.put(CANCELED, EnumSet.noneOf(BookingStatus.class));
+    }
+
+    public boolean canTransitionTo(BookingStatus target) {
+        return TRANSITIONS.get(this).contains(target);
+    }
 }
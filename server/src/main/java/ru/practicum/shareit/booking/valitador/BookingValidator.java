@@ -51,8 +51,8 @@ public class BookingValidator {
         }
     }
 
-    public static void checkNotAlreadyApprovedAndOrThrowException(Booking booking) {
-        if (!booking.getStatus().equals(BookingStatus.WAITING)) {
+    public static void checkStatusTransitionOrThrowException(Booking booking, BookingStatus target) {
+        if (!booking.getStatus().canTransitionTo(target)) {
             log.error(NOT_SUPPORTED_OPERATION_MESSAGE);
             throw new BookingAlreadyApprovedException(NOT_SUPPORTED_OPERATION_MESSAGE);
         }
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+
+import javax.persistence.EntityManagerFactory;
+
+@Component
+@RequiredArgsConstructor
+public class EntityCacheEvictor {
+    private final EntityManagerFactory entityManagerFactory;
+
+    // ON DELETE CASCADE / SET NULL rewrite item rows behind Hibernate's back, so cached copies must go
+    public void evictItems() {
+        entityManagerFactory.getCache().evict(Item.class);
+    }
+}
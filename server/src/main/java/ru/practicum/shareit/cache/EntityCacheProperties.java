@@ -0,0 +1,22 @@
+package ru.practicum.shareit.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.cache.entity")
+public class EntityCacheProperties {
+    private Region users = new Region();
+    private Region items = new Region();
+
+    @Getter
+    @Setter
+    public static class Region {
+        private long maximumSize = 10_000;
+        private Duration timeToLive = Duration.ofMinutes(10);
+    }
+}
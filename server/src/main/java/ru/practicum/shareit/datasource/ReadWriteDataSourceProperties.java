@@ -0,0 +1,15 @@
+package ru.practicum.shareit.datasource;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.datasource")
+public class ReadWriteDataSourceProperties {
+    // How long a user keeps reading from the primary after a successful write
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+}
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+    private static final ThreadLocal<Boolean> PINNED_TO_PRIMARY = ThreadLocal.withInitial(() -> false);
+
+    public static void pinToPrimary() {
+        PINNED_TO_PRIMARY.set(true);
+    }
+
+    public static void clear() {
+        PINNED_TO_PRIMARY.remove();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        // Only read-only transactions may see replication lag, everything else stays on the primary
+        if (PINNED_TO_PRIMARY.get() || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return DataSourceRoute.PRIMARY;
+        }
+        return DataSourceRoute.REPLICA;
+    }
+}
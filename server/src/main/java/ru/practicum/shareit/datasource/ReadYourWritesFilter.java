@@ -0,0 +1,47 @@
+package ru.practicum.shareit.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+    private static final String USER_ID_HEADER_NAME = "X-Sharer-User-Id";
+
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWritesFilter(Duration window) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .build();
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        String userId = request.getHeader(USER_ID_HEADER_NAME);
+        boolean write = !HttpMethod.GET.matches(request.getMethod()) && !HttpMethod.HEAD.matches(request.getMethod());
+        // A write request keeps one connection for the whole request (open-in-view), so it never touches the replica
+        if (write || (userId != null && recentWriters.getIfPresent(userId) != null)) {
+            ReadWriteRoutingDataSource.pinToPrimary();
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReadWriteRoutingDataSource.clear();
+            if (write && userId != null && response.getStatus() < 400) {
+                recentWriters.put(userId, true);
+            }
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package ru.practicum.shareit.etag;
+
+// Aggregate over child rows that changes whenever a row is added, removed or updated
+public interface ContentVersion {
+    long getCount();
+
+    Long getMaxId();
+
+    Long getVersionSum();
+}
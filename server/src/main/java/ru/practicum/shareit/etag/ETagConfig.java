@@ -0,0 +1,19 @@
+package ru.practicum.shareit.etag;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+@Configuration
+public class ETagConfig {
+
+    // Listings are a single projection query, so hashing the body is the cheapest validator for them
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> bookingListingsETagFilter() {
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration =
+                new FilterRegistrationBean<>(new ShallowEtagHeaderFilter());
+        registration.addUrlPatterns("/bookings", "/bookings/owner");
+        return registration;
+    }
+}
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.etag;
+
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.StringJoiner;
+
+public final class EntityTag {
+    private EntityTag() {
+    }
+
+    // Strong validator over everything a response is built from, e.g. entity ids and version columns
+    public static String of(Object... parts) {
+        StringJoiner joiner = new StringJoiner("-");
+        for (Object part : parts) {
+            joiner.add(String.valueOf(part));
+        }
+        return DigestUtils.md5DigestAsHex(joiner.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,10 @@
+package ru.practicum.shareit.etag;
+
+import lombok.Value;
+
+// Response body with the tag computed from the same rows it was built from
+@Value(staticConstructor = "of")
+public class Tagged<T> {
+    String eTag;
+    T body;
+}
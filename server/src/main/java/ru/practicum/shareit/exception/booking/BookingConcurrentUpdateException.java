@@ -0,0 +1,7 @@
+package ru.practicum.shareit.exception.booking;
+
+public class BookingConcurrentUpdateException extends RuntimeException {
+    public BookingConcurrentUpdateException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.exception.model;
+
+public class InvalidImportHeaderException extends RuntimeException {
+    public InvalidImportHeaderException(String message) {
+        super(message);
+    }
+}
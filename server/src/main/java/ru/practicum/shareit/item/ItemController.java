@@ -2,12 +2,28 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.shareit.etag.Tagged;
 import ru.practicum.shareit.item.dto.*;
+import ru.practicum.shareit.item.importing.ItemImportFormat;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.item.service.ItemImportService;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.pagination.PageCursor;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/items")
@@ -16,6 +32,7 @@ import java.util.List;
 public class ItemController {
     private static final String USER_ID_HEADER_NAME = "X-Sharer-User-Id";
     private final ItemService itemService;
+    private final ItemImportService itemImportService;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
@@ -39,12 +56,21 @@ public class ItemController {
     }
 
     @GetMapping("/{id}")
-    @ResponseStatus(HttpStatus.OK)
-    public ResponseItemWithCommentsDto findById(
+    public ResponseEntity<ResponseItemWithCommentsDto> findById(
             @RequestHeader(USER_ID_HEADER_NAME) Long userId,
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            WebRequest webRequest) {
         log.info("Get item request id " + id);
-        return itemService.findById(userId, id);
+        // Built together with the body, so the tag always describes the state that would be returned
+        Tagged<ResponseItemWithCommentsDto> item = itemService.findByIdWithETag(userId, id);
+        if (webRequest.checkNotModified(item.getETag())) {
+            return null;
+        }
+        // The owner also sees last and next bookings, so the representation depends on the user
+        return ResponseEntity.ok()
+                .eTag(item.getETag())
+                .varyBy(USER_ID_HEADER_NAME)
+                .body(item.getBody());
     }
 
     @GetMapping
@@ -52,10 +78,17 @@ public class ItemController {
     public List<ResponseItemWithCommentsDto> findByUserId(
             @RequestHeader(USER_ID_HEADER_NAME) Long userId,
             Integer from,
-            Integer size
+            Integer size,
+            String after,
+            HttpServletResponse response
     ) {
         log.info("Get items request by userId " + userId);
-        return itemService.findByUserId(userId, from, size);
+        List<ResponseItemWithCommentsDto> items = after == null
+                ? itemService.findByUserId(userId, from, size)
+                : itemService.findByUserIdAfter(userId, after, size);
+        PageCursor.next(items, size, item -> PageCursor.of(item.getId()))
+                .ifPresent(cursor -> response.setHeader(PageCursor.NEXT_CURSOR_HEADER_NAME, cursor));
+        return items;
     }
 
     @DeleteMapping("/{id}")
@@ -70,9 +103,16 @@ public class ItemController {
     public List<ResponseItemDto> findByNameOrDescription(
             @RequestParam String text,
             Integer from,
-            Integer size) {
+            Integer size,
+            String after,
+            HttpServletResponse response) {
         log.info("Get items request by text '" + text + "'");
-        return itemService.findByNameOrDescription(text, from, size);
+        List<ResponseItemDto> items = after == null
+                ? itemService.findByNameOrDescription(text, from, size)
+                : itemService.findByNameOrDescriptionAfter(text, after, size);
+        PageCursor.next(items, size, item -> searchCursorOf(item, text))
+                .ifPresent(cursor -> response.setHeader(PageCursor.NEXT_CURSOR_HEADER_NAME, cursor));
+        return items;
     }
 
     @PostMapping("/{id}/comment")
@@ -85,4 +125,29 @@ public class ItemController {
         log.info(String.format("Add comment request userId=%d, itemId=%d, text='%s'", userId, id, addCommentDto));
         return itemService.saveComment(userId, id, addCommentDto);
     }
+
+    @PostMapping(
+            path = "/import",
+            consumes = {MediaType.APPLICATION_NDJSON_VALUE, ItemImportFormat.TEXT_CSV_VALUE}
+    )
+    @ResponseStatus(HttpStatus.OK)
+    public ResponseItemImportDto importItems(
+            @RequestHeader(USER_ID_HEADER_NAME) Long userId,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body
+    ) throws IOException {
+        log.info("Import items request by userId " + userId + ", content type " + contentType);
+        MediaType mediaType = MediaType.parseMediaType(contentType);
+        Charset charset = Optional.ofNullable(mediaType.getCharset()).orElse(StandardCharsets.UTF_8);
+        return itemImportService.importItems(
+                userId,
+                ItemImportFormat.of(mediaType),
+                new InputStreamReader(body, charset)
+        );
+    }
+
+    // The rank goes into the cursor, as the item may change or be deleted before the next page is requested
+    private static PageCursor searchCursorOf(ResponseItemDto item, String text) {
+        return PageCursor.of(ItemSearchIndex.getRelevanceRank(item.getName(), text), item.getId());
+    }
 }
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
+@Getter
+@Setter
+@ToString
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ResponseItemImportDto {
+    long imported;
+    long failed;
+    // Set when more rows failed than the report lists
+    boolean errorsTruncated;
+    List<ResponseItemImportErrorDto> errors;
+}
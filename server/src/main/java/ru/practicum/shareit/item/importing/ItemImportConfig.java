@@ -0,0 +1,9 @@
+package ru.practicum.shareit.item.importing;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(ItemImportProperties.class)
+public class ItemImportConfig {
+}
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.item.importing;
+
+import org.springframework.http.MediaType;
+
+public enum ItemImportFormat {
+    NDJSON(MediaType.APPLICATION_NDJSON),
+    CSV(MediaType.valueOf(ItemImportFormat.TEXT_CSV_VALUE));
+
+    public static final String TEXT_CSV_VALUE = "text/csv";
+
+    private final MediaType mediaType;
+
+    ItemImportFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public static ItemImportFormat of(MediaType contentType) {
+        for (ItemImportFormat format : values()) {
+            if (format.mediaType.isCompatibleWith(contentType)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported import content type " + contentType);
+    }
+}
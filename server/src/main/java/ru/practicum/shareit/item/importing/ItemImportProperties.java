@@ -0,0 +1,15 @@
+package ru.practicum.shareit.item.importing;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.items.import")
+public class ItemImportProperties {
+    // Rows saved per transaction
+    private int batchSize = 1_000;
+    // Failed rows beyond this are only counted, so the report stays small for a broken file
+    private int maxReportedErrors = 1_000;
+}
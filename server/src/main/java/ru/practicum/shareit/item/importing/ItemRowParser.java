@@ -0,0 +1,56 @@
+package ru.practicum.shareit.item.importing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import ru.practicum.shareit.exception.model.InvalidImportHeaderException;
+import ru.practicum.shareit.item.dto.RequestAddItemDto;
+
+import java.io.IOException;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Turns one line of an import body into an item. CSV rows are single lines, quoted values may contain commas and
+ * quotes but not line breaks.
+ */
+@FunctionalInterface
+public interface ItemRowParser {
+    List<String> CSV_COLUMNS = List.of("name", "description", "available", "requestId");
+    List<String> REQUIRED_CSV_COLUMNS = List.of("name", "description", "available");
+
+    RequestAddItemDto parse(String row) throws IOException;
+
+    static ItemRowParser ndjson(ObjectMapper objectMapper) {
+        ObjectReader reader = objectMapper.readerFor(RequestAddItemDto.class);
+        return reader::readValue;
+    }
+
+    static ItemRowParser csv(String header) throws IOException {
+        CsvMapper csvMapper = new CsvMapper();
+        // Picks up the parameter names module the DTO constructors rely on, as the application ObjectMapper does
+        csvMapper.findAndRegisterModules();
+        csvMapper.enable(CsvParser.Feature.EMPTY_STRING_AS_NULL);
+        csvMapper.enable(CsvParser.Feature.TRIM_SPACES);
+        List<String> columns = csvMapper.readerForListOf(String.class)
+                .with(CsvSchema.emptySchema())
+                .readValue(header);
+        Set<String> uniqueColumns = new LinkedHashSet<>();
+        for (String column : columns) {
+            String name = column.trim();
+            if (!CSV_COLUMNS.contains(name) || !uniqueColumns.add(name)) {
+                throw new InvalidImportHeaderException("Unexpected CSV column '" + name + "', expected " + CSV_COLUMNS);
+            }
+        }
+        if (!uniqueColumns.containsAll(REQUIRED_CSV_COLUMNS)) {
+            throw new InvalidImportHeaderException("CSV header must contain " + REQUIRED_CSV_COLUMNS);
+        }
+        CsvSchema.Builder schema = CsvSchema.builder();
+        uniqueColumns.forEach(schema::addColumn);
+        ObjectReader reader = csvMapper.readerFor(RequestAddItemDto.class).with(schema.build());
+        return reader::readValue;
+    }
+}
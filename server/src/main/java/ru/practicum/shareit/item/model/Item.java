@@ -2,6 +2,8 @@ package ru.practicum.shareit.item.model;
 
 import lombok.*;
 import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 import javax.validation.constraints.NotNull;
@@ -15,9 +17,14 @@ import java.util.Objects;
 @FieldDefaults(level = AccessLevel.PRIVATE)
 @Entity
 @Table(name = "items")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Item.CACHE_REGION)
 public class Item {
+    public static final String CACHE_REGION = "items";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "items_seq")
+    @SequenceGenerator(name = "items_seq", sequenceName = "items_seq", allocationSize = 50)
     Long id;
     @NotNull
     String name;
@@ -31,6 +38,12 @@ public class Item {
     Long ownerId;
     @Column(name = "request_id")
     Long requestId;
+    @Version
+    long version;
+
+    public Item(Long id, String name, String description, Boolean available, Long ownerId, Long requestId) {
+        this(id, name, description, available, ownerId, requestId, 0);
+    }
 
     @Override
     public boolean equals(Object o) {
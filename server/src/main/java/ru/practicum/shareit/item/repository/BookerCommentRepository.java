@@ -0,0 +1,17 @@
+package ru.practicum.shareit.item.repository;
+
+import ru.practicum.shareit.item.dto.ResponseCommentDto;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface BookerCommentRepository {
+
+    /**
+     * Adds the comment in one INSERT ... SELECT that only writes the row when the author has an approved booking
+     * of the item that ended before {@code created}, so the check and the insert cannot be separated by a change.
+     *
+     * @return the saved comment, or empty when the author has no such booking
+     */
+    Optional<ResponseCommentDto> saveIfAuthorBooked(Long authorId, Long itemId, String text, LocalDateTime created);
+}
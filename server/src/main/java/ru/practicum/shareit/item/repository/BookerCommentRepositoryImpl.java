@@ -0,0 +1,60 @@
+package ru.practicum.shareit.item.repository;
+
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.query.NativeQuery;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.dto.ResponseCommentDto;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+class BookerCommentRepositoryImpl implements BookerCommentRepository {
+    private static final String INSERT_IF_BOOKED = "INSERT INTO comments (id, text, item_id, author_id, created) " +
+            "SELECT CAST(:id AS bigint), CAST(:text AS varchar), CAST(:itemId AS bigint), " +
+            "CAST(:authorId AS bigint), CAST(:created AS timestamp) " +
+            "WHERE EXISTS (" +
+            "SELECT 1 FROM bookings b " +
+            "WHERE b.item_id = :itemId " +
+            "AND b.booker_id = :authorId " +
+            "AND b.status = 'APPROVED' " +
+            "AND b.end_date < :created)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public Optional<ResponseCommentDto> saveIfAuthorBooked(
+            Long authorId,
+            Long itemId,
+            String text,
+            LocalDateTime created
+    ) {
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        // Taken from the same pooled sequence block as comments saved through the entity
+        Serializable id = session.getFactory().getMetamodel().entityPersister(Comment.class)
+                .getIdentifierGenerator()
+                .generate(session, null);
+        int inserted = entityManager.createNativeQuery(INSERT_IF_BOOKED)
+                .unwrap(NativeQuery.class)
+                // Without it Hibernate would drop every second-level cache region after the insert
+                .addSynchronizedEntityClass(Comment.class)
+                .setParameter("id", id)
+                .setParameter("text", text)
+                .setParameter("itemId", itemId)
+                .setParameter("authorId", authorId)
+                .setParameter("created", created)
+                .executeUpdate();
+        if (inserted == 0) {
+            return Optional.empty();
+        }
+        // Usually served by the second-level cache, the booking above guarantees the author exists
+        User author = entityManager.find(User.class, authorId);
+        return Optional.of(new ResponseCommentDto((Long) id, text, author.getName(), created));
+    }
+}
@@ -1,12 +1,25 @@
 package ru.practicum.shareit.item.repository;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.item.model.Comment;
 
+import java.util.Collection;
 import java.util.List;
 
-public interface CommentRepository extends JpaRepository<Comment, Long> {
+public interface CommentRepository extends JpaRepository<Comment, Long>, BookerCommentRepository {
 
+    @EntityGraph(attributePaths = {"author"})
+    @Query("SELECT c FROM Comment c WHERE c.item.id = :itemId")
     List<Comment> findByItem_Id(Long itemId);
 
+    @Query("SELECT c FROM Comment c " +
+            "JOIN FETCH c.item i " +
+            "JOIN FETCH c.author " +
+            "WHERE i.id IN :itemIds " +
+            "ORDER BY c.id"
+    )
+    List<Comment> findAllByItemIds(Collection<Long> itemIds);
+
 }
@@ -2,19 +2,54 @@ package ru.practicum.shareit.item.repository;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.etag.ContentVersion;
 import ru.practicum.shareit.item.model.Item;
 
+import javax.persistence.LockModeType;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
     List<Item> findByOwnerIdOrderByIdAsc(Long ownerId, Pageable pageable);
 
-    @Query(" select i from Item i " +
-            "where is_available = true and (upper(i.name) like upper(concat('%', ?1, '%')) " +
-            " or upper(i.description) like upper(concat('%', ?1, '%')))")
-    List<Item> findAllByNameOrDescriptionContainingAndIsAvailableIgnoreCase(String text, Pageable pageable);
+    List<Item> findByOwnerIdAndIdGreaterThanOrderByIdAsc(Long ownerId, Long id, Pageable pageable);
+
+    String NAME_MATCH = "upper(i.name) LIKE upper(concat('%', :text, '%'))";
+    String DESCRIPTION_MATCH = "upper(i.description) LIKE upper(concat('%', :text, '%'))";
+    String RELEVANCE_RANK = "CASE WHEN " + NAME_MATCH + " THEN 0 ELSE 1 END";
+
+    @Query("SELECT i FROM Item i " +
+            "WHERE i.available = true " +
+            "AND (" + NAME_MATCH + " OR " + DESCRIPTION_MATCH + ") " +
+            "ORDER BY " + RELEVANCE_RANK + ", i.id"
+    )
+    List<Item> searchAvailable(String text, Pageable pageable);
+
+    @Query("SELECT i FROM Item i " +
+            "WHERE i.available = true " +
+            "AND (" + NAME_MATCH + " OR " + DESCRIPTION_MATCH + ") " +
+            "AND (" + RELEVANCE_RANK + " > :afterRank " +
+            "OR (" + RELEVANCE_RANK + " = :afterRank AND i.id > :afterId)) " +
+            "ORDER BY " + RELEVANCE_RANK + ", i.id"
+    )
+    List<Item> searchAvailableAfter(String text, Integer afterRank, Long afterId, Pageable pageable);
 
     List<Item> findAllByRequestId(Long requestId);
+
+    List<Item> findAllByRequestIdIn(Collection<Long> requestIds);
+
+    @Query("SELECT count(i) AS count, max(i.id) AS maxId, sum(i.version) AS versionSum FROM Item i " +
+            "WHERE i.requestId = :requestId"
+    )
+    ContentVersion findContentVersionByRequestId(Long requestId);
+
+    List<Item> findByAvailableTrueAndIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item i WHERE i.id = (SELECT b.item.id FROM Booking b WHERE b.id = :bookingId)")
+    Optional<Item> findByBookingIdForUpdate(Long bookingId);
 }
@@ -0,0 +1,295 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+@Component
+@Slf4j
+public class ItemSearchIndex {
+    public static final int NAME_MATCH_RANK = 0;
+    public static final int DESCRIPTION_MATCH_RANK = 1;
+
+    private static final int MAX_GRAM_LENGTH = 3;
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private final ItemRepository itemRepository;
+    private final boolean enabled;
+    private final Map<String, LongPostingList> postings = new HashMap<>();
+    private final Map<Long, Item> items = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public ItemSearchIndex(
+            ItemRepository itemRepository,
+            @Value("${shareit.search.in-memory-index.enabled:false}") boolean enabled
+    ) {
+        this.itemRepository = itemRepository;
+        this.enabled = enabled;
+    }
+
+    public static int getRelevanceRank(Item item, String text) {
+        return getRelevanceRank(item.getName(), text);
+    }
+
+    public static int getRelevanceRank(String name, String text) {
+        if (normalize(name).contains(normalize(text))) {
+            return NAME_MATCH_RANK;
+        }
+        return DESCRIPTION_MATCH_RANK;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            items.clear();
+            long lastId = 0;
+            List<Item> batch;
+            do {
+                batch = itemRepository.findByAvailableTrueAndIdGreaterThanOrderByIdAsc(
+                        lastId,
+                        PageRequest.of(0, REBUILD_BATCH_SIZE)
+                );
+                for (Item item : batch) {
+                    addInternal(item);
+                    lastId = item.getId();
+                }
+            } while (batch.size() == REBUILD_BATCH_SIZE);
+            log.info("Item search index built: " + items.size() + " items, " + postings.size() + " tokens");
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void put(Item item) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            removeInternal(item.getId());
+            if (Boolean.TRUE.equals(item.getAvailable())) {
+                addInternal(item);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void putAll(Collection<Item> newItems) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            for (Item item : newItems) {
+                removeInternal(item.getId());
+                if (Boolean.TRUE.equals(item.getAvailable())) {
+                    addInternal(item);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long itemId) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            removeInternal(itemId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeByOwnerId(Long ownerId) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            List<Long> ownerItemIds = items.values().stream()
+                    .filter(item -> Objects.equals(ownerId, item.getOwnerId()))
+                    .map(Item::getId)
+                    .collect(Collectors.toList());
+            ownerItemIds.forEach(this::removeInternal);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Optional<Item> findById(Long itemId) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            return Optional.ofNullable(items.get(itemId)).map(ItemSearchIndex::copy);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Item> search(String text, int from, int size) {
+        return match(text, NAME_MATCH_RANK, 0, from, size);
+    }
+
+    public List<Item> searchAfter(String text, int afterRank, long afterId, int size) {
+        return match(text, afterRank, afterId, 0, size);
+    }
+
+    // Ranks only the matching ids and copies just the page, so the read lock is not held to copy every match
+    private List<Item> match(String text, int afterRank, long afterId, int skip, int size) {
+        String query = normalize(text);
+        List<Item> page = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            long[] candidates = findCandidates(query);
+            long[][] idsByRank = new long[DESCRIPTION_MATCH_RANK + 1][candidates.length];
+            int[] counts = new int[DESCRIPTION_MATCH_RANK + 1];
+            // Candidates come in id order, so each rank's ids stay sorted by id
+            for (long id : candidates) {
+                Item item = items.get(id);
+                if (normalize(item.getName()).contains(query)) {
+                    idsByRank[NAME_MATCH_RANK][counts[NAME_MATCH_RANK]++] = id;
+                } else if (normalize(item.getDescription()).contains(query)) {
+                    idsByRank[DESCRIPTION_MATCH_RANK][counts[DESCRIPTION_MATCH_RANK]++] = id;
+                }
+            }
+            for (int rank = afterRank; rank <= DESCRIPTION_MATCH_RANK && page.size() < size; rank++) {
+                long[] ids = idsByRank[rank];
+                int start = rank == afterRank ? firstIdAfter(ids, counts[rank], afterId) : 0;
+                int skipped = Math.min(skip, counts[rank] - start);
+                skip -= skipped;
+                for (int i = start + skipped; i < counts[rank] && page.size() < size; i++) {
+                    page.add(copy(items.get(ids[i])));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return page;
+    }
+
+    private static int firstIdAfter(long[] ids, int count, long afterId) {
+        int position = Arrays.binarySearch(ids, 0, count, afterId);
+        return position >= 0 ? position + 1 : -position - 1;
+    }
+
+    private long[] findCandidates(String query) {
+        List<LongPostingList> lists = new ArrayList<>();
+        for (String gram : getQueryGrams(query)) {
+            LongPostingList list = postings.get(gram);
+            if (list == null) {
+                return new long[0];
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(LongPostingList::size));
+        long[] candidates = lists.get(0).toArray();
+        for (int i = 1; i < lists.size() && candidates.length > 0; i++) {
+            candidates = lists.get(i).retainAll(candidates);
+        }
+        return candidates;
+    }
+
+    private void addInternal(Item item) {
+        Item snapshot = copy(item);
+        items.put(snapshot.getId(), snapshot);
+        for (String gram : getItemGrams(snapshot)) {
+            postings.computeIfAbsent(gram, key -> new LongPostingList()).add(snapshot.getId());
+        }
+    }
+
+    private void removeInternal(Long itemId) {
+        Item snapshot = items.remove(itemId);
+        if (snapshot == null) {
+            return;
+        }
+        for (String gram : getItemGrams(snapshot)) {
+            LongPostingList list = postings.get(gram);
+            if (list != null) {
+                list.remove(itemId);
+                if (list.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    private static Set<String> getItemGrams(Item item) {
+        Set<String> grams = new HashSet<>();
+        addGrams(normalize(item.getName()), grams);
+        addGrams(normalize(item.getDescription()), grams);
+        return grams;
+    }
+
+    private static void addGrams(String text, Set<String> grams) {
+        for (int length = 1; length <= MAX_GRAM_LENGTH; length++) {
+            for (int start = 0; start + length <= text.length(); start++) {
+                grams.add(text.substring(start, start + length));
+            }
+        }
+    }
+
+    private static Set<String> getQueryGrams(String query) {
+        if (query.length() <= MAX_GRAM_LENGTH) {
+            return Set.of(query);
+        }
+        Set<String> grams = new HashSet<>();
+        for (int start = 0; start + MAX_GRAM_LENGTH <= query.length(); start++) {
+            grams.add(query.substring(start, start + MAX_GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    private static String normalize(String text) {
+        return text.toUpperCase(Locale.ROOT);
+    }
+
+    private static Item copy(Item item) {
+        return new Item(
+                item.getId(),
+                item.getName(),
+                item.getDescription(),
+                item.getAvailable(),
+                item.getOwnerId(),
+                item.getRequestId()
+        );
+    }
+}
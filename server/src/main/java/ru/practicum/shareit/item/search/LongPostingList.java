@@ -0,0 +1,64 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.Arrays;
+
+class LongPostingList {
+    private static final int INITIAL_CAPACITY = 4;
+
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private int size;
+
+    void add(long id) {
+        int position = Arrays.binarySearch(ids, 0, size, id);
+        if (position >= 0) {
+            return;
+        }
+        int insertAt = -position - 1;
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+        ids[insertAt] = id;
+        size++;
+    }
+
+    void remove(long id) {
+        int position = Arrays.binarySearch(ids, 0, size, id);
+        if (position < 0) {
+            return;
+        }
+        System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+        size--;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long[] toArray() {
+        return Arrays.copyOf(ids, size);
+    }
+
+    long[] retainAll(long[] candidates) {
+        long[] result = new long[Math.min(candidates.length, size)];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < candidates.length && j < size) {
+            if (candidates[i] < ids[j]) {
+                i++;
+            } else if (candidates[i] > ids[j]) {
+                j++;
+            } else {
+                result[count++] = candidates[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+}
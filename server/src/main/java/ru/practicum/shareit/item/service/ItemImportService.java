@@ -0,0 +1,11 @@
+package ru.practicum.shareit.item.service;
+
+import ru.practicum.shareit.item.dto.ResponseItemImportDto;
+import ru.practicum.shareit.item.importing.ItemImportFormat;
+
+import java.io.IOException;
+import java.io.Reader;
+
+public interface ItemImportService {
+    ResponseItemImportDto importItems(Long userId, ItemImportFormat format, Reader body) throws IOException;
+}
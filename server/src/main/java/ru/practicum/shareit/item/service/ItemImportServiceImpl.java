@@ -0,0 +1,215 @@
+package ru.practicum.shareit.item.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.mapstruct.factory.Mappers;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.exception.model.UserNotFoundException;
+import ru.practicum.shareit.item.dto.RequestAddItemDto;
+import ru.practicum.shareit.item.dto.ResponseItemImportDto;
+import ru.practicum.shareit.item.dto.ResponseItemImportErrorDto;
+import ru.practicum.shareit.item.importing.ItemImportFormat;
+import ru.practicum.shareit.item.importing.ItemImportProperties;
+import ru.practicum.shareit.item.importing.ItemRowParser;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ItemImportServiceImpl implements ItemImportService {
+    private static final String USER_NOT_FOUND_MESSAGE = "User id=%d not found";
+    private static final String REQUEST_NOT_FOUND_MESSAGE = "Request id=%d not found";
+
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    private final ItemSearchIndex itemSearchIndex;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final ItemImportProperties properties;
+    private final ItemMapper itemMapper = Mappers.getMapper(ItemMapper.class);
+
+    /**
+     * Reads the body line by line and saves valid rows in transactions of {@code batchSize} rows, so memory stays
+     * flat however large the body is. Rows that cannot be parsed, fail validation or point to a missing request are
+     * reported by line number and do not stop the import.
+     */
+    @Override
+    public ResponseItemImportDto importItems(Long userId, ItemImportFormat format, Reader body) throws IOException {
+        if (!userRepository.existsById(userId)) {
+            log.error(String.format(USER_NOT_FOUND_MESSAGE, userId));
+            throw new UserNotFoundException(String.format(USER_NOT_FOUND_MESSAGE, userId));
+        }
+        ImportReport report = new ImportReport(properties.getMaxReportedErrors());
+        BufferedReader reader = new BufferedReader(body);
+        long lineNumber = 0;
+        ItemRowParser parser;
+        if (format == ItemImportFormat.CSV) {
+            String header = reader.readLine();
+            if (header == null) {
+                return report.toDto();
+            }
+            lineNumber++;
+            parser = ItemRowParser.csv(header);
+        } else {
+            parser = ItemRowParser.ndjson(objectMapper);
+        }
+
+        List<ImportRow> batch = new ArrayList<>(properties.getBatchSize());
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            RequestAddItemDto itemDto;
+            try {
+                itemDto = parser.parse(line);
+            } catch (JsonProcessingException e) {
+                report.fail(lineNumber, "Malformed row: " + e.getOriginalMessage());
+                continue;
+            }
+            String violations = validate(itemDto);
+            if (violations != null) {
+                report.fail(lineNumber, violations);
+                continue;
+            }
+            itemDto.setOwnerId(userId);
+            batch.add(new ImportRow(lineNumber, itemDto));
+            if (batch.size() == properties.getBatchSize()) {
+                saveBatch(batch, report);
+                batch.clear();
+            }
+        }
+        saveBatch(batch, report);
+        log.info(String.format("Imported %d items for userId=%d, %d rows failed", report.imported, userId,
+                report.failed));
+        return report.toDto();
+    }
+
+    private String validate(RequestAddItemDto itemDto) {
+        if (itemDto == null) {
+            return "Malformed row: expected an item";
+        }
+        Set<ConstraintViolation<RequestAddItemDto>> violations = validator.validate(itemDto);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private void saveBatch(List<ImportRow> batch, ImportReport report) {
+        List<ImportRow> rows = rejectMissingRequests(batch, report);
+        if (rows.isEmpty()) {
+            return;
+        }
+        try {
+            List<Item> items = transactionTemplate.execute(status -> itemRepository.saveAll(toItems(rows)));
+            itemSearchIndex.putAll(items);
+            report.imported += items.size();
+        } catch (DataAccessException | TransactionException e) {
+            // Rows were checked up front, so this is rare: find the offending rows and keep the rest
+            log.warn(String.format("Batch of %d items failed, saving them one by one: %s", rows.size(),
+                    e.getMessage()));
+            for (ImportRow row : rows) {
+                saveRow(row, report);
+            }
+        }
+    }
+
+    private void saveRow(ImportRow row, ImportReport report) {
+        try {
+            Item item = transactionTemplate.execute(
+                    status -> itemRepository.save(itemMapper.addDtoToItem(row.getItemDto()))
+            );
+            itemSearchIndex.put(item);
+            report.imported++;
+        } catch (DataAccessException | TransactionException e) {
+            report.fail(row.getLineNumber(), "Item could not be saved: " + e.getMostSpecificCause().getMessage());
+        }
+    }
+
+    private List<ImportRow> rejectMissingRequests(List<ImportRow> batch, ImportReport report) {
+        Set<Long> requestIds = batch.stream()
+                .map(row -> row.getItemDto().getRequestId())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (requestIds.isEmpty()) {
+            return batch;
+        }
+        Set<Long> existingIds = itemRequestRepository.findExistingIds(requestIds);
+        List<ImportRow> rows = new ArrayList<>(batch.size());
+        for (ImportRow row : batch) {
+            Long requestId = row.getItemDto().getRequestId();
+            if (requestId == null || existingIds.contains(requestId)) {
+                rows.add(row);
+            } else {
+                report.fail(row.getLineNumber(), String.format(REQUEST_NOT_FOUND_MESSAGE, requestId));
+            }
+        }
+        return rows;
+    }
+
+    // Entities are built per attempt, a rolled back batch leaves ids on the instances it persisted
+    private List<Item> toItems(List<ImportRow> rows) {
+        List<Item> items = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            items.add(itemMapper.addDtoToItem(row.getItemDto()));
+        }
+        return items;
+    }
+
+    @Value
+    private static class ImportRow {
+        long lineNumber;
+        RequestAddItemDto itemDto;
+    }
+
+    private static class ImportReport {
+        private final int maxReportedErrors;
+        private final List<ResponseItemImportErrorDto> errors = new ArrayList<>();
+        private long imported;
+        private long failed;
+
+        ImportReport(int maxReportedErrors) {
+            this.maxReportedErrors = maxReportedErrors;
+        }
+
+        void fail(long lineNumber, String message) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new ResponseItemImportErrorDto(lineNumber, message));
+            }
+        }
+
+        ResponseItemImportDto toDto() {
+            return new ResponseItemImportDto(imported, failed, failed > errors.size(), errors);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package ru.practicum.shareit.item.service;
+
+import ru.practicum.shareit.item.dto.ResponseItemDto;
+
+import java.util.List;
+
+public interface ItemSearchService {
+    List<ResponseItemDto> search(String text, Integer from, Integer size);
+
+    List<ResponseItemDto> searchAfter(String text, Integer afterRank, Long afterId, Integer size);
+}
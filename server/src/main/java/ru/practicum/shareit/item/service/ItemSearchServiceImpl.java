@@ -0,0 +1,59 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.mapstruct.factory.Mappers;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import ru.practicum.shareit.item.dto.ResponseItemDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ItemSearchServiceImpl implements ItemSearchService {
+
+    private final ItemRepository itemRepository;
+    private final ItemSearchIndex itemSearchIndex;
+    private final ItemMapper itemMapper = Mappers.getMapper(ItemMapper.class);
+
+    @Override
+    public List<ResponseItemDto> search(String text, Integer from, Integer size) {
+        if (text.isBlank()) {
+            return List.of();
+        }
+        if (itemSearchIndex.isEnabled()) {
+            return itemSearchIndex.search(text, from, size).stream()
+                    .map(itemMapper::itemToResponseDto)
+                    .collect(Collectors.toList());
+        }
+        Pageable pageable = OffsetPageRequest.of(from, size);
+        return itemRepository.searchAvailable(text, pageable).stream()
+                .map(itemMapper::itemToResponseDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<ResponseItemDto> searchAfter(String text, Integer afterRank, Long afterId, Integer size) {
+        if (text.isBlank()) {
+            return List.of();
+        }
+        // The cursor carries the rank the item had on the previous page, so it does not have to exist anymore
+        if (itemSearchIndex.isEnabled()) {
+            return itemSearchIndex.searchAfter(text, afterRank, afterId, size).stream()
+                    .map(itemMapper::itemToResponseDto)
+                    .collect(Collectors.toList());
+        }
+        Pageable pageable = PageRequest.of(0, size);
+        return itemRepository.searchAvailableAfter(text, afterRank, afterId, pageable).stream()
+                .map(itemMapper::itemToResponseDto)
+                .collect(Collectors.toList());
+    }
+}
@@ -1,23 +1,37 @@
 package ru.practicum.shareit.item.service;
 
+import ru.practicum.shareit.etag.ContentVersion;
+import ru.practicum.shareit.etag.Tagged;
 import ru.practicum.shareit.item.dto.*;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface ItemService {
     ResponseItemDto save(Long userId, RequestAddItemDto itemDto);
 
     ResponseItemWithCommentsDto findById(Long userId, Long id);
 
+    Tagged<ResponseItemWithCommentsDto> findByIdWithETag(Long userId, Long id);
+
     List<ResponseItemWithCommentsDto> findByUserId(Long userId, Integer from, Integer size);
 
+    List<ResponseItemWithCommentsDto> findByUserIdAfter(Long userId, String after, Integer size);
+
     ResponseItemDto update(Long userId, Long itemId, RequestUpdateItemDto itemUpdateDto);
 
     void deleteById(Long id);
 
     List<ResponseItemDto> findByNameOrDescription(String text, Integer from, Integer size);
 
+    List<ResponseItemDto> findByNameOrDescriptionAfter(String text, String after, Integer size);
+
     ResponseCommentDto saveComment(Long userId, Long itemId, RequestAddCommentDto addCommentDto);
 
     List<ResponseItemForItemRequestDto> getResponseItemRequestWithItemsDtoByRequestId(Long requestId);
+
+    ContentVersion getContentVersionByRequestId(Long requestId);
+
+    Map<Long, List<ResponseItemForItemRequestDto>> getResponseItemsByRequestIds(Collection<Long> requestIds);
 }
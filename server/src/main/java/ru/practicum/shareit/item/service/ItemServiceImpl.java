@@ -7,10 +7,13 @@ import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
-import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.ItemBookingView;
 import ru.practicum.shareit.booking.repository.BookingRepository;
-import ru.practicum.shareit.booking.status.BookingStatus;
+import ru.practicum.shareit.etag.ContentVersion;
+import ru.practicum.shareit.etag.EntityTag;
+import ru.practicum.shareit.etag.Tagged;
 import ru.practicum.shareit.exception.model.AccessBadRequestException;
 import ru.practicum.shareit.exception.model.AccessNotFoundException;
 import ru.practicum.shareit.exception.model.ItemNotFoundException;
@@ -22,11 +25,18 @@ import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -44,6 +54,8 @@ public class ItemServiceImpl implements ItemService {
     private final UserRepository userRepository;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
+    private final ItemSearchService itemSearchService;
+    private final ItemSearchIndex itemSearchIndex;
     private final ItemMapper itemMapper = Mappers.getMapper(ItemMapper.class);
     private final BookingMapper bookingMapper = Mappers.getMapper(BookingMapper.class);
     private final CommentMapper commentMapper = Mappers.getMapper(CommentMapper.class);
@@ -55,36 +67,94 @@ public class ItemServiceImpl implements ItemService {
             throw new UserNotFoundException(String.format(USER_NOT_FOUND_MESSAGE, userId));
         }
         itemDto.setOwnerId(userId);
-        return itemMapper.itemToResponseDto(
-                itemRepository.save(
-                        itemMapper.addDtoToItem(itemDto)
-                )
-        );
+        Item item = itemRepository.save(itemMapper.addDtoToItem(itemDto));
+        itemSearchIndex.put(item);
+        return itemMapper.itemToResponseDto(item);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ResponseItemWithCommentsDto findById(Long userId, Long itemId) {
+        return findByIdWithETag(userId, itemId).getBody();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Tagged<ResponseItemWithCommentsDto> findByIdWithETag(Long userId, Long itemId) {
         Optional<Item> itemOptional = itemRepository.findById(itemId);
         if (itemOptional.isEmpty()) {
             log.error(String.format(ITEM_NOT_FOUND_MESSAGE, itemId));
             throw new ItemNotFoundException(String.format(ITEM_NOT_FOUND_MESSAGE, itemId));
         }
-        ResponseItemWithCommentsDto dto = itemMapper.itemToResponseWithCommentDto(itemOptional.get());
-        if (Objects.equals(userId, itemOptional.get().getOwnerId())) {
-            addBookingsToResponseWithCommentDto(dto);
+        Item item = itemOptional.get();
+        ResponseItemWithCommentsDto dto = itemMapper.itemToResponseWithCommentDto(item);
+        List<Comment> comments = commentRepository.findByItem_Id(itemId);
+        dto.setComments(comments.stream()
+                .map(commentMapper::commentToResponseDto)
+                .collect(Collectors.toList()));
+        // Author versions are included because comments are rendered with the author's current name
+        Long maxCommentId = comments.stream().map(Comment::getId).max(Long::compare).orElse(null);
+        long authorVersionSum = comments.stream().mapToLong(comment -> comment.getAuthor().getVersion()).sum();
+        if (!Objects.equals(userId, item.getOwnerId())) {
+            return Tagged.of(EntityTag.of(item.getId(), item.getVersion(), comments.size(), maxCommentId,
+                    authorVersionSum), dto);
         }
-        addCommentsResponseWithComment(dto);
-        return dto;
+        // Last and next bookings move as time passes, so the owner's tag covers the ones shown right now
+        List<ItemBookingView> bookings = addBookingsToResponseWithCommentDto(dto);
+        List<Long> bookingIds = bookings.stream()
+                .map(ItemBookingView::getId)
+                .sorted()
+                .collect(Collectors.toList());
+        return Tagged.of(EntityTag.of(item.getId(), item.getVersion(), comments.size(), maxCommentId,
+                authorVersionSum, bookingIds), dto);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ResponseItemWithCommentsDto> findByUserId(Long userId, Integer from, Integer size) {
-        Pageable pageable = PageRequest.of(from / size, size);
-        return itemRepository.findByOwnerIdOrderByIdAsc(userId, pageable).stream()
+        Pageable pageable = OffsetPageRequest.of(from, size);
+        return addBookingsAndCommentsToItems(itemRepository.findByOwnerIdOrderByIdAsc(userId, pageable));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ResponseItemWithCommentsDto> findByUserIdAfter(Long userId, String after, Integer size) {
+        PageCursor cursor = PageCursor.decode(after);
+        Pageable pageable = PageRequest.of(0, size);
+        return addBookingsAndCommentsToItems(
+                itemRepository.findByOwnerIdAndIdGreaterThanOrderByIdAsc(userId, cursor.getId(), pageable)
+        );
+    }
+
+    private List<ResponseItemWithCommentsDto> addBookingsAndCommentsToItems(List<Item> items) {
+        List<ResponseItemWithCommentsDto> dtos = items.stream()
                 .map(itemMapper::itemToResponseWithCommentDto)
-                .map(this::addBookingsToResponseWithCommentDto)
-                .map(this::addCommentsResponseWithComment)
                 .collect(Collectors.toList());
+        if (dtos.isEmpty()) {
+            return dtos;
+        }
+        List<Long> itemIds = dtos.stream()
+                .map(ResponseItemWithCommentsDto::getId)
+                .collect(Collectors.toList());
+        Map<Long, List<ItemBookingView>> bookingsByItemId = bookingRepository
+                .findLastAndNextApprovedByItemIds(itemIds, LocalDateTime.now()).stream()
+                .collect(Collectors.groupingBy(ItemBookingView::getItemId));
+        Map<Long, List<ResponseCommentDto>> commentsByItemId = commentRepository.findAllByItemIds(itemIds).stream()
+                .collect(Collectors.groupingBy(
+                        comment -> comment.getItem().getId(),
+                        Collectors.mapping(commentMapper::commentToResponseDto, Collectors.toList())
+                ));
+        for (ResponseItemWithCommentsDto dto : dtos) {
+            for (ItemBookingView booking : bookingsByItemId.getOrDefault(dto.getId(), List.of())) {
+                if (Boolean.TRUE.equals(booking.getIsLast())) {
+                    dto.setLastBooking(bookingMapper.itemBookingViewToItemResponse(booking));
+                } else {
+                    dto.setNextBooking(bookingMapper.itemBookingViewToItemResponse(booking));
+                }
+            }
+            dto.setComments(commentsByItemId.getOrDefault(dto.getId(), List.of()));
+        }
+        return dtos;
     }
 
     @Override
@@ -99,17 +169,16 @@ public class ItemServiceImpl implements ItemService {
             throw new AccessNotFoundException("Wrong user id");
         }
         itemMapper.updateItemFromRequestUpdateDto(itemDto, itemOptional.get());
-        return itemMapper.itemToResponseDto(
-                itemRepository.save(
-                        itemOptional.get()
-                )
-        );
+        Item item = itemRepository.save(itemOptional.get());
+        itemSearchIndex.put(item);
+        return itemMapper.itemToResponseDto(item);
     }
 
     @Override
     public void deleteById(Long itemId) {
         try {
             itemRepository.deleteById(itemId);
+            itemSearchIndex.remove(itemId);
         } catch (EmptyResultDataAccessException e) {
             log.error(String.format(ITEM_NOT_FOUND_MESSAGE, itemId));
             throw new ItemNotFoundException(String.format(ITEM_NOT_FOUND_MESSAGE, itemId));
@@ -117,78 +186,73 @@ public class ItemServiceImpl implements ItemService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ResponseItemDto> findByNameOrDescription(String text, Integer from, Integer size) {
-        if (text.isBlank()) {
-            return List.of();
-        }
-        Pageable pageable = PageRequest.of(from / size, size);
-        return itemRepository.findAllByNameOrDescriptionContainingAndIsAvailableIgnoreCase(text, pageable).stream()
-                .map(itemMapper::itemToResponseDto)
-                .collect(Collectors.toList());
+        return itemSearchService.search(text, from, size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ResponseItemDto> findByNameOrDescriptionAfter(String text, String after, Integer size) {
+        PageCursor cursor = PageCursor.decode(after);
+        return itemSearchService.searchAfter(text, cursor.getRankOrThrowException(), cursor.getId(), size);
     }
 
     @Override
     public ResponseCommentDto saveComment(Long userId, Long itemId, RequestAddCommentDto addCommentDto) {
-        if (isUserNotAlreadyItemBooker(userId, itemId)) {
-            log.error(String.format(NOT_ITEM_BOOKER_ALREADY_MESSAGE, userId, itemId));
-            throw new AccessBadRequestException(String.format(NOT_ITEM_BOOKER_ALREADY_MESSAGE, userId, itemId));
-        }
-        User user = getUserOrThrowException(userId);
-        Item item = getItemOrThrowException(itemId);
-        Comment comment = commentMapper.addDtoToComment(addCommentDto);
-        comment.setAuthor(user);
-        comment.setItem(item);
-        comment.setCreated(LocalDateTime.now());
-        return commentMapper.commentToResponseDto(
-                commentRepository.save(comment)
-        );
+        return commentRepository.saveIfAuthorBooked(userId, itemId, addCommentDto.getText(), LocalDateTime.now())
+                .orElseThrow(() -> explainRejectedComment(userId, itemId));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ResponseItemForItemRequestDto> getResponseItemRequestWithItemsDtoByRequestId(Long requestId) {
         return itemRepository.findAllByRequestId(requestId).stream()
                 .map(itemMapper::itemToResponseItemForItemRequestDto)
                 .collect(Collectors.toList());
     }
 
-    private ResponseItemWithCommentsDto addCommentsResponseWithComment(ResponseItemWithCommentsDto dto) {
-        dto.setComments(
-                commentRepository.findByItem_Id(dto.getId()).stream()
-                        .map(commentMapper::commentToResponseDto)
-                        .collect(Collectors.toList())
-        );
-        return dto;
+    @Override
+    @Transactional(readOnly = true)
+    public ContentVersion getContentVersionByRequestId(Long requestId) {
+        return itemRepository.findContentVersionByRequestId(requestId);
     }
 
-    private boolean isUserNotAlreadyItemBooker(Long userId, Long itemId) {
-        List<Booking> pastBookings = bookingRepository.findFirst1ByItem_IdAndBooker_IdAndStatusAndEndBefore(
-                itemId,
-                userId,
-                BookingStatus.APPROVED,
-                LocalDateTime.now()
-        );
-        return pastBookings.isEmpty();
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, List<ResponseItemForItemRequestDto>> getResponseItemsByRequestIds(Collection<Long> requestIds) {
+        Map<Long, List<ResponseItemForItemRequestDto>> itemsByRequestId = new HashMap<>(requestIds.size() * 2);
+        if (requestIds.isEmpty()) {
+            return itemsByRequestId;
+        }
+        for (Item item : itemRepository.findAllByRequestIdIn(requestIds)) {
+            itemsByRequestId.computeIfAbsent(item.getRequestId(), requestId -> new ArrayList<>())
+                    .add(itemMapper.itemToResponseItemForItemRequestDto(item));
+        }
+        return itemsByRequestId;
     }
 
-    private ResponseItemWithCommentsDto addBookingsToResponseWithCommentDto(ResponseItemWithCommentsDto dto) {
-        LocalDateTime currentTime = LocalDateTime.now();
-        List<Booking> lastBooking = bookingRepository.findFirst1ByItem_IdAndStartLessThanAndStatusOrderByEndDesc(
-                dto.getId(),
-                currentTime,
-                BookingStatus.APPROVED
-        );
-        List<Booking> nextBooking = bookingRepository.findFirst1ByItem_IdAndStartGreaterThanAndStatusOrderByStartAsc(
-                dto.getId(),
-                currentTime,
-                BookingStatus.APPROVED
+    private AccessBadRequestException explainRejectedComment(Long userId, Long itemId) {
+        // Only reached when nothing was inserted, so the common case never pays for these lookups
+        getUserOrThrowException(userId);
+        getItemOrThrowException(itemId);
+        log.error(String.format(NOT_ITEM_BOOKER_ALREADY_MESSAGE, userId, itemId));
+        return new AccessBadRequestException(String.format(NOT_ITEM_BOOKER_ALREADY_MESSAGE, userId, itemId));
+    }
+
+    private List<ItemBookingView> addBookingsToResponseWithCommentDto(ResponseItemWithCommentsDto dto) {
+        List<ItemBookingView> bookings = bookingRepository.findLastAndNextApprovedByItemIds(
+                List.of(dto.getId()),
+                LocalDateTime.now()
         );
-        if (!lastBooking.isEmpty()) {
-            dto.setLastBooking(bookingMapper.bookingToItemResponse(lastBooking.get(0)));
-        }
-        if (!nextBooking.isEmpty()) {
-            dto.setNextBooking(bookingMapper.bookingToItemResponse(nextBooking.get(0)));
+        for (ItemBookingView booking : bookings) {
+            if (Boolean.TRUE.equals(booking.getIsLast())) {
+                dto.setLastBooking(bookingMapper.itemBookingViewToItemResponse(booking));
+            } else {
+                dto.setNextBooking(bookingMapper.itemBookingViewToItemResponse(booking));
+            }
         }
-        return dto;
+        return bookings;
     }
 
     private User getUserOrThrowException(Long userId) {
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.metrics;
+
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+public class ServiceImplPointcut extends StaticMethodMatcherPointcut {
+    public ServiceImplPointcut() {
+        setClassFilter(clazz -> clazz.getName().startsWith("ru.practicum.shareit.")
+                && clazz.getSimpleName().endsWith("ServiceImpl"));
+    }
+
+    @Override
+    public boolean matches(Method method, Class<?> targetClass) {
+        return Modifier.isPublic(method.getModifiers()) && method.getDeclaringClass() != Object.class;
+    }
+}
@@ -0,0 +1,31 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.framework.AbstractAdvisingBeanPostProcessor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ServiceMetricsConfig {
+
+    @Bean
+    public static AbstractAdvisingBeanPostProcessor serviceMetricsPostProcessor(
+            ObjectProvider<MeterRegistry> meterRegistry
+    ) {
+        return new ServiceMetricsPostProcessor(meterRegistry);
+    }
+
+    private static class ServiceMetricsPostProcessor extends AbstractAdvisingBeanPostProcessor {
+        ServiceMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+            // The registry is looked up on the first call, so this post-processor does not initialize it early
+            this.advisor = new DefaultPointcutAdvisor(
+                    new ServiceImplPointcut(),
+                    new ServiceMetricsInterceptor(meterRegistry::getObject)
+            );
+            // Timing wraps the transaction so commit time is part of the measurement
+            setBeforeExistingAdvisors(true);
+        }
+    }
+}
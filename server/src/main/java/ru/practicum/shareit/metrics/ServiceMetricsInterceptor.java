@@ -0,0 +1,65 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+public class ServiceMetricsInterceptor implements MethodInterceptor {
+    public static final String METRIC_NAME = "shareit.service";
+
+    private final Supplier<MeterRegistry> registrySupplier;
+    // Successful calls dominate, so their timers are resolved once per method instead of through the registry
+    private final Map<Method, Timer> successTimers = new ConcurrentHashMap<>();
+    private volatile MeterRegistry registry;
+
+    public ServiceMetricsInterceptor(Supplier<MeterRegistry> registrySupplier) {
+        this.registrySupplier = registrySupplier;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        MeterRegistry meterRegistry = registry();
+        Clock clock = meterRegistry.config().clock();
+        long start = clock.monotonicTime();
+        try {
+            Object result = invocation.proceed();
+            successTimers.computeIfAbsent(invocation.getMethod(), method -> timer(meterRegistry, invocation, null))
+                    .record(clock.monotonicTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable exception) {
+            timer(meterRegistry, invocation, exception).record(clock.monotonicTime() - start, TimeUnit.NANOSECONDS);
+            throw exception;
+        }
+    }
+
+    private MeterRegistry registry() {
+        MeterRegistry meterRegistry = registry;
+        if (meterRegistry == null) {
+            meterRegistry = registrySupplier.get();
+            registry = meterRegistry;
+        }
+        return meterRegistry;
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, MethodInvocation invocation, Throwable exception) {
+        Class<?> targetClass = invocation.getThis() != null
+                ? AopUtils.getTargetClass(invocation.getThis())
+                : invocation.getMethod().getDeclaringClass();
+        return Timer.builder(METRIC_NAME)
+                .description("Service method invocations")
+                .tag("class", targetClass.getSimpleName())
+                .tag("method", invocation.getMethod().getName())
+                .tag("outcome", exception == null ? "SUCCESS" : "ERROR")
+                .tag("exception", exception == null ? "none" : exception.getClass().getSimpleName())
+                .register(meterRegistry);
+    }
+}
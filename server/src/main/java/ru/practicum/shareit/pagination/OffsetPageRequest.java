@@ -0,0 +1,87 @@
+package ru.practicum.shareit.pagination;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.Objects;
+
+public class OffsetPageRequest implements Pageable {
+    private final long offset;
+    private final int size;
+
+    private OffsetPageRequest(long offset, int size) {
+        this.offset = offset;
+        this.size = size;
+    }
+
+    public static Pageable of(int from, int size) {
+        if (from % size == 0) {
+            return PageRequest.of(from / size, size);
+        }
+        return new OffsetPageRequest(from, size);
+    }
+
+    @Override
+    public int getPageNumber() {
+        return (int) (offset / size);
+    }
+
+    @Override
+    public int getPageSize() {
+        return size;
+    }
+
+    @Override
+    public long getOffset() {
+        return offset;
+    }
+
+    @Override
+    public Sort getSort() {
+        return Sort.unsorted();
+    }
+
+    @Override
+    public Pageable next() {
+        return new OffsetPageRequest(offset + size, size);
+    }
+
+    @Override
+    public Pageable previousOrFirst() {
+        return hasPrevious() ? new OffsetPageRequest(offset - size, size) : first();
+    }
+
+    @Override
+    public Pageable first() {
+        return new OffsetPageRequest(offset % size, size);
+    }
+
+    @Override
+    public Pageable withPage(int pageNumber) {
+        return new OffsetPageRequest(offset % size + (long) pageNumber * size, size);
+    }
+
+    @Override
+    public boolean hasPrevious() {
+        return offset >= size;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        OffsetPageRequest that = (OffsetPageRequest) o;
+        return offset == that.offset && size == that.size;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(offset, size);
+    }
+
+    @Override
+    public String toString() {
+        return "OffsetPageRequest [offset: " + offset + ", size " + size + "]";
+    }
+}
@@ -0,0 +1,107 @@
+package ru.practicum.shareit.pagination;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+import ru.practicum.shareit.exception.model.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+@Getter
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class PageCursor {
+    public static final String NEXT_CURSOR_HEADER_NAME = "X-Next-Cursor";
+
+    private static final String INVALID_CURSOR_MESSAGE = "Invalid cursor '%s'";
+    private static final String SEPARATOR = "_";
+
+    LocalDateTime sortKey;
+    Integer rank;
+    Long id;
+
+    private PageCursor(LocalDateTime sortKey, Integer rank, Long id) {
+        this.sortKey = sortKey;
+        this.rank = rank;
+        this.id = id;
+    }
+
+    public static PageCursor of(Long id) {
+        return new PageCursor(null, null, id);
+    }
+
+    public static PageCursor of(LocalDateTime sortKey, Long id) {
+        return new PageCursor(sortKey, null, id);
+    }
+
+    public static PageCursor of(Integer rank, Long id) {
+        return new PageCursor(null, rank, id);
+    }
+
+    public static PageCursor decode(String cursor) {
+        String value;
+        try {
+            value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException(String.format(INVALID_CURSOR_MESSAGE, cursor));
+        }
+        String[] parts = value.split(SEPARATOR, -1);
+        try {
+            if (parts.length == 1) {
+                return of(Long.valueOf(parts[0]));
+            }
+            if (parts.length == 2 && isRank(parts[0])) {
+                return of(Integer.valueOf(parts[0]), Long.valueOf(parts[1]));
+            }
+            if (parts.length == 2) {
+                return of(LocalDateTime.parse(parts[0]), Long.valueOf(parts[1]));
+            }
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new InvalidCursorException(String.format(INVALID_CURSOR_MESSAGE, cursor));
+        }
+        throw new InvalidCursorException(String.format(INVALID_CURSOR_MESSAGE, cursor));
+    }
+
+    // A sort key is a date time, which never consists of digits only
+    private static boolean isRank(String value) {
+        return !value.isEmpty() && value.chars().allMatch(Character::isDigit);
+    }
+
+    public static <T> Optional<String> next(List<T> page, int size, Function<T, PageCursor> cursorOf) {
+        if (page.isEmpty() || page.size() < size) {
+            return Optional.empty();
+        }
+        return Optional.of(cursorOf.apply(page.get(page.size() - 1)).encode());
+    }
+
+    public LocalDateTime getSortKeyOrThrowException() {
+        if (sortKey == null) {
+            throw new InvalidCursorException(String.format(INVALID_CURSOR_MESSAGE, encode()));
+        }
+        return sortKey;
+    }
+
+    public Integer getRankOrThrowException() {
+        if (rank == null) {
+            throw new InvalidCursorException(String.format(INVALID_CURSOR_MESSAGE, encode()));
+        }
+        return rank;
+    }
+
+    public String encode() {
+        String value;
+        if (sortKey != null) {
+            value = sortKey + SEPARATOR + id;
+        } else if (rank != null) {
+            value = rank + SEPARATOR + id;
+        } else {
+            value = String.valueOf(id);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -3,12 +3,16 @@ package ru.practicum.shareit.request;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.request.dto.RequestAddItemRequestDto;
 import ru.practicum.shareit.request.dto.ResponseItemRequestDto;
 import ru.practicum.shareit.request.dto.ResponseItemRequestWithItemsDto;
 import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.pagination.PageCursor;
 
+import javax.servlet.http.HttpServletResponse;
 import java.util.List;
 
 @RestController
@@ -32,9 +36,16 @@ public class ItemRequestController {
 
     @GetMapping
     @ResponseStatus(HttpStatus.OK)
-    public List<ResponseItemRequestWithItemsDto> findByUserId(@RequestHeader(USER_ID_HEADER_NAME) Long userId) {
+    public List<ResponseItemRequestWithItemsDto> findByUserId(
+            @RequestHeader(USER_ID_HEADER_NAME) Long userId,
+            Integer from,
+            Integer size
+    ) {
         log.info(String.format("Get item requests request by userId#%d ", userId));
-        return itemRequestService.findByUserId(userId);
+        if (size == null) {
+            return itemRequestService.findByUserId(userId);
+        }
+        return itemRequestService.findByUserId(userId, from == null ? 0 : from, size);
     }
 
     @GetMapping("/all")
@@ -42,19 +53,30 @@ public class ItemRequestController {
     public List<ResponseItemRequestWithItemsDto> findAllNotOwned(
             @RequestHeader(USER_ID_HEADER_NAME) Long userId,
             Integer from,
-            Integer size
+            Integer size,
+            String after,
+            HttpServletResponse response
     ) {
-        log.info(String.format("Get all item requests request from: %d; size: %d", from, size));
-        return itemRequestService.findAllNotOwned(userId, from, size);
+        log.info(String.format("Get all item requests request from: %d; size: %d; after: %s", from, size, after));
+        List<ResponseItemRequestWithItemsDto> requests = after == null
+                ? itemRequestService.findAllNotOwned(userId, from, size)
+                : itemRequestService.findAllNotOwnedAfter(userId, after, size);
+        PageCursor.next(requests, size, request -> PageCursor.of(request.getId()))
+                .ifPresent(cursor -> response.setHeader(PageCursor.NEXT_CURSOR_HEADER_NAME, cursor));
+        return requests;
     }
 
     @GetMapping("/{id}")
-    @ResponseStatus(HttpStatus.OK)
-    public ResponseItemRequestWithItemsDto findById(
+    public ResponseEntity<ResponseItemRequestWithItemsDto> findById(
             @RequestHeader(USER_ID_HEADER_NAME) Long userId,
-            @PathVariable Long id
+            @PathVariable Long id,
+            WebRequest webRequest
     ) {
         log.info(String.format("Get item requests request by requestId#%d ", id));
-        return itemRequestService.findById(userId, id);
+        String eTag = itemRequestService.getETag(userId, id);
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(itemRequestService.findById(userId, id));
     }
 }
@@ -2,13 +2,27 @@ package ru.practicum.shareit.request.repository;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.request.model.ItemRequest;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
 
+    String BY_REQUESTOR = "SELECT r FROM ItemRequest r WHERE r.requestor.id = :requestorId ORDER BY r.id DESC";
+
+    @Query(BY_REQUESTOR)
     List<ItemRequest> findAllByRequestorIdOrderByIdDesc(Long requestorId);
 
+    @Query(BY_REQUESTOR)
+    List<ItemRequest> findAllByRequestorIdOrderByIdDesc(Long requestorId, Pageable pageable);
+
     List<ItemRequest> findAllByRequestorIdNotOrderByIdDesc(Long requestorId, Pageable pageable);
+
+    List<ItemRequest> findAllByRequestorIdNotAndIdLessThanOrderByIdDesc(Long requestorId, Long id, Pageable pageable);
+
+    @Query("select r.id from ItemRequest r where r.id in :ids")
+    Set<Long> findExistingIds(Collection<Long> ids);
 }
@@ -12,7 +12,13 @@ public interface ItemRequestService {
 
     List<ResponseItemRequestWithItemsDto> findByUserId(Long userId);
 
+    List<ResponseItemRequestWithItemsDto> findByUserId(Long userId, Integer from, Integer size);
+
     List<ResponseItemRequestWithItemsDto> findAllNotOwned(Long userId, Integer from, Integer size);
 
+    List<ResponseItemRequestWithItemsDto> findAllNotOwnedAfter(Long userId, String after, Integer size);
+
     ResponseItemRequestWithItemsDto findById(Long userId, Long id);
+
+    String getETag(Long userId, Long id);
 }
@@ -6,9 +6,15 @@ import org.mapstruct.factory.Mappers;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.etag.ContentVersion;
+import ru.practicum.shareit.etag.EntityTag;
 import ru.practicum.shareit.exception.model.RequestNotFoundException;
 import ru.practicum.shareit.exception.model.UserNotFoundException;
+import ru.practicum.shareit.item.dto.ResponseItemForItemRequestDto;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.request.dto.RequestAddItemRequestDto;
 import ru.practicum.shareit.request.dto.ResponseItemRequestDto;
 import ru.practicum.shareit.request.dto.ResponseItemRequestWithItemsDto;
@@ -20,6 +26,7 @@ import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -52,33 +59,58 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ResponseItemRequestWithItemsDto> findByUserId(Long userId) {
         if (!userRepository.existsById(userId)) {
             log.error(String.format(USER_NOT_FOUND_MESSAGE, userId));
             throw new UserNotFoundException(String.format(USER_NOT_FOUND_MESSAGE, userId));
         }
         List<ItemRequest> requests = itemRequestRepository.findAllByRequestorIdOrderByIdDesc(userId);
-        return requests.stream()
-                .map(itemRequestMapper::itemRequestToResponseWithItemsDto)
-                .map(this::addItemsToResponseDto)
-                .collect(Collectors.toList());
+        return addItemsToResponseDtos(requests);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ResponseItemRequestWithItemsDto> findByUserId(Long userId, Integer from, Integer size) {
+        if (!userRepository.existsById(userId)) {
+            log.error(String.format(USER_NOT_FOUND_MESSAGE, userId));
+            throw new UserNotFoundException(String.format(USER_NOT_FOUND_MESSAGE, userId));
+        }
+        Pageable pageable = OffsetPageRequest.of(from, size);
+        List<ItemRequest> requests = itemRequestRepository.findAllByRequestorIdOrderByIdDesc(userId, pageable);
+        return addItemsToResponseDtos(requests);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ResponseItemRequestWithItemsDto> findAllNotOwned(Long userId, Integer from, Integer size) {
         if (!userRepository.existsById(userId)) {
             log.error(String.format(USER_NOT_FOUND_MESSAGE, userId));
             throw new UserNotFoundException(String.format(USER_NOT_FOUND_MESSAGE, userId));
         }
-        Pageable pageable = PageRequest.of(from / size, size);
+        Pageable pageable = OffsetPageRequest.of(from, size);
         List<ItemRequest> requests = itemRequestRepository.findAllByRequestorIdNotOrderByIdDesc(userId, pageable);
-        return requests.stream()
-                .map(itemRequestMapper::itemRequestToResponseWithItemsDto)
-                .map(this::addItemsToResponseDto)
-                .collect(Collectors.toList());
+        return addItemsToResponseDtos(requests);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ResponseItemRequestWithItemsDto> findAllNotOwnedAfter(Long userId, String after, Integer size) {
+        PageCursor cursor = PageCursor.decode(after);
+        if (!userRepository.existsById(userId)) {
+            log.error(String.format(USER_NOT_FOUND_MESSAGE, userId));
+            throw new UserNotFoundException(String.format(USER_NOT_FOUND_MESSAGE, userId));
+        }
+        List<ItemRequest> requests = itemRequestRepository.findAllByRequestorIdNotAndIdLessThanOrderByIdDesc(
+                userId,
+                cursor.getId(),
+                PageRequest.of(0, size)
+        );
+        return addItemsToResponseDtos(requests);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ResponseItemRequestWithItemsDto findById(Long userId, Long id) {
         if (!userRepository.existsById(userId)) {
             log.error(String.format(USER_NOT_FOUND_MESSAGE, userId));
@@ -97,6 +129,40 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         );
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public String getETag(Long userId, Long id) {
+        if (!userRepository.existsById(userId)) {
+            log.error(String.format(USER_NOT_FOUND_MESSAGE, userId));
+            throw new UserNotFoundException(String.format(USER_NOT_FOUND_MESSAGE, userId));
+        }
+        if (!itemRequestRepository.existsById(id)) {
+            log.error(String.format(REQUEST_NOT_FOUND_MESSAGE, id));
+            throw new RequestNotFoundException(String.format(REQUEST_NOT_FOUND_MESSAGE, id));
+        }
+        // Requests are never edited, only the items answering them change
+        ContentVersion items = itemService.getContentVersionByRequestId(id);
+        return EntityTag.of(id, items.getCount(), items.getMaxId(), items.getVersionSum());
+    }
+
+    private List<ResponseItemRequestWithItemsDto> addItemsToResponseDtos(List<ItemRequest> requests) {
+        List<ResponseItemRequestWithItemsDto> dtos = requests.stream()
+                .map(itemRequestMapper::itemRequestToResponseWithItemsDto)
+                .collect(Collectors.toList());
+        if (dtos.isEmpty()) {
+            return dtos;
+        }
+        Map<Long, List<ResponseItemForItemRequestDto>> itemsByRequestId = itemService.getResponseItemsByRequestIds(
+                dtos.stream()
+                        .map(ResponseItemRequestWithItemsDto::getId)
+                        .collect(Collectors.toList())
+        );
+        for (ResponseItemRequestWithItemsDto dto : dtos) {
+            dto.setItems(itemsByRequestId.getOrDefault(dto.getId(), List.of()));
+        }
+        return dtos;
+    }
+
     private ResponseItemRequestWithItemsDto addItemsToResponseDto(ResponseItemRequestWithItemsDto dto) {
         dto.setItems(itemService.getResponseItemRequestWithItemsDtoByRequestId(dto.getId()));
         return dto;
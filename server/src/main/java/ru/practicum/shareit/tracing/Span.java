@@ -0,0 +1,42 @@
+package ru.practicum.shareit.tracing;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.time.Instant;
+
+@Getter
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class Span {
+    final String traceId;
+    final String spanId;
+    final String parentSpanId;
+    final SpanKind kind;
+    @Setter
+    String name;
+    final String detail;
+    final Instant start;
+    @JsonIgnore
+    final long startNanos;
+    long durationMicros;
+    @Setter
+    String error;
+
+    Span(String traceId, String spanId, String parentSpanId, SpanKind kind, String name, String detail) {
+        this.traceId = traceId;
+        this.spanId = spanId;
+        this.parentSpanId = parentSpanId;
+        this.kind = kind;
+        this.name = name;
+        this.detail = detail;
+        this.start = Instant.now();
+        this.startNanos = System.nanoTime();
+    }
+
+    void finish() {
+        durationMicros = (System.nanoTime() - startNanos) / 1_000;
+    }
+}
@@ -0,0 +1,35 @@
+package ru.practicum.shareit.tracing;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class SpanCollector {
+    private final Map<String, List<Span>> traces;
+
+    public SpanCollector(int maxTraces) {
+        this.traces = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, List<Span>> eldest) {
+                return size() > maxTraces;
+            }
+        };
+    }
+
+    public synchronized void record(String traceId, List<Span> spans) {
+        traces.put(traceId, List.copyOf(spans));
+    }
+
+    public synchronized List<Span> find(String traceId) {
+        return traces.get(traceId);
+    }
+
+    // Newest first
+    public synchronized List<List<Span>> recent() {
+        List<List<Span>> recent = new ArrayList<>(traces.values());
+        Collections.reverse(recent);
+        return recent;
+    }
+}
@@ -0,0 +1,9 @@
+package ru.practicum.shareit.tracing;
+
+public enum SpanKind {
+    SERVER,
+    CONTROLLER,
+    SERVICE,
+    REPOSITORY,
+    SQL
+}
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.tracing;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class TraceDetails {
+    TraceSummary summary;
+    List<Span> slowestStatements;
+    List<Span> spans;
+}
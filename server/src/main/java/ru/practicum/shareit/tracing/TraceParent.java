@@ -0,0 +1,51 @@
+package ru.practicum.shareit.tracing;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// W3C trace context header: version-traceId-parentId-flags
+@Getter
+@AllArgsConstructor
+public class TraceParent {
+    public static final String HEADER_NAME = "traceparent";
+    private static final Pattern FORMAT = Pattern.compile("00-([0-9a-f]{32})-([0-9a-f]{16})-[0-9a-f]{2}");
+    private static final String INVALID_TRACE_ID = "0".repeat(32);
+    private static final String INVALID_PARENT_ID = "0".repeat(16);
+
+    private final String traceId;
+    private final String parentId;
+
+    public static Optional<TraceParent> parse(String header) {
+        if (header == null) {
+            return Optional.empty();
+        }
+        Matcher matcher = FORMAT.matcher(header.trim());
+        if (!matcher.matches()
+                || INVALID_TRACE_ID.equals(matcher.group(1))
+                || INVALID_PARENT_ID.equals(matcher.group(2))) {
+            return Optional.empty();
+        }
+        return Optional.of(new TraceParent(matcher.group(1), matcher.group(2)));
+    }
+
+    public static String newTraceId() {
+        return randomHex() + randomHex();
+    }
+
+    public static String newSpanId() {
+        return randomHex();
+    }
+
+    private static String randomHex() {
+        long value;
+        do {
+            value = ThreadLocalRandom.current().nextLong();
+        } while (value == 0);
+        return String.format("%016x", value);
+    }
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.tracing;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+import java.time.Instant;
+
+@Getter
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class TraceSummary {
+    String traceId;
+    String name;
+    Instant start;
+    long durationMicros;
+    int spanCount;
+    int sqlCount;
+    long sqlMicros;
+    String error;
+}
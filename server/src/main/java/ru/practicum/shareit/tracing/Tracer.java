@@ -0,0 +1,74 @@
+package ru.practicum.shareit.tracing;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+public class Tracer {
+    private static final ThreadLocal<ActiveTrace> ACTIVE_TRACE = new ThreadLocal<>();
+
+    private final SpanCollector collector;
+    private final int maxSpansPerTrace;
+
+    public Tracer(SpanCollector collector, int maxSpansPerTrace) {
+        this.collector = collector;
+        this.maxSpansPerTrace = maxSpansPerTrace;
+    }
+
+    public boolean isTracing() {
+        return ACTIVE_TRACE.get() != null;
+    }
+
+    public Span startTrace(String name, TraceParent parent) {
+        String traceId = parent != null ? parent.getTraceId() : TraceParent.newTraceId();
+        String parentSpanId = parent != null ? parent.getParentId() : null;
+        Span root = new Span(traceId, TraceParent.newSpanId(), parentSpanId, SpanKind.SERVER, name, null);
+        ActiveTrace trace = new ActiveTrace();
+        trace.stack.push(root);
+        ACTIVE_TRACE.set(trace);
+        return root;
+    }
+
+    public void finishTrace(Span root) {
+        ActiveTrace trace = ACTIVE_TRACE.get();
+        ACTIVE_TRACE.remove();
+        root.finish();
+        if (trace != null) {
+            trace.finished.add(root);
+            collector.record(root.getTraceId(), trace.finished);
+        }
+    }
+
+    // Returns null outside a traced request, so background work and startup are never recorded
+    public Span startSpan(SpanKind kind, String name, String detail) {
+        ActiveTrace trace = ACTIVE_TRACE.get();
+        if (trace == null || trace.finished.size() >= maxSpansPerTrace) {
+            return null;
+        }
+        Span parent = trace.stack.peek();
+        Span span = new Span(parent.getTraceId(), TraceParent.newSpanId(), parent.getSpanId(), kind, name, detail);
+        trace.stack.push(span);
+        return span;
+    }
+
+    public void finishSpan(Span span, Throwable error) {
+        if (span == null) {
+            return;
+        }
+        span.finish();
+        if (error != null) {
+            span.setError(error.getClass().getSimpleName());
+        }
+        ActiveTrace trace = ACTIVE_TRACE.get();
+        if (trace != null) {
+            trace.stack.remove(span);
+            trace.finished.add(span);
+        }
+    }
+
+    private static class ActiveTrace {
+        private final Deque<Span> stack = new ArrayDeque<>();
+        private final List<Span> finished = new ArrayList<>();
+    }
+}
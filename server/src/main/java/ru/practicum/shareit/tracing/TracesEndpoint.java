@@ -0,0 +1,64 @@
+package ru.practicum.shareit.tracing;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Endpoint(id = "traces")
+public class TracesEndpoint {
+    private static final int SLOWEST_STATEMENTS = 5;
+
+    private final SpanCollector collector;
+
+    public TracesEndpoint(SpanCollector collector) {
+        this.collector = collector;
+    }
+
+    @ReadOperation
+    public List<TraceSummary> traces() {
+        return collector.recent().stream()
+                .map(TracesEndpoint::summarize)
+                .collect(Collectors.toList());
+    }
+
+    @ReadOperation
+    public TraceDetails trace(@Selector String traceId) {
+        List<Span> spans = collector.find(traceId);
+        if (spans == null) {
+            return null;
+        }
+        return new TraceDetails(
+                summarize(spans),
+                spans.stream()
+                        .filter(span -> span.getKind() == SpanKind.SQL)
+                        .sorted(Comparator.comparingLong(Span::getDurationMicros).reversed())
+                        .limit(SLOWEST_STATEMENTS)
+                        .collect(Collectors.toList()),
+                spans.stream()
+                        .sorted(Comparator.comparingLong(Span::getStartNanos))
+                        .collect(Collectors.toList())
+        );
+    }
+
+    private static TraceSummary summarize(List<Span> spans) {
+        // The root span finishes last
+        Span root = spans.get(spans.size() - 1);
+        List<Span> statements = spans.stream()
+                .filter(span -> span.getKind() == SpanKind.SQL)
+                .collect(Collectors.toList());
+        return new TraceSummary(
+                root.getTraceId(),
+                root.getName(),
+                root.getStart(),
+                root.getDurationMicros(),
+                spans.size(),
+                statements.size(),
+                statements.stream().mapToLong(Span::getDurationMicros).sum(),
+                root.getError()
+        );
+    }
+}
@@ -0,0 +1,117 @@
+package ru.practicum.shareit.tracing;
+
+import org.springframework.aop.framework.AbstractAdvisingBeanPostProcessor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import ru.practicum.shareit.metrics.ServiceImplPointcut;
+
+import javax.sql.DataSource;
+
+@Configuration
+@EnableConfigurationProperties(TracingProperties.class)
+public class TracingConfig {
+
+    @Bean
+    public SpanCollector spanCollector(TracingProperties properties) {
+        return new SpanCollector(properties.getMaxTraces());
+    }
+
+    @Bean
+    public Tracer tracer(SpanCollector spanCollector, TracingProperties properties) {
+        return new Tracer(spanCollector, properties.getMaxSpansPerTrace());
+    }
+
+    @Bean
+    public TracingFilter tracingFilter(Tracer tracer) {
+        return new TracingFilter(tracer);
+    }
+
+    @Bean
+    public WebMvcConfigurer tracingWebMvcConfigurer(Tracer tracer) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(new TracingHandlerInterceptor(tracer));
+            }
+        };
+    }
+
+    @Bean
+    public TracesEndpoint tracesEndpoint(SpanCollector spanCollector) {
+        return new TracesEndpoint(spanCollector);
+    }
+
+    @Bean
+    public static AbstractAdvisingBeanPostProcessor serviceTracingPostProcessor(ObjectProvider<Tracer> tracer) {
+        return new ServiceTracingPostProcessor(tracer);
+    }
+
+    @Bean
+    public static BeanPostProcessor repositoryTracingPostProcessor(ObjectProvider<Tracer> tracer) {
+        return new RepositoryTracingPostProcessor(tracer);
+    }
+
+    @Bean
+    public static BeanPostProcessor dataSourceTracingPostProcessor(ObjectProvider<Tracer> tracer) {
+        return new DataSourceTracingPostProcessor(tracer);
+    }
+
+    private static class ServiceTracingPostProcessor extends AbstractAdvisingBeanPostProcessor {
+        ServiceTracingPostProcessor(ObjectProvider<Tracer> tracer) {
+            this.advisor = new DefaultPointcutAdvisor(
+                    new ServiceImplPointcut(),
+                    new TracingInterceptor(tracer::getObject, SpanKind.SERVICE, null)
+            );
+            setBeforeExistingAdvisors(true);
+        }
+    }
+
+    private static class RepositoryTracingPostProcessor implements BeanPostProcessor {
+        private final ObjectProvider<Tracer> tracer;
+
+        RepositoryTracingPostProcessor(ObjectProvider<Tracer> tracer) {
+            this.tracer = tracer;
+        }
+
+        @Override
+        public Object postProcessBeforeInitialization(Object bean, String beanName) {
+            // Repositories are built by their factory beans, so the advice is added to the repository proxy there
+            if (bean instanceof RepositoryFactoryBeanSupport) {
+                ((RepositoryFactoryBeanSupport<?, ?, ?>) bean).addRepositoryFactoryCustomizer(factory ->
+                        factory.addRepositoryProxyPostProcessor((proxyFactory, repositoryInformation) ->
+                                proxyFactory.addAdvice(new TracingInterceptor(
+                                        tracer::getObject,
+                                        SpanKind.REPOSITORY,
+                                        repositoryInformation.getRepositoryInterface().getSimpleName()
+                                ))
+                        )
+                );
+            }
+            return bean;
+        }
+    }
+
+    private static class DataSourceTracingPostProcessor implements BeanPostProcessor {
+        private final ObjectProvider<Tracer> tracer;
+
+        DataSourceTracingPostProcessor(ObjectProvider<Tracer> tracer) {
+            this.tracer = tracer;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            // Only the data source the application uses is wrapped, not the pools behind a routing data source
+            if (bean instanceof DataSource && "dataSource".equals(beanName)) {
+                return new TracingDataSource((DataSource) bean, tracer.getObject());
+            }
+            return bean;
+        }
+    }
+}
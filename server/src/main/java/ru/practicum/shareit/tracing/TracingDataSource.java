@@ -0,0 +1,106 @@
+package ru.practicum.shareit.tracing;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+// Records a SQL span for every statement executed on a connection obtained inside a traced request
+public class TracingDataSource extends DelegatingDataSource {
+    private final Tracer tracer;
+
+    public TracingDataSource(DataSource targetDataSource, Tracer tracer) {
+        super(targetDataSource);
+        this.tracer = tracer;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return traced(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return traced(super.getConnection(username, password));
+    }
+
+    private Connection traced(Connection connection) {
+        if (!tracer.isTracing()) {
+            return connection;
+        }
+        return (Connection) Proxy.newProxyInstance(
+                getClass().getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new ConnectionHandler(connection)
+        );
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException exception) {
+            throw exception.getTargetException();
+        }
+    }
+
+    private class ConnectionHandler implements InvocationHandler {
+        private final Connection connection;
+
+        ConnectionHandler(Connection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = TracingDataSource.invoke(connection, method, args);
+            if (!(result instanceof Statement)) {
+                return result;
+            }
+            String sql = method.getName().startsWith("prepare") ? (String) args[0] : null;
+            Class<?> statementType = result instanceof CallableStatement ? CallableStatement.class
+                    : result instanceof PreparedStatement ? PreparedStatement.class
+                    : Statement.class;
+            return Proxy.newProxyInstance(
+                    TracingDataSource.class.getClassLoader(),
+                    new Class<?>[]{statementType},
+                    new StatementHandler((Statement) result, sql)
+            );
+        }
+    }
+
+    private class StatementHandler implements InvocationHandler {
+        private final Statement statement;
+        private final String sql;
+
+        StatementHandler(Statement statement, String sql) {
+            this.statement = statement;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (!method.getName().startsWith("execute")) {
+                return TracingDataSource.invoke(statement, method, args);
+            }
+            String executedSql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : sql;
+            Span span = tracer.startSpan(SpanKind.SQL, method.getName(), executedSql);
+            Throwable error = null;
+            try {
+                return TracingDataSource.invoke(statement, method, args);
+            } catch (Throwable exception) {
+                error = exception;
+                throw exception;
+            } finally {
+                tracer.finishSpan(span, error);
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package ru.practicum.shareit.tracing;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+public class TracingFilter extends OncePerRequestFilter {
+    public static final String TRACE_ID_HEADER_NAME = "X-Trace-Id";
+
+    private final Tracer tracer;
+
+    public TracingFilter(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        TraceParent parent = TraceParent.parse(request.getHeader(TraceParent.HEADER_NAME)).orElse(null);
+        Span root = tracer.startTrace(request.getMethod() + " " + request.getRequestURI(), parent);
+        response.setHeader(TRACE_ID_HEADER_NAME, root.getTraceId());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            if (pattern != null) {
+                root.setName(request.getMethod() + " " + pattern);
+            }
+            if (response.getStatus() >= 500) {
+                root.setError("HTTP " + response.getStatus());
+            }
+            tracer.finishTrace(root);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // Reading the collected spans should not push the traces being inspected out of the buffer
+        return request.getRequestURI().startsWith("/actuator");
+    }
+}
@@ -0,0 +1,42 @@
+package ru.practicum.shareit.tracing;
+
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+public class TracingHandlerInterceptor implements HandlerInterceptor {
+    private static final String SPAN_ATTRIBUTE = TracingHandlerInterceptor.class.getName() + ".span";
+
+    private final Tracer tracer;
+
+    public TracingHandlerInterceptor(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod) {
+            HandlerMethod handlerMethod = (HandlerMethod) handler;
+            Span span = tracer.startSpan(
+                    SpanKind.CONTROLLER,
+                    handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName(),
+                    null
+            );
+            if (span != null) {
+                request.setAttribute(SPAN_ATTRIBUTE, span);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object span = request.getAttribute(SPAN_ATTRIBUTE);
+        if (span != null) {
+            request.removeAttribute(SPAN_ATTRIBUTE);
+            tracer.finishSpan((Span) span, ex);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package ru.practicum.shareit.tracing;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+
+import java.util.function.Supplier;
+
+public class TracingInterceptor implements MethodInterceptor {
+    private final Supplier<Tracer> tracerSupplier;
+    private final SpanKind kind;
+    private final String owner;
+
+    // owner names the span when the invocation target is a generic implementation, e.g. SimpleJpaRepository
+    public TracingInterceptor(Supplier<Tracer> tracerSupplier, SpanKind kind, String owner) {
+        this.tracerSupplier = tracerSupplier;
+        this.kind = kind;
+        this.owner = owner;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Tracer tracer = tracerSupplier.get();
+        if (!tracer.isTracing()) {
+            return invocation.proceed();
+        }
+        Span span = tracer.startSpan(kind, spanName(invocation), null);
+        Throwable error = null;
+        try {
+            return invocation.proceed();
+        } catch (Throwable exception) {
+            error = exception;
+            throw exception;
+        } finally {
+            tracer.finishSpan(span, error);
+        }
+    }
+
+    private String spanName(MethodInvocation invocation) {
+        String className = owner;
+        if (className == null) {
+            className = invocation.getThis() != null
+                    ? AopUtils.getTargetClass(invocation.getThis()).getSimpleName()
+                    : invocation.getMethod().getDeclaringClass().getSimpleName();
+        }
+        return className + "." + invocation.getMethod().getName();
+    }
+}
@@ -0,0 +1,13 @@
+package ru.practicum.shareit.tracing;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.tracing")
+public class TracingProperties {
+    private int maxTraces = 500;
+    private int maxSpansPerTrace = 1_000;
+}
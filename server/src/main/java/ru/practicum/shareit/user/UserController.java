@@ -3,7 +3,9 @@ package ru.practicum.shareit.user;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.user.dto.RequestAddUserDto;
 import ru.practicum.shareit.user.dto.RequestUpdateUserDto;
 import ru.practicum.shareit.user.dto.ResponseUserDto;
@@ -33,9 +35,12 @@ public class UserController {
     }
 
     @GetMapping("/{id}")
-    @ResponseStatus(HttpStatus.OK)
-    public ResponseUserDto findById(@PathVariable Long id) {
-        return userService.findById(id);
+    public ResponseEntity<ResponseUserDto> findById(@PathVariable Long id, WebRequest webRequest) {
+        String eTag = userService.getETag(id);
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(userService.findById(id));
     }
 
     @GetMapping
@@ -4,4 +4,10 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import ru.practicum.shareit.user.model.User;
 
 public interface UserRepository extends JpaRepository<User, Long> {
+
+    // The derived count query skips the second-level cache, a lookup by id is usually served from it
+    @Override
+    default boolean existsById(Long id) {
+        return findById(id).isPresent();
+    }
 }
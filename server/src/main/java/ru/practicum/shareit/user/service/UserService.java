@@ -11,6 +11,8 @@ public interface UserService {
 
     ResponseUserDto findById(Long id);
 
+    String getETag(Long id);
+
     List<ResponseUserDto> findAll();
 
     ResponseUserDto update(Long userId, RequestUpdateUserDto userDto);
@@ -6,8 +6,12 @@ import org.mapstruct.factory.Mappers;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.cache.EntityCacheEvictor;
+import ru.practicum.shareit.etag.EntityTag;
 import ru.practicum.shareit.exception.model.NotUniqueFieldException;
 import ru.practicum.shareit.exception.model.UserNotFoundException;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
 import ru.practicum.shareit.user.dto.RequestAddUserDto;
 import ru.practicum.shareit.user.dto.RequestUpdateUserDto;
 import ru.practicum.shareit.user.dto.ResponseUserDto;
@@ -27,6 +31,8 @@ public class UserServiceImpl implements UserService {
     private static final String USER_NOT_FOUND_MESSAGE = "User id=%d not found";
     private static final String EMAIL_NOT_UNIQUE_MESSAGE = "Email must be unique";
     private final UserRepository userRepository;
+    private final ItemSearchIndex itemSearchIndex;
+    private final EntityCacheEvictor entityCacheEvictor;
     private final UserMapper userMapper = Mappers.getMapper(UserMapper.class);
 
     @Override
@@ -44,6 +50,7 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ResponseUserDto findById(Long userId) {
         Optional<User> userOptional = userRepository.findById(userId);
         if (userOptional.isEmpty()) {
@@ -54,6 +61,18 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public String getETag(Long userId) {
+        Optional<User> userOptional = userRepository.findById(userId);
+        if (userOptional.isEmpty()) {
+            log.error(String.format(USER_NOT_FOUND_MESSAGE, userId));
+            throw new UserNotFoundException(String.format(USER_NOT_FOUND_MESSAGE, userId));
+        }
+        return EntityTag.of(userOptional.get().getId(), userOptional.get().getVersion());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<ResponseUserDto> findAll() {
         return userRepository.findAll().stream()
                 .map(userMapper::userToResponseDto)
@@ -84,6 +103,8 @@ public class UserServiceImpl implements UserService {
     public void deleteById(Long userId) {
         try {
             userRepository.deleteById(userId);
+            entityCacheEvictor.evictItems();
+            itemSearchIndex.removeByOwnerId(userId);
         } catch (EmptyResultDataAccessException e) {
             log.error(String.format(USER_NOT_FOUND_MESSAGE, userId));
             throw new UserNotFoundException(String.format(USER_NOT_FOUND_MESSAGE, userId));
@@ -1,9 +1,3 @@
-DROP TABLE IF EXISTS public.comments CASCADE ;
-DROP TABLE IF EXISTS public.bookings CASCADE ;
-DROP TABLE IF EXISTS public.items CASCADE ;
-DROP TABLE IF EXISTS public.requests CASCADE ;
-DROP TABLE IF EXISTS public.users CASCADE ;
-
 CREATE TABLE public.users (
 	id bigint NOT NULL GENERATED BY DEFAULT AS IDENTITY,
 	name varchar NOT NULL,
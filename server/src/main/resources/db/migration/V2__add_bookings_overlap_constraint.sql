@@ -0,0 +1,6 @@
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+ALTER TABLE public.bookings ADD CONSTRAINT bookings_approved_no_overlap EXCLUDE USING gist (
+	item_id WITH =,
+	tsrange(start_date, end_date) WITH &&
+) WHERE (status = 'APPROVED');
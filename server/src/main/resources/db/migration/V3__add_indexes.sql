@@ -0,0 +1,13 @@
+CREATE INDEX bookings_booker_end_idx ON public.bookings (booker_id, end_date DESC);
+
+CREATE INDEX bookings_booker_status_end_idx ON public.bookings (booker_id, status, end_date DESC);
+
+CREATE INDEX bookings_item_status_start_idx ON public.bookings (item_id, status, start_date);
+
+CREATE INDEX items_owner_idx ON public.items (owner_id, id);
+
+CREATE INDEX items_request_idx ON public.items (request_id);
+
+CREATE INDEX comments_item_idx ON public.comments (item_id);
+
+CREATE INDEX requests_requestor_idx ON public.requests (requestor_id, id DESC);
@@ -0,0 +1,6 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX items_name_trgm_idx ON public.items USING gin (upper(name) gin_trgm_ops) WHERE is_available = true;
+
+CREATE INDEX items_description_trgm_idx ON public.items USING gin (upper(description) gin_trgm_ops)
+	WHERE is_available = true;
@@ -0,0 +1,3 @@
+ALTER TABLE public.users ADD COLUMN version bigint NOT NULL DEFAULT 0;
+
+ALTER TABLE public.items ADD COLUMN version bigint NOT NULL DEFAULT 0;
@@ -0,0 +1,26 @@
+-- Pooled sequences let Hibernate batch inserts, INCREMENT BY matches allocationSize of the entities
+
+ALTER TABLE public.users ALTER COLUMN id DROP IDENTITY;
+CREATE SEQUENCE public.users_seq INCREMENT BY 50 OWNED BY public.users.id;
+SELECT setval('public.users_seq', COALESCE(max(id), 0) + 50, false) FROM public.users;
+ALTER TABLE public.users ALTER COLUMN id SET DEFAULT nextval('public.users_seq');
+
+ALTER TABLE public.requests ALTER COLUMN id DROP IDENTITY;
+CREATE SEQUENCE public.requests_seq INCREMENT BY 50 OWNED BY public.requests.id;
+SELECT setval('public.requests_seq', COALESCE(max(id), 0) + 50, false) FROM public.requests;
+ALTER TABLE public.requests ALTER COLUMN id SET DEFAULT nextval('public.requests_seq');
+
+ALTER TABLE public.items ALTER COLUMN id DROP IDENTITY;
+CREATE SEQUENCE public.items_seq INCREMENT BY 50 OWNED BY public.items.id;
+SELECT setval('public.items_seq', COALESCE(max(id), 0) + 50, false) FROM public.items;
+ALTER TABLE public.items ALTER COLUMN id SET DEFAULT nextval('public.items_seq');
+
+ALTER TABLE public.bookings ALTER COLUMN id DROP IDENTITY;
+CREATE SEQUENCE public.bookings_seq INCREMENT BY 50 OWNED BY public.bookings.id;
+SELECT setval('public.bookings_seq', COALESCE(max(id), 0) + 50, false) FROM public.bookings;
+ALTER TABLE public.bookings ALTER COLUMN id SET DEFAULT nextval('public.bookings_seq');
+
+ALTER TABLE public.comments ALTER COLUMN id DROP IDENTITY;
+CREATE SEQUENCE public.comments_seq INCREMENT BY 50 OWNED BY public.comments.id;
+SELECT setval('public.comments_seq', COALESCE(max(id), 0) + 50, false) FROM public.comments;
+ALTER TABLE public.comments ALTER COLUMN id SET DEFAULT nextval('public.comments_seq');
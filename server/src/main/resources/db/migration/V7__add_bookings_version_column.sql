@@ -0,0 +1 @@
+ALTER TABLE public.bookings ADD COLUMN version bigint NOT NULL DEFAULT 0;
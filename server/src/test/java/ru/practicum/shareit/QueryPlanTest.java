@@ -0,0 +1,226 @@
+package ru.practicum.shareit;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.test.context.jdbc.Sql;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.status.BookingStatus;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.not;
+
+/**
+ * Runs the repository methods behind the listing and detail endpoints and explains the SQL Hibernate generated for
+ * them, captured by a statement inspector. The plans are H2's over the test schema, which declares the same indexes
+ * as the Flyway migrations, so a query that stops matching an index shows up here, while Postgres costing and the
+ * trigram search indexes are not covered.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+        "ru.practicum.shareit.QueryPlanTest$CapturingStatementInspector")
+@AutoConfigureTestDatabase
+@Sql(scripts = {"/schema.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class QueryPlanTest {
+    private static final int USERS = 100;
+    private static final int ITEMS = 1_000;
+    private static final int BOOKINGS = 5_000;
+    private static final String TABLE_SCAN = "tableScan";
+    private static final long USER_ID = 7L;
+    private static final long ITEM_ID = 7L;
+    private static final Pageable PAGE = PageRequest.of(0, 10);
+    private static final LocalDateTime NOW = LocalDateTime.now();
+    private static final List<String> DROP_FOREIGN_KEYS = List.of(
+            "ALTER TABLE requests DROP CONSTRAINT requests_users_fk",
+            "ALTER TABLE items DROP CONSTRAINT items_users_fk",
+            "ALTER TABLE items DROP CONSTRAINT items_request_fk",
+            "ALTER TABLE bookings DROP CONSTRAINT bookings_items_fk",
+            "ALTER TABLE bookings DROP CONSTRAINT bookings_users_fk",
+            "ALTER TABLE comments DROP CONSTRAINT comments_items_fk",
+            "ALTER TABLE comments DROP CONSTRAINT comments_users_fk"
+    );
+    private static final List<String> statements = new CopyOnWriteArrayList<>();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BookingRepository bookingRepository;
+    private final ItemRepository itemRepository;
+    private final CommentRepository commentRepository;
+    private final ItemRequestRepository itemRequestRepository;
+
+    @BeforeEach
+    void setUp() {
+        List<Object[]> users = new ArrayList<>();
+        for (long i = 1; i <= USERS; i++) {
+            users.add(new Object[]{i, "user" + i, "user" + i + "@mail.com"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (id, name, email) VALUES (?, ?, ?)", users);
+
+        List<Object[]> requests = new ArrayList<>();
+        for (long i = 1; i <= ITEMS; i++) {
+            requests.add(new Object[]{i, "request" + i, i % USERS + 1, Timestamp.valueOf(NOW)});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO requests (id, description, requestor_id, created) VALUES (?, ?, ?, ?)",
+                requests
+        );
+
+        List<Object[]> items = new ArrayList<>();
+        for (long i = 1; i <= ITEMS; i++) {
+            items.add(new Object[]{i, "item" + i, "description" + i, true, i % USERS + 1, i});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO items (id, name, description, is_available, owner_id, request_id) " +
+                        "VALUES (?, ?, ?, ?, ?, ?)",
+                items
+        );
+
+        List<Object[]> bookings = new ArrayList<>();
+        String[] statuses = {"WAITING", "APPROVED", "REJECTED", "CANCELED"};
+        for (long i = 1; i <= BOOKINGS; i++) {
+            LocalDateTime start = NOW.plusHours(i - BOOKINGS / 2);
+            bookings.add(new Object[]{
+                    i,
+                    Timestamp.valueOf(start),
+                    Timestamp.valueOf(start.plusHours(2)),
+                    i % ITEMS + 1,
+                    i % USERS + 1,
+                    statuses[(int) (i % statuses.length)]
+            });
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO bookings (id, start_date, end_date, item_id, booker_id, status) " +
+                        "VALUES (?, ?, ?, ?, ?, ?)",
+                bookings
+        );
+
+        List<Object[]> comments = new ArrayList<>();
+        for (long i = 1; i <= ITEMS; i++) {
+            comments.add(new Object[]{i, "comment" + i, i, i % USERS + 1, Timestamp.valueOf(NOW)});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO comments (id, text, item_id, author_id, created) VALUES (?, ?, ?, ?, ?)",
+                comments
+        );
+
+        // H2 backs every foreign key with an index of its own, Postgres does not, so only the migration indexes stay
+        DROP_FOREIGN_KEYS.forEach(jdbcTemplate::execute);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    static Stream<Arguments> repositoryQueries() {
+        return Stream.of(
+                query("booker all", test -> test.bookingRepository
+                        .findByBooker_IdOrderByEndDesc(USER_ID, PAGE), "BOOKINGS_BOOKER_END_IDX"),
+                query("booker by status", test -> test.bookingRepository
+                        .findByBooker_IdAndStatusOrderByEndDesc(USER_ID, BookingStatus.WAITING, PAGE),
+                        "BOOKINGS_BOOKER_STATUS_END_IDX"),
+                query("booker past", test -> test.bookingRepository
+                        .findByBooker_IdAndEndIsBeforeOrderByEndDesc(USER_ID, NOW, PAGE), "BOOKINGS_BOOKER_END_IDX"),
+                query("booker future", test -> test.bookingRepository
+                        .findByBooker_IdAndStartIsAfterOrderByEndDesc(USER_ID, NOW, PAGE), "BOOKINGS_BOOKER_END_IDX"),
+                query("booker current", test -> test.bookingRepository
+                        .findByBooker_IdAndStartIsBeforeAndEndIsAfterOrderByEndDesc(USER_ID, NOW, NOW, PAGE),
+                        "BOOKINGS_BOOKER_END_IDX"),
+                query("booker seek", test -> test.bookingRepository
+                        .findByBookerAfter(USER_ID, NOW, 100L, PAGE), "BOOKINGS_BOOKER_END_IDX"),
+                query("booker by status seek", test -> test.bookingRepository
+                        .findByBookerAndStatusAfter(USER_ID, BookingStatus.WAITING, NOW, 100L, PAGE),
+                        "BOOKINGS_BOOKER_STATUS_END_IDX"),
+                query("owner all", test -> test.bookingRepository
+                        .findAllByOwner(USER_ID, PAGE), "ITEMS_OWNER_IDX"),
+                query("owner current", test -> test.bookingRepository
+                        .findAllByOwnerCurrent(USER_ID, NOW, PAGE), "ITEMS_OWNER_IDX"),
+                query("owner past", test -> test.bookingRepository
+                        .findAllByOwnerPast(USER_ID, NOW, PAGE), "ITEMS_OWNER_IDX"),
+                query("owner future", test -> test.bookingRepository
+                        .findAllByOwnerFuture(USER_ID, NOW, PAGE), "ITEMS_OWNER_IDX"),
+                query("owner by status", test -> test.bookingRepository
+                        .findAllByOwnerAndStatus(USER_ID, BookingStatus.WAITING, PAGE), "ITEMS_OWNER_IDX"),
+                query("owner seek", test -> test.bookingRepository
+                        .findAllByOwnerAfter(USER_ID, NOW, 100L, PAGE), "ITEMS_OWNER_IDX"),
+                query("item last and next bookings", test -> test.bookingRepository
+                        .findLastAndNextApprovedByItemIds(List.of(7L, 8L, 9L), NOW),
+                        "BOOKINGS_ITEM_STATUS_START_IDX"),
+                query("item booked now", test -> test.bookingRepository
+                        .existsByItem_IdAndStatusAndStartLessThanAndEndGreaterThan(
+                                ITEM_ID, BookingStatus.APPROVED, NOW.plusHours(1), NOW
+                        ), "BOOKINGS_ITEM_STATUS_START_IDX"),
+                query("owner items", test -> test.itemRepository
+                        .findByOwnerIdOrderByIdAsc(USER_ID, PAGE), "ITEMS_OWNER_IDX"),
+                query("request items", test -> test.itemRepository
+                        .findAllByRequestId(7L), "ITEMS_REQUEST_IDX"),
+                query("item comments", test -> test.commentRepository
+                        .findByItem_Id(ITEM_ID), "COMMENTS_ITEM_IDX"),
+                query("items comments", test -> test.commentRepository
+                        .findAllByItemIds(List.of(7L, 8L, 9L)), "COMMENTS_ITEM_IDX"),
+                query("requestor requests", test -> test.itemRequestRepository
+                        .findAllByRequestorIdOrderByIdDesc(USER_ID), "REQUESTS_REQUESTOR_IDX")
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("repositoryQueries")
+    void repositoryQuery_whenLargeDataset_thenIndexUsedAndNoTableScan(
+            String name,
+            Consumer<QueryPlanTest> query,
+            String index
+    ) {
+        statements.clear();
+        query.accept(this);
+        List<String> captured = new ArrayList<>(statements);
+
+        assertThat(captured, not(empty()));
+        assertThat(explain(captured.get(0)), containsString(index));
+        for (String sql : captured) {
+            assertThat(explain(sql), not(containsString(TABLE_SCAN)));
+        }
+    }
+
+    private String explain(String sql) {
+        // H2 plans a prepared EXPLAIN without values bound to its parameters
+        return jdbcTemplate.query(
+                connection -> connection.prepareStatement("EXPLAIN " + sql),
+                (ResultSetExtractor<String>) resultSet -> resultSet.next() ? resultSet.getString(1) : null
+        );
+    }
+
+    private static Arguments query(String name, Consumer<QueryPlanTest> query, String index) {
+        return Arguments.of(name, query, index);
+    }
+
+    /**
+     * Records every select Hibernate sends, as generated for the H2 test database.
+     */
+    public static class CapturingStatementInspector implements StatementInspector {
+        @Override
+        public String inspect(String sql) {
+            if (sql.trim().toLowerCase().startsWith("select")) {
+                statements.add(sql);
+            }
+            return sql;
+        }
+    }
+}
@@ -7,9 +7,12 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpOutputMessage;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.dto.RequestAddBookingDto;
 import ru.practicum.shareit.booking.dto.ResponseBookingDto;
+import ru.practicum.shareit.booking.exporting.BookingExportFormat;
+import ru.practicum.shareit.booking.service.BookingExportService;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.booking.status.BookingStatus;
 import ru.practicum.shareit.exception.booking.*;
@@ -17,6 +20,7 @@ import ru.practicum.shareit.exception.model.BookingNotFoundException;
 import ru.practicum.shareit.exception.model.ItemNotFoundException;
 import ru.practicum.shareit.exception.model.UserNotFoundException;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -24,8 +28,10 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(BookingController.class)
@@ -34,6 +40,7 @@ class BookingControllerIT {
     private static final String URL = "/bookings";
     private static final String URL_WITH_ID = URL + "/{bookingId}";
     private static final String URL_OWNER = URL + "/owner";
+    private static final String URL_OWNER_EXPORT = URL_OWNER + "/export";
     private static final String CONTENT_TYPE = "application/json";
     private final Long userId = 1L;
     private final Long bookingId = 1L;
@@ -43,6 +50,8 @@ class BookingControllerIT {
     private MockMvc mockMvc;
     @MockBean
     private BookingService bookingService;
+    @MockBean
+    private BookingExportService bookingExportService;
 
     @SneakyThrows
     @Test
@@ -432,4 +441,61 @@ class BookingControllerIT {
 
         verify(bookingService, times(1)).findByItemOwner(anyLong(), anyString(), anyInt(), anyInt());
     }
-}
\ No newline at end of file
+
+    @SneakyThrows
+    @Test
+    void approve_whenBookingChangedConcurrently_thenStatusConflict() {
+        when(bookingService.approve(anyLong(), anyLong(), anyBoolean()))
+                .thenThrow(BookingConcurrentUpdateException.class);
+
+        mockMvc.perform(
+                        patch(URL_WITH_ID, bookingId)
+                                .header(USER_ID_HEADER_NAME, userId)
+                                .param("approved", "false")
+                )
+                .andExpect(status().isConflict());
+
+        verify(bookingService, times(1)).approve(anyLong(), anyLong(), anyBoolean());
+    }
+
+    @SneakyThrows
+    @Test
+    void exportByItemOwner_whenCsvFormat_thenRowsWrittenWithCsvContentType() {
+        doAnswer(invocation -> {
+            HttpOutputMessage output = invocation.getArgument(2);
+            output.getHeaders().setContentType(BookingExportFormat.CSV.getMediaType());
+            output.getBody().write("id\n1\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(bookingExportService).exportByItemOwner(anyLong(), any(BookingExportFormat.class), any());
+
+        String response = mockMvc.perform(
+                        get(URL_OWNER_EXPORT)
+                                .header(USER_ID_HEADER_NAME, userId)
+                                .param("format", "csv")
+                )
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertThat(response, equalTo("id\n1\n"));
+        verify(bookingExportService, times(1)).exportByItemOwner(eq(userId), eq(BookingExportFormat.CSV), any());
+    }
+
+    @SneakyThrows
+    @Test
+    void exportByItemOwner_whenUserNotExist_thenStatusNotFound() {
+        doThrow(UserNotFoundException.class)
+                .when(bookingExportService).exportByItemOwner(anyLong(), any(BookingExportFormat.class), any());
+
+        mockMvc.perform(
+                        get(URL_OWNER_EXPORT)
+                                .header(USER_ID_HEADER_NAME, userId)
+                )
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType(CONTENT_TYPE));
+
+        verify(bookingExportService, times(1)).exportByItemOwner(eq(userId), eq(BookingExportFormat.NDJSON), any());
+    }
+}
@@ -5,10 +5,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletResponse;
 import ru.practicum.shareit.booking.dto.RequestAddBookingDto;
 import ru.practicum.shareit.booking.dto.ResponseBookingDto;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.booking.status.BookingStatus;
+import ru.practicum.shareit.pagination.PageCursor;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -88,17 +90,59 @@ class BookingControllerTest {
         when(bookingService.findByUserIdAndState(userId, "ALL", 0, 20))
                 .thenReturn(responseBookingDtos);
 
-        List<ResponseBookingDto> bookingDtos = bookingController.findByUserId(userId, "ALL", 0, 20);
+        List<ResponseBookingDto> bookingDtos = bookingController.findByUserId(
+                userId,
+                "ALL",
+                0,
+                20,
+                null,
+                new MockHttpServletResponse()
+        );
 
         assertThat(1L, equalTo(bookingDtos.get(0).getId()));
     }
 
+    @Test
+    void findByUserId_whenFullPageAfterCursor_thenSetNextCursorHeader() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        String after = PageCursor.of(now.plusDays(1), 5L).encode();
+
+        when(bookingService.findByUserIdAndStateAfter(userId, "ALL", after, 1))
+                .thenReturn(responseBookingDtos);
+
+        bookingController.findByUserId(userId, "ALL", null, 1, after, response);
+
+        assertThat(
+                PageCursor.of(now, bookingId).encode(),
+                equalTo(response.getHeader(PageCursor.NEXT_CURSOR_HEADER_NAME))
+        );
+    }
+
+    @Test
+    void findByItemOwner_whenPartialPage_thenNoNextCursorHeader() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        when(bookingService.findByItemOwner(userId, "ALL", 0, 20))
+                .thenReturn(responseBookingDtos);
+
+        bookingController.findByItemOwner(userId, "ALL", 0, 20, null, response);
+
+        assertThat(null, equalTo(response.getHeader(PageCursor.NEXT_CURSOR_HEADER_NAME)));
+    }
+
     @Test
     void findByItemOwner_whenInvoke_thenReturnResponseDtoList() {
         when(bookingService.findByItemOwner(userId, "ALL", 0, 20))
                 .thenReturn(responseBookingDtos);
 
-        List<ResponseBookingDto> bookingDtos = bookingController.findByItemOwner(userId, "ALL", 0, 20);
+        List<ResponseBookingDto> bookingDtos = bookingController.findByItemOwner(
+                userId,
+                "ALL",
+                0,
+                20,
+                null,
+                new MockHttpServletResponse()
+        );
 
         assertThat(1L, equalTo(bookingDtos.get(0).getId()));
     }
@@ -5,11 +5,15 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.dto.ResponseBookingDto;
+import ru.practicum.shareit.booking.model.ItemBookingView;
 import ru.practicum.shareit.booking.status.BookingStatus;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
@@ -24,7 +28,7 @@ class BookingRepositoryIT {
 
     @Test
     void findByBooker_IdOrderByEndDesc() {
-        List<Booking> bookings = bookingRepository.findByBooker_IdOrderByEndDesc(1L, pageable);
+        List<ResponseBookingDto> bookings = bookingRepository.findByBooker_IdOrderByEndDesc(1L, pageable);
 
         assertThat(5, equalTo(bookings.size()));
         assertThat(2L, equalTo(bookings.get(0).getId()));
@@ -33,7 +37,7 @@ class BookingRepositoryIT {
 
     @Test
     void findByBooker_IdAndStatusOrderByEndDesc() {
-        List<Booking> bookings = bookingRepository.findByBooker_IdAndStatusOrderByEndDesc(
+        List<ResponseBookingDto> bookings = bookingRepository.findByBooker_IdAndStatusOrderByEndDesc(
                 1L,
                 BookingStatus.APPROVED,
                 pageable
@@ -46,7 +50,7 @@ class BookingRepositoryIT {
 
     @Test
     void findByBooker_IdAndEndIsBeforeOrderByEndDesc() {
-        List<Booking> bookings = bookingRepository.findByBooker_IdAndEndIsBeforeOrderByEndDesc(
+        List<ResponseBookingDto> bookings = bookingRepository.findByBooker_IdAndEndIsBeforeOrderByEndDesc(
                 1L,
                 now,
                 pageable
@@ -59,7 +63,7 @@ class BookingRepositoryIT {
 
     @Test
     void findByBooker_IdAndStartIsAfterOrderByEndDesc() {
-        List<Booking> bookings = bookingRepository.findByBooker_IdAndEndIsBeforeOrderByEndDesc(
+        List<ResponseBookingDto> bookings = bookingRepository.findByBooker_IdAndEndIsBeforeOrderByEndDesc(
                 1L,
                 now,
                 pageable
@@ -72,7 +76,7 @@ class BookingRepositoryIT {
 
     @Test
     void findByBooker_IdAndStartIsBeforeAndEndIsAfterOrderByEndDesc() {
-        List<Booking> bookings = bookingRepository.findByBooker_IdAndStartIsBeforeAndEndIsAfterOrderByEndDesc(
+        List<ResponseBookingDto> bookings = bookingRepository.findByBooker_IdAndStartIsBeforeAndEndIsAfterOrderByEndDesc(
                 1L,
                 now,
                 nowPlusHour,
@@ -85,7 +89,7 @@ class BookingRepositoryIT {
 
     @Test
     void findAllByOwner() {
-        List<Booking> bookings = bookingRepository.findAllByOwner(
+        List<ResponseBookingDto> bookings = bookingRepository.findAllByOwner(
                 1L,
                 pageable
         );
@@ -97,7 +101,7 @@ class BookingRepositoryIT {
 
     @Test
     void findAllByOwnerCurrent() {
-        List<Booking> bookings = bookingRepository.findAllByOwnerCurrent(
+        List<ResponseBookingDto> bookings = bookingRepository.findAllByOwnerCurrent(
                 4L,
                 now,
                 pageable
@@ -109,7 +113,7 @@ class BookingRepositoryIT {
 
     @Test
     void findAllByOwnerPast() {
-        List<Booking> bookings = bookingRepository.findAllByOwnerPast(
+        List<ResponseBookingDto> bookings = bookingRepository.findAllByOwnerPast(
                 4L,
                 now,
                 pageable
@@ -122,7 +126,7 @@ class BookingRepositoryIT {
 
     @Test
     void findAllByOwnerFuture() {
-        List<Booking> bookings = bookingRepository.findAllByOwnerFuture(
+        List<ResponseBookingDto> bookings = bookingRepository.findAllByOwnerFuture(
                 4L,
                 now,
                 pageable
@@ -134,7 +138,7 @@ class BookingRepositoryIT {
 
     @Test
     void findAllByOwnerAndStatus() {
-        List<Booking> bookings = bookingRepository.findAllByOwnerAndStatus(
+        List<ResponseBookingDto> bookings = bookingRepository.findAllByOwnerAndStatus(
                 4L,
                 BookingStatus.APPROVED,
                 pageable
@@ -146,39 +150,25 @@ class BookingRepositoryIT {
     }
 
     @Test
-    void findFirst1ByItem_IdAndStartLessThanAndStatusOrderByEndDesc() {
-        List<Booking> bookings = bookingRepository.findFirst1ByItem_IdAndStartLessThanAndStatusOrderByEndDesc(
-                4L,
-                now,
-                BookingStatus.APPROVED
-        );
-
-        assertThat(1, equalTo(bookings.size()));
-        assertThat(8L, equalTo(bookings.get(0).getId()));
-    }
-
-    @Test
-    void findFirst1ByItem_IdAndStartGreaterThanAndStatusOrderByStartAsc() {
-        List<Booking> bookings = bookingRepository.findFirst1ByItem_IdAndStartGreaterThanAndStatusOrderByStartAsc(
-                1L,
-                now,
-                BookingStatus.APPROVED
-        );
-
-        assertThat(1, equalTo(bookings.size()));
-        assertThat(7L, equalTo(bookings.get(0).getId()));
-    }
-
-    @Test
-    void findFirst1ByItem_IdAndBooker_IdAndStatusAndEndBefore() {
-        List<Booking> bookings = bookingRepository.findFirst1ByItem_IdAndBooker_IdAndStatusAndEndBefore(
-                2L,
-                1L,
-                BookingStatus.APPROVED,
+    void findLastAndNextApprovedByItemIds() {
+        List<ItemBookingView> bookings = bookingRepository.findLastAndNextApprovedByItemIds(
+                List.of(1L, 2L, 4L),
                 now
         );
+        Map<String, Long> bookingIdByItemAndKind = bookings.stream()
+                .collect(Collectors.toMap(
+                        booking -> booking.getItemId() + (booking.getIsLast() ? "-last" : "-next"),
+                        ItemBookingView::getId
+                ));
 
-        assertThat(1, equalTo(bookings.size()));
-        assertThat(1L, equalTo(bookings.get(0).getId()));
+        assertThat(4, equalTo(bookings.size()));
+        assertThat(7L, equalTo(bookingIdByItemAndKind.get("1-next")));
+        assertThat(6L, equalTo(bookingIdByItemAndKind.get("2-last")));
+        assertThat(2L, equalTo(bookingIdByItemAndKind.get("2-next")));
+        assertThat(8L, equalTo(bookingIdByItemAndKind.get("4-last")));
+        assertThat(5L, equalTo(bookings.stream()
+                .collect(Collectors.toMap(ItemBookingView::getId, Function.identity()))
+                .get(7L)
+                .getBookerId()));
     }
-}
\ No newline at end of file
+}
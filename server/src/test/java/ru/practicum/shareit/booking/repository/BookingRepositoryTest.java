@@ -6,8 +6,10 @@ import org.mapstruct.factory.Mappers;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.jdbc.Sql;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.dto.ResponseBookingDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingTestGenerator;
 import ru.practicum.shareit.booking.status.BookingStatus;
@@ -20,6 +22,13 @@ import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.model.UserTestGenerator;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 @SpringBootTest
@@ -47,4 +56,109 @@ class BookingRepositoryTest {
         Booking savedBooking = bookingRepository.save(booking);
         assertEquals(1L, savedBooking.getId());
     }
-}
\ No newline at end of file
+
+    @Test
+    void updateStatus_whenConditionsHold_thenUpdatesOnlyMatchingRow() {
+        User owner = userRepository.save(new User(null, "owner", "owner@mail.com"));
+        User booker = userRepository.save(new User(null, "booker", "booker@mail.com"));
+        Item item = itemRepository.save(new Item(null, "Drill", "description", true, owner.getId(), null));
+        LocalDateTime start = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS).plusDays(1);
+        Booking approved = bookingRepository.save(
+                new Booking(null, start, start.plusHours(2), item, booker, BookingStatus.APPROVED)
+        );
+        Booking overlapping = bookingRepository.save(
+                new Booking(null, start.plusHours(1), start.plusHours(3), item, booker, BookingStatus.WAITING)
+        );
+        Booking adjacent = bookingRepository.save(
+                new Booking(null, start.plusHours(2), start.plusHours(3), item, booker, BookingStatus.WAITING)
+        );
+
+        assertEquals(Optional.empty(), bookingRepository.updateStatus(
+                adjacent.getId(), booker.getId(), BookingStatus.WAITING, BookingStatus.APPROVED
+        ));
+        assertEquals(Optional.empty(), bookingRepository.updateStatus(
+                approved.getId(), owner.getId(), BookingStatus.WAITING, BookingStatus.REJECTED
+        ));
+        assertEquals(Optional.empty(), bookingRepository.updateStatus(
+                overlapping.getId(), owner.getId(), BookingStatus.WAITING, BookingStatus.APPROVED
+        ));
+        ResponseBookingDto updated = bookingRepository.updateStatus(
+                adjacent.getId(), owner.getId(), BookingStatus.WAITING, BookingStatus.APPROVED
+        ).orElseThrow();
+
+        assertEquals(adjacent.getId(), updated.getId());
+        assertEquals(adjacent.getStart(), updated.getStart());
+        assertEquals(adjacent.getEnd(), updated.getEnd());
+        assertEquals(BookingStatus.APPROVED, updated.getStatus());
+        assertEquals(booker.getId(), updated.getBooker().getId());
+        assertEquals(item.getId(), updated.getItem().getId());
+        assertEquals("Drill", updated.getItem().getName());
+        Booking stored = bookingRepository.findById(adjacent.getId()).orElseThrow();
+        assertEquals(BookingStatus.APPROVED, stored.getStatus());
+        assertEquals(1L, stored.getVersion());
+        assertEquals(BookingStatus.WAITING, bookingRepository.findById(overlapping.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void findByBookerAfter_whenPagingBySeek_thenReturnEveryBookingOnceInOrder() {
+        User user = userRepository.save(userMapper.addDtoToUser(UserTestGenerator.getUser1()));
+        Item item = itemMapper.addDtoToItem(ItemTestGenerator.getItem());
+        item.setOwnerId(user.getId());
+        item = itemRepository.save(item);
+        LocalDateTime end = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS).plusDays(10);
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            LocalDateTime bookingEnd = i < 2 ? end : end.minusDays(i);
+            Booking booking = bookingRepository.save(
+                    new Booking(null, bookingEnd.minusHours(1), bookingEnd, item, user, BookingStatus.WAITING)
+            );
+            expected.add(booking.getId());
+        }
+        Collections.swap(expected, 0, 1);
+
+        List<Long> actual = new ArrayList<>();
+        LocalDateTime afterEnd = end.plusYears(1);
+        Long afterId = Long.MAX_VALUE;
+        List<ResponseBookingDto> page;
+        do {
+            page = bookingRepository.findByBookerAfter(user.getId(), afterEnd, afterId, PageRequest.of(0, 2));
+            for (ResponseBookingDto booking : page) {
+                actual.add(booking.getId());
+                afterEnd = booking.getEnd();
+                afterId = booking.getId();
+            }
+        } while (!page.isEmpty());
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void findByBooker_whenEndDatesTieAndOffsetPageFollowedBySeek_thenReturnEveryBookingOnce() {
+        User user = userRepository.save(userMapper.addDtoToUser(UserTestGenerator.getUser1()));
+        Item item = itemMapper.addDtoToItem(ItemTestGenerator.getItem());
+        item.setOwnerId(user.getId());
+        item = itemRepository.save(item);
+        LocalDateTime end = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS).plusDays(10);
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            Booking booking = bookingRepository.save(
+                    new Booking(null, end.minusHours(i + 1), end, item, user, BookingStatus.WAITING)
+            );
+            expected.add(booking.getId());
+        }
+        Collections.reverse(expected);
+
+        List<ResponseBookingDto> page = bookingRepository.findByBooker_IdOrderByEndDesc(
+                user.getId(),
+                PageRequest.of(0, 3)
+        );
+        List<Long> actual = new ArrayList<>();
+        while (!page.isEmpty()) {
+            page.forEach(booking -> actual.add(booking.getId()));
+            ResponseBookingDto last = page.get(page.size() - 1);
+            page = bookingRepository.findByBookerAfter(user.getId(), last.getEnd(), last.getId(), PageRequest.of(0, 3));
+        }
+
+        assertEquals(expected, actual);
+    }
+}
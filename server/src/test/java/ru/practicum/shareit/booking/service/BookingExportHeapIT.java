@@ -0,0 +1,138 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import ru.practicum.shareit.booking.exporting.BookingExportFormat;
+
+import java.io.OutputStream;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThan;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+@Sql(scripts = {"/schema.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class BookingExportHeapIT {
+    private static final int BOOKINGS = 1_000_000;
+    private static final int ITEMS = 100;
+    private static final int INSERT_BATCH_SIZE = 10_000;
+    private static final int SAMPLE_INTERVAL = 100_000;
+    // A million exported rows held at once would take a few hundred megabytes
+    private static final long MAX_HEAP_GROWTH = 32L * 1024 * 1024;
+
+    private final BookingExportService bookingExportService;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Test
+    void exportByItemOwner_whenMillionBookings_thenHeapStaysFlat() throws Exception {
+        seed();
+        // Keeps H2 itself from holding the sorted result in memory, as a database server would not either
+        jdbcTemplate.execute("SET MAX_MEMORY_ROWS 10000");
+        HeapSamplingOutput output = new HeapSamplingOutput();
+
+        bookingExportService.exportByItemOwner(1L, BookingExportFormat.NDJSON, output);
+
+        assertThat(output.rows, equalTo((long) BOOKINGS));
+        assertThat(output.maxUsedHeap - output.baselineHeap, lessThan(MAX_HEAP_GROWTH));
+    }
+
+    private void seed() {
+        jdbcTemplate.update("INSERT INTO users (id, name, email, version) VALUES (1, 'owner', 'owner@mail.com', 0)");
+        jdbcTemplate.update("INSERT INTO users (id, name, email, version) VALUES (2, 'booker', 'booker@mail.com', 0)");
+        List<Object[]> items = new ArrayList<>();
+        for (long item = 1; item <= ITEMS; item++) {
+            items.add(new Object[]{item, "item" + item, "description" + item});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO items (id, name, description, is_available, owner_id, version) VALUES (?, ?, ?, true, 1, 0)",
+                items
+        );
+        LocalDateTime start = LocalDateTime.now().minusYears(1);
+        List<Object[]> bookings = new ArrayList<>(INSERT_BATCH_SIZE);
+        for (long booking = 1; booking <= BOOKINGS; booking++) {
+            LocalDateTime bookingStart = start.plusMinutes(booking);
+            bookings.add(new Object[]{
+                    booking,
+                    Timestamp.valueOf(bookingStart),
+                    Timestamp.valueOf(bookingStart.plusHours(1)),
+                    booking % ITEMS + 1
+            });
+            if (bookings.size() == INSERT_BATCH_SIZE) {
+                insertBookings(bookings);
+                bookings.clear();
+            }
+        }
+    }
+
+    private void insertBookings(List<Object[]> bookings) {
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO bookings (id, start_date, end_date, item_id, booker_id, status) " +
+                        "VALUES (?, ?, ?, ?, 2, 'APPROVED')",
+                bookings
+        );
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Discards the export and samples the heap as rows go by, so whatever the export retains shows up as growth.
+     */
+    private static class HeapSamplingOutput implements HttpOutputMessage {
+        private final HttpHeaders headers = new HttpHeaders();
+        private long rows;
+        private long baselineHeap;
+        private long maxUsedHeap;
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public OutputStream getBody() {
+            baselineHeap = usedHeap();
+            maxUsedHeap = baselineHeap;
+            return new OutputStream() {
+                @Override
+                public void write(int b) {
+                    if (b == '\n') {
+                        onRow();
+                    }
+                }
+
+                @Override
+                public void write(byte[] bytes, int offset, int length) {
+                    for (int i = offset; i < offset + length; i++) {
+                        if (bytes[i] == '\n') {
+                            onRow();
+                        }
+                    }
+                }
+            };
+        }
+
+        private void onRow() {
+            rows++;
+            if (rows % SAMPLE_INTERVAL == 0) {
+                maxUsedHeap = Math.max(maxUsedHeap, usedHeap());
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package ru.practicum.shareit.booking.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import org.springframework.test.context.jdbc.Sql;
+import ru.practicum.shareit.booking.dto.ResponseBookingExportDto;
+import ru.practicum.shareit.booking.exporting.BookingExportFormat;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.status.BookingStatus;
+import ru.practicum.shareit.exception.model.UserNotFoundException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static java.time.format.DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+@Sql(scripts = {"/schema.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class BookingExportServiceTest {
+    private final BookingExportService bookingExportService;
+    private final BookingRepository bookingRepository;
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+
+    private User owner;
+    private User booker;
+    private Booking older;
+    private Booking newer;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new User(null, "owner", "owner@mail.com"));
+        booker = userRepository.save(new User(null, "booker", "booker@mail.com"));
+        User stranger = userRepository.save(new User(null, "stranger", "stranger@mail.com"));
+        Item item = itemRepository.save(new Item(null, "Drill, cordless", "description", true, owner.getId(), null));
+        Item strangerItem = itemRepository.save(new Item(null, "Saw", "description", true, stranger.getId(), null));
+        LocalDateTime start = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS).plusDays(1);
+        older = bookingRepository.save(
+                new Booking(null, start, start.plusHours(1), item, booker, BookingStatus.APPROVED)
+        );
+        newer = bookingRepository.save(
+                new Booking(null, start.plusDays(1), start.plusDays(2), item, booker, BookingStatus.WAITING)
+        );
+        bookingRepository.save(
+                new Booking(null, start, start.plusHours(1), strangerItem, booker, BookingStatus.WAITING)
+        );
+    }
+
+    @Test
+    void exportByItemOwner_whenNdjson_thenOneObjectPerLineNewestFirst() throws Exception {
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+        bookingExportService.exportByItemOwner(owner.getId(), BookingExportFormat.NDJSON, output);
+
+        String[] lines = output.getBodyAsString(StandardCharsets.UTF_8).split("\n", -1);
+        assertThat(output.getHeaders().getContentType(), equalTo(BookingExportFormat.NDJSON.getMediaType()));
+        assertThat(lines.length, equalTo(3));
+        assertThat(lines[2], equalTo(""));
+        ResponseBookingExportDto first = objectMapper.readValue(lines[0], ResponseBookingExportDto.class);
+        ResponseBookingExportDto second = objectMapper.readValue(lines[1], ResponseBookingExportDto.class);
+        assertThat(first.getId(), equalTo(newer.getId()));
+        assertThat(first.getStart(), equalTo(newer.getStart()));
+        assertThat(first.getStatus(), equalTo(BookingStatus.WAITING));
+        assertThat(first.getBookerId(), equalTo(booker.getId()));
+        assertThat(first.getItemName(), equalTo("Drill, cordless"));
+        assertThat(second.getId(), equalTo(older.getId()));
+    }
+
+    @Test
+    void exportByItemOwner_whenCsv_thenHeaderAndQuotedRows() throws Exception {
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+        bookingExportService.exportByItemOwner(owner.getId(), BookingExportFormat.CSV, output);
+
+        String[] lines = output.getBodyAsString(StandardCharsets.UTF_8).split("\n");
+        assertThat(output.getHeaders().getContentType(), equalTo(BookingExportFormat.CSV.getMediaType()));
+        assertThat(lines.length, equalTo(3));
+        assertThat(lines[0], equalTo("id,start,end,status,bookerId,itemId,itemName"));
+        assertThat(lines[1], equalTo(String.format(
+                "%d,%s,%s,WAITING,%d,%d,\"Drill, cordless\"",
+                newer.getId(),
+                ISO_LOCAL_DATE_TIME.format(newer.getStart()),
+                ISO_LOCAL_DATE_TIME.format(newer.getEnd()),
+                booker.getId(),
+                newer.getItem().getId()
+        )));
+    }
+
+    @Test
+    void exportByItemOwner_whenUserNotFound_thenThrowsBeforeWriting() {
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+        assertThrows(
+                UserNotFoundException.class,
+                () -> bookingExportService.exportByItemOwner(999L, BookingExportFormat.NDJSON, output)
+        );
+
+        assertThat(output.getHeaders().getContentType(), nullValue());
+        assertThat(output.getBodyAsString(), equalTo(""));
+    }
+}
@@ -0,0 +1,175 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+import ru.practicum.shareit.booking.dto.RequestAddBookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.status.BookingStatus;
+import ru.practicum.shareit.exception.booking.BookingAlreadyApprovedException;
+import ru.practicum.shareit.exception.booking.BookingConcurrentUpdateException;
+import ru.practicum.shareit.exception.booking.BookingTimeConflictException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+@Sql(scripts = {"/schema.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class BookingServiceConcurrencyTest {
+    private static final int BOOKINGS_COUNT = 200;
+    private static final int THREADS_COUNT = 32;
+    private static final int DECIDED_BOOKINGS_COUNT = 50;
+    private static final int DECISIONS_PER_BOOKING = 8;
+
+    private final BookingService bookingService;
+    private final BookingRepository bookingRepository;
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+
+    @Test
+    void approve_whenParallelOverlappingApprovals_thenExactlyOneWins() throws Exception {
+        User owner = userRepository.save(new User(null, "owner", "owner@mail.com"));
+        User booker = userRepository.save(new User(null, "booker", "booker@mail.com"));
+        Item item = itemRepository.save(new Item(null, "item", "description", true, owner.getId(), null));
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        List<Long> bookingIds = new ArrayList<>();
+        for (int i = 0; i < BOOKINGS_COUNT; i++) {
+            bookingIds.add(bookingService.save(
+                    booker.getId(),
+                    new RequestAddBookingDto(item.getId(), start.plusMinutes(i), start.plusHours(5).plusMinutes(i))
+            ).getId());
+        }
+
+        AtomicInteger approved = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        CountDownLatch startSignal = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS_COUNT);
+        List<Future<?>> futures = new ArrayList<>();
+        for (Long bookingId : bookingIds) {
+            futures.add(executor.submit(() -> {
+                startSignal.await();
+                try {
+                    bookingService.approve(owner.getId(), bookingId, true);
+                    approved.incrementAndGet();
+                } catch (BookingTimeConflictException e) {
+                    conflicts.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        startSignal.countDown();
+        for (Future<?> future : futures) {
+            future.get(1, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+
+        assertThat(approved.get(), equalTo(1));
+        assertThat(conflicts.get(), equalTo(BOOKINGS_COUNT - 1));
+        assertThat(bookingRepository.findAll().stream()
+                .filter(booking -> booking.getStatus() == BookingStatus.APPROVED)
+                .count(), equalTo(1L));
+    }
+
+    @Test
+    void approve_whenParallelDecisionsOnSameBooking_thenExactlyOneAppliedAndNoLostUpdates() throws Exception {
+        User owner = userRepository.save(new User(null, "owner", "owner@mail.com"));
+        User booker = userRepository.save(new User(null, "booker", "booker@mail.com"));
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        List<Long> bookingIds = new ArrayList<>();
+        for (int i = 0; i < DECIDED_BOOKINGS_COUNT; i++) {
+            Item item = itemRepository.save(new Item(null, "item" + i, "description", true, owner.getId(), null));
+            bookingIds.add(bookingService.save(
+                    booker.getId(),
+                    new RequestAddBookingDto(item.getId(), start, start.plusHours(1))
+            ).getId());
+        }
+
+        Map<Long, Queue<BookingStatus>> applied = new ConcurrentHashMap<>();
+        AtomicInteger conflicts = new AtomicInteger();
+        AtomicInteger alreadyDecided = new AtomicInteger();
+        CountDownLatch startSignal = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS_COUNT);
+        List<Future<?>> futures = new ArrayList<>();
+        for (Long bookingId : bookingIds) {
+            applied.put(bookingId, new ConcurrentLinkedQueue<>());
+            for (int i = 0; i < DECISIONS_PER_BOOKING; i++) {
+                boolean approve = i % 2 == 0;
+                futures.add(executor.submit(() -> {
+                    startSignal.await();
+                    try {
+                        applied.get(bookingId).add(bookingService.approve(owner.getId(), bookingId, approve).getStatus());
+                    } catch (BookingConcurrentUpdateException e) {
+                        conflicts.incrementAndGet();
+                    } catch (BookingAlreadyApprovedException | BookingTimeConflictException e) {
+                        // The conditional update waited for the winning decision and no longer matched
+                        alreadyDecided.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+        }
+        startSignal.countDown();
+        for (Future<?> future : futures) {
+            future.get(1, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+
+        for (Long bookingId : bookingIds) {
+            Booking booking = bookingRepository.findById(bookingId).orElseThrow();
+            assertThat(applied.get(bookingId).size(), equalTo(1));
+            assertThat(booking.getStatus(), equalTo(applied.get(bookingId).peek()));
+            assertThat(booking.getVersion(), equalTo(1L));
+        }
+        assertThat(
+                conflicts.get() + alreadyDecided.get(),
+                equalTo(DECIDED_BOOKINGS_COUNT * (DECISIONS_PER_BOOKING - 1))
+        );
+    }
+
+    @Test
+    void save_whenIntervalOverlapsApprovedBooking_thenBookingTimeConflictException() {
+        User owner = userRepository.save(new User(null, "owner", "owner@mail.com"));
+        User booker = userRepository.save(new User(null, "booker", "booker@mail.com"));
+        Item item = itemRepository.save(new Item(null, "item", "description", true, owner.getId(), null));
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        Long bookingId = bookingService.save(
+                booker.getId(),
+                new RequestAddBookingDto(item.getId(), start, start.plusHours(2))
+        ).getId();
+        bookingService.approve(owner.getId(), bookingId, true);
+
+        RequestAddBookingDto overlapping = new RequestAddBookingDto(
+                item.getId(),
+                start.plusHours(1),
+                start.plusHours(3)
+        );
+        RequestAddBookingDto adjacent = new RequestAddBookingDto(
+                item.getId(),
+                start.plusHours(2),
+                start.plusHours(3)
+        );
+
+        assertThrows(BookingTimeConflictException.class, () -> bookingService.save(booker.getId(), overlapping));
+        assertThat(bookingService.save(booker.getId(), adjacent).getStatus(), equalTo(BookingStatus.WAITING));
+    }
+}
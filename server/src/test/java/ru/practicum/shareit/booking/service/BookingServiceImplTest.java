@@ -2,21 +2,26 @@ package ru.practicum.shareit.booking.service;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageRequest;
 import ru.practicum.shareit.booking.dto.RequestAddBookingDto;
 import ru.practicum.shareit.booking.dto.ResponseBookingDto;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.booking.status.BookingStatus;
 import ru.practicum.shareit.exception.booking.*;
 import ru.practicum.shareit.exception.model.BookingNotFoundException;
+import ru.practicum.shareit.exception.model.InvalidCursorException;
 import ru.practicum.shareit.exception.model.ItemNotFoundException;
 import ru.practicum.shareit.exception.model.UserNotFoundException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
@@ -28,6 +33,10 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -42,6 +51,8 @@ class BookingServiceImplTest {
     @InjectMocks
     private BookingServiceImpl bookingService;
 
+    private final BookingMapper bookingMapper = Mappers.getMapper(BookingMapper.class);
+
     @Test
     void save_whenEndTimeBeforeStartTime_thenBookingDateException() {
         RequestAddBookingDto requestAddBookingDto = new RequestAddBookingDto(
@@ -203,6 +214,36 @@ class BookingServiceImplTest {
         assertThat(BookingStatus.WAITING, equalTo(responseBookingDto.getStatus()));
     }
 
+    @Test
+    void save_whenItemAlreadyBookedForInterval_thenBookingTimeConflictException() {
+        LocalDateTime now = LocalDateTime.now();
+        RequestAddBookingDto requestAddBookingDto = new RequestAddBookingDto(
+                1L,
+                now,
+                now.plusHours(1)
+        );
+        Item item = new Item(
+                1L,
+                "Item",
+                "Desc",
+                true,
+                2L,
+                null
+        );
+        when(itemRepository.findById(1L))
+                .thenReturn(Optional.of(item));
+        when(bookingRepository.existsByItem_IdAndStatusAndStartLessThanAndEndGreaterThan(
+                1L,
+                BookingStatus.APPROVED,
+                requestAddBookingDto.getEnd(),
+                requestAddBookingDto.getStart()
+        ))
+                .thenReturn(true);
+
+        assertThrows(BookingTimeConflictException.class, () -> bookingService.save(1L, requestAddBookingDto));
+        verify(bookingRepository, never()).save(any(Booking.class));
+    }
+
     @Test
     void approve_whenInvalidBookingId_thenBookingNotFoundException() {
         Long wrongBookingId = 100L;
@@ -370,53 +411,25 @@ class BookingServiceImplTest {
     @Test
     void approve_whenApprove_thenReturnApprovedDto() {
         LocalDateTime now = LocalDateTime.now();
-        Item item = new Item(
-                1L,
-                "Item",
-                "Desc",
-                true,
-                2L,
-                null
-        );
-        User user = new User(
-                1L,
-                "User1",
-                "user1@domain.com"
-        );
-        User user2 = new User(
-                2L,
-                "User1",
-                "user1@domain.com"
-        );
-        Booking booking = new Booking(
+        ResponseBookingDto approvedBooking = new ResponseBookingDto(
                 1L,
                 now,
                 now.plusHours(1),
-                item,
-                user,
-                BookingStatus.WAITING
-        );
-        Booking apprivedBooking = new Booking(
+                BookingStatus.APPROVED,
                 1L,
-                now,
-                now.plusHours(1),
-                item,
-                user,
-                BookingStatus.APPROVED
+                1L,
+                "Item"
         );
-        when(bookingRepository.findById(1L))
-                .thenReturn(Optional.of(booking));
-        Long userId = 2L;
-        when(userRepository.findById(2L))
-                .thenReturn(Optional.of(user2));
-        when(bookingRepository.save(any(Booking.class)))
-                .thenReturn(apprivedBooking);
-        ResponseBookingDto responseBookingDto = bookingService.approve(userId, 1L, true);
+        when(bookingRepository.updateStatus(1L, 2L, BookingStatus.WAITING, BookingStatus.APPROVED))
+                .thenReturn(Optional.of(approvedBooking));
+        ResponseBookingDto responseBookingDto = bookingService.approve(2L, 1L, true);
         assertThat(BookingStatus.APPROVED, equalTo(responseBookingDto.getStatus()));
+        verify(itemRepository).findByBookingIdForUpdate(1L);
+        verify(bookingRepository, never()).findById(any());
     }
 
     @Test
-    void approve_whenReject_thenReturnRejectedDto() {
+    void approve_whenIntervalAlreadyApproved_thenBookingTimeConflictException() {
         LocalDateTime now = LocalDateTime.now();
         Item item = new Item(
                 1L,
@@ -431,10 +444,10 @@ class BookingServiceImplTest {
                 "User1",
                 "user1@domain.com"
         );
-        User user2 = new User(
+        User owner = new User(
                 2L,
-                "User1",
-                "user1@domain.com"
+                "User2",
+                "user2@domain.com"
         );
         Booking booking = new Booking(
                 1L,
@@ -444,23 +457,77 @@ class BookingServiceImplTest {
                 user,
                 BookingStatus.WAITING
         );
-        Booking apprivedBooking = new Booking(
+        when(bookingRepository.findById(1L))
+                .thenReturn(Optional.of(booking));
+        when(userRepository.findById(2L))
+                .thenReturn(Optional.of(owner));
+        when(bookingRepository.existsByItem_IdAndStatusAndStartLessThanAndEndGreaterThan(
+                1L,
+                BookingStatus.APPROVED,
+                booking.getEnd(),
+                booking.getStart()
+        ))
+                .thenReturn(true);
+
+        assertThrows(BookingTimeConflictException.class, () -> bookingService.approve(2L, 1L, true));
+        verify(itemRepository).findByBookingIdForUpdate(1L);
+    }
+
+    @Test
+    void approve_whenReject_thenReturnRejectedDto() {
+        LocalDateTime now = LocalDateTime.now();
+        ResponseBookingDto rejectedBooking = new ResponseBookingDto(
                 1L,
                 now,
                 now.plusHours(1),
-                item,
-                user,
-                BookingStatus.REJECTED
+                BookingStatus.REJECTED,
+                1L,
+                1L,
+                "Item"
         );
+        when(bookingRepository.updateStatus(1L, 2L, BookingStatus.WAITING, BookingStatus.REJECTED))
+                .thenReturn(Optional.of(rejectedBooking));
+        ResponseBookingDto responseBookingDto = bookingService.approve(2L, 1L, false);
+        assertThat(BookingStatus.REJECTED, equalTo(responseBookingDto.getStatus()));
+        verify(itemRepository, never()).findByBookingIdForUpdate(any());
+        verify(userRepository, never()).findById(any());
+    }
+
+    @Test
+    void approve_whenBookingChangedConcurrently_thenBookingConcurrentUpdateException() {
+        LocalDateTime now = LocalDateTime.now();
+        Item item = new Item(1L, "Item", "Desc", true, 2L, null);
+        User booker = new User(1L, "User1", "user1@domain.com");
+        User owner = new User(2L, "User2", "user2@domain.com");
+        Booking booking = new Booking(1L, now, now.plusHours(1), item, booker, BookingStatus.WAITING);
         when(bookingRepository.findById(1L))
                 .thenReturn(Optional.of(booking));
-        Long userId = 2L;
         when(userRepository.findById(2L))
-                .thenReturn(Optional.of(user2));
-        when(bookingRepository.save(apprivedBooking))
-                .thenReturn(apprivedBooking);
-        ResponseBookingDto responseBookingDto = bookingService.approve(userId, 1L, false);
-        assertThat(BookingStatus.REJECTED, equalTo(responseBookingDto.getStatus()));
+                .thenReturn(Optional.of(owner));
+        // The update matched nothing although every check passes on a fresh read
+        when(bookingRepository.updateStatus(1L, 2L, BookingStatus.WAITING, BookingStatus.REJECTED))
+                .thenReturn(Optional.empty());
+
+        final BookingConcurrentUpdateException exception = assertThrows(
+                BookingConcurrentUpdateException.class,
+                () -> bookingService.approve(2L, 1L, false)
+        );
+        assertThat("Booking id=1 was changed by another request", equalTo(exception.getMessage()));
+    }
+
+    @Test
+    void approve_whenRejectAlreadyRejected_thenBookingAlreadyApprovedException() {
+        LocalDateTime now = LocalDateTime.now();
+        Item item = new Item(1L, "Item", "Desc", true, 2L, null);
+        User booker = new User(1L, "User1", "user1@domain.com");
+        User owner = new User(2L, "User2", "user2@domain.com");
+        Booking booking = new Booking(1L, now, now.plusHours(1), item, booker, BookingStatus.REJECTED);
+        when(bookingRepository.findById(1L))
+                .thenReturn(Optional.of(booking));
+        when(userRepository.findById(2L))
+                .thenReturn(Optional.of(owner));
+
+        assertThrows(BookingAlreadyApprovedException.class, () -> bookingService.approve(2L, 1L, false));
     }
 
     @Test
@@ -618,7 +685,7 @@ class BookingServiceImplTest {
         when(userRepository.findById(1L))
                 .thenReturn(Optional.of(user));
         when(bookingRepository.findByBooker_IdOrderByEndDesc(1L, PageRequest.of(0, 20)))
-                .thenReturn(List.of(booking));
+                .thenReturn(List.of(bookingMapper.bookingToResponseDto(booking)));
         List<ResponseBookingDto> responseBookingDtos = bookingService.findByUserIdAndState(
                 bookingOwnerId,
                 stringState,
@@ -665,7 +732,7 @@ class BookingServiceImplTest {
                         any()
                 )
         )
-                .thenReturn(List.of(booking));
+                .thenReturn(List.of(bookingMapper.bookingToResponseDto(booking)));
         List<ResponseBookingDto> responseBookingDtos = bookingService.findByUserIdAndState(
                 bookingOwnerId,
                 stringState,
@@ -711,7 +778,7 @@ class BookingServiceImplTest {
                         any()
                 )
         )
-                .thenReturn(List.of(booking));
+                .thenReturn(List.of(bookingMapper.bookingToResponseDto(booking)));
         List<ResponseBookingDto> responseBookingDtos = bookingService.findByUserIdAndState(
                 bookingOwnerId,
                 stringState,
@@ -757,7 +824,7 @@ class BookingServiceImplTest {
                         any()
                 )
         )
-                .thenReturn(List.of(booking));
+                .thenReturn(List.of(bookingMapper.bookingToResponseDto(booking)));
         List<ResponseBookingDto> responseBookingDtos = bookingService.findByUserIdAndState(
                 bookingOwnerId,
                 stringState,
@@ -803,7 +870,7 @@ class BookingServiceImplTest {
                         any()
                 )
         )
-                .thenReturn(List.of(booking));
+                .thenReturn(List.of(bookingMapper.bookingToResponseDto(booking)));
         List<ResponseBookingDto> responseBookingDtos = bookingService.findByUserIdAndState(
                 bookingOwnerId,
                 stringState,
@@ -849,7 +916,7 @@ class BookingServiceImplTest {
                         any()
                 )
         )
-                .thenReturn(List.of(booking));
+                .thenReturn(List.of(bookingMapper.bookingToResponseDto(booking)));
         List<ResponseBookingDto> responseBookingDtos = bookingService.findByUserIdAndState(
                 bookingOwnerId,
                 stringState,
@@ -902,7 +969,7 @@ class BookingServiceImplTest {
         when(userRepository.findById(1L))
                 .thenReturn(Optional.of(user));
         when(bookingRepository.findAllByOwner(1L, PageRequest.of(0, 20)))
-                .thenReturn(List.of(booking));
+                .thenReturn(List.of(bookingMapper.bookingToResponseDto(booking)));
         List<ResponseBookingDto> responseBookingDtos = bookingService.findByItemOwner(
                 bookingOwnerId,
                 stringState,
@@ -948,7 +1015,7 @@ class BookingServiceImplTest {
                         any()
                 )
         )
-                .thenReturn(List.of(booking));
+                .thenReturn(List.of(bookingMapper.bookingToResponseDto(booking)));
         List<ResponseBookingDto> responseBookingDtos = bookingService.findByItemOwner(
                 bookingOwnerId,
                 stringState,
@@ -994,7 +1061,7 @@ class BookingServiceImplTest {
                         any()
                 )
         )
-                .thenReturn(List.of(booking));
+                .thenReturn(List.of(bookingMapper.bookingToResponseDto(booking)));
         List<ResponseBookingDto> responseBookingDtos = bookingService.findByItemOwner(
                 bookingOwnerId,
                 stringState,
@@ -1040,7 +1107,7 @@ class BookingServiceImplTest {
                         any()
                 )
         )
-                .thenReturn(List.of(booking));
+                .thenReturn(List.of(bookingMapper.bookingToResponseDto(booking)));
         List<ResponseBookingDto> responseBookingDtos = bookingService.findByItemOwner(
                 bookingOwnerId,
                 stringState,
@@ -1086,7 +1153,7 @@ class BookingServiceImplTest {
                         any()
                 )
         )
-                .thenReturn(List.of(booking));
+                .thenReturn(List.of(bookingMapper.bookingToResponseDto(booking)));
         List<ResponseBookingDto> responseBookingDtos = bookingService.findByItemOwner(
                 bookingOwnerId,
                 stringState,
@@ -1132,7 +1199,7 @@ class BookingServiceImplTest {
                         any()
                 )
         )
-                .thenReturn(List.of(booking));
+                .thenReturn(List.of(bookingMapper.bookingToResponseDto(booking)));
         List<ResponseBookingDto> responseBookingDtos = bookingService.findByItemOwner(
                 bookingOwnerId,
                 stringState,
@@ -1142,4 +1209,66 @@ class BookingServiceImplTest {
         assertThat(1L, equalTo(responseBookingDtos.get(0).getId()));
     }
 
-}
\ No newline at end of file
+    @Test
+    void findByUserIdAndState_whenFromNotMultipleOfSize_thenUseExactOffset() {
+        User user = new User(1L, "User1", "user1@domain.com");
+        when(userRepository.findById(1L))
+                .thenReturn(Optional.of(user));
+        when(bookingRepository.findByBooker_IdOrderByEndDesc(1L, OffsetPageRequest.of(3, 2)))
+                .thenReturn(List.of());
+
+        bookingService.findByUserIdAndState(1L, "ALL", 3, 2);
+
+        verify(bookingRepository).findByBooker_IdOrderByEndDesc(
+                eq(1L),
+                argThat(pageable -> pageable.getOffset() == 3 && pageable.getPageSize() == 2)
+        );
+    }
+
+    @Test
+    void findByUserIdAndStateAfter_whenStateWaiting_thenSeekByEndAndId() {
+        LocalDateTime now = LocalDateTime.now();
+        User user = new User(1L, "User1", "user1@domain.com");
+        Item item = new Item(1L, "Item", "Desc", true, 2L, null);
+        Booking booking = new Booking(3L, now, now.plusHours(1), item, user, BookingStatus.WAITING);
+        when(userRepository.findById(1L))
+                .thenReturn(Optional.of(user));
+        when(bookingRepository.findByBookerAndStatusAfter(
+                1L,
+                BookingStatus.WAITING,
+                now.plusDays(1),
+                5L,
+                PageRequest.of(0, 20)
+        )).thenReturn(List.of(bookingMapper.bookingToResponseDto(booking)));
+
+        List<ResponseBookingDto> responseBookingDtos = bookingService.findByUserIdAndStateAfter(
+                1L,
+                "WAITING",
+                PageCursor.of(now.plusDays(1), 5L).encode(),
+                20
+        );
+
+        assertThat(3L, equalTo(responseBookingDtos.get(0).getId()));
+    }
+
+    @Test
+    void findByItemOwnerAfter_whenCursorWithoutSortKey_thenInvalidCursorException() {
+        User user = new User(1L, "User1", "user1@domain.com");
+        when(userRepository.findById(1L))
+                .thenReturn(Optional.of(user));
+
+        assertThrows(
+                InvalidCursorException.class,
+                () -> bookingService.findByItemOwnerAfter(1L, "ALL", PageCursor.of(5L).encode(), 20)
+        );
+    }
+
+    @Test
+    void findByItemOwnerAfter_whenMalformedCursor_thenInvalidCursorException() {
+        assertThrows(
+                InvalidCursorException.class,
+                () -> bookingService.findByItemOwnerAfter(1L, "ALL", "not a cursor", 20)
+        );
+        verify(userRepository, never()).findById(any());
+    }
+}
@@ -0,0 +1,189 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.dto.ResponseBookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.state.BookingState;
+import ru.practicum.shareit.booking.status.BookingStatus;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.PageCursor;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.notNullValue;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+@Sql(scripts = {"/schema.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class BookingServiceQueryCountTest {
+    private static final int ITEMS = 3;
+    private static final int BATCHED_BOOKINGS = 120;
+    private static final String FAR_FUTURE_CURSOR = PageCursor.of(LocalDateTime.now().plusYears(10), Long.MAX_VALUE)
+            .encode();
+
+    private final BookingService bookingService;
+    private final BookingRepository bookingRepository;
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+    private final EntityManagerFactory entityManagerFactory;
+    private final TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+    private User owner;
+    private User booker;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        owner = userRepository.save(new User(null, "owner", "owner@mail.com"));
+        booker = userRepository.save(new User(null, "booker", "booker@mail.com"));
+        addBookingsInEveryState();
+        // The user existence check is answered by the second-level cache, so only the listing itself hits the database
+        userRepository.findById(owner.getId());
+        userRepository.findById(booker.getId());
+    }
+
+    @ParameterizedTest
+    @EnumSource(BookingState.class)
+    void findByUserIdAndState_whenInvoked_thenSingleStatement(BookingState state) {
+        assertSingleStatement(() -> bookingService.findByUserIdAndState(booker.getId(), state.name(), 0, 20));
+    }
+
+    @ParameterizedTest
+    @EnumSource(BookingState.class)
+    void findByUserIdAndStateAfter_whenInvoked_thenSingleStatement(BookingState state) {
+        assertSingleStatement(
+                () -> bookingService.findByUserIdAndStateAfter(booker.getId(), state.name(), FAR_FUTURE_CURSOR, 20)
+        );
+    }
+
+    @ParameterizedTest
+    @EnumSource(BookingState.class)
+    void findByItemOwner_whenInvoked_thenSingleStatement(BookingState state) {
+        assertSingleStatement(() -> bookingService.findByItemOwner(owner.getId(), state.name(), 0, 20));
+    }
+
+    @ParameterizedTest
+    @EnumSource(BookingState.class)
+    void findByItemOwnerAfter_whenInvoked_thenSingleStatement(BookingState state) {
+        assertSingleStatement(
+                () -> bookingService.findByItemOwnerAfter(owner.getId(), state.name(), FAR_FUTURE_CURSOR, 20)
+        );
+    }
+
+    @Test
+    void findById_whenInvoked_thenSingleStatement() {
+        Long bookingId = bookingRepository.findAll().get(0).getId();
+
+        statistics.clear();
+        ResponseBookingDto booking = bookingService.findById(owner.getId(), bookingId);
+
+        assertThat(statistics.getPrepareStatementCount(), equalTo(1L));
+        assertThat(booking.getItem().getName(), notNullValue());
+        assertThat(booking.getBooker().getId(), equalTo(booker.getId()));
+    }
+
+    @Test
+    void approve_whenRejecting_thenSingleUpdateStatement() {
+        Long bookingId = findWaitingBookingId();
+
+        statistics.clear();
+        ResponseBookingDto booking = bookingService.approve(owner.getId(), bookingId, false);
+
+        // The item name comes from the second-level cache, so only the conditional update reaches the database
+        assertThat(statistics.getPrepareStatementCount(), equalTo(1L));
+        assertThat(booking.getStatus(), equalTo(BookingStatus.REJECTED));
+        assertThat(booking.getItem().getName(), notNullValue());
+        assertThat(booking.getBooker().getId(), equalTo(booker.getId()));
+    }
+
+    @Test
+    void approve_whenApproving_thenItemLockAndUpdateStatements() {
+        Long bookingId = findWaitingBookingId();
+
+        statistics.clear();
+        ResponseBookingDto booking = bookingService.approve(owner.getId(), bookingId, true);
+
+        assertThat(statistics.getPrepareStatementCount(), equalTo(2L));
+        assertThat(booking.getStatus(), equalTo(BookingStatus.APPROVED));
+        assertThat(booking.getItem().getName(), notNullValue());
+        assertThat(bookingRepository.findById(bookingId).orElseThrow().getVersion(), equalTo(1L));
+    }
+
+    @Test
+    void saveAll_whenManyBookingsInOneTransaction_thenInsertsBatched() {
+        Item item = itemRepository.save(new Item(null, "batched", "batched", true, owner.getId(), null));
+        LocalDateTime start = LocalDateTime.now().plusYears(1);
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < BATCHED_BOOKINGS; i++) {
+            bookings.add(new Booking(null, start.plusHours(i), start.plusHours(i + 1), item, booker, BookingStatus.WAITING));
+        }
+
+        statistics.clear();
+        transactionTemplate.executeWithoutResult(status -> bookingRepository.saveAll(bookings));
+
+        // One statement per batch of 50 inserts plus one sequence call per 50 ids, instead of one insert per row
+        assertThat(statistics.getPrepareStatementCount(), lessThanOrEqualTo(6L));
+        assertThat(bookingRepository.count(), equalTo((long) ITEMS * 4 + BATCHED_BOOKINGS));
+    }
+
+    private void assertSingleStatement(Supplier<List<ResponseBookingDto>> listing) {
+        statistics.clear();
+        List<ResponseBookingDto> bookings = listing.get();
+
+        assertThat(statistics.getPrepareStatementCount(), equalTo(1L));
+        assertThat(bookings.size(), greaterThan(0));
+        for (ResponseBookingDto booking : bookings) {
+            assertThat(booking.getItem().getName(), notNullValue());
+            assertThat(booking.getBooker().getId(), equalTo(booker.getId()));
+        }
+    }
+
+    private Long findWaitingBookingId() {
+        return bookingRepository.findAll().stream()
+                .filter(booking -> booking.getStatus() == BookingStatus.WAITING)
+                .findFirst()
+                .orElseThrow()
+                .getId();
+    }
+
+    private void addBookingsInEveryState() {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < ITEMS; i++) {
+            Item item = itemRepository.save(new Item(null, "item" + i, "description" + i, true, owner.getId(), null));
+            addBooking(item, now.minusDays(2), now.minusDays(1), BookingStatus.APPROVED);
+            addBooking(item, now.minusHours(1), now.plusHours(1), BookingStatus.APPROVED);
+            addBooking(item, now.plusDays(1), now.plusDays(2), BookingStatus.WAITING);
+            addBooking(item, now.plusDays(3), now.plusDays(4), BookingStatus.REJECTED);
+        }
+    }
+
+    private void addBooking(Item item, LocalDateTime start, LocalDateTime end, BookingStatus status) {
+        bookingRepository.save(new Booking(null, start, end, item, booker, status));
+    }
+}
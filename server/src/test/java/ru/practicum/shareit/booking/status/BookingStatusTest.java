@@ -0,0 +1,32 @@
+package ru.practicum.shareit.booking.status;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+class BookingStatusTest {
+
+    @ParameterizedTest
+    @CsvSource({
+            "WAITING, WAITING, false",
+            "WAITING, APPROVED, true",
+            "WAITING, REJECTED, true",
+            "WAITING, CANCELED, true",
+            "APPROVED, APPROVED, false",
+            "APPROVED, REJECTED, false",
+            "APPROVED, CANCELED, true",
+            "REJECTED, APPROVED, false",
+            "REJECTED, CANCELED, false",
+            "CANCELED, WAITING, false",
+            "CANCELED, APPROVED, false"
+    })
+    void canTransitionTo_whenInvoked_thenFollowsTransitionTable(
+            BookingStatus from,
+            BookingStatus to,
+            boolean allowed
+    ) {
+        assertThat(from.canTransitionTo(to), equalTo(allowed));
+    }
+}
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.cache;
+
+import org.springframework.test.context.TestContext;
+import org.springframework.test.context.support.AbstractTestExecutionListener;
+
+import javax.persistence.EntityManagerFactory;
+
+public class EntityCacheResetTestExecutionListener extends AbstractTestExecutionListener {
+
+    // Tests recreate the schema with @Sql, so entities cached by a previous test must not leak into the next one
+    @Override
+    public void beforeTestMethod(TestContext testContext) {
+        testContext.getApplicationContext()
+                .getBeanProvider(EntityManagerFactory.class)
+                .ifAvailable(entityManagerFactory -> entityManagerFactory.getCache().evictAll());
+    }
+}
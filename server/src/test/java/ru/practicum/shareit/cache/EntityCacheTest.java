@@ -0,0 +1,140 @@
+package ru.practicum.shareit.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+import ru.practicum.shareit.exception.model.ItemNotFoundException;
+import ru.practicum.shareit.item.dto.RequestUpdateItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.RequestUpdateUserDto;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+@AutoConfigureMetrics
+@Sql(scripts = {"/schema.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class EntityCacheTest {
+    private final UserService userService;
+    private final ItemService itemService;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final EntityManagerFactory entityManagerFactory;
+    private final MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @Test
+    void findById_whenEntityCached_thenNoStatements() {
+        User user = userRepository.save(new User(null, "user", "user@mail.com"));
+        Item item = itemRepository.save(new Item(null, "item", "description", true, user.getId(), null));
+        entityManagerFactory.getCache().evictAll();
+        userRepository.findById(user.getId());
+        itemRepository.findById(item.getId());
+
+        statistics.clear();
+        assertThat(userRepository.findById(user.getId()).isPresent(), equalTo(true));
+        assertThat(userRepository.existsById(user.getId()), equalTo(true));
+        assertThat(itemRepository.findById(item.getId()).isPresent(), equalTo(true));
+
+        assertThat(statistics.getPrepareStatementCount(), equalTo(0L));
+        assertThat(statistics.getSecondLevelCacheHitCount(), equalTo(3L));
+    }
+
+    @Test
+    void update_whenUserCached_thenReadUpdatedUser() {
+        User user = userRepository.save(new User(null, "user", "user@mail.com"));
+        userService.findById(user.getId());
+
+        userService.update(user.getId(), new RequestUpdateUserDto(null, "updated", null));
+
+        assertThat(userService.findById(user.getId()).getName(), equalTo("updated"));
+    }
+
+    @Test
+    void update_whenItemCached_thenReadUpdatedItem() {
+        User owner = userRepository.save(new User(null, "owner", "owner@mail.com"));
+        Item item = itemRepository.save(new Item(null, "item", "description", true, owner.getId(), null));
+        itemService.findById(owner.getId(), item.getId());
+
+        itemService.update(
+                owner.getId(),
+                item.getId(),
+                new RequestUpdateItemDto(null, "updated", null, null, null, null)
+        );
+
+        assertThat(itemService.findById(owner.getId(), item.getId()).getName(), equalTo("updated"));
+    }
+
+    @Test
+    void deleteById_whenItemCached_thenItemNotFound() {
+        User owner = userRepository.save(new User(null, "owner", "owner@mail.com"));
+        Item item = itemRepository.save(new Item(null, "item", "description", true, owner.getId(), null));
+        itemService.findById(owner.getId(), item.getId());
+
+        itemService.deleteById(item.getId());
+
+        assertThrows(ItemNotFoundException.class, () -> itemService.findById(owner.getId(), item.getId()));
+    }
+
+    @Test
+    void deleteById_whenOwnerItemsCached_thenCascadedItemsNotFound() {
+        User owner = userRepository.save(new User(null, "owner", "owner@mail.com"));
+        User other = userRepository.save(new User(null, "other", "other@mail.com"));
+        Item item = itemRepository.save(new Item(null, "item", "description", true, owner.getId(), null));
+        itemService.findById(other.getId(), item.getId());
+
+        userService.deleteById(owner.getId());
+
+        assertThat(userRepository.existsById(owner.getId()), equalTo(false));
+        assertThrows(ItemNotFoundException.class, () -> itemService.findById(other.getId(), item.getId()));
+    }
+
+    @Test
+    void findById_whenCacheUsed_thenHitAndMissMetricsPublished() {
+        User user = userRepository.save(new User(null, "user", "user@mail.com"));
+        entityManagerFactory.getCache().evictAll();
+        userRepository.findById(user.getId());
+        userRepository.findById(user.getId());
+
+        assertThat(cacheGets("hit"), greaterThan(0.0));
+        assertThat(cacheGets("miss"), greaterThan(0.0));
+        assertThat(
+                meterRegistry.get("cache.evictions").tag("cache", User.CACHE_REGION).functionCounter().count(),
+                equalTo(0.0)
+        );
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", User.CACHE_REGION)
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+}
@@ -0,0 +1,108 @@
+package ru.practicum.shareit.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.item.service.ItemService;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.equalTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:shareit-primary",
+        "shareit.datasource.replica.jdbc-url=jdbc:h2:mem:shareit-replica",
+        "shareit.datasource.replica.username=test",
+        "shareit.datasource.replica.password=test",
+        "shareit.datasource.read-your-writes-window=500ms"
+})
+@AutoConfigureMockMvc
+class ReadWriteRoutingTest {
+    private static final String URL = "/items";
+    private static final String USER_ID_HEADER_NAME = "X-Sharer-User-Id";
+    private static final String ITEM_JSON = "{\"name\":\"written\",\"description\":\"written\",\"available\":true}";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private HikariDataSource primaryDataSource;
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private HikariDataSource replicaDataSource;
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void setUp() {
+        ResourceDatabasePopulator populator = new ResourceDatabasePopulator(new ClassPathResource("schema.sql"));
+        populator.execute(primaryDataSource);
+        populator.execute(replicaDataSource);
+        primary = new JdbcTemplate(primaryDataSource);
+        replica = new JdbcTemplate(replicaDataSource);
+        for (JdbcTemplate jdbcTemplate : new JdbcTemplate[]{primary, replica}) {
+            jdbcTemplate.update("INSERT INTO users (id, name, email) VALUES (1, 'writer', 'writer@mail.com')");
+            jdbcTemplate.update("INSERT INTO users (id, name, email) VALUES (2, 'reader', 'reader@mail.com')");
+        }
+        // Rows that only one side has tell which database answered
+        primary.update("INSERT INTO items (name, description, is_available, owner_id) VALUES ('p', 'p', true, 1)");
+        primary.update("INSERT INTO items (name, description, is_available, owner_id) VALUES ('p', 'p', true, 2)");
+        replica.update("INSERT INTO items (name, description, is_available, owner_id) VALUES ('r', 'r', true, 1)");
+        replica.update("INSERT INTO items (name, description, is_available, owner_id) VALUES ('r', 'r', true, 2)");
+    }
+
+    @Test
+    void findByUserId_whenReadOnlyTransaction_thenReadFromReplica() {
+        assertThat(itemService.findByUserId(1L, 0, 20).get(0).getName(), equalTo("r"));
+    }
+
+    @Test
+    @SneakyThrows
+    void save_whenWriteRequest_thenWriteToPrimaryOnly() {
+        mockMvc.perform(post(URL).header(USER_ID_HEADER_NAME, 1L).contentType("application/json").content(ITEM_JSON))
+                .andExpect(status().isCreated());
+
+        assertThat(countItems(primary, "written"), equalTo(1));
+        assertThat(countItems(replica, "written"), equalTo(0));
+    }
+
+    @Test
+    @SneakyThrows
+    void findByUserId_whenUserWroteRecently_thenReadFromPrimaryUntilWindowExpires() {
+        mockMvc.perform(post(URL).header(USER_ID_HEADER_NAME, 1L).contentType("application/json").content(ITEM_JSON))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get(URL).header(USER_ID_HEADER_NAME, 1L).param("from", "0").param("size", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].name", containsInAnyOrder("p", "written")));
+        mockMvc.perform(get(URL).header(USER_ID_HEADER_NAME, 2L).param("from", "0").param("size", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].name", containsInAnyOrder("r")));
+
+        Thread.sleep(700);
+
+        mockMvc.perform(get(URL).header(USER_ID_HEADER_NAME, 1L).param("from", "0").param("size", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].name", containsInAnyOrder("r")));
+    }
+
+    private static int countItems(JdbcTemplate jdbcTemplate, String name) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM items WHERE name = ?", Integer.class, name);
+    }
+}
@@ -0,0 +1,144 @@
+package ru.practicum.shareit.etag;
+
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+@AutoConfigureMockMvc
+@Sql(scripts = {"/schema.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class ConditionalGetTest {
+    private static final String USER_ID_HEADER_NAME = "X-Sharer-User-Id";
+
+    private final MockMvc mockMvc;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final CommentRepository commentRepository;
+    private final ItemRequestRepository itemRequestRepository;
+
+    @Test
+    @SneakyThrows
+    void findUser_whenUserUpdated_thenETagChanges() {
+        User user = userRepository.save(new User(null, "user", "user@mail.com"));
+        String eTag = eTag(get("/users/{id}", user.getId()));
+
+        assertNotModified(get("/users/{id}", user.getId()), eTag);
+
+        mockMvc.perform(patch("/users/{id}", user.getId())
+                        .contentType("application/json")
+                        .content("{\"name\":\"updated\"}"))
+                .andExpect(status().isOk());
+
+        assertThat(eTag(get("/users/{id}", user.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag)), not(equalTo(eTag)));
+    }
+
+    @Test
+    @SneakyThrows
+    void findItem_whenCommentAddedOrAuthorRenamed_thenETagChanges() {
+        User owner = userRepository.save(new User(null, "owner", "owner@mail.com"));
+        User author = userRepository.save(new User(null, "author", "author@mail.com"));
+        Item item = itemRepository.save(new Item(null, "item", "description", true, owner.getId(), null));
+        String eTag = eTag(itemRequest(item, author));
+
+        assertNotModified(itemRequest(item, author), eTag);
+
+        commentRepository.save(new Comment(null, "text", item, author, LocalDateTime.now()));
+        String commentedETag = eTag(itemRequest(item, author));
+        assertThat(commentedETag, not(equalTo(eTag)));
+
+        author.setName("renamed");
+        userRepository.save(author);
+        assertThat(eTag(itemRequest(item, author)), not(equalTo(commentedETag)));
+    }
+
+    @Test
+    @SneakyThrows
+    void findRequest_whenItemAddedForRequest_thenETagChanges() {
+        User requestor = userRepository.save(new User(null, "requestor", "requestor@mail.com"));
+        User owner = userRepository.save(new User(null, "owner", "owner@mail.com"));
+        ItemRequest request = itemRequestRepository.save(
+                new ItemRequest(null, "need a drill", requestor, LocalDateTime.now())
+        );
+        String eTag = eTag(get("/requests/{id}", request.getId()).header(USER_ID_HEADER_NAME, requestor.getId()));
+
+        assertNotModified(get("/requests/{id}", request.getId()).header(USER_ID_HEADER_NAME, requestor.getId()), eTag);
+
+        itemRepository.save(new Item(null, "drill", "drill", true, owner.getId(), request.getId()));
+
+        assertThat(
+                eTag(get("/requests/{id}", request.getId()).header(USER_ID_HEADER_NAME, requestor.getId())),
+                not(equalTo(eTag))
+        );
+    }
+
+    @Test
+    @SneakyThrows
+    void findBookings_whenListingUnchanged_thenNotModified() {
+        User user = userRepository.save(new User(null, "user", "user@mail.com"));
+
+        for (String url : new String[]{"/bookings", "/bookings/owner"}) {
+            String eTag = eTag(bookingListing(url, user));
+
+            assertNotModified(bookingListing(url, user), eTag);
+        }
+    }
+
+    private static MockHttpServletRequestBuilder bookingListing(String url, User user) {
+        return get(url)
+                .header(USER_ID_HEADER_NAME, user.getId())
+                .param("state", "ALL")
+                .param("from", "0")
+                .param("size", "10");
+    }
+
+    private static MockHttpServletRequestBuilder itemRequest(Item item, User user) {
+        return get("/items/{id}", item.getId()).header(USER_ID_HEADER_NAME, user.getId());
+    }
+
+    @SneakyThrows
+    private String eTag(MockHttpServletRequestBuilder request) {
+        String eTag = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+        assertThat(eTag, notNullValue());
+        return eTag;
+    }
+
+    @SneakyThrows
+    private void assertNotModified(MockHttpServletRequestBuilder request, String eTag) {
+        mockMvc.perform(request.header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+}
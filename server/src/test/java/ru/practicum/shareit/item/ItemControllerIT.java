@@ -7,31 +7,44 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.etag.Tagged;
 import ru.practicum.shareit.exception.model.AccessBadRequestException;
 import ru.practicum.shareit.exception.model.AccessNotFoundException;
+import ru.practicum.shareit.exception.model.InvalidImportHeaderException;
 import ru.practicum.shareit.exception.model.ItemNotFoundException;
 import ru.practicum.shareit.exception.model.UserNotFoundException;
 import ru.practicum.shareit.item.dto.*;
+import ru.practicum.shareit.item.importing.ItemImportFormat;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemImportService;
 import ru.practicum.shareit.item.service.ItemService;
 
+import java.io.Reader;
 import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(ItemController.class)
 class ItemControllerIT {
     private static final String USER_ID_HEADER_NAME = "X-Sharer-User-Id";
     private static final String URL = "/items";
+    private static final String E_TAG = "5d41402abc4b2a76b9719d911017c592";
     private static final String URL_WITH_ID = URL + "/{id}";
     private static final String URL_WITH_SEARCH = URL + "/search";
     private static final String URL_WITH_COMMENT = URL + "/{id}/comment";
+    private static final String URL_WITH_IMPORT = URL + "/import";
     private static final String CONTENT_TYPE = "application/json";
     private final Long userId = 1L;
     private final Long itemId = 1L;
@@ -41,6 +54,8 @@ class ItemControllerIT {
     private MockMvc mockMvc;
     @MockBean
     private ItemService itemService;
+    @MockBean
+    private ItemImportService itemImportService;
 
     @SneakyThrows
     @Test
@@ -125,6 +140,24 @@ class ItemControllerIT {
         verify(itemService, times(1)).update(anyLong(), anyLong(), any(RequestUpdateItemDto.class));
     }
 
+    @SneakyThrows
+    @Test
+    void update_whenItemChangedConcurrently_thenStatusConflict() {
+        RequestUpdateItemDto requestUpdateItemDto = Instancio.create(RequestUpdateItemDto.class);
+        when(itemService.update(anyLong(), anyLong(), any(RequestUpdateItemDto.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Item.class, itemId));
+
+        mockMvc.perform(
+                        patch(URL_WITH_ID, itemId)
+                                .contentType(CONTENT_TYPE)
+                                .content(objectMapper.writeValueAsString(requestUpdateItemDto))
+                                .header(USER_ID_HEADER_NAME, userId)
+                )
+                .andExpect(status().isConflict());
+
+        verify(itemService, times(1)).update(anyLong(), anyLong(), any(RequestUpdateItemDto.class));
+    }
+
     @SneakyThrows
     @Test
     void update_whenValidUserIdAndItemNotFound_thenStatusNotFound() {
@@ -147,8 +180,8 @@ class ItemControllerIT {
     @Test
     void findById_whenValidUserIdAndValidItemId_thenStatusOkAndDtoWithCommentsInBody() {
         ResponseItemWithCommentsDto responseItemWithCommentsDto = Instancio.create(ResponseItemWithCommentsDto.class);
-        when(itemService.findById(anyLong(), anyLong()))
-                .thenReturn(responseItemWithCommentsDto);
+        when(itemService.findByIdWithETag(anyLong(), anyLong()))
+                .thenReturn(Tagged.of(E_TAG, responseItemWithCommentsDto));
 
         String response = mockMvc.perform(
                         get(URL_WITH_ID, itemId)
@@ -161,13 +194,33 @@ class ItemControllerIT {
                 .getContentAsString();
 
         assertThat(response, equalTo(objectMapper.writeValueAsString(responseItemWithCommentsDto)));
-        verify(itemService, times(1)).findById(anyLong(), anyLong());
+        verify(itemService, times(1)).findByIdWithETag(anyLong(), anyLong());
+    }
+
+    @SneakyThrows
+    @Test
+    void findById_whenETagMatches_thenStatusNotModifiedWithoutBody() {
+        when(itemService.findByIdWithETag(anyLong(), anyLong()))
+                .thenReturn(Tagged.of(E_TAG, Instancio.create(ResponseItemWithCommentsDto.class)));
+
+        String response = mockMvc.perform(
+                        get(URL_WITH_ID, itemId)
+                                .header(USER_ID_HEADER_NAME, userId)
+                                .header(HttpHeaders.IF_NONE_MATCH, "\"" + E_TAG + "\"")
+                )
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + E_TAG + "\""))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertThat(response, equalTo(""));
     }
 
     @SneakyThrows
     @Test
     void findById_whenValidUserIdAndInvalidItemId_thenStatusNotFound() {
-        when(itemService.findById(anyLong(), anyLong()))
+        when(itemService.findByIdWithETag(anyLong(), anyLong()))
                 .thenThrow(ItemNotFoundException.class);
 
         mockMvc.perform(
@@ -177,7 +230,7 @@ class ItemControllerIT {
                 )
                 .andExpect(status().isNotFound());
 
-        verify(itemService, times(1)).findById(anyLong(), anyLong());
+        verify(itemService, times(1)).findByIdWithETag(anyLong(), anyLong());
     }
 
     @SneakyThrows
@@ -352,4 +405,60 @@ class ItemControllerIT {
                 any(RequestAddCommentDto.class)
         );
     }
-}
\ No newline at end of file
+
+    @SneakyThrows
+    @Test
+    void importItems_whenNdjsonBody_thenStatusOkAndReportInBody() {
+        ResponseItemImportDto report = new ResponseItemImportDto(
+                1,
+                1,
+                false,
+                List.of(new ResponseItemImportErrorDto(2, "Item name must not be blank"))
+        );
+        when(itemImportService.importItems(anyLong(), any(ItemImportFormat.class), any(Reader.class)))
+                .thenReturn(report);
+
+        String response = mockMvc.perform(
+                        post(URL_WITH_IMPORT)
+                                .contentType(MediaType.APPLICATION_NDJSON)
+                                .content("{\"name\":\"Drill\"}\n{\"name\":\"\"}\n")
+                                .header(USER_ID_HEADER_NAME, userId)
+                )
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertThat(response, equalTo(objectMapper.writeValueAsString(report)));
+        verify(itemImportService, times(1)).importItems(eq(userId), eq(ItemImportFormat.NDJSON), any(Reader.class));
+    }
+
+    @SneakyThrows
+    @Test
+    void importItems_whenUnsupportedContentType_thenStatusUnsupportedMediaType() {
+        mockMvc.perform(
+                        post(URL_WITH_IMPORT)
+                                .contentType(MediaType.TEXT_PLAIN)
+                                .content("Drill")
+                                .header(USER_ID_HEADER_NAME, userId)
+                )
+                .andExpect(status().isUnsupportedMediaType());
+
+        verify(itemImportService, never()).importItems(anyLong(), any(ItemImportFormat.class), any(Reader.class));
+    }
+
+    @SneakyThrows
+    @Test
+    void importItems_whenCsvHeaderInvalid_thenStatusBadRequest() {
+        when(itemImportService.importItems(anyLong(), any(ItemImportFormat.class), any(Reader.class)))
+                .thenThrow(new InvalidImportHeaderException("CSV header must contain [name, description, available]"));
+
+        mockMvc.perform(
+                        post(URL_WITH_IMPORT)
+                                .contentType(ItemImportFormat.TEXT_CSV_VALUE)
+                                .content("name\nDrill\n")
+                                .header(USER_ID_HEADER_NAME, userId)
+                )
+                .andExpect(status().isBadRequest());
+    }
+}
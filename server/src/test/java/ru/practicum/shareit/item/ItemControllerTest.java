@@ -1,24 +1,42 @@
 package ru.practicum.shareit.item;
 
+import lombok.SneakyThrows;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import ru.practicum.shareit.etag.Tagged;
 import ru.practicum.shareit.item.dto.*;
+import ru.practicum.shareit.item.importing.ItemImportFormat;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.item.service.ItemImportService;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.pagination.PageCursor;
 
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class ItemControllerTest {
     @Mock
     private ItemService itemService;
+    @Mock
+    private ItemImportService itemImportService;
 
     @InjectMocks
     private ItemController itemController;
@@ -95,10 +113,14 @@ class ItemControllerTest {
                 null
         );
 
-        when(itemService.findById(userId, itemId))
-                .thenReturn(responseItemWithCommentsDto);
+        when(itemService.findByIdWithETag(userId, itemId))
+                .thenReturn(Tagged.of("etag", responseItemWithCommentsDto));
 
-        ResponseItemWithCommentsDto itemDto = itemController.findById(userId, itemId);
+        ResponseItemWithCommentsDto itemDto = itemController.findById(
+                userId,
+                itemId,
+                new ServletWebRequest(new MockHttpServletRequest(), new MockHttpServletResponse())
+        ).getBody();
 
         assertThat(1L, equalTo(itemDto.getId()));
     }
@@ -121,7 +143,13 @@ class ItemControllerTest {
         when(itemService.findByUserId(userId, from, size))
                 .thenReturn(List.of(responseItemWithCommentsDto));
 
-        List<ResponseItemWithCommentsDto> itemDto = itemController.findByUserId(userId, from, size);
+        List<ResponseItemWithCommentsDto> itemDto = itemController.findByUserId(
+                userId,
+                from,
+                size,
+                null,
+                new MockHttpServletResponse()
+        );
 
         assertThat(1, equalTo(itemDto.size()));
         assertThat(1L, equalTo(itemDto.get(0).getId()));
@@ -152,11 +180,34 @@ class ItemControllerTest {
         when(itemService.findByNameOrDescription(text, from, size))
                 .thenReturn(List.of(responseItemDto));
 
-        List<ResponseItemDto> responseItemDtos = itemController.findByNameOrDescription(text, from, size);
+        List<ResponseItemDto> responseItemDtos = itemController.findByNameOrDescription(
+                text,
+                from,
+                size,
+                null,
+                new MockHttpServletResponse()
+        );
 
         assertThat(1L, equalTo(responseItemDtos.get(0).getId()));
     }
 
+    @Test
+    void findByNameOrDescription_whenPageFull_thenNextCursorCarriesRankAndId() {
+        ResponseItemDto nameMatch = new ResponseItemDto(1L, "Drill", "desc", true, null, null, null);
+        ResponseItemDto descriptionMatch = new ResponseItemDto(2L, "Saw", "Not a drill", true, null, null, null);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        when(itemService.findByNameOrDescription("drill", 0, 2))
+                .thenReturn(List.of(nameMatch, descriptionMatch));
+
+        itemController.findByNameOrDescription("drill", 0, 2, null, response);
+
+        assertThat(
+                PageCursor.of(ItemSearchIndex.DESCRIPTION_MATCH_RANK, 2L).encode(),
+                equalTo(response.getHeader(PageCursor.NEXT_CURSOR_HEADER_NAME))
+        );
+    }
+
     @Test
     void saveComment_whenInvoke_thenReturnCommentDto() {
         Long userId = 1L;
@@ -177,4 +228,26 @@ class ItemControllerTest {
         assertThat(text, equalTo(commentDto.getText()));
     }
 
-}
\ No newline at end of file
+    @Test
+    @SneakyThrows
+    void importItems_whenCsvWithCharset_thenDecodeBodyAndUseCsvFormat() {
+        Long userId = 1L;
+        ResponseItemImportDto report = new ResponseItemImportDto(1, 0, false, List.of());
+        when(itemImportService.importItems(eq(userId), eq(ItemImportFormat.CSV), any(Reader.class)))
+                .thenAnswer(invocation -> {
+                    BufferedReader reader = new BufferedReader(invocation.getArgument(2, Reader.class));
+                    assertThat(reader.readLine(), equalTo("name,description,available"));
+                    assertThat(reader.readLine(), equalTo("Дрель,Шуруповёрт,true"));
+                    return report;
+                });
+        byte[] body = "name,description,available\nДрель,Шуруповёрт,true\n".getBytes(StandardCharsets.UTF_16);
+
+        ResponseItemImportDto response = itemController.importItems(
+                userId,
+                "text/csv;charset=UTF-16",
+                new ByteArrayInputStream(body)
+        );
+
+        assertThat(response.getImported(), equalTo(1L));
+    }
+}
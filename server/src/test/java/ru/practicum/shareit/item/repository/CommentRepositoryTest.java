@@ -7,6 +7,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.jdbc.Sql;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.status.BookingStatus;
+import ru.practicum.shareit.item.dto.ResponseCommentDto;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
@@ -19,6 +23,7 @@ import ru.practicum.shareit.user.model.UserTestGenerator;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -31,6 +36,7 @@ class CommentRepositoryTest {
     private final CommentRepository commentRepository;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
     private final CommentMapper commentMapper = Mappers.getMapper(CommentMapper.class);
     private final UserMapper userMapper = Mappers.getMapper(UserMapper.class);
     private final ItemMapper itemMapper = Mappers.getMapper(ItemMapper.class);
@@ -49,4 +55,42 @@ class CommentRepositoryTest {
         assertEquals("Text", comment.getText());
     }
 
+    @Test
+    void saveIfAuthorBooked_whenFinishedApprovedBookingExists_thenInsertsOnlyForThatBooker() {
+        User owner = userRepository.save(new User(null, "owner", "owner@mail.com"));
+        User booker = userRepository.save(new User(null, "booker", "booker@mail.com"));
+        User futureBooker = userRepository.save(new User(null, "future", "future@mail.com"));
+        User rejectedBooker = userRepository.save(new User(null, "rejected", "rejected@mail.com"));
+        Item item = itemRepository.save(new Item(null, "Drill", "description", true, owner.getId(), null));
+        LocalDateTime now = LocalDateTime.now();
+        addBooking(item, booker, now.minusDays(2), now.minusDays(1), BookingStatus.APPROVED);
+        addBooking(item, futureBooker, now.plusDays(1), now.plusDays(2), BookingStatus.APPROVED);
+        addBooking(item, rejectedBooker, now.minusDays(2), now.minusDays(1), BookingStatus.REJECTED);
+
+        assertEquals(
+                Optional.empty(),
+                commentRepository.saveIfAuthorBooked(futureBooker.getId(), item.getId(), "Text", now)
+        );
+        assertEquals(
+                Optional.empty(),
+                commentRepository.saveIfAuthorBooked(rejectedBooker.getId(), item.getId(), "Text", now)
+        );
+        assertEquals(Optional.empty(), commentRepository.saveIfAuthorBooked(owner.getId(), item.getId(), "Text", now));
+        assertEquals(0, commentRepository.count());
+        ResponseCommentDto saved = commentRepository.saveIfAuthorBooked(booker.getId(), item.getId(), "Text", now)
+                .orElseThrow();
+
+        assertEquals("Text", saved.getText());
+        assertEquals("booker", saved.getAuthorName());
+        assertEquals(now, saved.getCreated());
+        Comment stored = commentRepository.findByItem_Id(item.getId()).get(0);
+        assertEquals(saved.getId(), stored.getId());
+        assertEquals(booker.getId(), stored.getAuthor().getId());
+        assertEquals("Text", stored.getText());
+    }
+
+    private void addBooking(Item item, User booker, LocalDateTime start, LocalDateTime end, BookingStatus status) {
+        bookingRepository.save(new Booking(null, start, end, item, booker, status));
+    }
+
 }
\ No newline at end of file
@@ -31,8 +31,8 @@ class ItemRepositoryIT {
     }
 
     @Test
-    void findAllByNameOrDescriptionContainingAndIsAvailableIgnoreCase() {
-        List<Item> items = itemRepository.findAllByNameOrDescriptionContainingAndIsAvailableIgnoreCase(
+    void searchAvailable() {
+        List<Item> items = itemRepository.searchAvailable(
                 "ОтВерт",
                 pageable
         );
@@ -18,6 +18,9 @@ import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.model.UserTestGenerator;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 @SpringBootTest
@@ -68,4 +71,48 @@ class ItemRepositoryTest {
         assertEquals(0, itemRepository.findByOwnerIdOrderByIdAsc(1L, pageable).size());
     }
 
-}
\ No newline at end of file
+    @Test
+    void searchAvailable_whenNameAndDescriptionMatch_thenNameMatchesFirst() {
+        User user = userRepository.save(userMapper.addDtoToUser(UserTestGenerator.getUser1()));
+        Item descriptionMatch = itemRepository.save(new Item(null, "Saw", "Better than a drill", true, user.getId(), null));
+        Item nameMatch = itemRepository.save(new Item(null, "Drill", "Cordless", true, user.getId(), null));
+        itemRepository.save(new Item(null, "Old drill", "Broken", false, user.getId(), null));
+        Item secondNameMatch = itemRepository.save(new Item(null, "Hammer drill", "Heavy", true, user.getId(), null));
+
+        List<Item> items = itemRepository.searchAvailable("DRILL", PageRequest.of(0, 20));
+
+        assertEquals(
+                List.of(nameMatch.getId(), secondNameMatch.getId(), descriptionMatch.getId()),
+                items.stream().map(Item::getId).collect(Collectors.toList())
+        );
+    }
+
+    @Test
+    void searchAvailableAfter_whenPagingByCursor_thenReturnEveryMatchOnce() {
+        User user = userRepository.save(userMapper.addDtoToUser(UserTestGenerator.getUser1()));
+        Item descriptionMatch = itemRepository.save(new Item(null, "Saw", "Better than a drill", true, user.getId(), null));
+        Item nameMatch = itemRepository.save(new Item(null, "Drill", "Cordless", true, user.getId(), null));
+        Item secondNameMatch = itemRepository.save(new Item(null, "Hammer drill", "Heavy", true, user.getId(), null));
+
+        List<Item> afterFirst = itemRepository.searchAvailableAfter("drill", 0, nameMatch.getId(), PageRequest.of(0, 1));
+        List<Item> afterLastName = itemRepository.searchAvailableAfter(
+                "drill",
+                0,
+                secondNameMatch.getId(),
+                PageRequest.of(0, 20)
+        );
+        List<Item> afterLast = itemRepository.searchAvailableAfter(
+                "drill",
+                1,
+                descriptionMatch.getId(),
+                PageRequest.of(0, 20)
+        );
+
+        assertEquals(List.of(secondNameMatch.getId()), afterFirst.stream().map(Item::getId).collect(Collectors.toList()));
+        assertEquals(
+                List.of(descriptionMatch.getId()),
+                afterLastName.stream().map(Item::getId).collect(Collectors.toList())
+        );
+        assertEquals(0, afterLast.size());
+    }
+}
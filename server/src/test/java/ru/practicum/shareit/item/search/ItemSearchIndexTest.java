@@ -0,0 +1,181 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ItemSearchIndexTest {
+    @Mock
+    private ItemRepository itemRepository;
+
+    private ItemSearchIndex itemSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        itemSearchIndex = new ItemSearchIndex(itemRepository, true);
+    }
+
+    @Test
+    void search_whenSubstringInAnyCase_thenReturnNameMatchesFirst() {
+        itemSearchIndex.put(new Item(1L, "Saw", "Better than a drill", true, 1L, null));
+        itemSearchIndex.put(new Item(2L, "Hammer drill", "Heavy", true, 1L, null));
+        itemSearchIndex.put(new Item(3L, "Drill", "Cordless", true, 1L, null));
+        itemSearchIndex.put(new Item(4L, "Glue", "Sticky", true, 1L, null));
+
+        assertThat(getIds(itemSearchIndex.search("dRiL", 0, 20)), equalTo(List.of(2L, 3L, 1L)));
+        assertThat(getIds(itemSearchIndex.search("ri", 0, 20)), equalTo(List.of(2L, 3L, 1L)));
+        assertThat(getIds(itemSearchIndex.search("ordles", 0, 20)), equalTo(List.of(3L)));
+        assertThat(getIds(itemSearchIndex.search("drills", 0, 20)), equalTo(List.of()));
+    }
+
+    @Test
+    void search_whenGramsMatchButNotSubstring_thenSkipItem() {
+        itemSearchIndex.put(new Item(1L, "abcd bcde", "none", true, 1L, null));
+
+        assertThat(getIds(itemSearchIndex.search("abcde", 0, 20)), equalTo(List.of()));
+    }
+
+    @Test
+    void search_whenPaged_thenReturnRequestedSlice() {
+        for (long id = 1; id <= 5; id++) {
+            itemSearchIndex.put(new Item(id, "Drill " + id, "Desc", true, 1L, null));
+        }
+
+        assertThat(getIds(itemSearchIndex.search("drill", 2, 2)), equalTo(List.of(3L, 4L)));
+    }
+
+    @Test
+    void searchAfter_whenCursorInNameMatches_thenContinueIntoDescriptionMatches() {
+        itemSearchIndex.put(new Item(1L, "Saw", "Better than a drill", true, 1L, null));
+        itemSearchIndex.put(new Item(2L, "Drill", "Cordless", true, 1L, null));
+        itemSearchIndex.put(new Item(3L, "Hammer drill", "Heavy", true, 1L, null));
+
+        List<Item> items = itemSearchIndex.searchAfter("drill", ItemSearchIndex.NAME_MATCH_RANK, 2L, 20);
+
+        assertThat(getIds(items), equalTo(List.of(3L, 1L)));
+    }
+
+    @Test
+    void search_whenPageSpansRanks_thenContinueIntoDescriptionMatches() {
+        itemSearchIndex.put(new Item(1L, "Saw", "Better than a drill", true, 1L, null));
+        itemSearchIndex.put(new Item(2L, "Drill", "Cordless", true, 1L, null));
+        itemSearchIndex.put(new Item(3L, "Hammer drill", "Heavy", true, 1L, null));
+        itemSearchIndex.put(new Item(4L, "Plane", "Not a drill", true, 1L, null));
+
+        assertThat(getIds(itemSearchIndex.search("drill", 1, 2)), equalTo(List.of(3L, 1L)));
+        assertThat(getIds(itemSearchIndex.search("drill", 3, 2)), equalTo(List.of(4L)));
+        assertThat(getIds(itemSearchIndex.search("drill", 4, 2)), equalTo(List.of()));
+    }
+
+    @Test
+    void searchAfter_whenCursorInDescriptionMatches_thenReturnFollowingDescriptionMatches() {
+        itemSearchIndex.put(new Item(1L, "Saw", "Better than a drill", true, 1L, null));
+        itemSearchIndex.put(new Item(2L, "Drill", "Cordless", true, 1L, null));
+        itemSearchIndex.put(new Item(4L, "Plane", "Not a drill", true, 1L, null));
+
+        List<Item> items = itemSearchIndex.searchAfter("drill", ItemSearchIndex.DESCRIPTION_MATCH_RANK, 1L, 20);
+
+        assertThat(getIds(items), equalTo(List.of(4L)));
+    }
+
+    @Test
+    void put_whenItemBecomesUnavailable_thenRemovePostings() {
+        itemSearchIndex.put(new Item(1L, "Drill", "Cordless", true, 1L, null));
+        itemSearchIndex.put(new Item(1L, "Drill", "Cordless", false, 1L, null));
+
+        assertThat(getIds(itemSearchIndex.search("drill", 0, 20)), equalTo(List.of()));
+
+        itemSearchIndex.put(new Item(1L, "Drill", "Cordless", true, 1L, null));
+
+        assertThat(getIds(itemSearchIndex.search("drill", 0, 20)), equalTo(List.of(1L)));
+    }
+
+    @Test
+    void put_whenItemRenamed_thenOldTextNotFound() {
+        itemSearchIndex.put(new Item(1L, "Drill", "Cordless", true, 1L, null));
+        itemSearchIndex.put(new Item(1L, "Saw", "Cordless", true, 1L, null));
+
+        assertThat(getIds(itemSearchIndex.search("drill", 0, 20)), equalTo(List.of()));
+        assertThat(getIds(itemSearchIndex.search("saw", 0, 20)), equalTo(List.of(1L)));
+    }
+
+    @Test
+    void put_whenItemChangedAfterIndexing_thenIndexKeepsSnapshot() {
+        Item item = new Item(1L, "Drill", "Cordless", true, 1L, null);
+        itemSearchIndex.put(item);
+        item.setName("Saw");
+
+        assertThat(itemSearchIndex.search("drill", 0, 20).get(0).getName(), equalTo("Drill"));
+    }
+
+    @Test
+    void remove_whenItemIndexed_thenNotFound() {
+        itemSearchIndex.put(new Item(1L, "Drill", "Cordless", true, 1L, null));
+        itemSearchIndex.put(new Item(2L, "Drill", "Cordless", true, 1L, null));
+
+        itemSearchIndex.remove(1L);
+
+        assertThat(getIds(itemSearchIndex.search("drill", 0, 20)), equalTo(List.of(2L)));
+        assertThat(itemSearchIndex.findById(1L).isEmpty(), equalTo(true));
+    }
+
+    @Test
+    void removeByOwnerId_whenOwnerHasItems_thenRemoveOnlyOwnerItems() {
+        itemSearchIndex.put(new Item(1L, "Drill", "Cordless", true, 1L, null));
+        itemSearchIndex.put(new Item(2L, "Drill", "Cordless", true, 2L, null));
+
+        itemSearchIndex.removeByOwnerId(1L);
+
+        assertThat(getIds(itemSearchIndex.search("drill", 0, 20)), equalTo(List.of(2L)));
+    }
+
+    @Test
+    void rebuild_whenRepositoryHasSeveralBatches_thenIndexAllAvailableItems() {
+        List<Item> firstBatch = new ArrayList<>();
+        for (long id = 1; id <= 1000; id++) {
+            firstBatch.add(new Item(id, "Item " + id, "Desc", true, 1L, null));
+        }
+        List<Item> secondBatch = List.of(new Item(1001L, "Drill", "Cordless", true, 1L, null));
+
+        when(itemRepository.findByAvailableTrueAndIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, 1000)))
+                .thenReturn(firstBatch);
+        when(itemRepository.findByAvailableTrueAndIdGreaterThanOrderByIdAsc(1000L, PageRequest.of(0, 1000)))
+                .thenReturn(secondBatch);
+
+        itemSearchIndex.rebuild();
+
+        assertThat(getIds(itemSearchIndex.search("drill", 0, 20)), equalTo(List.of(1001L)));
+        assertThat(getIds(itemSearchIndex.search("item 999", 0, 20)), equalTo(List.of(999L)));
+    }
+
+    @Test
+    void put_whenDisabled_thenIgnoreUpdates() {
+        ItemSearchIndex disabledIndex = new ItemSearchIndex(itemRepository, false);
+
+        disabledIndex.put(new Item(1L, "Drill", "Cordless", true, 1L, null));
+        disabledIndex.onApplicationReady();
+
+        assertThat(disabledIndex.findById(1L).isEmpty(), equalTo(true));
+        verify(itemRepository, never()).findByAvailableTrueAndIdGreaterThanOrderByIdAsc(anyLong(), any());
+    }
+
+    private List<Long> getIds(List<Item> items) {
+        return items.stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,160 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+import ru.practicum.shareit.exception.model.InvalidImportHeaderException;
+import ru.practicum.shareit.exception.model.UserNotFoundException;
+import ru.practicum.shareit.item.dto.ResponseItemImportDto;
+import ru.practicum.shareit.item.dto.ResponseItemImportErrorDto;
+import ru.practicum.shareit.item.importing.ItemImportFormat;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.io.StringReader;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = {
+        "shareit.items.import.batch-size=2",
+        "shareit.items.import.max-reported-errors=3"
+})
+@AutoConfigureTestDatabase
+@Sql(scripts = {"/schema.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class ItemImportServiceTest {
+    private final ItemImportService itemImportService;
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+    private final ItemRequestRepository itemRequestRepository;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new User(null, "owner", "owner@mail.com"));
+    }
+
+    @Test
+    @SneakyThrows
+    void importItems_whenNdjsonRowsValid_thenAllSavedInBatches() {
+        String body = "{\"name\":\"Drill\",\"description\":\"Cordless drill\",\"available\":true}\n"
+                + "{\"name\":\"Saw\",\"description\":\"Hand saw\",\"available\":false}\n"
+                + "\n"
+                + "{\"name\":\"Ladder\",\"description\":\"Tall ladder\",\"available\":true,\"ownerId\":999}\n";
+
+        ResponseItemImportDto report = importItems(ItemImportFormat.NDJSON, body);
+
+        assertThat(report.getImported(), equalTo(3L));
+        assertThat(report.getFailed(), equalTo(0L));
+        List<Item> items = itemRepository.findAll();
+        assertThat(names(items), containsInAnyOrder("Drill", "Saw", "Ladder"));
+        assertThat(items.stream().allMatch(item -> owner.getId().equals(item.getOwnerId())), equalTo(true));
+    }
+
+    @Test
+    @SneakyThrows
+    void importItems_whenCsvWithHeader_thenColumnsMappedByName() {
+        ItemRequest request = itemRequestRepository.save(
+                new ItemRequest(null, "Need a tent", owner, LocalDateTime.now())
+        );
+        String body = "available,name,description,requestId\n"
+                + "true,Tent,\"Tent for 4, with \"\"rain fly\"\"\"," + request.getId() + "\n"
+                + "false, Bike ,Mountain bike,\n";
+
+        ResponseItemImportDto report = importItems(ItemImportFormat.CSV, body);
+
+        assertThat(report.getImported(), equalTo(2L));
+        Item tent = itemRepository.findAll().stream()
+                .filter(item -> item.getName().equals("Tent"))
+                .findFirst()
+                .orElseThrow();
+        assertThat(tent.getDescription(), equalTo("Tent for 4, with \"rain fly\""));
+        assertThat(tent.getRequestId(), equalTo(request.getId()));
+        assertThat(names(itemRepository.findAll()), containsInAnyOrder("Tent", "Bike"));
+    }
+
+    @Test
+    @SneakyThrows
+    void importItems_whenSomeRowsInvalid_thenReportedByLineAndOthersSaved() {
+        String body = "{\"name\":\"Drill\",\"description\":\"Cordless drill\",\"available\":true}\n"
+                + "{\"name\":\"Broken\"\n"
+                + "{\"name\":\"\",\"description\":\"No name\",\"available\":true}\n"
+                + "{\"name\":\"Orphan\",\"description\":\"Unknown request\",\"available\":true,\"requestId\":404}\n"
+                + "{\"name\":\"Saw\",\"description\":\"Hand saw\",\"available\":true}\n";
+
+        ResponseItemImportDto report = importItems(ItemImportFormat.NDJSON, body);
+
+        assertThat(report.getImported(), equalTo(2L));
+        assertThat(report.getFailed(), equalTo(3L));
+        assertThat(report.isErrorsTruncated(), equalTo(false));
+        assertThat(lines(report), contains(2L, 3L, 4L));
+        assertThat(report.getErrors().get(0).getMessage(), startsWith("Malformed row"));
+        assertThat(report.getErrors().get(1).getMessage(), equalTo("Item name must not be blank"));
+        assertThat(report.getErrors().get(2).getMessage(), equalTo("Request id=404 not found"));
+        assertThat(names(itemRepository.findAll()), containsInAnyOrder("Drill", "Saw"));
+    }
+
+    @Test
+    @SneakyThrows
+    void importItems_whenMoreErrorsThanReported_thenCountedAndTruncated() {
+        String body = "name,description,available\n"
+                + ",a,true\n"
+                + "b,,true\n"
+                + "c,c,\n"
+                + "d,d,maybe\n";
+
+        ResponseItemImportDto report = importItems(ItemImportFormat.CSV, body);
+
+        assertThat(report.getImported(), equalTo(0L));
+        assertThat(report.getFailed(), equalTo(4L));
+        assertThat(report.isErrorsTruncated(), equalTo(true));
+        assertThat(lines(report), contains(2L, 3L, 4L));
+    }
+
+    @Test
+    void importItems_whenCsvHeaderHasUnknownColumn_thenInvalidImportHeaderException() {
+        assertThrows(
+                InvalidImportHeaderException.class,
+                () -> importItems(ItemImportFormat.CSV, "name,description,available,price\n")
+        );
+    }
+
+    @Test
+    void importItems_whenUserNotFound_thenUserNotFoundException() {
+        assertThrows(
+                UserNotFoundException.class,
+                () -> itemImportService.importItems(404L, ItemImportFormat.NDJSON, new StringReader(""))
+        );
+    }
+
+    @SneakyThrows
+    private ResponseItemImportDto importItems(ItemImportFormat format, String body) {
+        return itemImportService.importItems(owner.getId(), format, new StringReader(body));
+    }
+
+    private static List<String> names(List<Item> items) {
+        return items.stream().map(Item::getName).collect(Collectors.toList());
+    }
+
+    private static List<Long> lines(ResponseItemImportDto report) {
+        return report.getErrors().stream().map(ResponseItemImportErrorDto::getLine).collect(Collectors.toList());
+    }
+}
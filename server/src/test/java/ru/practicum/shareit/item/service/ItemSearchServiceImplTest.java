@@ -0,0 +1,107 @@
+package ru.practicum.shareit.item.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.dto.ResponseItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ItemSearchServiceImplTest {
+    @Mock
+    private ItemRepository itemRepository;
+    @Mock
+    private ItemSearchIndex itemSearchIndex;
+
+    @InjectMocks
+    private ItemSearchServiceImpl itemSearchService;
+
+    @Test
+    void search_whenBlankText_thenReturnEmptyList() {
+        List<ResponseItemDto> responseItemDtos = itemSearchService.search(" ", 0, 20);
+
+        assertThat(0, equalTo(responseItemDtos.size()));
+        verify(itemRepository, never()).searchAvailable(any(), any());
+    }
+
+    @Test
+    void search_whenValidText_thenReturnDtosList() {
+        Pageable pageable = PageRequest.of(1, 10);
+        Item itemFound = new Item(1L, "Item1", "Desc1", true, 1L, null);
+
+        when(itemRepository.searchAvailable("Item1", pageable))
+                .thenReturn(List.of(itemFound));
+
+        List<ResponseItemDto> responseItemDtos = itemSearchService.search("Item1", 10, 10);
+
+        assertThat(1, equalTo(responseItemDtos.size()));
+        assertThat("Item1", equalTo(responseItemDtos.get(0).getName()));
+    }
+
+    @Test
+    void searchAfter_whenCursorHasNameRank_thenContinueFromNameRank() {
+        Pageable pageable = PageRequest.of(0, 10);
+        Item itemFound = new Item(2L, "Cordless drill", "Desc2", true, 1L, null);
+
+        when(itemRepository.searchAvailableAfter("dRiLl", 0, 1L, pageable))
+                .thenReturn(List.of(itemFound));
+
+        List<ResponseItemDto> responseItemDtos = itemSearchService.searchAfter("dRiLl", 0, 1L, 10);
+
+        assertThat(1, equalTo(responseItemDtos.size()));
+        assertThat(2L, equalTo(responseItemDtos.get(0).getId()));
+    }
+
+    @Test
+    void searchAfter_whenCursorItemDeleted_thenContinueWithoutLoadingIt() {
+        Pageable pageable = PageRequest.of(0, 10);
+
+        when(itemRepository.searchAvailableAfter("drill", 1, 1L, pageable))
+                .thenReturn(List.of());
+
+        List<ResponseItemDto> responseItemDtos = itemSearchService.searchAfter("drill", 1, 1L, 10);
+
+        assertThat(0, equalTo(responseItemDtos.size()));
+        verify(itemRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void search_whenIndexEnabled_thenSearchIndex() {
+        Item itemFound = new Item(1L, "Item1", "Desc1", true, 1L, null);
+
+        when(itemSearchIndex.isEnabled())
+                .thenReturn(true);
+        when(itemSearchIndex.search("Item1", 0, 20))
+                .thenReturn(List.of(itemFound));
+
+        List<ResponseItemDto> responseItemDtos = itemSearchService.search("Item1", 0, 20);
+
+        assertThat(1, equalTo(responseItemDtos.size()));
+        verify(itemRepository, never()).searchAvailable(any(), any());
+    }
+
+    @Test
+    void searchAfter_whenIndexEnabled_thenSearchIndexWithoutRepository() {
+        when(itemSearchIndex.isEnabled())
+                .thenReturn(true);
+        when(itemSearchIndex.searchAfter("drill", 1, 1L, 20))
+                .thenReturn(List.of());
+
+        List<ResponseItemDto> responseItemDtos = itemSearchService.searchAfter("drill", 1, 1L, 20);
+
+        assertThat(0, equalTo(responseItemDtos.size()));
+        verify(itemRepository, never()).searchAvailableAfter(any(), any(), any(), any());
+    }
+}
@@ -8,11 +8,13 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.ItemBookingView;
 import ru.practicum.shareit.booking.repository.BookingRepository;
-import ru.practicum.shareit.booking.status.BookingStatus;
+import ru.practicum.shareit.etag.EntityTag;
+import ru.practicum.shareit.etag.Tagged;
 import ru.practicum.shareit.exception.model.AccessBadRequestException;
 import ru.practicum.shareit.exception.model.AccessNotFoundException;
+import ru.practicum.shareit.exception.model.InvalidCursorException;
 import ru.practicum.shareit.exception.model.ItemNotFoundException;
 import ru.practicum.shareit.exception.model.UserNotFoundException;
 import ru.practicum.shareit.item.dto.*;
@@ -20,11 +22,14 @@ import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.hamcrest.CoreMatchers.is;
@@ -45,6 +50,10 @@ class ItemServiceImplTest {
     private BookingRepository bookingRepository;
     @Mock
     private CommentRepository commentRepository;
+    @Mock
+    private ItemSearchService itemSearchService;
+    @Mock
+    private ItemSearchIndex itemSearchIndex;
 
     @InjectMocks
     private ItemServiceImpl itemService;
@@ -85,6 +94,7 @@ class ItemServiceImplTest {
 
         assertThat(requestAddItemDto.getName(), equalTo(responseItemDto.getName()));
         verify(itemRepository).save(itemToSave);
+        verify(itemSearchIndex).put(itemSaved);
     }
 
     @Test
@@ -136,34 +146,13 @@ class ItemServiceImplTest {
                 null
         );
         User user = new User(userId, "Name", "e@mail.com");
-        Booking nextBooking = new Booking(
-                1L,
-                LocalDateTime.now(),
-                LocalDateTime.now(),
-                itemFound, user,
-                BookingStatus.APPROVED
-        );
-        Booking lastBooking = new Booking(
-                2L,
-                LocalDateTime.now(),
-                LocalDateTime.now(),
-                itemFound, user,
-                BookingStatus.APPROVED);
+        ItemBookingView nextBooking = getItemBookingView(itemId, 1L, userId, false);
+        ItemBookingView lastBooking = getItemBookingView(itemId, 2L, userId, true);
 
         when(itemRepository.findById(itemId))
                 .thenReturn(Optional.of(itemFound));
-        when(bookingRepository.findFirst1ByItem_IdAndStartLessThanAndStatusOrderByEndDesc(
-                anyLong(),
-                any(LocalDateTime.class),
-                any(BookingStatus.class)
-        ))
-                .thenReturn(List.of(lastBooking));
-        when(bookingRepository.findFirst1ByItem_IdAndStartGreaterThanAndStatusOrderByStartAsc(
-                anyLong(),
-                any(LocalDateTime.class),
-                any(BookingStatus.class)
-        ))
-                .thenReturn(List.of(nextBooking));
+        when(bookingRepository.findLastAndNextApprovedByItemIds(eq(List.of(itemId)), any(LocalDateTime.class)))
+                .thenReturn(List.of(lastBooking, nextBooking));
 
         ResponseItemWithCommentsDto itemWithCommentsDto = itemService.findById(userId, itemId);
 
@@ -243,19 +232,8 @@ class ItemServiceImplTest {
                 null
         );
         User user = new User(userId, "Name", "e@mail.com");
-        Booking nextBooking = new Booking(
-                1L,
-                LocalDateTime.now(),
-                LocalDateTime.now(),
-                itemFound, user,
-                BookingStatus.APPROVED
-        );
-        Booking lastBooking = new Booking(
-                2L,
-                LocalDateTime.now(),
-                LocalDateTime.now(),
-                itemFound, user,
-                BookingStatus.APPROVED);
+        ItemBookingView nextBooking = getItemBookingView(itemId, 1L, userId, false);
+        ItemBookingView lastBooking = getItemBookingView(itemId, 2L, userId, true);
         Comment comment = new Comment(
                 1L,
                 "Comment",
@@ -266,18 +244,8 @@ class ItemServiceImplTest {
 
         when(itemRepository.findById(itemId))
                 .thenReturn(Optional.of(itemFound));
-        when(bookingRepository.findFirst1ByItem_IdAndStartLessThanAndStatusOrderByEndDesc(
-                anyLong(),
-                any(LocalDateTime.class),
-                any(BookingStatus.class)
-        ))
-                .thenReturn(List.of(lastBooking));
-        when(bookingRepository.findFirst1ByItem_IdAndStartGreaterThanAndStatusOrderByStartAsc(
-                anyLong(),
-                any(LocalDateTime.class),
-                any(BookingStatus.class)
-        ))
-                .thenReturn(List.of(nextBooking));
+        when(bookingRepository.findLastAndNextApprovedByItemIds(eq(List.of(itemId)), any(LocalDateTime.class)))
+                .thenReturn(List.of(lastBooking, nextBooking));
         when(commentRepository.findByItem_Id(anyLong()))
                 .thenReturn(List.of(comment));
 
@@ -289,6 +257,45 @@ class ItemServiceImplTest {
 
     }
 
+    @Test
+    void findByIdWithETag_whenUserIsOwner_thenTagAndBodyFromSingleLoad() {
+        Long userId = 1L;
+        Long itemId = 1L;
+        Item itemFound = new Item(
+                itemId,
+                "Item1",
+                "Desc1",
+                true,
+                userId,
+                null
+        );
+        User user = new User(userId, "Name", "e@mail.com");
+        ItemBookingView nextBooking = getItemBookingView(itemId, 1L, userId, false);
+        ItemBookingView lastBooking = getItemBookingView(itemId, 2L, userId, true);
+        Comment comment = new Comment(
+                1L,
+                "Comment",
+                itemFound,
+                user,
+                LocalDateTime.now()
+        );
+
+        when(itemRepository.findById(itemId))
+                .thenReturn(Optional.of(itemFound));
+        when(bookingRepository.findLastAndNextApprovedByItemIds(eq(List.of(itemId)), any(LocalDateTime.class)))
+                .thenReturn(List.of(lastBooking, nextBooking));
+        when(commentRepository.findByItem_Id(itemId))
+                .thenReturn(List.of(comment));
+
+        Tagged<ResponseItemWithCommentsDto> item = itemService.findByIdWithETag(userId, itemId);
+
+        assertThat(item.getETag(), equalTo(EntityTag.of(itemId, 0L, 1, 1L, 0L, List.of(1L, 2L))));
+        assertThat(1L, equalTo(item.getBody().getNextBooking().getId()));
+        assertThat(1, equalTo(item.getBody().getComments().size()));
+        verify(bookingRepository, times(1)).findLastAndNextApprovedByItemIds(anyList(), any(LocalDateTime.class));
+        verify(commentRepository, times(1)).findByItem_Id(itemId);
+    }
+
     @Test
     void findByUserId_whenInvoked_thenReturnListOfDtoWBookingsAndComments() {
         Long userId = 1L;
@@ -306,19 +313,8 @@ class ItemServiceImplTest {
                 null
         );
         User user = new User(userId, "Name", "e@mail.com");
-        Booking nextBooking = new Booking(
-                1L,
-                LocalDateTime.now(),
-                LocalDateTime.now(),
-                itemFound, user,
-                BookingStatus.APPROVED
-        );
-        Booking lastBooking = new Booking(
-                2L,
-                LocalDateTime.now(),
-                LocalDateTime.now(),
-                itemFound, user,
-                BookingStatus.APPROVED);
+        ItemBookingView nextBooking = getItemBookingView(itemId, 1L, userId, false);
+        ItemBookingView lastBooking = getItemBookingView(itemId, 2L, userId, true);
         Comment comment = new Comment(
                 1L,
                 "Comment",
@@ -329,19 +325,9 @@ class ItemServiceImplTest {
 
         when(itemRepository.findByOwnerIdOrderByIdAsc(userId, pageable))
                 .thenReturn(List.of(itemFound));
-        when(bookingRepository.findFirst1ByItem_IdAndStartLessThanAndStatusOrderByEndDesc(
-                anyLong(),
-                any(LocalDateTime.class),
-                any(BookingStatus.class)
-        ))
-                .thenReturn(List.of(lastBooking));
-        when(bookingRepository.findFirst1ByItem_IdAndStartGreaterThanAndStatusOrderByStartAsc(
-                anyLong(),
-                any(LocalDateTime.class),
-                any(BookingStatus.class)
-        ))
-                .thenReturn(List.of(nextBooking));
-        when(commentRepository.findByItem_Id(anyLong()))
+        when(bookingRepository.findLastAndNextApprovedByItemIds(eq(List.of(itemId)), any(LocalDateTime.class)))
+                .thenReturn(List.of(lastBooking, nextBooking));
+        when(commentRepository.findAllByItemIds(List.of(itemId)))
                 .thenReturn(List.of(comment));
 
         List<ResponseItemWithCommentsDto> itemWithCommentsDtos = itemService.findByUserId(userId, from, size);
@@ -350,6 +336,23 @@ class ItemServiceImplTest {
         assertThat(1L, equalTo(itemWithCommentsDtos.get(0).getNextBooking().getId()));
         assertThat(2L, equalTo(itemWithCommentsDtos.get(0).getLastBooking().getId()));
         assertThat(1, equalTo(itemWithCommentsDtos.get(0).getComments().size()));
+        verify(bookingRepository).findLastAndNextApprovedByItemIds(eq(List.of(itemId)), any(LocalDateTime.class));
+        verify(commentRepository, never()).findByItem_Id(anyLong());
+    }
+
+    @Test
+    void findByUserId_whenNoItems_thenReturnEmptyListWithoutLoadingBookingsAndComments() {
+        Long userId = 1L;
+        Pageable pageable = PageRequest.of(0, 20);
+
+        when(itemRepository.findByOwnerIdOrderByIdAsc(userId, pageable))
+                .thenReturn(List.of());
+
+        List<ResponseItemWithCommentsDto> itemWithCommentsDtos = itemService.findByUserId(userId, 0, 20);
+
+        assertThat(0, equalTo(itemWithCommentsDtos.size()));
+        verify(bookingRepository, never()).findLastAndNextApprovedByItemIds(any(), any());
+        verify(commentRepository, never()).findAllByItemIds(any());
     }
 
     @Test
@@ -440,6 +443,7 @@ class ItemServiceImplTest {
         ResponseItemDto responseItemDto = itemService.update(userId, itemId, itemDto);
 
         assertThat("name", equalTo(responseItemDto.getName()));
+        verify(itemSearchIndex).put(itemUpdatedAndSaved);
     }
 
     @Test
@@ -447,6 +451,7 @@ class ItemServiceImplTest {
         doThrow(EmptyResultDataAccessException.class).when(itemRepository).deleteById(anyLong());
 
         assertThrows(ItemNotFoundException.class, () -> itemService.deleteById(1L));
+        verify(itemSearchIndex, never()).remove(anyLong());
     }
 
     @Test
@@ -454,34 +459,17 @@ class ItemServiceImplTest {
         itemService.deleteById(1L);
 
         verify(itemRepository, atMostOnce()).deleteById(1L);
+        verify(itemSearchIndex).remove(1L);
     }
 
     @Test
-    void findByNameOrDescription_whenBlankSearch_thenReturnEmptyList() {
-        List<ResponseItemDto> responseItemDtos = itemService.findByNameOrDescription("", 0, 20);
-
-        assertThat(0, equalTo(responseItemDtos.size()));
-        verify(itemRepository, never()).findAllByNameOrDescriptionContainingAndIsAvailableIgnoreCase(any(), any());
-    }
-
-    @Test
-    void findByNameOrDescription_whenValidSearch_thenReturnDtosList() {
-        Integer from = 0;
-        Integer size = 20;
-        Pageable pageable = PageRequest.of(from / size, size);
-        Item itemFound = new Item(
-                1L,
-                "Item1",
-                "Desc1",
-                true,
-                1L,
-                null
-        );
+    void findByNameOrDescription_whenValidSearch_thenReturnSearchServiceResult() {
+        ResponseItemDto found = new ResponseItemDto(1L, "Item1", "Desc1", true, null, null, null);
 
-        when(itemRepository.findAllByNameOrDescriptionContainingAndIsAvailableIgnoreCase("Item1", pageable))
-                .thenReturn(List.of(itemFound));
+        when(itemSearchService.search("Item1", 0, 20))
+                .thenReturn(List.of(found));
 
-        List<ResponseItemDto> responseItemDtos = itemService.findByNameOrDescription("Item1", from, size);
+        List<ResponseItemDto> responseItemDtos = itemService.findByNameOrDescription("Item1", 0, 20);
 
         assertThat(1, equalTo(responseItemDtos.size()));
         assertThat("Item1", equalTo(responseItemDtos.get(0).getName()));
@@ -491,62 +479,37 @@ class ItemServiceImplTest {
     void saveComment_whenValidUserAndItemAndUserIsBooker_thenReturnCommentDto() {
         Long userId = 1L;
         Long itemId = 1L;
-        Long ownerId = 1L;
-        Item itemFound = new Item(
-                itemId,
-                "Item1",
-                "Desc1",
-                true,
-                ownerId,
-                null
-        );
-        User user = new User(userId, "Name", "e@mail.com");
         RequestAddCommentDto requestAddCommentDto = new RequestAddCommentDto("Good item");
-        Comment savedComment = new Comment(
-                null,
-                "Good item",
-                itemFound,
-                user,
-                LocalDateTime.now()
-        );
 
-        when(commentRepository.save(savedComment))
-                .thenReturn(savedComment);
-        when(bookingRepository.findFirst1ByItem_IdAndBooker_IdAndStatusAndEndBefore(
-                anyLong(),
-                anyLong(),
-                any(BookingStatus.class),
-                any(LocalDateTime.class)
-        ))
-                .thenReturn(List.of(new Booking()));
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.of(user));
-        when(itemRepository.findById(itemId))
-                .thenReturn(Optional.of(itemFound));
+        when(commentRepository.saveIfAuthorBooked(eq(userId), eq(itemId), eq("Good item"), any(LocalDateTime.class)))
+                .thenAnswer(invocation -> Optional.of(
+                        new ResponseCommentDto(1L, "Good item", "Name", invocation.getArgument(3))
+                ));
 
         ResponseCommentDto commentDto = itemService.saveComment(userId, itemId, requestAddCommentDto);
 
         assertThat("Name", equalTo(commentDto.getAuthorName()));
         assertThat("Good item", equalTo(commentDto.getText()));
-        verify(commentRepository, times(1)).save(any(Comment.class));
+        verify(userRepository, never()).findById(anyLong());
+        verify(itemRepository, never()).findById(anyLong());
     }
 
     @Test
     void saveComment_whenUserIsNotBooker_thenAccessBadRequestException() {
         Long userId = 1L;
         Long itemId = 1L;
+        User user = new User(userId, "Name", "e@mail.com");
+        Item item = new Item(itemId, "Item1", "Desc1", true, 2L, null);
         RequestAddCommentDto requestAddCommentDto = new RequestAddCommentDto("Good item");
 
-        when(bookingRepository.findFirst1ByItem_IdAndBooker_IdAndStatusAndEndBefore(
-                anyLong(),
-                anyLong(),
-                any(BookingStatus.class),
-                any(LocalDateTime.class)
-        ))
-                .thenReturn(List.of());
+        when(commentRepository.saveIfAuthorBooked(eq(userId), eq(itemId), eq("Good item"), any(LocalDateTime.class)))
+                .thenReturn(Optional.empty());
+        when(userRepository.findById(userId))
+                .thenReturn(Optional.of(user));
+        when(itemRepository.findById(itemId))
+                .thenReturn(Optional.of(item));
 
         assertThrows(AccessBadRequestException.class, () -> itemService.saveComment(userId, itemId, requestAddCommentDto));
-        verify(commentRepository, never()).save(any(Comment.class));
     }
 
     @Test
@@ -555,18 +518,12 @@ class ItemServiceImplTest {
         Long itemId = 1L;
         RequestAddCommentDto requestAddCommentDto = new RequestAddCommentDto("Good item");
 
-        when(bookingRepository.findFirst1ByItem_IdAndBooker_IdAndStatusAndEndBefore(
-                anyLong(),
-                anyLong(),
-                any(BookingStatus.class),
-                any(LocalDateTime.class)
-        ))
-                .thenReturn(List.of(new Booking()));
+        when(commentRepository.saveIfAuthorBooked(eq(userId), eq(itemId), eq("Good item"), any(LocalDateTime.class)))
+                .thenReturn(Optional.empty());
         when(userRepository.findById(userId))
                 .thenReturn(Optional.empty());
 
         assertThrows(UserNotFoundException.class, () -> itemService.saveComment(userId, itemId, requestAddCommentDto));
-        verify(commentRepository, never()).save(any(Comment.class));
     }
 
     @Test
@@ -576,20 +533,14 @@ class ItemServiceImplTest {
         User user = new User(userId, "Name", "e@mail.com");
         RequestAddCommentDto requestAddCommentDto = new RequestAddCommentDto("Good item");
 
-        when(bookingRepository.findFirst1ByItem_IdAndBooker_IdAndStatusAndEndBefore(
-                anyLong(),
-                anyLong(),
-                any(BookingStatus.class),
-                any(LocalDateTime.class)
-        ))
-                .thenReturn(List.of(new Booking()));
+        when(commentRepository.saveIfAuthorBooked(eq(userId), eq(itemId), eq("Good item"), any(LocalDateTime.class)))
+                .thenReturn(Optional.empty());
         when(userRepository.findById(userId))
                 .thenReturn(Optional.of(user));
         when(itemRepository.findById(itemId))
                 .thenReturn(Optional.empty());
 
         assertThrows(ItemNotFoundException.class, () -> itemService.saveComment(userId, itemId, requestAddCommentDto));
-        verify(commentRepository, never()).save(any(Comment.class));
     }
 
     @Test
@@ -615,4 +566,89 @@ class ItemServiceImplTest {
         assertThat(1, equalTo(itemsDtoByRequestId.size()));
         assertThat(requestId, equalTo(itemsDtoByRequestId.get(0).getRequestId()));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getResponseItemsByRequestIds_whenInvoked_thenGroupItemsByRequestId() {
+        List<Long> requestIds = List.of(1L, 2L, 3L);
+
+        when(itemRepository.findAllByRequestIdIn(requestIds))
+                .thenReturn(List.of(
+                        new Item(1L, "Item1", "Desc1", true, 1L, 1L),
+                        new Item(2L, "Item2", "Desc2", true, 1L, 2L),
+                        new Item(3L, "Item3", "Desc3", true, 1L, 1L)
+                ));
+
+        Map<Long, List<ResponseItemForItemRequestDto>> itemsByRequestId =
+                itemService.getResponseItemsByRequestIds(requestIds);
+
+        assertThat(2, equalTo(itemsByRequestId.get(1L).size()));
+        assertThat(1, equalTo(itemsByRequestId.get(2L).size()));
+        assertThat(false, equalTo(itemsByRequestId.containsKey(3L)));
+    }
+
+    @Test
+    void getResponseItemsByRequestIds_whenNoRequests_thenSkipRepository() {
+        assertThat(0, equalTo(itemService.getResponseItemsByRequestIds(List.of()).size()));
+        verify(itemRepository, never()).findAllByRequestIdIn(any());
+    }
+
+    private ItemBookingView getItemBookingView(Long itemId, Long id, Long bookerId, Boolean isLast) {
+        return new ItemBookingView() {
+            @Override
+            public Long getItemId() {
+                return itemId;
+            }
+
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getBookerId() {
+                return bookerId;
+            }
+
+            @Override
+            public Boolean getIsLast() {
+                return isLast;
+            }
+        };
+    }
+
+    @Test
+    void findByUserIdAfter_whenValidCursor_thenSeekById() {
+        Pageable pageable = PageRequest.of(0, 20);
+
+        when(itemRepository.findByOwnerIdAndIdGreaterThanOrderByIdAsc(1L, 5L, pageable))
+                .thenReturn(List.of());
+
+        List<ResponseItemWithCommentsDto> dtos = itemService.findByUserIdAfter(1L, PageCursor.of(5L).encode(), 20);
+
+        assertThat(0, equalTo(dtos.size()));
+        verify(bookingRepository, never()).findLastAndNextApprovedByItemIds(any(), any());
+    }
+
+    @Test
+    void findByNameOrDescriptionAfter_whenValidCursor_thenSearchAfterCursorRankAndId() {
+        when(itemSearchService.searchAfter("Item1", 1, 5L, 20))
+                .thenReturn(List.of());
+
+        List<ResponseItemDto> responseItemDtos = itemService.findByNameOrDescriptionAfter(
+                "Item1",
+                PageCursor.of(1, 5L).encode(),
+                20
+        );
+
+        assertThat(0, equalTo(responseItemDtos.size()));
+    }
+
+    @Test
+    void findByNameOrDescriptionAfter_whenCursorWithoutRank_thenInvalidCursorException() {
+        assertThrows(
+                InvalidCursorException.class,
+                () -> itemService.findByNameOrDescriptionAfter("Item1", PageCursor.of(5L).encode(), 20)
+        );
+        verify(itemSearchService, never()).searchAfter(any(), any(), any(), any());
+    }
+}
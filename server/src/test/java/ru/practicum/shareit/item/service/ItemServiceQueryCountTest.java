@@ -0,0 +1,137 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.jdbc.Sql;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.status.BookingStatus;
+import ru.practicum.shareit.item.dto.RequestAddCommentDto;
+import ru.practicum.shareit.item.dto.ResponseCommentDto;
+import ru.practicum.shareit.item.dto.ResponseItemWithCommentsDto;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.notNullValue;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+@Sql(scripts = {"/schema.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class ItemServiceQueryCountTest {
+    private static final long EXPECTED_STATEMENTS = 3;
+
+    private final ItemService itemService;
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+    private final BookingRepository bookingRepository;
+    private final CommentRepository commentRepository;
+    private final EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @Test
+    void findByUserId_whenSmallPage_thenConstantStatementCount() {
+        User owner = userRepository.save(new User(null, "owner", "owner@mail.com"));
+        User booker = userRepository.save(new User(null, "booker", "booker@mail.com"));
+        addItemsWithBookingsAndComments(owner, booker, 2);
+
+        List<ResponseItemWithCommentsDto> items = findByUserIdCountingStatements(owner.getId(), 2);
+
+        assertThat(items.size(), equalTo(2));
+        assertItemsFullyAssembled(items);
+    }
+
+    @Test
+    void findByUserId_whenLargePage_thenConstantStatementCount() {
+        User owner = userRepository.save(new User(null, "owner", "owner@mail.com"));
+        User booker = userRepository.save(new User(null, "booker", "booker@mail.com"));
+        addItemsWithBookingsAndComments(owner, booker, 30);
+
+        List<ResponseItemWithCommentsDto> items = findByUserIdCountingStatements(owner.getId(), 30);
+
+        assertThat(items.size(), equalTo(30));
+        assertItemsFullyAssembled(items);
+    }
+
+    @Test
+    void saveComment_whenAuthorBookedItem_thenSingleInsertStatement() {
+        User owner = userRepository.save(new User(null, "owner", "owner@mail.com"));
+        User booker = userRepository.save(new User(null, "booker", "booker@mail.com"));
+        addItemsWithBookingsAndComments(owner, booker, 1);
+        Long itemId = itemRepository.findByOwnerIdOrderByIdAsc(owner.getId(), PageRequest.of(0, 1)).get(0).getId();
+        // The author name is then answered by the second-level cache
+        userRepository.findById(booker.getId());
+
+        statistics.clear();
+        ResponseCommentDto comment = itemService.saveComment(booker.getId(), itemId, new RequestAddCommentDto("Good"));
+
+        // One guarded insert, plus a sequence call when the pooled block of 50 ids runs out
+        assertThat(statistics.getPrepareStatementCount(), lessThanOrEqualTo(2L));
+        assertThat(comment.getAuthorName(), equalTo("booker"));
+        assertThat(commentRepository.count(), equalTo(2L));
+    }
+
+    private List<ResponseItemWithCommentsDto> findByUserIdCountingStatements(Long ownerId, int size) {
+        statistics.clear();
+        List<ResponseItemWithCommentsDto> items = itemService.findByUserId(ownerId, 0, size);
+        assertThat(statistics.getPrepareStatementCount(), equalTo(EXPECTED_STATEMENTS));
+        return items;
+    }
+
+    private void assertItemsFullyAssembled(List<ResponseItemWithCommentsDto> items) {
+        for (ResponseItemWithCommentsDto item : items) {
+            assertThat(item.getLastBooking(), notNullValue());
+            assertThat(item.getNextBooking(), notNullValue());
+            assertThat(item.getComments().size(), equalTo(1));
+        }
+    }
+
+    private void addItemsWithBookingsAndComments(User owner, User booker, int count) {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < count; i++) {
+            Item item = itemRepository.save(new Item(null, "item" + i, "description" + i, true, owner.getId(), null));
+            bookingRepository.save(new Booking(
+                    null,
+                    now.minusDays(2),
+                    now.minusDays(1),
+                    item,
+                    booker,
+                    BookingStatus.APPROVED
+            ));
+            bookingRepository.save(new Booking(
+                    null,
+                    now.plusDays(1),
+                    now.plusDays(2),
+                    item,
+                    booker,
+                    BookingStatus.APPROVED
+            ));
+            commentRepository.save(new Comment(null, "comment" + i, item, booker, now));
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.exception.model.UserNotFoundException;
+import ru.practicum.shareit.user.dto.RequestAddUserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Uses the Hikari pool from the test profile instead of an embedded database, so pool metrics get bound
+@SpringBootTest
+@AutoConfigureMetrics
+@AutoConfigureMockMvc
+@Sql(scripts = {"/schema.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class ServiceMetricsTest {
+    private static final String REPOSITORY_METRIC_NAME = "spring.data.repository.invocations";
+
+    private final UserService userService;
+    private final MeterRegistry meterRegistry;
+    private final MockMvc mockMvc;
+
+    @Test
+    void save_whenInvoked_thenServiceAndRepositoryTimed() {
+        long serviceCalls = count(ServiceMetricsInterceptor.METRIC_NAME, "method", "save", "outcome", "SUCCESS");
+        long repositoryCalls = count(REPOSITORY_METRIC_NAME, "method", "save", "state", "SUCCESS");
+
+        userService.save(new RequestAddUserDto("user", "user@mail.com"));
+
+        assertThat(
+                count(ServiceMetricsInterceptor.METRIC_NAME, "method", "save", "outcome", "SUCCESS"),
+                equalTo(serviceCalls + 1)
+        );
+        assertThat(count(REPOSITORY_METRIC_NAME, "method", "save", "state", "SUCCESS"), greaterThan(repositoryCalls));
+    }
+
+    @Test
+    void findById_whenUserNotFound_thenErrorOutcomeTimed() {
+        long failedCalls = count(ServiceMetricsInterceptor.METRIC_NAME, "method", "findById", "outcome", "ERROR");
+
+        assertThrows(UserNotFoundException.class, () -> userService.findById(100L));
+
+        Timer timer = meterRegistry.get(ServiceMetricsInterceptor.METRIC_NAME)
+                .tag("class", "UserServiceImpl")
+                .tag("method", "findById")
+                .tag("outcome", "ERROR")
+                .tag("exception", "UserNotFoundException")
+                .timer();
+        assertThat(timer.count(), equalTo(failedCalls + 1));
+    }
+
+    @Test
+    @SneakyThrows
+    void prometheus_whenScraped_thenHistogramsAndPoolMetricsPublished() {
+        userService.save(new RequestAddUserDto("user", "user@mail.com"));
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString(
+                        "shareit_service_seconds_bucket{class=\"UserServiceImpl\",exception=\"none\","
+                )))
+                .andExpect(content().string(containsString("spring_data_repository_invocations_seconds_bucket{")))
+                .andExpect(content().string(containsString("hikaricp_connections_active{")))
+                .andExpect(content().string(containsString("hikaricp_connections_acquire_seconds_bucket{")));
+    }
+
+    private long count(String name, String methodTag, String method, String outcomeTag, String outcome) {
+        return meterRegistry.find(name)
+                .tag(methodTag, method)
+                .tag(outcomeTag, outcome)
+                .timers()
+                .stream()
+                .mapToLong(Timer::count)
+                .sum();
+    }
+}
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.pagination;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+class OffsetPageRequestTest {
+
+    @Test
+    void of_whenFromMultipleOfSize_thenReturnPageRequest() {
+        assertThat(PageRequest.of(2, 10), equalTo(OffsetPageRequest.of(20, 10)));
+    }
+
+    @Test
+    void of_whenFromNotMultipleOfSize_thenKeepExactOffset() {
+        Pageable pageable = OffsetPageRequest.of(3, 2);
+
+        assertThat(3L, equalTo(pageable.getOffset()));
+        assertThat(2, equalTo(pageable.getPageSize()));
+        assertThat(5L, equalTo(pageable.next().getOffset()));
+        assertThat(1L, equalTo(pageable.previousOrFirst().getOffset()));
+        assertThat(1L, equalTo(pageable.first().getOffset()));
+    }
+}
@@ -0,0 +1,65 @@
+package ru.practicum.shareit.pagination;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.exception.model.InvalidCursorException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PageCursorTest {
+
+    @Test
+    void decode_whenEncodedWithSortKey_thenReturnSameCursor() {
+        LocalDateTime sortKey = LocalDateTime.of(2023, 6, 27, 22, 34, 34, 123_456_000);
+
+        PageCursor cursor = PageCursor.decode(PageCursor.of(sortKey, 15L).encode());
+
+        assertThat(sortKey, equalTo(cursor.getSortKey()));
+        assertThat(15L, equalTo(cursor.getId()));
+    }
+
+    @Test
+    void decode_whenEncodedWithIdOnly_thenReturnCursorWithoutSortKey() {
+        PageCursor cursor = PageCursor.decode(PageCursor.of(15L).encode());
+
+        assertThat(cursor.getSortKey(), nullValue());
+        assertThat(15L, equalTo(cursor.getId()));
+        assertThrows(InvalidCursorException.class, cursor::getSortKeyOrThrowException);
+        assertThrows(InvalidCursorException.class, cursor::getRankOrThrowException);
+    }
+
+    @Test
+    void decode_whenEncodedWithRank_thenReturnSameCursor() {
+        PageCursor cursor = PageCursor.decode(PageCursor.of(1, 15L).encode());
+
+        assertThat(1, equalTo(cursor.getRankOrThrowException()));
+        assertThat(cursor.getSortKey(), nullValue());
+        assertThat(15L, equalTo(cursor.getId()));
+    }
+
+    @Test
+    void decode_whenMalformed_thenInvalidCursorException() {
+        assertThrows(InvalidCursorException.class, () -> PageCursor.decode("%%%"));
+        assertThrows(InvalidCursorException.class, () -> PageCursor.decode("YWJj"));
+        assertThrows(InvalidCursorException.class, () -> PageCursor.decode(""));
+    }
+
+    @Test
+    void next_whenPageFull_thenReturnCursorOfLastElement() {
+        Optional<String> next = PageCursor.next(List.of(1L, 2L), 2, PageCursor::of);
+
+        assertThat(Optional.of(PageCursor.of(2L).encode()), equalTo(next));
+    }
+
+    @Test
+    void next_whenPageNotFull_thenReturnEmpty() {
+        assertThat(Optional.empty(), equalTo(PageCursor.next(List.of(1L), 2, PageCursor::of)));
+        assertThat(Optional.empty(), equalTo(PageCursor.next(List.<Long>of(), 2, PageCursor::of)));
+    }
+}
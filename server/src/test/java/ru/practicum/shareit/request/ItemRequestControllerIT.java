@@ -7,6 +7,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.exception.model.RequestNotFoundException;
 import ru.practicum.shareit.exception.model.UserNotFoundException;
@@ -24,12 +25,14 @@ import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(ItemRequestController.class)
 class ItemRequestControllerIT {
     private static final String USER_ID_HEADER_NAME = "X-Sharer-User-Id";
     private static final String URL = "/requests";
+    private static final String E_TAG = "5d41402abc4b2a76b9719d911017c592";
     private static final String URL_WITH_ID = URL + "/{id}";
     private static final String URL_ALL = URL + "/all";
     private static final String CONTENT_TYPE = "application/json";
@@ -172,6 +175,7 @@ class ItemRequestControllerIT {
     void findById_whenUserExistAndRequestExist_thenStatusOkAndDtosInResponse() {
         ResponseItemRequestWithItemsDto responseItemRequestWithItemsDtos
                 = Instancio.create(ResponseItemRequestWithItemsDto.class);
+        when(itemRequestService.getETag(anyLong(), anyLong())).thenReturn(E_TAG);
         when(itemRequestService.findById(anyLong(), anyLong()))
                 .thenReturn(responseItemRequestWithItemsDtos);
 
@@ -189,10 +193,30 @@ class ItemRequestControllerIT {
         verify(itemRequestService, times(1)).findById(anyLong(), anyLong());
     }
 
+    @SneakyThrows
+    @Test
+    void findById_whenETagMatches_thenStatusNotModifiedWithoutBody() {
+        when(itemRequestService.getETag(anyLong(), anyLong())).thenReturn(E_TAG);
+
+        String response = mockMvc.perform(
+                        get(URL_WITH_ID, itemRequestId)
+                                .header(USER_ID_HEADER_NAME, userId)
+                                .header(HttpHeaders.IF_NONE_MATCH, "\"" + E_TAG + "\"")
+                )
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + E_TAG + "\""))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertThat(response, equalTo(""));
+        verify(itemRequestService, never()).findById(anyLong(), anyLong());
+    }
+
     @SneakyThrows
     @Test
     void findById_whenUserNotExistAndRequestExist_thenStatusNotFound() {
-        when(itemRequestService.findById(anyLong(), anyLong()))
+        when(itemRequestService.getETag(anyLong(), anyLong()))
                 .thenThrow(UserNotFoundException.class);
 
         mockMvc.perform(
@@ -202,13 +226,14 @@ class ItemRequestControllerIT {
                 )
                 .andExpect(status().isNotFound());
 
-        verify(itemRequestService, times(1)).findById(anyLong(), anyLong());
+        verify(itemRequestService, times(1)).getETag(anyLong(), anyLong());
+        verify(itemRequestService, never()).findById(anyLong(), anyLong());
     }
 
     @SneakyThrows
     @Test
     void findById_whenUserExistAndRequestNotExist_thenStatusNotFound() {
-        when(itemRequestService.findById(anyLong(), anyLong()))
+        when(itemRequestService.getETag(anyLong(), anyLong()))
                 .thenThrow(RequestNotFoundException.class);
 
         mockMvc.perform(
@@ -218,6 +243,7 @@ class ItemRequestControllerIT {
                 )
                 .andExpect(status().isNotFound());
 
-        verify(itemRequestService, times(1)).findById(anyLong(), anyLong());
+        verify(itemRequestService, times(1)).getETag(anyLong(), anyLong());
+        verify(itemRequestService, never()).findById(anyLong(), anyLong());
     }
 }
\ No newline at end of file
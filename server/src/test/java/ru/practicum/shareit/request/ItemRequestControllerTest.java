@@ -5,6 +5,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.request.dto.RequestAddItemRequestDto;
 import ru.practicum.shareit.request.dto.ResponseItemRequestDto;
 import ru.practicum.shareit.request.dto.ResponseItemRequestWithItemsDto;
@@ -58,7 +63,17 @@ class ItemRequestControllerTest {
         when(itemRequestService.findByUserId(userId))
                 .thenReturn(requestsWithItemDtos);
 
-        List<ResponseItemRequestWithItemsDto> withItemsDtos = itemRequestController.findByUserId(userId);
+        List<ResponseItemRequestWithItemsDto> withItemsDtos = itemRequestController.findByUserId(userId, null, null);
+
+        assertThat(1L, equalTo(withItemsDtos.get(0).getId()));
+    }
+
+    @Test
+    void findByUserId_whenSizeGiven_thenReturnPagedList() {
+        when(itemRequestService.findByUserId(userId, 0, 1))
+                .thenReturn(requestsWithItemDtos);
+
+        List<ResponseItemRequestWithItemsDto> withItemsDtos = itemRequestController.findByUserId(userId, null, 1);
 
         assertThat(1L, equalTo(withItemsDtos.get(0).getId()));
     }
@@ -68,17 +83,45 @@ class ItemRequestControllerTest {
         when(itemRequestService.findAllNotOwned(userId, from, size))
                 .thenReturn(requestsWithItemDtos);
 
-        List<ResponseItemRequestWithItemsDto> withItemsDtos = itemRequestController.findAllNotOwned(userId, from, size);
+        List<ResponseItemRequestWithItemsDto> withItemsDtos = itemRequestController.findAllNotOwned(
+                userId,
+                from,
+                size,
+                null,
+                new MockHttpServletResponse()
+        );
 
         assertThat(1L, equalTo(withItemsDtos.get(0).getId()));
     }
 
+    @Test
+    void findAllNotOwned_whenFullPageAfterCursor_thenSetNextCursorHeader() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        String after = PageCursor.of(5L).encode();
+
+        when(itemRequestService.findAllNotOwnedAfter(userId, after, 1))
+                .thenReturn(requestsWithItemDtos);
+
+        itemRequestController.findAllNotOwned(userId, null, 1, after, response);
+
+        assertThat(
+                PageCursor.of(1L).encode(),
+                equalTo(response.getHeader(PageCursor.NEXT_CURSOR_HEADER_NAME))
+        );
+    }
+
     @Test
     void findById_whenInvoke_thenReturnResponseDto() {
+        when(itemRequestService.getETag(userId, requestId))
+                .thenReturn("etag");
         when(itemRequestService.findById(userId, requestId))
                 .thenReturn(responseItemRequestWithItemsDto);
 
-        ResponseItemRequestWithItemsDto withItemsDto = itemRequestController.findById(userId, requestId);
+        ResponseItemRequestWithItemsDto withItemsDto = itemRequestController.findById(
+                userId,
+                requestId,
+                new ServletWebRequest(new MockHttpServletRequest(), new MockHttpServletResponse())
+        ).getBody();
 
         assertThat(1L, equalTo(withItemsDto.getId()));
     }
@@ -11,6 +11,8 @@ import ru.practicum.shareit.exception.model.RequestNotFoundException;
 import ru.practicum.shareit.exception.model.UserNotFoundException;
 import ru.practicum.shareit.item.dto.ResponseItemForItemRequestDto;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.request.dto.RequestAddItemRequestDto;
 import ru.practicum.shareit.request.dto.ResponseItemRequestDto;
 import ru.practicum.shareit.request.dto.ResponseItemRequestWithItemsDto;
@@ -21,6 +23,7 @@ import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -89,14 +92,14 @@ class ItemRequestServiceImplTest {
                                 LocalDateTime.now()
                         )
                 ));
-        when(itemService.getResponseItemRequestWithItemsDtoByRequestId(anyLong()))
-                .thenReturn(List.of(new ResponseItemForItemRequestDto(
+        when(itemService.getResponseItemsByRequestIds(List.of(1L)))
+                .thenReturn(Map.of(1L, List.of(new ResponseItemForItemRequestDto(
                         1L,
                         "Item",
                         "Desc",
                         true,
                         1L
-                )));
+                ))));
 
         List<ResponseItemRequestWithItemsDto> withItemsDtos = itemRequestService.findByUserId(userId);
 
@@ -113,7 +116,7 @@ class ItemRequestServiceImplTest {
 
         assertThrows(UserNotFoundException.class, () -> itemRequestService.findByUserId(userId));
         verify(itemRequestRepository, never()).findAllByRequestorIdOrderByIdDesc(anyLong());
-        verify(itemService, never()).getResponseItemRequestWithItemsDtoByRequestId(anyLong());
+        verify(itemService, never()).getResponseItemsByRequestIds(any());
     }
 
     @Test
@@ -133,14 +136,14 @@ class ItemRequestServiceImplTest {
                                 LocalDateTime.now()
                         )
                 ));
-        when(itemService.getResponseItemRequestWithItemsDtoByRequestId(anyLong()))
-                .thenReturn(List.of(new ResponseItemForItemRequestDto(
+        when(itemService.getResponseItemsByRequestIds(List.of(1L)))
+                .thenReturn(Map.of(1L, List.of(new ResponseItemForItemRequestDto(
                         1L,
                         "Item",
                         "Desc",
                         true,
                         1L
-                )));
+                ))));
 
         List<ResponseItemRequestWithItemsDto> allNotOwned = itemRequestService.findAllNotOwned(userId, 0, 20);
 
@@ -157,7 +160,7 @@ class ItemRequestServiceImplTest {
 
         assertThrows(UserNotFoundException.class, () -> itemRequestService.findAllNotOwned(userId, 0, 20));
         verify(itemRequestRepository, never()).findAllByRequestorIdNotOrderByIdDesc(anyLong(), any(Pageable.class));
-        verify(itemService, never()).getResponseItemRequestWithItemsDtoByRequestId(anyLong());
+        verify(itemService, never()).getResponseItemsByRequestIds(any());
     }
 
     @Test
@@ -215,4 +218,47 @@ class ItemRequestServiceImplTest {
 
         assertThrows(RequestNotFoundException.class, () -> itemRequestService.findById(userId, requestId));
     }
-}
\ No newline at end of file
+
+    @Test
+    void findAllNotOwnedAfter_whenValidCursor_thenSeekById() {
+        Long userId = 1L;
+        User user = new User();
+
+        when(userRepository.existsById(userId))
+                .thenReturn(true);
+        when(itemRequestRepository.findAllByRequestorIdNotAndIdLessThanOrderByIdDesc(userId, 5L, PageRequest.of(0, 2)))
+                .thenReturn(List.of(new ItemRequest(4L, "Request", user, LocalDateTime.now())));
+        when(itemService.getResponseItemsByRequestIds(List.of(4L)))
+                .thenReturn(Map.of());
+
+        List<ResponseItemRequestWithItemsDto> allNotOwned = itemRequestService.findAllNotOwnedAfter(
+                userId,
+                PageCursor.of(5L).encode(),
+                2
+        );
+
+        assertThat(4L, equalTo(allNotOwned.get(0).getId()));
+    }
+
+    @Test
+    void findByUserId_whenPaged_thenFetchItemsForPageOnly() {
+        Long userId = 1L;
+        User user = new User();
+
+        when(userRepository.existsById(userId))
+                .thenReturn(true);
+        when(itemRequestRepository.findAllByRequestorIdOrderByIdDesc(userId, OffsetPageRequest.of(3, 2)))
+                .thenReturn(List.of(
+                        new ItemRequest(3L, "Request3", user, LocalDateTime.now()),
+                        new ItemRequest(2L, "Request2", user, LocalDateTime.now())
+                ));
+        when(itemService.getResponseItemsByRequestIds(List.of(3L, 2L)))
+                .thenReturn(Map.of(2L, List.of(new ResponseItemForItemRequestDto(1L, "Item", "Desc", true, 2L))));
+
+        List<ResponseItemRequestWithItemsDto> withItemsDtos = itemRequestService.findByUserId(userId, 3, 2);
+
+        assertThat(0, equalTo(withItemsDtos.get(0).getItems().size()));
+        assertThat("Item", equalTo(withItemsDtos.get(1).getItems().get(0).getName()));
+        verify(itemService, never()).getResponseItemRequestWithItemsDtoByRequestId(anyLong());
+    }
+}
@@ -0,0 +1,98 @@
+package ru.practicum.shareit.request.service;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.dto.ResponseItemRequestWithItemsDto;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+@Sql(scripts = {"/schema.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class ItemRequestServiceQueryCountTest {
+    private final ItemRequestService itemRequestService;
+    private final ItemRequestRepository itemRequestRepository;
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+    private final EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User requestor;
+    private User other;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        requestor = userRepository.save(new User(null, "requestor", "requestor@mail.com"));
+        other = userRepository.save(new User(null, "other", "other@mail.com"));
+    }
+
+    @Test
+    void findByUserId_whenManyRequests_thenSameStatementCountAsForFew() {
+        addRequestsWithItems(2);
+        long fewRequestsStatements = countStatements(() -> itemRequestService.findByUserId(requestor.getId()), 2);
+
+        addRequestsWithItems(40);
+        long manyRequestsStatements = countStatements(() -> itemRequestService.findByUserId(requestor.getId()), 42);
+
+        assertThat(manyRequestsStatements, equalTo(fewRequestsStatements));
+    }
+
+    @Test
+    void findAllNotOwned_whenLargePage_thenSameStatementCountAsForSmallPage() {
+        addRequestsWithItems(40);
+
+        long smallPageStatements = countStatements(
+                () -> itemRequestService.findAllNotOwned(other.getId(), 0, 2),
+                2
+        );
+        long largePageStatements = countStatements(
+                () -> itemRequestService.findAllNotOwned(other.getId(), 0, 40),
+                40
+        );
+
+        assertThat(largePageStatements, equalTo(smallPageStatements));
+    }
+
+    private long countStatements(Supplier<List<ResponseItemRequestWithItemsDto>> call, int expectedSize) {
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+        List<ResponseItemRequestWithItemsDto> requests = call.get();
+        long statements = statistics.getPrepareStatementCount();
+        assertThat(requests.size(), equalTo(expectedSize));
+        for (ResponseItemRequestWithItemsDto request : requests) {
+            assertThat(request.getItems().size(), equalTo(1));
+        }
+        return statements;
+    }
+
+    private void addRequestsWithItems(int count) {
+        for (int i = 0; i < count; i++) {
+            ItemRequest request = itemRequestRepository.save(
+                    new ItemRequest(null, "request" + i, requestor, LocalDateTime.now())
+            );
+            itemRepository.save(new Item(null, "item" + i, "description" + i, true, other.getId(), request.getId()));
+        }
+    }
+}
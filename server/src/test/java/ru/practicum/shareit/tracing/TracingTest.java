@@ -0,0 +1,99 @@
+package ru.practicum.shareit.tracing;
+
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+@AutoConfigureMockMvc
+@Sql(scripts = {"/schema.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class TracingTest {
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+    private static final String PARENT_ID = "00f067aa0ba902b7";
+    private static final String USER_ID_HEADER_NAME = "X-Sharer-User-Id";
+
+    private final MockMvc mockMvc;
+    private final SpanCollector spanCollector;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+
+    @Test
+    @SneakyThrows
+    void findById_whenTraceparentSent_thenSpansJoinCallerTrace() {
+        User owner = userRepository.save(new User(null, "owner", "owner@mail.com"));
+        Item item = itemRepository.save(new Item(null, "item", "description", true, owner.getId(), null));
+
+        mockMvc.perform(get("/items/{id}", item.getId())
+                        .header(USER_ID_HEADER_NAME, owner.getId())
+                        .header(TraceParent.HEADER_NAME, "00-" + TRACE_ID + "-" + PARENT_ID + "-01"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(TracingFilter.TRACE_ID_HEADER_NAME, TRACE_ID));
+
+        List<Span> spans = spanCollector.find(TRACE_ID);
+        Map<String, Span> spansById = spans.stream().collect(Collectors.toMap(Span::getSpanId, span -> span));
+        Span root = spans.get(spans.size() - 1);
+        assertThat(root.getKind(), equalTo(SpanKind.SERVER));
+        assertThat(root.getName(), equalTo("GET /items/{id}"));
+        assertThat(root.getParentSpanId(), equalTo(PARENT_ID));
+        assertThat(
+                spans.stream().map(Span::getName).collect(Collectors.toList()),
+                hasItems("ItemController.findById", "ItemServiceImpl.findByIdWithETag", "ItemRepository.findById")
+        );
+        List<Span> statements = spans.stream()
+                .filter(span -> span.getKind() == SpanKind.SQL)
+                .collect(Collectors.toList());
+        assertThat(statements, not(empty()));
+        for (Span statement : statements) {
+            assertThat(statement.getDetail(), startsWithIgnoringCase("select"));
+            assertThat(spansById.get(statement.getParentSpanId()).getKind(), equalTo(SpanKind.REPOSITORY));
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void findById_whenNoTraceparent_thenNewTraceStartedAndServedByEndpoint() {
+        String traceId = mockMvc.perform(get("/items/{id}", 100L)
+                        .header(USER_ID_HEADER_NAME, 1L)
+                        .header(TraceParent.HEADER_NAME, "00-" + "0".repeat(32) + "-" + PARENT_ID + "-01"))
+                .andExpect(status().isNotFound())
+                .andReturn()
+                .getResponse()
+                .getHeader(TracingFilter.TRACE_ID_HEADER_NAME);
+
+        assertThat(traceId, matchesPattern("[0-9a-f]{32}"));
+        assertThat(traceId, not(equalTo("0".repeat(32))));
+        mockMvc.perform(get("/actuator/traces/{traceId}", traceId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.summary.name").value("GET /items/{id}"))
+                .andExpect(jsonPath("$.summary.sqlCount").value(greaterThan(0)))
+                .andExpect(jsonPath("$.slowestStatements[0].kind").value("SQL"))
+                .andExpect(jsonPath("$.spans[?(@.name == 'ItemServiceImpl.findByIdWithETag')].error")
+                        .value(hasItem("ItemNotFoundException")));
+        mockMvc.perform(get("/actuator/traces"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].traceId").value(traceId));
+    }
+}
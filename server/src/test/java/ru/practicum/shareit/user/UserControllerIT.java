@@ -6,12 +6,15 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.exception.model.NotUniqueFieldException;
 import ru.practicum.shareit.exception.model.UserNotFoundException;
 import ru.practicum.shareit.user.dto.RequestAddUserDto;
 import ru.practicum.shareit.user.dto.RequestUpdateUserDto;
 import ru.practicum.shareit.user.dto.ResponseUserDto;
+import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.util.List;
@@ -22,11 +25,14 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(UserController.class)
 class UserControllerIT {
     private static final String URL = "/users";
+    private static final String E_TAG = "5d41402abc4b2a76b9719d911017c592";
     private static final String URL_WITH_ID = URL + "/{id}";
     private static final String CONTENT_TYPE = "application/json";
     private final Long userId = 1L;
@@ -146,9 +152,26 @@ class UserControllerIT {
         verify(userService, times(1)).update(anyLong(), any(RequestUpdateUserDto.class));
     }
 
+    @SneakyThrows
+    @Test
+    void update_whenUserChangedConcurrently_thenStatusConflict() {
+        when(userService.update(anyLong(), any(RequestUpdateUserDto.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(User.class, userId));
+
+        mockMvc.perform(
+                        patch(URL_WITH_ID, userId)
+                                .contentType(CONTENT_TYPE)
+                                .content(objectMapper.writeValueAsString(requestUpdateUserDto))
+                )
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").value("Entity with id 1 was changed concurrently, retry the request"));
+        verify(userService, times(1)).update(anyLong(), any(RequestUpdateUserDto.class));
+    }
+
     @SneakyThrows
     @Test
     void findById_whenValidUserId_thenStatusOkAndDtoInBody() {
+        when(userService.getETag(userId)).thenReturn(E_TAG);
         when(userService.findById(userId))
                 .thenReturn(responseUserDto);
 
@@ -164,17 +187,37 @@ class UserControllerIT {
         verify(userService, times(1)).findById(anyLong());
     }
 
+    @SneakyThrows
+    @Test
+    void findById_whenETagMatches_thenStatusNotModifiedWithoutBody() {
+        when(userService.getETag(userId)).thenReturn(E_TAG);
+
+        String response = mockMvc.perform(
+                        get(URL_WITH_ID, userId)
+                                .header(HttpHeaders.IF_NONE_MATCH, "\"" + E_TAG + "\"")
+                )
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + E_TAG + "\""))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertThat(response, equalTo(""));
+        verify(userService, never()).findById(anyLong());
+    }
+
     @SneakyThrows
     @Test
     void findById_whenInvalidUserId_thenStatusNotFound() {
-        when(userService.findById(invalidUserId))
+        when(userService.getETag(invalidUserId))
                 .thenThrow(UserNotFoundException.class);
 
         mockMvc.perform(
                         get(URL_WITH_ID, invalidUserId)
                 )
                 .andExpect(status().isNotFound());
-        verify(userService, times(1)).findById(anyLong());
+        verify(userService, times(1)).getETag(anyLong());
+        verify(userService, never()).findById(anyLong());
     }
 
     @SneakyThrows
@@ -5,6 +5,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
 import ru.practicum.shareit.user.dto.RequestAddUserDto;
 import ru.practicum.shareit.user.dto.RequestUpdateUserDto;
 import ru.practicum.shareit.user.dto.ResponseUserDto;
@@ -87,10 +90,15 @@ class UserControllerTest {
                 "User1",
                 "user1@email.com"
         );
+        when(userService.getETag(userId))
+                .thenReturn("etag");
         when(userService.findById(userId))
                 .thenReturn(responseUserDto);
 
-        ResponseUserDto userDto = userController.findById(userId);
+        ResponseUserDto userDto = userController.findById(
+                userId,
+                new ServletWebRequest(new MockHttpServletRequest(), new MockHttpServletResponse())
+        ).getBody();
 
         assertThat("User1", equalTo(userDto.getName()));
     }
@@ -7,8 +7,10 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.EmptyResultDataAccessException;
+import ru.practicum.shareit.cache.EntityCacheEvictor;
 import ru.practicum.shareit.exception.model.NotUniqueFieldException;
 import ru.practicum.shareit.exception.model.UserNotFoundException;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
 import ru.practicum.shareit.user.dto.RequestAddUserDto;
 import ru.practicum.shareit.user.dto.RequestUpdateUserDto;
 import ru.practicum.shareit.user.dto.ResponseUserDto;
@@ -25,6 +27,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.isA;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,6 +35,10 @@ class UserServiceImplTest {
 
     @Mock
     private UserRepository userRepository;
+    @Mock
+    private ItemSearchIndex itemSearchIndex;
+    @Mock
+    private EntityCacheEvictor entityCacheEvictor;
 
     @InjectMocks
     private UserServiceImpl userService;
@@ -182,6 +189,8 @@ class UserServiceImplTest {
     @Test
     void delete_whenValidUserId_thenNoExceptions() {
         assertDoesNotThrow(() -> userService.deleteById(1L));
+        verify(itemSearchIndex).removeByOwnerId(1L);
+        verify(entityCacheEvictor).evictItems();
     }
 
     @Test
@@ -4,16 +4,24 @@ DROP TABLE IF EXISTS public.items CASCADE ;
 DROP TABLE IF EXISTS public.requests CASCADE ;
 DROP TABLE IF EXISTS public.users CASCADE ;
 
+-- Sequences outlive the reset, Hibernate keeps the block of ids it has already fetched across test methods
+CREATE SEQUENCE IF NOT EXISTS public.users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS public.requests_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS public.items_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS public.bookings_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS public.comments_seq START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE public.users (
-	id bigint NOT NULL GENERATED BY DEFAULT AS IDENTITY,
+	id bigint NOT NULL DEFAULT NEXT VALUE FOR public.users_seq,
 	name varchar NOT NULL,
 	email varchar NOT NULL,
+	version bigint NOT NULL DEFAULT 0,
 	CONSTRAINT users_pk PRIMARY KEY (id),
 	CONSTRAINT users_un UNIQUE (email)
 );
 
 CREATE TABLE public.requests (
-	id bigint NOT NULL GENERATED BY DEFAULT AS IDENTITY,
+	id bigint NOT NULL DEFAULT NEXT VALUE FOR public.requests_seq,
 	description varchar NOT NULL,
 	requestor_id bigint NOT NULL,
 	created timestamp without time zone NOT NULL,
@@ -22,24 +30,26 @@ CREATE TABLE public.requests (
 );
 
 CREATE TABLE public.items (
-	id bigint NOT NULL GENERATED BY DEFAULT AS IDENTITY,
+	id bigint NOT NULL DEFAULT NEXT VALUE FOR public.items_seq,
 	name varchar NOT NULL,
 	description varchar NOT NULL,
 	is_available boolean NOT NULL,
 	owner_id bigint NOT NULL,
 	request_id bigint NULL,
+	version bigint NOT NULL DEFAULT 0,
 	CONSTRAINT items_pk PRIMARY KEY (id),
 	CONSTRAINT items_users_fk FOREIGN KEY (owner_id) REFERENCES public.users(id) ON DELETE CASCADE,
 	CONSTRAINT items_request_fk FOREIGN KEY (request_id) REFERENCES public.requests(id) ON DELETE SET NULL
 );
 
 CREATE TABLE public.bookings (
-	id bigint NOT NULL GENERATED BY DEFAULT AS IDENTITY,
+	id bigint NOT NULL DEFAULT NEXT VALUE FOR public.bookings_seq,
 	start_date timestamp without time zone NOT NULL,
 	end_date timestamp without time zone NOT NULL,
 	item_id bigint NOT NULL,
 	booker_id bigint NOT NULL,
 	status varchar NOT NULL,
+	version bigint NOT NULL DEFAULT 0,
 	CONSTRAINT bookings_pk PRIMARY KEY (id),
 	CONSTRAINT bookings_items_fk FOREIGN KEY (item_id) REFERENCES public.items(id) ON DELETE CASCADE,
 	CONSTRAINT bookings_users_fk FOREIGN KEY (booker_id) REFERENCES public.users(id) ON DELETE CASCADE
@@ -47,7 +57,7 @@ CREATE TABLE public.bookings (
 
 
 CREATE TABLE public.comments (
-	id bigint NOT NULL GENERATED BY DEFAULT AS IDENTITY,
+	id bigint NOT NULL DEFAULT NEXT VALUE FOR public.comments_seq,
 	text varchar NOT NULL,
 	item_id bigint NOT NULL,
 	author_id bigint NOT NULL,
@@ -56,3 +66,17 @@ CREATE TABLE public.comments (
 	CONSTRAINT comments_items_fk FOREIGN KEY (item_id) REFERENCES public.items(id) ON DELETE CASCADE,
 	CONSTRAINT comments_users_fk FOREIGN KEY (author_id) REFERENCES public.users(id) ON DELETE CASCADE
 );
+
+CREATE INDEX bookings_booker_end_idx ON public.bookings (booker_id, end_date DESC);
+
+CREATE INDEX bookings_booker_status_end_idx ON public.bookings (booker_id, status, end_date DESC);
+
+CREATE INDEX bookings_item_status_start_idx ON public.bookings (item_id, status, start_date);
+
+CREATE INDEX items_owner_idx ON public.items (owner_id, id);
+
+CREATE INDEX items_request_idx ON public.items (request_id);
+
+CREATE INDEX comments_item_idx ON public.comments (item_id);
+
+CREATE INDEX requests_requestor_idx ON public.requests (requestor_id, id DESC);